@@ -0,0 +1,71 @@
+package com.backend.chess_backend;
+
+import com.backend.chess_backend.domain.Board;
+import com.backend.chess_backend.domain.Fen;
+import com.backend.chess_backend.domain.Piece;
+import com.backend.chess_backend.domain.Position;
+
+/**
+ * Fixed benchmark positions grouped by game phase, shared by all benchmarks so numbers stay
+ * comparable across runs. Every phase has WHITE to move and, taken together, each phase contains
+ * at least one white piece of every type.
+ */
+final class BenchmarkCorpus {
+    private BenchmarkCorpus() {}
+
+    static final String[] OPENING = {
+            Fen.START,
+            "r1bqkbnr/pppp1ppp/2n5/4p3/4P3/5N2/PPPP1PPP/RNBQKB1R w KQkq - 2 3",
+            "rnbqkb1r/pp2pppp/3p1n2/8/3NP3/8/PPP2PPP/RNBQKB1R w KQkq - 1 5",
+    };
+
+    static final String[] MIDDLEGAME = {
+            "r3k2r/p1ppqpb1/bn2pnp1/3PN3/1p2P3/2N2Q1p/PPPBBPPP/R3K2R w KQkq - 0 1",
+            "r4rk1/1pp1qppp/p1np1n2/2b1p1B1/2B1P1b1/P1NP1N2/1PP1QPPP/R4RK1 w - - 0 10",
+            "r2q1rk1/pp2bppp/2n1bn2/2pp4/3P4/2PBPN2/PP1N1PPP/R1BQ1RK1 w - - 0 10",
+    };
+
+    static final String[] ENDGAME = {
+            "8/5pk1/6p1/3R4/7P/6P1/r4PK1/8 w - - 0 40",
+            "6k1/5pp1/4b2p/3n4/8/2B2NP1/5P1P/6K1 w - - 0 35",
+            "8/8/4k3/3q4/8/2Q5/5K2/8 w - - 0 60",
+    };
+
+    /**
+     * @param phase {@code opening}, {@code middlegame} or {@code endgame}
+     * @return the FENs of that phase
+     */
+    static String[] fens(String phase) {
+        return switch (phase) {
+            case "opening" -> OPENING;
+            case "middlegame" -> MIDDLEGAME;
+            case "endgame" -> ENDGAME;
+            default -> throw new IllegalArgumentException("unknown phase: " + phase);
+        };
+    }
+
+    /** Reads every FEN of a phase into its own position. */
+    static Position[] positions(String phase) {
+        String[] fens = fens(phase);
+        Position[] out = new Position[fens.length];
+        for (int i = 0; i < fens.length; i++) {
+            out[i] = new Position();
+            Fen.read(fens[i], out[i]);
+        }
+        return out;
+    }
+
+    /** Builds the legacy {@link Board} view of a position (placement only). */
+    static Board toBoard(Position pos) {
+        Board b = new Board();
+        long occ = pos.occupied();
+        while (occ != 0) {
+            int sq = Long.numberOfTrailingZeros(occ);
+            occ &= occ - 1;
+            int piece = pos.pieceAt(sq);
+            b.setAt(sq, new Piece(Position.toPieceColor(Position.colorOf(piece)),
+                    Position.toPieceType(Position.typeOf(piece)), sq));
+        }
+        return b;
+    }
+}
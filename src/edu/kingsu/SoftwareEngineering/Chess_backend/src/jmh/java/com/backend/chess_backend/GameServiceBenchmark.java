@@ -0,0 +1,65 @@
+package com.backend.chess_backend;
+
+import com.backend.chess_backend.domain.rules.LegalMoves;
+import com.backend.chess_backend.services.GameService;
+import com.backend.chess_backend.web.GameStateDto;
+import com.backend.chess_backend.web.MoveRequest;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link GameService#makeMove} end to end: revision check, validation, legality, applying the move
+ * and building the response DTO.
+ * <p>
+ * Each invocation plays a fixed 30-ply game (a Ruy Lopez that runs from the opening into the
+ * middlegame) on a fresh service and game, and the time is reported per move. A fresh service
+ * per invocation keeps the in-memory game map from growing across the run; creating it is
+ * amortized over the 30 moves.
+ * </p>
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class GameServiceBenchmark {
+
+    static final String[] GAME = {
+            "e2e4", "e7e5", "g1f3", "b8c6", "f1b5", "a7a6", "b5a4", "g8f6", "e1g1", "f8e7",
+            "f1e1", "b7b5", "a4b3", "d7d6", "c2c3", "e8g8", "h2h3", "c6a5", "b3c2", "c7c5",
+            "d2d4", "d8c7", "b1d2", "c5d4", "c3d4", "a5c6", "d2b3", "a6a5", "c1e3", "a5a4",
+    };
+
+    private static final String[] FROM = new String[GAME.length];
+    private static final String[] TO = new String[GAME.length];
+    static {
+        for (int i = 0; i < GAME.length; i++) {
+            FROM[i] = GAME[i].substring(0, 2);
+            TO[i] = GAME[i].substring(2, 4);
+        }
+    }
+
+    private final LegalMoves legalMoves = new LegalMoves();
+
+    @Benchmark
+    @OperationsPerInvocation(30)
+    public GameStateDto makeMove() {
+        GameService svc = new GameService(legalMoves);
+        GameStateDto state = svc.createGame();
+        for (int i = 0; i < GAME.length; i++) {
+            state = svc.makeMove(state.gameId(), new MoveRequest(FROM[i], TO[i], null, state.rev()));
+        }
+        return state;
+    }
+}
@@ -0,0 +1,118 @@
+package com.backend.chess_backend;
+
+import com.backend.chess_backend.domain.Board;
+import com.backend.chess_backend.domain.PieceColor;
+import com.backend.chess_backend.domain.PieceType;
+import com.backend.chess_backend.domain.Position;
+import com.backend.chess_backend.domain.rules.LegalMoves;
+import com.backend.chess_backend.domain.rules.Move;
+import com.backend.chess_backend.domain.rules.MoveList;
+import com.backend.chess_backend.web.MoveRequest;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Rules-engine hot paths: per-square pseudo-legal and legal move generation for each piece type,
+ * and the {@link LegalMoves#isLegal} gate. Each operation covers every matching piece (or
+ * legal move) in all positions of the selected phase.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RulesBenchmark {
+
+    @Param({"opening", "middlegame", "endgame"})
+    public String phase;
+
+    @Param({"PAWN", "KNIGHT", "BISHOP", "ROOK", "QUEEN", "KING"})
+    public String pieceType;
+
+    private final LegalMoves legalMoves = new LegalMoves();
+    private final MoveList out = new MoveList();
+
+    private Position[] positions;
+    /** For each position, the squares holding white pieces of {@link #pieceType}. */
+    private int[][] squares;
+    private Board[] boards;
+    /** For each position, every legal move of {@link #pieceType} as a request. */
+    private MoveRequest[][] requests;
+
+    @Setup
+    public void setUp() {
+        positions = BenchmarkCorpus.positions(phase);
+        int type = Position.typeIndex(PieceType.valueOf(pieceType));
+        squares = new int[positions.length][];
+        boards = new Board[positions.length];
+        requests = new MoveRequest[positions.length][];
+        for (int i = 0; i < positions.length; i++) {
+            Position p = positions[i];
+            long bb = p.pieces(Position.WHITE, type);
+            squares[i] = new int[Long.bitCount(bb)];
+            for (int k = 0; bb != 0; k++, bb &= bb - 1) squares[i][k] = Long.numberOfTrailingZeros(bb);
+
+            boards[i] = BenchmarkCorpus.toBoard(p);
+            List<MoveRequest> reqs = new ArrayList<>();
+            MoveList moves = new MoveList();
+            for (int sq : squares[i]) {
+                moves.clear();
+                legalMoves.legalMoves(p, sq, moves);
+                for (int m = 0; m < moves.size(); m++) {
+                    int move = moves.get(m);
+                    reqs.add(new MoveRequest(Board.toAlgebraic(Move.from(move)), Board.toAlgebraic(Move.to(move)), null, 0));
+                }
+            }
+            requests[i] = reqs.toArray(new MoveRequest[0]);
+        }
+    }
+
+    @Benchmark
+    public int pseudoLegalMoves() {
+        int n = 0;
+        for (int i = 0; i < positions.length; i++) {
+            for (int sq : squares[i]) {
+                out.clear();
+                n += legalMoves.pseudoLegalMoves(positions[i], sq, out);
+            }
+        }
+        return n;
+    }
+
+    @Benchmark
+    public int legalMoves() {
+        int n = 0;
+        for (int i = 0; i < positions.length; i++) {
+            for (int sq : squares[i]) {
+                out.clear();
+                n += legalMoves.legalMoves(positions[i], sq, out);
+            }
+        }
+        return n;
+    }
+
+    @Benchmark
+    public int isLegal() {
+        int n = 0;
+        for (int i = 0; i < boards.length; i++) {
+            for (MoveRequest r : requests[i]) {
+                if (legalMoves.isLegal(boards[i], PieceColor.WHITE, r)) n++;
+            }
+        }
+        return n;
+    }
+}
@@ -0,0 +1,64 @@
+package com.backend.chess_backend;
+
+import com.backend.chess_backend.domain.Board;
+import com.backend.chess_backend.domain.BoardSetups;
+import com.backend.chess_backend.domain.BoardViews;
+import com.backend.chess_backend.domain.Position;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Board views and setup: {@link BoardViews#toPositionMap} over each phase's positions, and
+ * {@link BoardSetups#fillStandard} for both the legacy {@link Board} and the bitboard {@link Position}.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ViewsBenchmark {
+
+    @Param({"opening", "middlegame", "endgame"})
+    public String phase;
+
+    private Position[] positions;
+    private final Position scratch = new Position();
+
+    @Setup
+    public void setUp() {
+        positions = BenchmarkCorpus.positions(phase);
+    }
+
+    @Benchmark
+    public void toPositionMap(Blackhole bh) {
+        for (Position p : positions) bh.consume(BoardViews.toPositionMap(p));
+    }
+
+    /** Phase-independent; reported once per phase value. */
+    @Benchmark
+    public Position fillStandardPosition() {
+        BoardSetups.fillStandard(scratch);
+        return scratch;
+    }
+
+    /** Phase-independent; allocates a fresh board and 32 pieces per call. */
+    @Benchmark
+    public Board fillStandardBoard() {
+        Board b = new Board();
+        BoardSetups.fillStandard(b);
+        return b;
+    }
+}
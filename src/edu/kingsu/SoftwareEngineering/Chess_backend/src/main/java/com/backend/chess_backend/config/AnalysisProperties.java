@@ -0,0 +1,47 @@
+package com.backend.chess_backend.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * Settings for streamed analysis ({@code GET /api/game/{id}/analysis}), bound from
+ * {@code chess.analysis.*} in {@code application.properties}.
+ * <p>
+ * Each open stream searches on one of {@link #streams()} dedicated threads until the client
+ * disconnects or the budget runs out; a stream requested while all of them are busy is refused
+ * with 503 and a {@code Retry-After} of {@link #retryAfterSeconds()}. A comment line is sent every
+ * {@link #heartbeatMillis()} so a client that went away is noticed between iterations.
+ * </p>
+ *
+ * <pre>
+ * chess.analysis.streams=0
+ * chess.analysis.max-time-millis=60000
+ * chess.analysis.max-depth=64
+ * chess.analysis.heartbeat-millis=1000
+ * chess.analysis.retry-after-seconds=5
+ * </pre>
+ *
+ * @param streams           streams analysed at once; 0 for half the cores (at least 1)
+ * @param maxTimeMillis     longest a stream searches (and the cap on a requested time)
+ * @param maxDepth          depth limit (and the cap on a requested depth)
+ * @param heartbeatMillis   interval between keep-alive comments
+ * @param retryAfterSeconds {@code Retry-After} sent with a 503
+ *
+ * @author Alain Uwishema
+ * @since 0.2
+ */
+@ConfigurationProperties(prefix = "chess.analysis")
+public record AnalysisProperties(
+        @DefaultValue("0") int streams,
+        @DefaultValue("60000") long maxTimeMillis,
+        @DefaultValue("64") int maxDepth,
+        @DefaultValue("1000") long heartbeatMillis,
+        @DefaultValue("5") int retryAfterSeconds
+) {
+
+    /** @return the effective number of concurrent streams (at least 1) */
+    public int streamCount() {
+        int n = streams > 0 ? streams : Runtime.getRuntime().availableProcessors() / 2;
+        return Math.max(1, n);
+    }
+}
@@ -0,0 +1,50 @@
+package com.backend.chess_backend.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * Settings for batch analysis ({@code POST /api/analysis/batch}), bound from {@code chess.batch.*}
+ * in {@code application.properties}.
+ * <p>
+ * Positions of every batch are searched on one work-stealing pool of {@link #parallelism()}
+ * threads, single-threaded each, with the per-position budget of the request capped by these
+ * settings. They share a transposition table of {@link #hashMb()} MB that is separate from the
+ * engine's, so batches do not disturb the searches of games in progress. A batch with more than
+ * {@link #maxPositions()} positions is refused.
+ * </p>
+ *
+ * <pre>
+ * chess.batch.parallelism=0
+ * chess.batch.move-time-millis=100
+ * chess.batch.max-move-time-millis=10000
+ * chess.batch.max-depth=64
+ * chess.batch.max-positions=100000
+ * chess.batch.hash-mb=64
+ * </pre>
+ *
+ * @param parallelism       threads of the batch pool; 0 for one per core
+ * @param moveTimeMillis    time per position when the request gives none
+ * @param maxMoveTimeMillis cap on a requested time per position
+ * @param maxDepth          depth limit (and the cap on a requested depth)
+ * @param maxPositions      largest batch accepted
+ * @param hashMb            size of the batch transposition table in MB, allocated off-heap
+ *
+ * @author Alain Uwishema
+ * @since 0.2
+ */
+@ConfigurationProperties(prefix = "chess.batch")
+public record BatchProperties(
+        @DefaultValue("0") int parallelism,
+        @DefaultValue("100") long moveTimeMillis,
+        @DefaultValue("10000") long maxMoveTimeMillis,
+        @DefaultValue("64") int maxDepth,
+        @DefaultValue("100000") int maxPositions,
+        @DefaultValue("64") int hashMb
+) {
+
+    /** @return the effective pool size (at least 1) */
+    public int threads() {
+        return Math.max(1, parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors());
+    }
+}
@@ -0,0 +1,38 @@
+package com.backend.chess_backend.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * Opening book settings, bound from {@code chess.book.*} in {@code application.properties}.
+ * <p>
+ * The book is a Polyglot {@code .bin} file, memory-mapped at start-up. Polyglot keys come from a
+ * fixed table of 781 random numbers that is distributed with the format as source text;
+ * {@code keys-path} names a file holding it: Polyglot's {@code book_format.html} or
+ * {@code random.cpp} as shipped, or a binary dump of 781 big-endian 64-bit values. The table is
+ * checked against all of the format's published test keys. The book is used only when both paths
+ * are set and both files are valid.
+ * </p>
+ *
+ * <pre>
+ * chess.book.path=/var/lib/chess/book.bin
+ * chess.book.keys-path=/var/lib/chess/book_format.html
+ * </pre>
+ *
+ * @param path     Polyglot book file; empty for no book
+ * @param keysPath Polyglot key table file; empty for no book
+ *
+ * @author Alain Uwishema
+ * @since 0.2
+ */
+@ConfigurationProperties(prefix = "chess.book")
+public record BookProperties(
+        @DefaultValue("") String path,
+        @DefaultValue("") String keysPath
+) {
+
+    /** @return {@code true} if both files are configured */
+    public boolean enabled() {
+        return !path.isBlank() && !keysPath.isBlank();
+    }
+}
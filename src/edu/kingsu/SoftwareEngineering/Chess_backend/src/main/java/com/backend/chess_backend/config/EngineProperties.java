@@ -0,0 +1,54 @@
+package com.backend.chess_backend.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * Settings for the computer opponent, bound from {@code chess.engine.*} in
+ * {@code application.properties}.
+ * <p>
+ * A request may ask for its own depth or move time; those are clamped to the maxima here so a
+ * single client cannot tie up a request thread indefinitely. Likewise a request may ask for several
+ * search threads: the request thread always searches, and helper threads are taken from one
+ * process-wide pool of {@link #helperPoolSize()} threads, as many as are free at that moment.
+ * </p>
+ *
+ * <pre>
+ * chess.engine.move-time-millis=250
+ * chess.engine.max-move-time-millis=5000
+ * chess.engine.max-depth=64
+ * chess.engine.max-nodes=0
+ * chess.engine.hash-mb=64
+ * chess.engine.threads=1
+ * chess.engine.max-helper-threads=0
+ * </pre>
+ *
+ * @param moveTimeMillis    default thinking time per engine move
+ * @param maxMoveTimeMillis upper bound for a requested thinking time
+ * @param maxDepth          upper bound for a requested depth (and the default depth limit)
+ * @param maxNodes          node budget per engine move; 0 for none
+ * @param hashMb            size of the shared transposition table in MB, allocated off-heap
+ *                          (counts against {@code -XX:MaxDirectMemorySize}, not the heap)
+ * @param threads           default number of search threads per request (1 = no helpers)
+ * @param maxHelperThreads  helper threads shared by all requests; 0 for one less than the number of cores
+ *
+ * @author Alain Uwishema
+ * @since 0.2
+ */
+@ConfigurationProperties(prefix = "chess.engine")
+public record EngineProperties(
+        @DefaultValue("250") long moveTimeMillis,
+        @DefaultValue("5000") long maxMoveTimeMillis,
+        @DefaultValue("64") int maxDepth,
+        @DefaultValue("0") long maxNodes,
+        @DefaultValue("64") int hashMb,
+        @DefaultValue("1") int threads,
+        @DefaultValue("0") int maxHelperThreads
+) {
+
+    /** @return the effective size of the helper pool (at least 1) */
+    public int helperPoolSize() {
+        int n = maxHelperThreads > 0 ? maxHelperThreads : Runtime.getRuntime().availableProcessors() - 1;
+        return Math.max(1, n);
+    }
+}
@@ -0,0 +1,54 @@
+package com.backend.chess_backend.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * Settings for engine hints ({@code GET /api/game/{id}/hint}), bound from {@code chess.hint.*} in
+ * {@code application.properties}.
+ * <p>
+ * Hints are searched by a fixed pool of {@link #workers()} threads, apart from the request threads
+ * and the engine's helper pool, with at most {@link #queueCapacity()} hints waiting. While a worker
+ * is free a hint gets the full budget; once hints have to queue, each newly admitted one gets less,
+ * down to the minimum time and depth when it takes the last queue slot. A hint arriving at a full
+ * queue is refused with 503 and a {@code Retry-After} of {@link #retryAfterSeconds()}.
+ * </p>
+ *
+ * <pre>
+ * chess.hint.workers=0
+ * chess.hint.queue-capacity=16
+ * chess.hint.move-time-millis=1000
+ * chess.hint.min-move-time-millis=50
+ * chess.hint.max-depth=64
+ * chess.hint.min-depth=4
+ * chess.hint.retry-after-seconds=2
+ * </pre>
+ *
+ * @param workers           threads searching hints; 0 for half the cores (at least 1)
+ * @param queueCapacity     hints allowed to wait for a worker
+ * @param moveTimeMillis    thinking time of a hint when a worker is free (and the cap on a requested time)
+ * @param minMoveTimeMillis thinking time of a hint admitted into the last queue slot
+ * @param maxDepth          depth limit when a worker is free (and the cap on a requested depth)
+ * @param minDepth          depth limit of a hint admitted into the last queue slot
+ * @param retryAfterSeconds {@code Retry-After} sent with a 503
+ *
+ * @author Alain Uwishema
+ * @since 0.2
+ */
+@ConfigurationProperties(prefix = "chess.hint")
+public record HintProperties(
+        @DefaultValue("0") int workers,
+        @DefaultValue("16") int queueCapacity,
+        @DefaultValue("1000") long moveTimeMillis,
+        @DefaultValue("50") long minMoveTimeMillis,
+        @DefaultValue("64") int maxDepth,
+        @DefaultValue("4") int minDepth,
+        @DefaultValue("2") int retryAfterSeconds
+) {
+
+    /** @return the effective number of hint workers (at least 1) */
+    public int workerCount() {
+        int n = workers > 0 ? workers : Runtime.getRuntime().availableProcessors() / 2;
+        return Math.max(1, n);
+    }
+}
@@ -0,0 +1,29 @@
+package com.backend.chess_backend.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * Endgame tablebase settings, bound from {@code chess.tablebase.*} in {@code application.properties}.
+ * <p>
+ * The KPK, KRK and KQK bitbases are generated at start-up (about a second on one core, less with
+ * more) and kept in {@code bitbase-cache}, so later starts only read that file.
+ * </p>
+ *
+ * <pre>
+ * chess.tablebase.bitbases=true
+ * chess.tablebase.bitbase-cache=${java.io.tmpdir}/chess-bitbases.bin
+ * </pre>
+ *
+ * @param bitbases     whether to use the generated three-piece bitbases
+ * @param bitbaseCache file the bitbases are cached in; empty to regenerate on every start
+ *
+ * @author Alain Uwishema
+ * @since 0.2
+ */
+@ConfigurationProperties(prefix = "chess.tablebase")
+public record TablebaseProperties(
+        @DefaultValue("true") boolean bitbases,
+        @DefaultValue("") String bitbaseCache
+) {
+}
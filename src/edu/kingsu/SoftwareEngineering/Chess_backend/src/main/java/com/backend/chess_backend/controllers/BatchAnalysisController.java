@@ -0,0 +1,136 @@
+package com.backend.chess_backend.controllers;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.util.Map;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter;
+import reactor.core.Disposable;
+import reactor.core.Disposables;
+import reactor.core.publisher.Flux;
+import reactor.core.scheduler.Schedulers;
+
+import com.backend.chess_backend.exception.IllegalActivity;
+import com.backend.chess_backend.services.BatchAnalysisService;
+import com.backend.chess_backend.web.BatchResultDto;
+
+/**
+ * REST controller for analysing many positions in one request.
+ * <ul>
+ *   <li><b>POST /api/analysis/batch</b> with {@code Content-Type: application/x-ndjson} — one
+ *       <code>{"id": ..., "fen": ...}</code> object per line.</li>
+ *   <li><b>POST /api/analysis/batch</b> with {@code Content-Type: application/x-epd} or
+ *       {@code text/plain} — one EPD record per line, named by its {@code id} operation.</li>
+ * </ul>
+ *
+ * <p>
+ * The response is NDJSON, one {@link BatchResultDto} per line, written as each position finishes.
+ * A batch can run far longer than an ordinary request, so the response is not subject to the
+ * async request timeout; closing the connection cancels the rest of the batch.
+ * </p>
+ *
+ * <p>
+ * The body is read while results are already being written, so a batch that fails part-way (more
+ * than {@code chess.batch.max-positions} positions, or an upload that breaks off) can no longer
+ * change the status code. Instead the positions read so far are answered and the stream ends with
+ * a line holding only the reason, <code>{"error": "..."}</code>.
+ * </p>
+ *
+ * @author Alain Uwishema
+ * @since 0.2
+ */
+@RestController
+@RequestMapping("/api/analysis")
+public class BatchAnalysisController {
+    /** Media type of EPD request bodies. */
+    public static final String APPLICATION_EPD_VALUE = "application/x-epd";
+
+    private final BatchAnalysisService batch;
+    private final ObjectMapper json;
+
+    /**
+     * @param batch the batch analysis service
+     * @param json  the application's JSON mapper, used to write result lines
+     */
+    public BatchAnalysisController(BatchAnalysisService batch, ObjectMapper json) {
+        this.batch = batch;
+        this.json = json;
+    }
+
+    /**
+     * Analyses NDJSON positions.
+     *
+     * Example: <code>POST /api/analysis/batch?movetime=200</code> with body
+     * <code>{"id": "p1", "fen": "6k1/5ppp/8/8/8/8/8/R5K1 w - - 0 1"}</code> →
+     * <code>{"index": 0, "id": "p1", "move": "a1a8", "mate": 1, ...}</code>
+     *
+     * @param body       request body, read line by line while the batch runs
+     * @param depth      optional depth limit per position
+     * @param moveTimeMs optional time per position in milliseconds
+     * @param nodes      optional node limit per position (for reproducible results)
+     * @return the result stream
+     */
+    @PostMapping(value = "/batch", consumes = MediaType.APPLICATION_NDJSON_VALUE, produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<ResponseBodyEmitter> ndjson(Reader body,
+                                                      @RequestParam(value = "depth", required = false) Integer depth,
+                                                      @RequestParam(value = "movetime", required = false) Long moveTimeMs,
+                                                      @RequestParam(value = "nodes", required = false) Long nodes) {
+        return stream(batch.analyseNdjson(body, depth, moveTimeMs, nodes));
+    }
+
+    /**
+     * Analyses EPD positions.
+     *
+     * Example: <code>POST /api/analysis/batch?depth=8</code> with body
+     * <code>6k1/5ppp/8/8/8/8/8/R5K1 w - - bm Ra8#; id "p1";</code>
+     *
+     * @param body       request body, read line by line while the batch runs
+     * @param depth      optional depth limit per position
+     * @param moveTimeMs optional time per position in milliseconds
+     * @param nodes      optional node limit per position (for reproducible results)
+     * @return the result stream
+     */
+    @PostMapping(value = "/batch", consumes = {APPLICATION_EPD_VALUE, MediaType.TEXT_PLAIN_VALUE},
+            produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<ResponseBodyEmitter> epd(Reader body,
+                                                   @RequestParam(value = "depth", required = false) Integer depth,
+                                                   @RequestParam(value = "movetime", required = false) Long moveTimeMs,
+                                                   @RequestParam(value = "nodes", required = false) Long nodes) {
+        return stream(batch.analyseEpd(body, depth, moveTimeMs, nodes));
+    }
+
+    /**
+     * Writes results as NDJSON lines until the batch ends. Lines are written on a separate thread so
+     * a slow client never holds up the analysis threads; a failed write (the client went away)
+     * cancels the batch, and a batch that fails ends with an error line.
+     */
+    private ResponseEntity<ResponseBodyEmitter> stream(Flux<BatchResultDto> results) {
+        ResponseBodyEmitter emitter = new ResponseBodyEmitter(0L);     // 0: no timeout
+        Disposable.Swap subscription = Disposables.swap();
+        subscription.update(results.publishOn(Schedulers.boundedElastic()).subscribe(r -> {
+            try {
+                emitter.send(json.writeValueAsString(r) + "\n", MediaType.TEXT_PLAIN);
+            } catch (IOException e) {
+                subscription.dispose();
+            }
+        }, e -> {
+            String reason = e instanceof IllegalActivity ? e.getMessage() : "Batch aborted: " + e;
+            try {
+                emitter.send(json.writeValueAsString(Map.of("error", reason)) + "\n", MediaType.TEXT_PLAIN);
+                emitter.complete();
+            } catch (IOException ignored) {
+                // the client is gone; nothing left to tell it
+            }
+        }, emitter::complete));
+        emitter.onError(e -> subscription.dispose());
+        emitter.onTimeout(subscription::dispose);
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_NDJSON).body(emitter);
+    }
+}
@@ -1,5 +1,7 @@
 package com.backend.chess_backend.controllers;
 
+import org.springframework.http.MediaType;
+import org.springframework.http.codec.ServerSentEvent;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
@@ -7,28 +9,51 @@ import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 import org.springframework.web.bind.annotation.RequestParam;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import reactor.core.publisher.Flux;
 
+import com.backend.chess_backend.domain.Board;
+import com.backend.chess_backend.domain.rules.Move;
+import com.backend.chess_backend.domain.rules.MoveList;
+import com.backend.chess_backend.services.AnalysisService;
+import com.backend.chess_backend.services.EngineService;
 import com.backend.chess_backend.services.GameService;
+import com.backend.chess_backend.services.HintService;
+import com.backend.chess_backend.services.TablebaseService;
+import com.backend.chess_backend.web.AnalysisDto;
 import com.backend.chess_backend.web.GameStateDto;
+import com.backend.chess_backend.web.HintDto;
 import com.backend.chess_backend.web.MoveRequest;
+import com.backend.chess_backend.web.NewGameRequest;
+import com.backend.chess_backend.web.TablebaseDto;
+import com.backend.chess_backend.web.ThreatsDto;
 
 /**
  * REST controller exposing endpoints for managing in-memory chess games.
  * <p>
- * Delegates core logic to {@link com.backend.chess_backend.services.GameService} and provides
- * three primary routes:
+ * Delegates core logic to {@link com.backend.chess_backend.services.GameService} and the engine
+ * services, and provides nine routes:
  * </p>
  * <ul>
- *   <li><b>POST /api/game</b> — create a new game with the standard chess setup.</li>
+ *   <li><b>POST /api/game</b> — create a new game with the standard chess setup, or from a FEN position.</li>
  *   <li><b>GET /api/game/{id}</b> — fetch the current state of a specific game.</li>
  *   <li><b>POST /api/game/{id}/move</b> — submit a move request to update game state.</li>
+ *   <li><b>POST /api/game/{id}/engine-move</b> — let the computer play the side to move.</li>
+ *   <li><b>GET /api/game/{id}/tablebase</b> — exact endgame result of the current position, where tables cover it.</li>
+ *   <li><b>GET /api/game/{id}/hint</b> — the engine's suggested move, with a budget that shrinks under load.</li>
+ *   <li><b>GET /api/game/{id}/analysis</b> — a Server-Sent Events stream of the engine's view, one event per search depth.</li>
+ *   <li><b>GET /api/game/{id}/threats</b> — pieces of the side to move that lose material to an exchange.</li>
+ *   <li><b>GET /api/game/{id}/targets</b> — legal destination squares of the piece on a square.</li>
  * </ul>
  *
  * <p>
- * Each endpoint returns a {@link com.backend.chess_backend.web.GameStateDto} describing the full
- * board view, revision number, and game status. The controller does not perform move validation;
- * rule enforcement is handled by the service layer.
+ * The routes that create a game, fetch it or play a move return a
+ * {@link com.backend.chess_backend.web.GameStateDto} describing the full board view, revision
+ * number, and game status; the others return their own DTO (a hint, analysis events, a tablebase
+ * result, threats, or a list of squares). The controller does not perform move validation; rule
+ * enforcement is handled by the service layer.
  * </p>
  *
  * @author Alain Uwishema
@@ -39,28 +64,44 @@ import com.backend.chess_backend.web.MoveRequest;
 public class GameController {
 
     private final GameService service;
+    private final EngineService engine;
+    private final TablebaseService tablebases;
+    private final HintService hints;
+    private final AnalysisService analysis;
 
     /**
-     * Constructs a new {@code GameController} with the given service dependency.
+     * Constructs a new {@code GameController} with the given service dependencies.
      *
-     * @param service the game service handling core logic
+     * @param service    the game service handling core logic
+     * @param engine     the computer opponent
+     * @param tablebases the endgame tablebases
+     * @param hints      engine hints on their own bounded workers
+     * @param analysis   streamed analysis on its own bounded threads
      */
-    public GameController(GameService service) {
+    public GameController(GameService service, EngineService engine, TablebaseService tablebases, HintService hints,
+                          AnalysisService analysis) {
         this.service = service;
+        this.engine = engine;
+        this.tablebases = tablebases;
+        this.hints = hints;
+        this.analysis = analysis;
     }
 
     /**
-     * Creates a new chess game with a standard initial setup.
+     * Creates a new chess game.
      * <p>
-     * Returns a fully populated {@link com.backend.chess_backend.web.GameStateDto} containing all
-     * pieces in their starting positions, revision 0, and WHITE as the side to move.
+     * Without a body (or without a {@code fen}) the game starts from the standard setup: all pieces in
+     * their starting positions, revision 0, and WHITE as the side to move. With
+     * <code>{"fen": "..."}</code> the game starts from that position instead; a malformed or unplayable
+     * FEN is rejected with 422.
      * </p>
      *
+     * @param req optional body carrying a starting FEN
      * @return the newly created game state
      */
     @PostMapping
-    public GameStateDto createGame() {
-        return service.createGame();
+    public GameStateDto createGame(@RequestBody(required = false) NewGameRequest req) {
+        return service.createGame(req == null ? null : req.fen());
     }
 
     /**
@@ -79,14 +120,16 @@ public class GameController {
      * Applies a move request to a specific game.
      * <p>
      * Delegates to {@link com.backend.chess_backend.services.GameService#makeMove(String, com.backend.chess_backend.web.MoveRequest)}.
-     * This endpoint does not enforce rule legality but updates the in-memory board state accordingly.
+     * The move is checked against the rules of chess: an invalid square, a move that is not legal in
+     * the current position or a move after the game has ended is rejected with 422, and a stale
+     * {@code clientRev} with 409.
      * </p>
      *
      * @param id  the game identifier
      * @param req the move request including from/to squares and optional promotion
      * @return the updated game state after applying the move
      * @throws java.util.NoSuchElementException if no game exists for {@code id}
-     * @throws IllegalArgumentException if provided coordinates are invalid
+     * @throws com.backend.chess_backend.exception.IllegalActivity if the move is not legal (422)
      */
     @PostMapping("/{id}/move")
     public GameStateDto makeMove(@PathVariable String id, @RequestBody MoveRequest req) {
@@ -94,11 +137,120 @@ public class GameController {
     }
 
     /**
-     * Returns pseudo-legal destination squares for the piece on {@code from}.
+     * Lets the engine choose and play a move for the side to move.
      * <p>
-     * This is intended for frontend highlighting. It returns movement-pattern targets with
-     * board bounds and occupancy rules applied (captures allowed), but may not include
-     * king-safety constraints yet.
+     * The search deepens iteratively until the thinking time runs out (default and maximum come
+     * from {@code chess.engine.*}); the move is applied exactly like a human move and the new state
+     * returned. If the game changed while the engine was thinking the request fails with 409.
+     * </p>
+     *
+     * Example: <code>POST /api/game/{id}/engine-move?movetime=500&amp;threads=4</code>
+     *
+     * @param id         game identifier
+     * @param depth      optional depth limit in plies
+     * @param moveTimeMs optional thinking time in milliseconds
+     * @param threads    optional number of search threads (granted only as far as the shared pool allows)
+     * @return the game state after the engine's move
+     */
+    @PostMapping("/{id}/engine-move")
+    public GameStateDto engineMove(@PathVariable String id,
+                                   @RequestParam(value = "depth", required = false) Integer depth,
+                                   @RequestParam(value = "movetime", required = false) Long moveTimeMs,
+                                   @RequestParam(value = "threads", required = false) Integer threads) {
+        return engine.engineMove(id, depth, moveTimeMs, threads);
+    }
+
+    /**
+     * Suggests a move for the side to move without playing it.
+     * <p>
+     * The search runs on a small pool of hint workers and the request thread is released meanwhile,
+     * so hints never slow down moves. While hints queue up, each new one is given less time and
+     * depth (reported back as {@code budgetMillis} / {@code budgetDepth}); once the queue is full the
+     * request fails with 503 and a {@code Retry-After} header.
+     * </p>
+     *
+     * Example: <code>GET /api/game/{id}/hint?movetime=500</code> → <code>{"move": "g1f3", "score": 35, "pv": [...], ...}</code>
+     *
+     * @param id         game identifier
+     * @param depth      optional depth limit in plies
+     * @param moveTimeMs optional thinking time in milliseconds
+     * @return the suggestion, once the search is done
+     */
+    @GetMapping("/{id}/hint")
+    public CompletableFuture<HintDto> hint(@PathVariable String id,
+                                           @RequestParam(value = "depth", required = false) Integer depth,
+                                           @RequestParam(value = "movetime", required = false) Long moveTimeMs) {
+        return hints.hint(id, depth, moveTimeMs);
+    }
+
+    /**
+     * Streams the engine's analysis of the current position as Server-Sent Events.
+     * <p>
+     * An {@code info} event is sent after every completed search depth with the score, the
+     * principal variation and the nodes per second, then a final {@code bestmove} event when the
+     * time or depth limit is reached (by default {@code chess.analysis.max-time-millis}). Closing the
+     * connection stops the search. With every analysis thread busy the request fails with 503 and a
+     * {@code Retry-After} header.
+     * </p>
+     *
+     * Example: <code>GET /api/game/{id}/analysis?movetime=10000</code> →
+     * <code>event:info id:1 data:{"depth": 1, "move": "e2e4", "score": 40, ...}</code>, ...
+     *
+     * @param id         game identifier
+     * @param depth      optional depth limit in plies
+     * @param moveTimeMs optional analysis time in milliseconds
+     * @param threads    optional number of search threads (granted only as far as the shared pool allows)
+     * @return the event stream
+     */
+    @GetMapping(value = "/{id}/analysis", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public Flux<ServerSentEvent<AnalysisDto>> analysis(@PathVariable String id,
+                                                       @RequestParam(value = "depth", required = false) Integer depth,
+                                                       @RequestParam(value = "movetime", required = false) Long moveTimeMs,
+                                                       @RequestParam(value = "threads", required = false) Integer threads) {
+        return analysis.analyse(id, depth, moveTimeMs, threads);
+    }
+
+    /**
+     * Probes the endgame tablebases for the current position.
+     * <p>
+     * Positions with more pieces than any table covers, or with castling rights, answer
+     * {@code "UNKNOWN"}.
+     * </p>
+     *
+     * Example: <code>GET /api/game/{id}/tablebase</code> → <code>{"wdl": "WIN", "dtz": 5, ...}</code>
+     *
+     * @param id game identifier
+     * @return the probe result
+     */
+    @GetMapping("/{id}/tablebase")
+    public TablebaseDto tablebase(@PathVariable String id) {
+        return tablebases.probe(id);
+    }
+
+    /**
+     * Lists the pieces of the side to move that are en prise.
+     * <p>
+     * Each entry is a square where the opponent, capturing first, wins material in the exchange
+     * that follows, with the amount at stake. The answer comes from static exchange evaluation,
+     * not a search, so it is cheap enough to refresh after every move.
+     * </p>
+     *
+     * Example: <code>GET /api/game/{id}/threats</code> → <code>{"threats": [{"square": "c3", "piece": "wN", "loss": 337}], ...}</code>
+     *
+     * @param id game identifier
+     * @return the threatened pieces
+     */
+    @GetMapping("/{id}/threats")
+    public ThreatsDto threats(@PathVariable String id) {
+        return service.threats(id);
+    }
+
+    /**
+     * Returns legal destination squares for the piece on {@code from}.
+     * <p>
+     * This is intended for frontend highlighting. Targets respect pins and checks and include
+     * castling and en-passant destinations. A promotion square is listed once even though
+     * four promotion moves lead there.
      * </p>
      *
      * Example: <code>GET /api/game/{id}/targets?from=e2</code> → <code>["e3","e4"]</code>
@@ -109,6 +261,26 @@ public class GameController {
      */
     @GetMapping("/{id}/targets")
     public List<String> getTargets(@PathVariable String id, @RequestParam("from") String from) {
-        return service.getPseudoLegalTargets(id, from);
+        return toSquares(service.getLegalTargets(id, from));
+    }
+
+    /**
+     * Converts packed moves into their destination squares in algebraic notation.
+     *
+     * @param moves moves produced by the rules engine
+     * @return destination squares, in generation order (promotion choices collapsed to one square)
+     */
+    private static List<String> toSquares(MoveList moves) {
+        List<String> out = new ArrayList<>(moves.size());
+        int prev = Move.NONE;
+        for (int i = 0; i < moves.size(); i++) {
+            int m = moves.get(i);
+            // promotion moves to the same square are generated back to back
+            if (Move.isPromotion(m) && Move.isPromotion(prev) && Move.to(m) == Move.to(prev)
+                    && Move.from(m) == Move.from(prev)) continue;
+            out.add(Board.toAlgebraic(Move.to(m)));
+            prev = m;
+        }
+        return out;
     }
 }
@@ -8,6 +8,10 @@ package com.backend.chess_backend.domain;
  * movement operations; rule legality (check, pins, castling, etc.) belongs in
  * higher-level services.
  * </p>
+ * <p>
+ * Every mutation is mirrored into a bitboard {@link Position}, exposed via {@link #position()},
+ * so rule code can work on whole-board masks while existing callers keep using {@link Piece}s.
+ * </p>
  *
  * <h2>Indexing</h2>
  * <pre>
@@ -20,13 +24,26 @@ package com.backend.chess_backend.domain;
  * @since 0.1
  */
 public final class Board {
-   private final Piece[] squares ;
+    private final Piece[] squares;
+    private final Position position;
 
     /**
      * Creates an empty 8x8 board (all squares initially {@code null}).
      */
     public Board() {
         this.squares = new Piece[64];
+        this.position = new Position();
+    }
+
+    /**
+     * Returns the bitboard view of this board. The returned position is kept in sync by
+     * {@link #setAt(int, Piece)}, {@link #clear(int)} and {@link #move(int, int)}; callers
+     * should treat it as read-only.
+     *
+     * @return the live bitboard position backing this board
+     */
+    public Position position() {
+        return position;
     }
     /**
      * Returns the piece at a given square or {@code null} if the square is empty.
@@ -51,7 +68,11 @@ public final class Board {
     public void setAt(int square, Piece piece) {
         validateSquare(square);
         squares[square] = piece;
-        if (piece != null) piece.moveTo(square);
+        position.remove(square);
+        if (piece != null) {
+            piece.moveTo(square);
+            position.put(Position.pieceOf(piece), square);
+        }
     }
 
     /**
@@ -65,6 +86,7 @@ public final class Board {
         validateSquare(square);
         Piece p = squares[square];
         squares[square] = null;
+        position.remove(square);
         return p;
     }
 
@@ -85,6 +107,7 @@ public final class Board {
         if (p == null) throw new IllegalStateException("No piece on from-square " + from);
         squares[from] = null;
         squares[to] = p;
+        position.move(from, to);
         p.moveTo(to);
     }
 
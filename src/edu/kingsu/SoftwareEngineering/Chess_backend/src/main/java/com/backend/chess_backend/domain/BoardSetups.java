@@ -5,8 +5,9 @@ package com.backend.chess_backend.domain;
  * Utilities for initializing {@link Board} positions.
  * <p>
  * Currently provides a single helper to populate the standard chess starting layout:
- * white pieces on ranks 1–2, black pieces on ranks 7–8. Squares are addressed via
- * algebraic coordinates (e.g., "e2"), converted to 0..63 indices by {@link Board#sq(String)}.
+ * white pieces on ranks 1–2, black pieces on ranks 7–8. Squares are addressed directly by their
+ * 0..63 indices (a1 = 0, h8 = 63); no square names are built or parsed. Positions that are not the
+ * standard start can be read from FEN with {@link Fen#read(CharSequence, Position)}.
  * </p>
  *
  * <h2>Standard layout</h2>
@@ -27,34 +28,58 @@ package com.backend.chess_backend.domain;
 public class BoardSetups {
     private BoardSetups() {}
 
+    /** White's back rank, a1..h1, as piece codes (BLACK's is the same codes with the color bit set). */
+    private static final int[] WHITE_BACK_RANK = {
+            Position.W_ROOK, Position.W_KNIGHT, Position.W_BISHOP, Position.W_QUEEN,
+            Position.W_KING, Position.W_BISHOP, Position.W_KNIGHT, Position.W_ROOK
+    };
+
     /**
      * Populates the given board with the standard chess starting position.
      * <p>
      * Pawns are placed on ranks 2 (white) and 7 (black). Back ranks are filled using the
      * canonical piece order: rook, knight, bishop, queen, king, bishop, knight, rook.
-     * The provided {@link Board} is modified in place via {@link Board#setAt(int, Piece)}.
+     * The provided {@link Board} is modified in place via {@link Board#setAt(int, Piece)}, and its
+     * {@link Position} is given full castling rights.
      * </p>
      *
      * @param b the board to fill; must not be {@code null}
      * @since 0.1
      */
     public static void fillStandard(Board b) {
-        // Pawns
+        // Pawns: a2..h2 is 8..15, a7..h7 is 48..55
+        for (int f = 0; f < 8; f++) {
+            b.setAt(8 + f, new Piece(PieceColor.WHITE, PieceType.PAWN, 8 + f));
+            b.setAt(48 + f, new Piece(PieceColor.BLACK, PieceType.PAWN, 48 + f));
+        }
+        // Back ranks (file order: R, N, B, Q, K, B, N, R): a1..h1 is 0..7, a8..h8 is 56..63
         for (int f = 0; f < 8; f++) {
-            int wSq = Board.sq("" + (char)('a' + f) + "2");
-            int bSq = Board.sq("" + (char)('a' + f) + "7");
-            b.setAt(wSq, new Piece(PieceColor.WHITE, PieceType.PAWN, wSq));
-            b.setAt(bSq, new Piece(PieceColor.BLACK, PieceType.PAWN, bSq));
+            PieceType type = Position.toPieceType(Position.typeOf(WHITE_BACK_RANK[f]));
+            b.setAt(f, new Piece(PieceColor.WHITE, type, f));
+            b.setAt(56 + f, new Piece(PieceColor.BLACK, type, 56 + f));
         }
-        // Back ranks (file order: R, N, B, Q, K, B, N, R)
-        PieceType[] order = { PieceType.ROOK, PieceType.KNIGHT, PieceType.BISHOP,
-                PieceType.QUEEN, PieceType.KING, PieceType.BISHOP,
-                PieceType.KNIGHT, PieceType.ROOK };
+        b.position().setCastlingRights(Position.ALL_CASTLING);
+    }
+
+    /**
+     * Resets the given position to the standard chess starting position: all 32 pieces, WHITE to
+     * move, full castling rights, no en-passant square and fresh clocks.
+     * <p>
+     * Unlike {@link #fillStandard(Board)} this writes piece codes straight into the bitboards and
+     * creates no {@link Piece} objects; each square only stores one of the twelve shared piece codes.
+     * </p>
+     *
+     * @param pos the position to reset; must not be {@code null}
+     * @since 0.2
+     */
+    public static void fillStandard(Position pos) {
+        pos.clearAll();
         for (int f = 0; f < 8; f++) {
-            int iW = Board.sq("" + (char)('a' + f) + "1");
-            int iB = Board.sq("" + (char)('a' + f) + "8");
-            b.setAt(iW, new Piece(PieceColor.WHITE, order[f], iW));
-            b.setAt(iB, new Piece(PieceColor.BLACK, order[f], iB));
+            pos.put(WHITE_BACK_RANK[f], f);
+            pos.put(Position.W_PAWN, 8 + f);
+            pos.put(Position.B_PAWN, 48 + f);
+            pos.put(WHITE_BACK_RANK[f] | Position.BLACK, 56 + f);
         }
+        pos.setCastlingRights(Position.ALL_CASTLING);
     }
 }
@@ -47,15 +47,48 @@ public class BoardViews {
      * @since 0.1
      */
     public static Map<String,String> toPositionMap(Board b) {
+        return toPositionMap(b.position());
+    }
+
+    /**
+     * Converts a bitboard {@link Position} to the same square → piece-code map as
+     * {@link #toPositionMap(Board)}. Only occupied squares are visited.
+     *
+     * @param pos the position to convert; must not be {@code null}
+     * @return a {@link java.util.LinkedHashMap} with entries for all occupied squares, in ascending square order
+     * @since 0.2
+     */
+    public static Map<String,String> toPositionMap(Position pos) {
         Map<String,String> map = new LinkedHashMap<>(64);
-        for (int sq = 0; sq < 64; sq++) {
-            Piece p = b.getAt(sq);
-            if (p == null) continue;
-            map.put(Board.toAlgebraic(sq), toCode(p));
+        long occ = pos.occupied();
+        while (occ != 0) {
+            int sq = Long.numberOfTrailingZeros(occ);
+            map.put(Board.toAlgebraic(sq), CODES[pos.pieceAt(sq)]);
+            occ &= occ - 1;
         }
         return map;
     }
 
+    /**
+     * Two-character code of a {@link Position} piece code, as used in {@link #toPositionMap(Position)}.
+     *
+     * @param piece piece code, {@code 0..11}
+     * @return code such as {@code "wP"} or {@code "bK"}
+     * @since 0.2
+     */
+    public static String code(int piece) {
+        return CODES[piece];
+    }
+
+    /** Two-character codes indexed by {@link Position} piece code. */
+    private static final String[] CODES = new String[Position.PIECE_KINDS];
+    static {
+        for (int piece = 0; piece < Position.PIECE_KINDS; piece++) {
+            CODES[piece] = toCode(new Piece(Position.toPieceColor(Position.colorOf(piece)),
+                    Position.toPieceType(Position.typeOf(piece)), 0));
+        }
+    }
+
     /**
      * Produces a short code representing a {@link Piece}.
      * The format is: {@code wK, wQ, wR, wB, wN, wP} for white pieces and
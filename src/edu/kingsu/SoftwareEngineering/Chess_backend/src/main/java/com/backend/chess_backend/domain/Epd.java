@@ -0,0 +1,102 @@
+package com.backend.chess_backend.domain;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * One Extended Position Description (EPD) record: the first four {@link Fen} fields followed by
+ * semicolon-terminated operations, the usual format of test suites and puzzle collections.
+ * <pre>
+ * r1bqkb1r/pppp1ppp/2n2n2/4p2Q/2B1P3/8/PPPP1PPP/RNB1K1NR w KQkq - bm Qxf7#; id "scholar";
+ * placement  side  castling  en-passant  operations...
+ * </pre>
+ * <p>
+ * Each operation is an opcode and an optional operand; a double-quoted operand is unquoted and may
+ * contain semicolons. The {@code hmvc} and {@code fmvn} operations, when present, become the clock
+ * fields of {@link #fen()}. A full six-field FEN record is accepted too: its two clock fields are
+ * used as such. Operations are only parsed, not interpreted; in particular {@code bm} and
+ * {@code am} keep their SAN text.
+ * </p>
+ *
+ * <pre>
+ * Epd epd = Epd.parse(line);
+ * Fen.read(epd.fen(), pos);
+ * String name = epd.id();
+ * </pre>
+ *
+ * @param fen        the position as a six-field FEN record
+ * @param operations operands by opcode, in record order (empty string for an operation without operand)
+ *
+ * @author Alain Uwishema
+ * @since 0.2
+ */
+public record Epd(String fen, Map<String, String> operations) {
+    /** Clock fields of a six-field FEN record where EPD operations would start. */
+    private static final Pattern CLOCKS = Pattern.compile("(\\d+)\\s+(\\d+)\\s*(.*)", Pattern.DOTALL);
+
+    /**
+     * Parses one record. The position fields are not checked here; {@link Fen#read(CharSequence, Position)}
+     * does that.
+     *
+     * @param line an EPD record; leading and trailing spaces are ignored
+     * @return the record
+     * @throws IllegalArgumentException if {@code line} has fewer than four fields or an unterminated quote
+     */
+    public static Epd parse(String line) {
+        if (line == null) throw new IllegalArgumentException("EPD must not be null");
+        String[] parts = line.strip().split("\\s+", 5);
+        if (parts.length < 4) throw new IllegalArgumentException("EPD record needs four fields: " + line);
+        String rest = parts.length == 5 ? parts[4] : "";
+
+        String halfmove = "0", fullmove = "1";
+        Matcher clocks = CLOCKS.matcher(rest);
+        if (clocks.matches()) {
+            halfmove = clocks.group(1);
+            fullmove = clocks.group(2);
+            rest = clocks.group(3);
+        }
+        Map<String, String> ops = operations(rest, line);
+        halfmove = ops.getOrDefault("hmvc", halfmove);
+        fullmove = ops.getOrDefault("fmvn", fullmove);
+        String fen = parts[0] + ' ' + parts[1] + ' ' + parts[2] + ' ' + parts[3] + ' ' + halfmove + ' ' + fullmove;
+        return new Epd(fen, Collections.unmodifiableMap(ops));
+    }
+
+    /** @return the {@code id} operand, or {@code null} */
+    public String id() {
+        return operations.get("id");
+    }
+
+    private static Map<String, String> operations(String text, String line) {
+        Map<String, String> ops = new LinkedHashMap<>();
+        StringBuilder op = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (c == '"') quoted = !quoted;
+            if (c == ';' && !quoted) {
+                addOperation(op, ops);
+                op.setLength(0);
+            } else {
+                op.append(c);
+            }
+        }
+        if (quoted) throw new IllegalArgumentException("Unterminated quote in EPD record: " + line);
+        addOperation(op, ops);
+        return ops;
+    }
+
+    private static void addOperation(CharSequence text, Map<String, String> ops) {
+        String op = text.toString().strip();
+        if (op.isEmpty()) return;
+        String[] parts = op.split("\\s+", 2);
+        String operand = parts.length == 2 ? parts[1] : "";
+        if (operand.length() >= 2 && operand.startsWith("\"") && operand.endsWith("\"")) {
+            operand = operand.substring(1, operand.length() - 1);
+        }
+        ops.put(parts[0], operand);
+    }
+}
@@ -0,0 +1,367 @@
+package com.backend.chess_backend.domain;
+
+import com.backend.chess_backend.domain.rules.MoveGenerator;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Forsyth–Edwards Notation (FEN) support for {@link Position}.
+ * <p>
+ * A FEN record describes a position in six space-separated fields:
+ * </p>
+ * <pre>
+ * rnbqkbnr/pppppppp/8/8/4P3/8/PPPP1PPP/RNBQKBNR b KQkq e3 0 1
+ * placement           side  castling  en-passant  halfmove  fullmove
+ * </pre>
+ * The reader scans the characters once and writes piece codes straight into the position; it builds
+ * no intermediate strings, arrays or {@link Piece} objects, whether the record comes from a
+ * {@link CharSequence} or from a slice of a byte buffer. The two clock fields may be omitted (they
+ * default to 0 and 1), which accepts the common four-field EPD-style form. The writer appends to a
+ * caller-supplied {@link StringBuilder}.
+ *
+ * <p>
+ * An en-passant square is only kept when a pawn of the side to move could actually capture onto it,
+ * matching what {@link Position#makeMove(int)} records, so a position read from FEN hashes the same
+ * as the identical position reached by play. Likewise castling rights whose king or rook is not on
+ * its home square are dropped.
+ * </p>
+ * <p>
+ * Reading only checks syntax. {@link #validate(Position)} additionally rejects positions that cannot
+ * be played from (missing kings, pawns on a back rank, side not to move in check).
+ * </p>
+ *
+ * <pre>
+ * Position pos = new Position();
+ * Fen.read("8/8/8/8/8/8/4k3/4K2R w K - 0 1", pos);
+ * </pre>
+ *
+ * @author Alain Uwishema
+ * @since 0.2
+ */
+public final class Fen {
+    private Fen() {}
+
+    /** FEN of the standard starting position. */
+    public static final String START = "rnbqkbnr/pppppppp/8/8/8/8/PPPPPPPP/RNBQKBNR w KQkq - 0 1";
+
+    /** FEN letter per piece code. */
+    private static final char[] LETTERS = {'P', 'p', 'N', 'n', 'B', 'b', 'R', 'r', 'Q', 'q', 'K', 'k'};
+    private static final long BACK_RANKS = 0xFF00_0000_0000_00FFL;
+
+    /**
+     * Replaces the contents of {@code pos} with the position described by {@code fen}.
+     * The undo stack is cleared.
+     *
+     * @param fen FEN record; leading and trailing spaces are ignored
+     * @param pos position to overwrite; must not be {@code null}
+     * @throws IllegalArgumentException if the record is malformed; {@code pos} is left in an unspecified state
+     */
+    public static void read(CharSequence fen, Position pos) {
+        if (fen == null) throw new IllegalArgumentException("FEN must not be null");
+        parse(fen, pos);
+    }
+
+    /**
+     * Same as {@link #read(CharSequence, Position)}, reading ASCII bytes straight from a buffer
+     * (for example a slice of an imported file) without decoding them into a {@link String} first.
+     *
+     * @param ascii  buffer holding the record
+     * @param offset index of the first byte of the record
+     * @param length number of bytes in the record
+     * @param pos    position to overwrite; must not be {@code null}
+     * @throws IllegalArgumentException if the record is malformed
+     */
+    public static void read(byte[] ascii, int offset, int length, Position pos) {
+        if (ascii == null) throw new IllegalArgumentException("FEN must not be null");
+        if (offset < 0 || length < 0 || offset + length > ascii.length) {
+            throw new IllegalArgumentException("FEN slice out of bounds");
+        }
+        AsciiView view = ASCII_VIEW.get();
+        view.reset(ascii, offset, length);
+        try {
+            parse(view, pos);
+        } finally {
+            view.reset(null, 0, 0);
+        }
+    }
+
+    /** Single pass over the record; nothing is allocated unless the record is rejected. */
+    private static void parse(CharSequence fen, Position pos) {
+        int n = fen.length();
+        pos.clearAll();
+        int i = skipSpaces(fen, 0);
+
+        // 1. piece placement, rank 8 first
+        int rank = 7, file = 0;
+        for (; i < n; i++) {
+            char c = fen.charAt(i);
+            if (c == ' ') break;
+            if (c == '/') {
+                if (file != 8 || rank == 0) throw bad("rank " + (rank + 1) + " does not have 8 files", fen);
+                rank--;
+                file = 0;
+            } else if (c >= '1' && c <= '8') {
+                file += c - '0';
+                if (file > 8) throw bad("rank " + (rank + 1) + " has more than 8 files", fen);
+            } else {
+                int piece = pieceCode(c);
+                if (piece == Position.NO_PIECE) throw bad("unknown piece '" + c + "'", fen);
+                if (file > 7) throw bad("rank " + (rank + 1) + " has more than 8 files", fen);
+                pos.put(piece, (rank << 3) | file);
+                file++;
+            }
+        }
+        if (rank != 0 || file != 8) throw bad("placement must describe 8 ranks of 8 files", fen);
+
+        // 2. side to move
+        i = skipSpaces(fen, i);
+        if (i >= n) throw bad("missing side to move", fen);
+        char side = fen.charAt(i++);
+        if (side == 'w') pos.setSideToMove(Position.WHITE);
+        else if (side == 'b') pos.setSideToMove(Position.BLACK);
+        else throw bad("side to move must be 'w' or 'b'", fen);
+        if (i < n && fen.charAt(i) != ' ') throw bad("side to move must be 'w' or 'b'", fen);
+
+        // 3. castling rights
+        i = skipSpaces(fen, i);
+        if (i >= n) throw bad("missing castling field", fen);
+        int rights = 0;
+        if (fen.charAt(i) == '-') {
+            i++;
+        } else {
+            for (; i < n && fen.charAt(i) != ' '; i++) {
+                int bit = switch (fen.charAt(i)) {
+                    case 'K' -> Position.WHITE_OO;
+                    case 'Q' -> Position.WHITE_OOO;
+                    case 'k' -> Position.BLACK_OO;
+                    case 'q' -> Position.BLACK_OOO;
+                    default -> throw bad("castling field may only contain KQkq or '-'", fen);
+                };
+                rights |= bit;
+            }
+        }
+        pos.setCastlingRights(rights & castlingPossible(pos));
+
+        // 4. en-passant square
+        i = skipSpaces(fen, i);
+        if (i >= n) throw bad("missing en-passant field", fen);
+        if (fen.charAt(i) == '-') {
+            i++;
+        } else {
+            if (i + 1 >= n) throw bad("en-passant square must be '-' or a square", fen);
+            char f = fen.charAt(i), r = fen.charAt(i + 1);
+            int expectedRank = pos.sideToMove() == Position.WHITE ? '6' : '3';
+            if (f < 'a' || f > 'h' || r != expectedRank) {
+                throw bad("en-passant square must be on rank " + (char) expectedRank, fen);
+            }
+            i += 2;
+            int ep = ((r - '1') << 3) | (f - 'a');
+            if (epCapturable(pos, ep)) pos.setEpSquare(ep);
+        }
+
+        // 5./6. optional clocks
+        i = skipSpaces(fen, i);
+        if (i < n) {
+            int start = i;
+            int half = 0;
+            for (; i < n && fen.charAt(i) != ' '; i++) half = digit(fen, i, half);
+            if (i == start) throw bad("halfmove clock must be a number", fen);
+            pos.setHalfmoveClock(half);
+
+            i = skipSpaces(fen, i);
+            if (i < n) {
+                start = i;
+                int full = 0;
+                for (; i < n && fen.charAt(i) != ' '; i++) full = digit(fen, i, full);
+                if (i == start || full < 1) throw bad("fullmove number must be a positive number", fen);
+                pos.setFullmoveNumber(full);
+                if (skipSpaces(fen, i) < n) throw bad("unexpected trailing characters", fen);
+            }
+        }
+    }
+
+    /**
+     * Appends the FEN record of {@code pos} to {@code out}. Nothing else is allocated.
+     *
+     * @param pos position to describe
+     * @param out builder to append to
+     * @return {@code out}, for chaining
+     */
+    public static StringBuilder write(Position pos, StringBuilder out) {
+        for (int rank = 7; rank >= 0; rank--) {
+            int empty = 0;
+            for (int file = 0; file < 8; file++) {
+                int piece = pos.pieceAt((rank << 3) | file);
+                if (piece == Position.NO_PIECE) {
+                    empty++;
+                    continue;
+                }
+                if (empty > 0) out.append((char) ('0' + empty));
+                empty = 0;
+                out.append(LETTERS[piece]);
+            }
+            if (empty > 0) out.append((char) ('0' + empty));
+            if (rank > 0) out.append('/');
+        }
+
+        out.append(pos.sideToMove() == Position.WHITE ? " w " : " b ");
+
+        int rights = pos.castlingRights();
+        if (rights == 0) out.append('-');
+        if ((rights & Position.WHITE_OO) != 0) out.append('K');
+        if ((rights & Position.WHITE_OOO) != 0) out.append('Q');
+        if ((rights & Position.BLACK_OO) != 0) out.append('k');
+        if ((rights & Position.BLACK_OOO) != 0) out.append('q');
+
+        int ep = pos.epSquare();
+        out.append(' ');
+        if (ep == Position.NO_SQUARE) out.append('-');
+        else out.append((char) ('a' + (ep & 7))).append((char) ('1' + (ep >>> 3)));
+
+        return out.append(' ').append(pos.halfmoveClock()).append(' ').append(pos.fullmoveNumber());
+    }
+
+    /**
+     * Returns the FEN record of {@code pos}.
+     *
+     * @param pos position to describe
+     * @return the FEN string
+     */
+    public static String write(Position pos) {
+        return write(pos, new StringBuilder(90)).toString();
+    }
+
+    /**
+     * Rejects positions that are well-formed but cannot be played from: each side must have exactly
+     * one king, no pawn may stand on the first or eighth rank, the material must be reachable in a
+     * game (see below), and the side that just moved must not be left in check.
+     * <p>
+     * Reachable material means at most 16 pieces and 8 pawns per side, and every piece beyond the
+     * initial set (a second queen, a third rook, bishop or knight) paid for by a pawn that is
+     * missing, since it can only come from a promotion. Besides rejecting nonsense, this keeps the
+     * number of legal moves within what a game can produce, which {@link com.backend.chess_backend.domain.rules.MoveList}
+     * relies on.
+     * </p>
+     *
+     * @param pos position to check
+     * @throws IllegalArgumentException describing the first problem found
+     */
+    public static void validate(Position pos) {
+        if (Long.bitCount(pos.pieces(Position.W_KING)) != 1 || Long.bitCount(pos.pieces(Position.B_KING)) != 1) {
+            throw new IllegalArgumentException("Invalid position: each side needs exactly one king");
+        }
+        if (((pos.pieces(Position.W_PAWN) | pos.pieces(Position.B_PAWN)) & BACK_RANKS) != 0) {
+            throw new IllegalArgumentException("Invalid position: pawns cannot stand on the first or eighth rank");
+        }
+        for (int side = Position.WHITE; side <= Position.BLACK; side++) {
+            String name = side == Position.WHITE ? "white" : "black";
+            int pawns = Long.bitCount(pos.pieces(side, Position.PAWN));
+            if (Long.bitCount(pos.occupancy(side)) > 16 || pawns > 8) {
+                throw new IllegalArgumentException("Invalid position: " + name + " has more than 16 pieces or 8 pawns");
+            }
+            int promoted = extra(pos, side, Position.QUEEN, 1) + extra(pos, side, Position.ROOK, 2)
+                    + extra(pos, side, Position.BISHOP, 2) + extra(pos, side, Position.KNIGHT, 2);
+            if (promoted > 8 - pawns) {
+                throw new IllegalArgumentException("Invalid position: " + name + " has more promoted pieces than missing pawns");
+            }
+        }
+        int them = pos.sideToMove() ^ 1;
+        int king = Long.numberOfTrailingZeros(pos.pieces(them, Position.KING));
+        if (MoveGenerator.isSquareAttacked(pos, king, pos.sideToMove())) {
+            throw new IllegalArgumentException("Invalid position: the side not to move is in check");
+        }
+    }
+
+    /** Pieces of {@code type} beyond the {@code initial} number, i.e. ones that must have been promoted. */
+    private static int extra(Position pos, int side, int type, int initial) {
+        return Math.max(0, Long.bitCount(pos.pieces(side, type)) - initial);
+    }
+
+    /**
+     * Maps a FEN piece letter to its piece code.
+     *
+     * @param c one of {@code PNBRQK} (white) or {@code pnbrqk} (black)
+     * @return piece code in [0..11], or {@link Position#NO_PIECE} for any other character
+     */
+    public static int pieceCode(char c) {
+        return switch (c) {
+            case 'P' -> Position.W_PAWN;
+            case 'N' -> Position.W_KNIGHT;
+            case 'B' -> Position.W_BISHOP;
+            case 'R' -> Position.W_ROOK;
+            case 'Q' -> Position.W_QUEEN;
+            case 'K' -> Position.W_KING;
+            case 'p' -> Position.B_PAWN;
+            case 'n' -> Position.B_KNIGHT;
+            case 'b' -> Position.B_BISHOP;
+            case 'r' -> Position.B_ROOK;
+            case 'q' -> Position.B_QUEEN;
+            case 'k' -> Position.B_KING;
+            default -> Position.NO_PIECE;
+        };
+    }
+
+    /** Castling rights whose king and rook stand on their home squares. */
+    private static int castlingPossible(Position pos) {
+        int possible = 0;
+        if (pos.pieceAt(4) == Position.W_KING) {
+            if (pos.pieceAt(7) == Position.W_ROOK) possible |= Position.WHITE_OO;
+            if (pos.pieceAt(0) == Position.W_ROOK) possible |= Position.WHITE_OOO;
+        }
+        if (pos.pieceAt(60) == Position.B_KING) {
+            if (pos.pieceAt(63) == Position.B_ROOK) possible |= Position.BLACK_OO;
+            if (pos.pieceAt(56) == Position.B_ROOK) possible |= Position.BLACK_OOO;
+        }
+        return possible;
+    }
+
+    /**
+     * Whether the double push past {@code ep} can have just been played (the pawn stands in front of
+     * {@code ep}, which is empty, as is the square the pawn came from) and a pawn of the side to move
+     * stands next to it. An occupied {@code ep} would make the en-passant capture take two pieces.
+     */
+    private static boolean epCapturable(Position pos, int ep) {
+        int us = pos.sideToMove();
+        int pushed = us == Position.WHITE ? ep - 8 : ep + 8;
+        int origin = us == Position.WHITE ? ep + 8 : ep - 8;
+        if (pos.pieceAt(pushed) != Position.piece(us ^ 1, Position.PAWN)) return false;
+        if (pos.pieceAt(ep) != Position.NO_PIECE || pos.pieceAt(origin) != Position.NO_PIECE) return false;
+        long bit = 1L << pushed;
+        long adjacent = ((bit << 1) & ~0x0101_0101_0101_0101L) | ((bit >>> 1) & ~0x8080_8080_8080_8080L);
+        return (pos.pieces(us, Position.PAWN) & adjacent) != 0;
+    }
+
+    private static int digit(CharSequence fen, int i, int value) {
+        char c = fen.charAt(i);
+        if (c < '0' || c > '9' || value > 100_000) throw bad("clock fields must be numbers", fen);
+        return value * 10 + (c - '0');
+    }
+
+    private static int skipSpaces(CharSequence fen, int i) {
+        while (i < fen.length() && fen.charAt(i) == ' ') i++;
+        return i;
+    }
+
+    /** Reusable per-thread {@link CharSequence} view over an ASCII byte slice. */
+    private static final ThreadLocal<AsciiView> ASCII_VIEW = ThreadLocal.withInitial(AsciiView::new);
+
+    private static final class AsciiView implements CharSequence {
+        private byte[] bytes;
+        private int offset, length;
+
+        void reset(byte[] bytes, int offset, int length) {
+            this.bytes = bytes;
+            this.offset = offset;
+            this.length = length;
+        }
+
+        @Override public int length() { return length; }
+        @Override public char charAt(int index) { return (char) (bytes[offset + index] & 0xFF); }
+        @Override public CharSequence subSequence(int start, int end) { return toString().substring(start, end); }
+        @Override public String toString() { return new String(bytes, offset, length, StandardCharsets.ISO_8859_1); }
+    }
+
+    private static IllegalArgumentException bad(String reason, CharSequence fen) {
+        return new IllegalArgumentException("Invalid FEN (" + reason + "): " + fen);
+    }
+}
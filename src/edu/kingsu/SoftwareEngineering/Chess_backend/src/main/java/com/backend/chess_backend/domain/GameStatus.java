@@ -0,0 +1,24 @@
+package com.backend.chess_backend.domain;
+
+/**
+ * Lifecycle status of a game, reported to clients by name. Every value other than
+ * {@link #IN_PROGRESS} ends the game; after {@link #CHECKMATE} the side to move is the loser.
+ *
+ * @author Alain Uwishema
+ * @since 0.2
+ */
+public enum GameStatus {
+    IN_PROGRESS,
+    CHECKMATE,
+    STALEMATE,
+    DRAW_INSUFFICIENT_MATERIAL,
+    /** The same position (with the same side to move) occurred for the third time. */
+    DRAW_THREEFOLD_REPETITION,
+    /** 100 plies without a capture or a pawn move. */
+    DRAW_FIFTY_MOVE_RULE;
+
+    /** @return {@code true} once no further moves may be played */
+    public boolean isOver() {
+        return this != IN_PROGRESS;
+    }
+}
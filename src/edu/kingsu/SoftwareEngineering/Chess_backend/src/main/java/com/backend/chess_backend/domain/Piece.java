@@ -7,6 +7,12 @@ package com.backend.chess_backend.domain;
  * (where a1 = 0, h1 = 7, a8 = 56, h8 = 63), and a flag indicating whether it has moved at least once.
  * This class holds no rule logic; move legality is handled elsewhere.
  * </p>
+ * <p>
+ * Games themselves no longer create {@code Piece} objects: a {@link Position} stores one of twelve
+ * shared piece codes per square, and whether kings and rooks have moved is captured by the position's
+ * castling rights. This class remains as the object view used by {@link Board} and board setup helpers;
+ * its {@code hasMoved} flag is not consulted by the rules.
+ * </p>
  *
  * <h2>Indexing scheme</h2>
  * <p>
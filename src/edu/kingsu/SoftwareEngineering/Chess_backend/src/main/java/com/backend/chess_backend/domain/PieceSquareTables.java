@@ -0,0 +1,172 @@
+package com.backend.chess_backend.domain;
+
+/**
+ * Material and piece-square values behind the static evaluation, kept per (piece, square) pair so
+ * {@link Position} can maintain its evaluation sums incrementally.
+ * <p>
+ * Every pair has a middlegame and an endgame value that already includes the piece's material,
+ * signed so WHITE pieces count positive and BLACK pieces negative. The tables are written from
+ * WHITE's point of view with rank 8 first (as the board is usually drawn) and mirrored for BLACK.
+ * Like the {@link Zobrist} key, the sums are additive: placing a piece adds its entries and removing
+ * it subtracts them, so a move costs a handful of additions however many pieces are on the board.
+ * </p>
+ *
+ * <h2>Layout</h2>
+ * <pre>
+ * middlegame: MG[piece * 64 + square]   piece in 0..11
+ * endgame:    EG[piece * 64 + square]
+ * phase:      PHASE[piece]              1 per minor piece, 2 per rook, 4 per queen
+ * </pre>
+ * The starting position has phase {@value #MAX_PHASE} (pure middlegame) and bare kings phase 0.
+ * This class is not instantiable.
+ *
+ * @author Alain Uwishema
+ * @since 0.2
+ */
+public final class PieceSquareTables {
+    private PieceSquareTables() {}
+
+    /** Phase of the starting position. */
+    public static final int MAX_PHASE = 24;
+
+    /** Middlegame / endgame material per piece type, {@link Position#PAWN}..{@link Position#KING}. */
+    private static final int[] MG_VALUE = {82, 337, 365, 477, 1025, 0};
+    private static final int[] EG_VALUE = {94, 281, 297, 512, 936, 0};
+    /** Phase weight per piece type. */
+    private static final int[] PHASE_WEIGHT = {0, 1, 1, 2, 4, 0};
+
+    private static final int[] PAWN_MG = {
+              0,   0,   0,   0,   0,   0,   0,   0,
+             50,  50,  50,  50,  50,  50,  50,  50,
+             10,  10,  20,  30,  30,  20,  10,  10,
+              5,   5,  10,  25,  25,  10,   5,   5,
+              0,   0,   0,  20,  20,   0,   0,   0,
+              5,  -5, -10,   0,   0, -10,  -5,   5,
+              5,  10,  10, -20, -20,  10,  10,   5,
+              0,   0,   0,   0,   0,   0,   0,   0,
+    };
+    private static final int[] PAWN_EG = {
+              0,   0,   0,   0,   0,   0,   0,   0,
+             80,  80,  80,  80,  80,  80,  80,  80,
+             50,  50,  50,  50,  50,  50,  50,  50,
+             30,  30,  30,  30,  30,  30,  30,  30,
+             15,  15,  15,  15,  15,  15,  15,  15,
+              5,   5,   5,   5,   5,   5,   5,   5,
+              0,   0,   0,   0,   0,   0,   0,   0,
+              0,   0,   0,   0,   0,   0,   0,   0,
+    };
+    private static final int[] KNIGHT = {
+            -50, -40, -30, -30, -30, -30, -40, -50,
+            -40, -20,   0,   0,   0,   0, -20, -40,
+            -30,   0,  10,  15,  15,  10,   0, -30,
+            -30,   5,  15,  20,  20,  15,   5, -30,
+            -30,   0,  15,  20,  20,  15,   0, -30,
+            -30,   5,  10,  15,  15,  10,   5, -30,
+            -40, -20,   0,   5,   5,   0, -20, -40,
+            -50, -40, -30, -30, -30, -30, -40, -50,
+    };
+    private static final int[] BISHOP = {
+            -20, -10, -10, -10, -10, -10, -10, -20,
+            -10,   0,   0,   0,   0,   0,   0, -10,
+            -10,   0,   5,  10,  10,   5,   0, -10,
+            -10,   5,   5,  10,  10,   5,   5, -10,
+            -10,   0,  10,  10,  10,  10,   0, -10,
+            -10,  10,  10,  10,  10,  10,  10, -10,
+            -10,   5,   0,   0,   0,   0,   5, -10,
+            -20, -10, -10, -10, -10, -10, -10, -20,
+    };
+    private static final int[] ROOK = {
+              0,   0,   0,   0,   0,   0,   0,   0,
+              5,  10,  10,  10,  10,  10,  10,   5,
+             -5,   0,   0,   0,   0,   0,   0,  -5,
+             -5,   0,   0,   0,   0,   0,   0,  -5,
+             -5,   0,   0,   0,   0,   0,   0,  -5,
+             -5,   0,   0,   0,   0,   0,   0,  -5,
+             -5,   0,   0,   0,   0,   0,   0,  -5,
+              0,   0,   0,   5,   5,   0,   0,   0,
+    };
+    private static final int[] QUEEN = {
+            -20, -10, -10,  -5,  -5, -10, -10, -20,
+            -10,   0,   0,   0,   0,   0,   0, -10,
+            -10,   0,   5,   5,   5,   5,   0, -10,
+             -5,   0,   5,   5,   5,   5,   0,  -5,
+              0,   0,   5,   5,   5,   5,   0,  -5,
+            -10,   5,   5,   5,   5,   5,   0, -10,
+            -10,   0,   5,   0,   0,   0,   0, -10,
+            -20, -10, -10,  -5,  -5, -10, -10, -20,
+    };
+    private static final int[] KING_MG = {
+            -30, -40, -40, -50, -50, -40, -40, -30,
+            -30, -40, -40, -50, -50, -40, -40, -30,
+            -30, -40, -40, -50, -50, -40, -40, -30,
+            -30, -40, -40, -50, -50, -40, -40, -30,
+            -20, -30, -30, -40, -40, -30, -30, -20,
+            -10, -20, -20, -20, -20, -20, -20, -10,
+             20,  20,   0,   0,   0,   0,  20,  20,
+             20,  30,  10,   0,   0,  10,  30,  20,
+    };
+    private static final int[] KING_EG = {
+            -50, -40, -30, -20, -20, -30, -40, -50,
+            -30, -20, -10,   0,   0, -10, -20, -30,
+            -30, -10,  20,  30,  30,  20, -10, -30,
+            -30, -10,  30,  40,  40,  30, -10, -30,
+            -30, -10,  30,  40,  40,  30, -10, -30,
+            -30, -10,  20,  30,  30,  20, -10, -30,
+            -30, -30,   0,   0,   0,   0, -30, -30,
+            -50, -30, -30, -30, -30, -30, -30, -50,
+    };
+
+    static final int[] MG = new int[Position.PIECE_KINDS * 64];
+    static final int[] EG = new int[Position.PIECE_KINDS * 64];
+    /** Phase weight per piece code. */
+    static final int[] PHASE = new int[Position.PIECE_KINDS];
+
+    static {
+        int[][] mgTables = {PAWN_MG, KNIGHT, BISHOP, ROOK, QUEEN, KING_MG};
+        int[][] egTables = {PAWN_EG, KNIGHT, BISHOP, ROOK, QUEEN, KING_EG};
+        for (int type = Position.PAWN; type <= Position.KING; type++) {
+            PHASE[Position.piece(Position.WHITE, type)] = PHASE_WEIGHT[type];
+            PHASE[Position.piece(Position.BLACK, type)] = PHASE_WEIGHT[type];
+            for (int sq = 0; sq < 64; sq++) {
+                // Tables list rank 8 first: WHITE reads square ^ 56, BLACK reads the square itself
+                MG[Position.piece(Position.WHITE, type) * 64 + sq] = MG_VALUE[type] + mgTables[type][sq ^ 56];
+                EG[Position.piece(Position.WHITE, type) * 64 + sq] = EG_VALUE[type] + egTables[type][sq ^ 56];
+                MG[Position.piece(Position.BLACK, type) * 64 + sq] = -(MG_VALUE[type] + mgTables[type][sq]);
+                EG[Position.piece(Position.BLACK, type) * 64 + sq] = -(EG_VALUE[type] + egTables[type][sq]);
+            }
+        }
+    }
+
+    /**
+     * Middlegame material value of a piece type.
+     *
+     * @param type {@link Position#PAWN}..{@link Position#KING}
+     * @return value in centipawns (0 for the king)
+     */
+    public static int value(int type) {
+        return MG_VALUE[type];
+    }
+
+    /**
+     * Computes a position's middlegame sum, endgame sum and phase from scratch.
+     * {@link Position#mgScore()}, {@link Position#egScore()} and {@link Position#phase()} must always
+     * equal these values; this is mainly useful for verification.
+     *
+     * @param pos the position to sum
+     * @return {@code {mg, eg, phase}}
+     */
+    public static int[] compute(Position pos) {
+        int mg = 0, eg = 0, phase = 0;
+        for (int piece = 0; piece < Position.PIECE_KINDS; piece++) {
+            long bb = pos.pieces(piece);
+            while (bb != 0) {
+                int sq = Long.numberOfTrailingZeros(bb);
+                bb &= bb - 1;
+                mg += MG[piece * 64 + sq];
+                eg += EG[piece * 64 + sq];
+                phase += PHASE[piece];
+            }
+        }
+        return new int[] {mg, eg, phase};
+    }
+}
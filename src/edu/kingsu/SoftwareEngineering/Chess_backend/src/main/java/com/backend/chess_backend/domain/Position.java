@@ -0,0 +1,613 @@
+package com.backend.chess_backend.domain;
+
+import com.backend.chess_backend.domain.rules.Move;
+
+import java.util.Arrays;
+
+/**
+ * Bitboard representation of a chess position.
+ * <p>
+ * The position keeps one 64-bit set per piece kind (twelve in total) plus one occupancy mask per
+ * side and a combined occupancy mask. Bit {@code n} of a set corresponds to board index {@code n}
+ * using the same layout as {@link Board} (a1 = 0, h1 = 7, a8 = 56, h8 = 63), so rule code can test
+ * or combine whole-board masks instead of loading one square at a time.
+ * </p>
+ *
+ * <h2>Piece encoding</h2>
+ * <pre>
+ * color: WHITE = 0, BLACK = 1
+ * type:  PAWN = 0, KNIGHT = 1, BISHOP = 2, ROOK = 3, QUEEN = 4, KING = 5
+ * piece = (type << 1) | color      // 0..11, NO_PIECE = -1
+ * </pre>
+ * The twelve codes are also available as named constants ({@link #W_PAWN} .. {@link #B_KING}). They
+ * are the only piece identities in a position: a square stores a code, not an object, so there is
+ * nothing per piece to allocate, keep in sync with its square, or copy.
+ *
+ * <p>
+ * Placement is stored twice and kept in step by every mutator: as bitboards for set-wise rule code,
+ * and as a 64-byte mailbox so {@link #pieceAt(int)} is a single array load. Whether a king or rook has
+ * moved is not tracked per piece; it is folded into the castling rights.
+ * </p>
+ *
+ * <p>
+ * Besides piece placement the position carries the game state needed by the rules: side to move,
+ * castling rights, en-passant square and the halfmove/fullmove clocks. {@link #makeMove(int)} and
+ * {@link #unmakeMove()} apply and take back moves in place using a preallocated undo stack, so rule
+ * checks, takebacks and search never need to copy the board. A {@link Zobrist} key identifying the
+ * position is maintained incrementally by every mutator (see {@link #key()}), and so are the
+ * middlegame and endgame evaluation sums and the game phase (see {@link PieceSquareTables}).
+ * </p>
+ * <p>
+ * Like {@link Board}, this class performs no rule validation; callers are responsible for keeping
+ * at most one piece per square.
+ * </p>
+ *
+ * @author Alain Uwishema
+ * @since 0.2
+ */
+public final class Position {
+    public static final int WHITE = 0;
+    public static final int BLACK = 1;
+
+    public static final int PAWN = 0;
+    public static final int KNIGHT = 1;
+    public static final int BISHOP = 2;
+    public static final int ROOK = 3;
+    public static final int QUEEN = 4;
+    public static final int KING = 5;
+
+    public static final int W_PAWN = 0;
+    public static final int B_PAWN = 1;
+    public static final int W_KNIGHT = 2;
+    public static final int B_KNIGHT = 3;
+    public static final int W_BISHOP = 4;
+    public static final int B_BISHOP = 5;
+    public static final int W_ROOK = 6;
+    public static final int B_ROOK = 7;
+    public static final int W_QUEEN = 8;
+    public static final int B_QUEEN = 9;
+    public static final int W_KING = 10;
+    public static final int B_KING = 11;
+
+    /** Number of distinct piece kinds (six types for each of two colors). */
+    public static final int PIECE_KINDS = 12;
+    /** Marker returned by {@link #pieceAt(int)} for an empty square. */
+    public static final int NO_PIECE = -1;
+    /** Marker for "no square", e.g. when no en-passant capture is possible. */
+    public static final int NO_SQUARE = -1;
+
+    /* castling right bits */
+    public static final int WHITE_OO = 1;
+    public static final int WHITE_OOO = 2;
+    public static final int BLACK_OO = 4;
+    public static final int BLACK_OOO = 8;
+    public static final int ALL_CASTLING = WHITE_OO | WHITE_OOO | BLACK_OO | BLACK_OOO;
+
+    /** Rights that survive a move touching a given square (king and rook home squares clear bits). */
+    private static final int[] CASTLING_MASK = new int[64];
+    static {
+        Arrays.fill(CASTLING_MASK, ALL_CASTLING);
+        CASTLING_MASK[4] &= ~(WHITE_OO | WHITE_OOO);   // e1
+        CASTLING_MASK[7] &= ~WHITE_OO;                 // h1
+        CASTLING_MASK[0] &= ~WHITE_OOO;                // a1
+        CASTLING_MASK[60] &= ~(BLACK_OO | BLACK_OOO);  // e8
+        CASTLING_MASK[63] &= ~BLACK_OO;                // h8
+        CASTLING_MASK[56] &= ~BLACK_OOO;               // a8
+    }
+
+    private static final int INITIAL_UNDO_CAPACITY = 16;
+
+    /** Light squares (b1, d1, ..., h8); a1 is dark. */
+    private static final long LIGHT_SQUARES = 0x55AA_55AA_55AA_55AAL;
+
+    private final long[] pieces = new long[PIECE_KINDS];
+    private final long[] byColor = new long[2];
+    private long occupied;
+    /** Piece code per square, {@link #NO_PIECE} when empty. */
+    private final byte[] board = new byte[64];
+
+    private long key;
+    /** Running {@link PieceSquareTables} sums, maintained like {@link #key}. */
+    private int mgScore;
+    private int egScore;
+    private int phase;
+    private int sideToMove = WHITE;
+    private int castlingRights;
+    private int epSquare = NO_SQUARE;
+    private int halfmoveClock;
+    private int fullmoveNumber = 1;
+
+    /**
+     * Undo records for {@link #makeMove(int)}, one packed {@code long} per ply:
+     * <pre>
+     * bits  0..15  move
+     * bits 16..19  captured piece + 1 (0 = none)
+     * bits 20..23  castling rights before the move
+     * bits 24..30  en-passant square before the move + 1 (0 = none)
+     * bits 32..63  halfmove clock before the move
+     * </pre>
+     * The stack is preallocated and only grows (by doubling) when a line gets deeper than its capacity.
+     */
+    private long[] undo = new long[INITIAL_UNDO_CAPACITY];
+    /** Zobrist key before each recorded move, parallel to {@link #undo}. */
+    private long[] keys = new long[INITIAL_UNDO_CAPACITY];
+    private int undoSize;
+
+    /**
+     * Creates an empty position (no pieces on the board, WHITE to move, no castling rights).
+     */
+    public Position() {
+        Arrays.fill(board, (byte) NO_PIECE);
+    }
+
+    /**
+     * Creates a copy of another position: placement, side to move, castling rights, en-passant
+     * square, clocks and key. The copy starts with an empty undo stack, so moves made before the copy
+     * cannot be taken back on it (and {@link #keyAt(int)} only reaches moves made on the copy).
+     *
+     * @param other position to copy; not modified
+     */
+    public Position(Position other) {
+        System.arraycopy(other.pieces, 0, pieces, 0, PIECE_KINDS);
+        byColor[WHITE] = other.byColor[WHITE];
+        byColor[BLACK] = other.byColor[BLACK];
+        occupied = other.occupied;
+        System.arraycopy(other.board, 0, board, 0, 64);
+        key = other.key;
+        mgScore = other.mgScore;
+        egScore = other.egScore;
+        phase = other.phase;
+        sideToMove = other.sideToMove;
+        castlingRights = other.castlingRights;
+        epSquare = other.epSquare;
+        halfmoveClock = other.halfmoveClock;
+        fullmoveNumber = other.fullmoveNumber;
+    }
+
+    /**
+     * Returns an independent copy of this position; see {@link #Position(Position)}.
+     *
+     * @return the copy
+     */
+    public Position copy() {
+        return new Position(this);
+    }
+
+    /**
+     * Returns the 64-bit Zobrist key of this position. The key covers piece placement, side to move,
+     * castling rights and the en-passant file and is maintained incrementally by every mutator.
+     *
+     * @return the position key
+     * @see Zobrist
+     */
+    public long key() {
+        return key;
+    }
+
+    /**
+     * Returns the middlegame material + piece-square sum, WHITE positive. Maintained incrementally
+     * by every mutator, like the key.
+     *
+     * @return middlegame score in centipawns from WHITE's point of view
+     * @see PieceSquareTables
+     */
+    public int mgScore() {
+        return mgScore;
+    }
+
+    /**
+     * Returns the endgame material + piece-square sum, WHITE positive.
+     *
+     * @return endgame score in centipawns from WHITE's point of view
+     */
+    public int egScore() {
+        return egScore;
+    }
+
+    /**
+     * Returns the game phase: 1 per minor piece, 2 per rook and 4 per queen on the board (not capped,
+     * so extra promoted queens can take it past {@link PieceSquareTables#MAX_PHASE}).
+     *
+     * @return the phase
+     */
+    public int phase() {
+        return phase;
+    }
+
+    /**
+     * Returns the key the position had {@code pliesAgo} moves ago, taken from the undo stack.
+     *
+     * @param pliesAgo number of moves back, in [1..{@link #undoDepth()}]
+     * @return the earlier position key
+     */
+    public long keyAt(int pliesAgo) {
+        return keys[undoSize - pliesAgo];
+    }
+
+    /**
+     * Returns the set of squares holding the given piece kind.
+     *
+     * @param piece piece code in [0..11]
+     * @return bitboard of squares occupied by {@code piece}
+     */
+    public long pieces(int piece) {
+        return pieces[piece];
+    }
+
+    /**
+     * Returns the set of squares holding pieces of the given color and type.
+     *
+     * @param color {@link #WHITE} or {@link #BLACK}
+     * @param type  {@link #PAWN}..{@link #KING}
+     * @return bitboard of matching squares
+     */
+    public long pieces(int color, int type) {
+        return pieces[piece(color, type)];
+    }
+
+    /**
+     * Returns the set of squares occupied by the given side.
+     *
+     * @param color {@link #WHITE} or {@link #BLACK}
+     * @return occupancy mask for {@code color}
+     */
+    public long occupancy(int color) {
+        return byColor[color];
+    }
+
+    /**
+     * Returns the set of all occupied squares.
+     *
+     * @return combined occupancy mask
+     */
+    public long occupied() {
+        return occupied;
+    }
+
+    /**
+     * Returns whether neither side can ever deliver mate: king against king, king and one minor piece
+     * against king, or any number of bishops (either side) all standing on squares of one color.
+     *
+     * @return {@code true} for a dead position by material alone
+     */
+    public boolean insufficientMaterial() {
+        if ((pieces[W_PAWN] | pieces[B_PAWN] | pieces[W_ROOK] | pieces[B_ROOK] | pieces[W_QUEEN] | pieces[B_QUEEN]) != 0) {
+            return false;
+        }
+        long knights = pieces[W_KNIGHT] | pieces[B_KNIGHT];
+        long bishops = pieces[W_BISHOP] | pieces[B_BISHOP];
+        if (Long.bitCount(knights | bishops) <= 1) return true;
+        return knights == 0 && ((bishops & LIGHT_SQUARES) == 0 || (bishops & ~LIGHT_SQUARES) == 0);
+    }
+
+    /**
+     * Returns the piece code on a square, or {@link #NO_PIECE} if the square is empty.
+     *
+     * @param square board index in [0..63]; not validated
+     * @return piece code in [0..11] or {@link #NO_PIECE}
+     */
+    public int pieceAt(int square) {
+        return board[square];
+    }
+
+    /**
+     * Places a piece on an empty square.
+     *
+     * @param piece  piece code in [0..11]
+     * @param square board index in [0..63]; must currently be empty
+     */
+    public void put(int piece, int square) {
+        addPiece(piece, square);
+    }
+
+    /**
+     * Removes whatever piece occupies a square.
+     *
+     * @param square board index in [0..63]
+     * @return the removed piece code, or {@link #NO_PIECE} if the square was empty
+     */
+    public int remove(int square) {
+        int piece = pieceAt(square);
+        if (piece != NO_PIECE) removePiece(piece, square);
+        return piece;
+    }
+
+    /**
+     * Moves the piece on {@code from} to {@code to}, removing any piece already on {@code to}.
+     *
+     * @param from source square; must hold a piece
+     * @param to   destination square
+     * @return the captured piece code, or {@link #NO_PIECE} if {@code to} was empty
+     */
+    public int move(int from, int to) {
+        int captured = remove(to);
+        int piece = remove(from);
+        if (piece != NO_PIECE) put(piece, to);
+        return captured;
+    }
+
+    /**
+     * Removes every piece from the position and resets the game state (WHITE to move, no castling
+     * rights, no en-passant square, clocks at their initial values, empty undo stack).
+     */
+    public void clearAll() {
+        Arrays.fill(pieces, 0L);
+        Arrays.fill(board, (byte) NO_PIECE);
+        byColor[WHITE] = 0L;
+        byColor[BLACK] = 0L;
+        occupied = 0L;
+        key = 0L;
+        mgScore = 0;
+        egScore = 0;
+        phase = 0;
+        sideToMove = WHITE;
+        castlingRights = 0;
+        epSquare = NO_SQUARE;
+        halfmoveClock = 0;
+        fullmoveNumber = 1;
+        undoSize = 0;
+    }
+
+    /* ---- game state ---- */
+
+    /** @return the side to move, {@link #WHITE} or {@link #BLACK} */
+    public int sideToMove() {
+        return sideToMove;
+    }
+
+    /** @param color the side to move, {@link #WHITE} or {@link #BLACK} */
+    public void setSideToMove(int color) {
+        if (color != sideToMove) key ^= Zobrist.SIDE;
+        this.sideToMove = color;
+    }
+
+    /** @return castling right bits ({@link #WHITE_OO}, {@link #WHITE_OOO}, {@link #BLACK_OO}, {@link #BLACK_OOO}) */
+    public int castlingRights() {
+        return castlingRights;
+    }
+
+    /** @param rights castling right bits; see {@link #castlingRights()} */
+    public void setCastlingRights(int rights) {
+        key ^= Zobrist.CASTLING[castlingRights] ^ Zobrist.CASTLING[rights & ALL_CASTLING];
+        this.castlingRights = rights & ALL_CASTLING;
+    }
+
+    /** @return the square a pawn may capture onto en passant, or {@link #NO_SQUARE} */
+    public int epSquare() {
+        return epSquare;
+    }
+
+    /** @param square en-passant target square, or {@link #NO_SQUARE} */
+    public void setEpSquare(int square) {
+        if (epSquare != NO_SQUARE) key ^= Zobrist.EP_FILE[epSquare & 7];
+        if (square != NO_SQUARE) key ^= Zobrist.EP_FILE[square & 7];
+        this.epSquare = square;
+    }
+
+    /** @return plies since the last capture or pawn move (fifty-move rule counter) */
+    public int halfmoveClock() {
+        return halfmoveClock;
+    }
+
+    /** @param clock plies since the last capture or pawn move */
+    public void setHalfmoveClock(int clock) {
+        this.halfmoveClock = clock;
+    }
+
+    /** @return the full move number, starting at 1 and incremented after each BLACK move */
+    public int fullmoveNumber() {
+        return fullmoveNumber;
+    }
+
+    /** @param number the full move number (1-based) */
+    public void setFullmoveNumber(int number) {
+        this.fullmoveNumber = number;
+    }
+
+    /* ---- make / unmake ---- */
+
+    /**
+     * Applies a move for the side to move and records what is needed to take it back.
+     * <p>
+     * The move is assumed to be at least pseudo-legal for the current position (as produced by the
+     * rules engine); it is not validated here. Captures (including en passant), promotions and
+     * castling rook moves are applied, and castling rights, the en-passant square, both clocks and
+     * the side to move are updated. No objects are allocated.
+     * </p>
+     *
+     * @param move packed {@link Move}
+     */
+    public void makeMove(int move) {
+        int from = Move.from(move);
+        int to = Move.to(move);
+        int flag = Move.flag(move);
+        int us = sideToMove;
+        int piece = pieceAt(from);
+
+        int capSq = (flag == Move.EN_PASSANT) ? (to ^ 8) : to;
+        int captured = pieceAt(capSq);
+
+        if (undoSize == undo.length) {
+            undo = Arrays.copyOf(undo, undo.length * 2);
+            keys = Arrays.copyOf(keys, keys.length * 2);
+        }
+        keys[undoSize] = key;
+        undo[undoSize++] = (move & 0xFFFFL)
+                | ((long) (captured + 1) << 16)
+                | ((long) castlingRights << 20)
+                | ((long) (epSquare + 1) << 24)
+                | ((long) halfmoveClock << 32);
+
+        if (captured != NO_PIECE) removePiece(captured, capSq);
+        removePiece(piece, from);
+        addPiece(flag == Move.PROMOTION ? piece(us, Move.promotionType(move)) : piece, to);
+
+        if (flag == Move.CASTLING) {
+            int rook = piece(us, ROOK);
+            if (to > from) { removePiece(rook, to + 1); addPiece(rook, to - 1); }   // king side: h -> f
+            else           { removePiece(rook, to - 2); addPiece(rook, to + 1); }   // queen side: a -> d
+        }
+
+        setCastlingRights(castlingRights & CASTLING_MASK[from] & CASTLING_MASK[to]);
+        boolean pawnMove = typeOf(piece) == PAWN;
+        // Only record an en-passant square when an enemy pawn stands ready to use it, so that
+        // otherwise identical positions hash (and compare for repetition) the same.
+        boolean epPossible = pawnMove && (to ^ from) == 16 && (pieces[piece(us ^ 1, PAWN)] & adjacentSquares(to)) != 0;
+        setEpSquare(epPossible ? (from + to) >>> 1 : NO_SQUARE);
+        halfmoveClock = (pawnMove || captured != NO_PIECE) ? 0 : halfmoveClock + 1;
+        if (us == BLACK) fullmoveNumber++;
+        sideToMove = us ^ 1;
+        key ^= Zobrist.SIDE;
+    }
+
+    /**
+     * Takes back the most recent {@link #makeMove(int)}, restoring the exact previous position.
+     *
+     * @return the move that was taken back
+     * @throws IllegalStateException if there is no move to take back
+     */
+    public int unmakeMove() {
+        if (undoSize == 0) throw new IllegalStateException("No move to take back");
+        long record = undo[--undoSize];
+        int move = (int) (record & 0xFFFF);
+        int captured = (int) ((record >>> 16) & 0xF) - 1;
+        int from = Move.from(move);
+        int to = Move.to(move);
+        int flag = Move.flag(move);
+
+        int us = sideToMove ^ 1;
+        sideToMove = us;
+        if (us == BLACK) fullmoveNumber--;
+        castlingRights = (int) ((record >>> 20) & 0xF);
+        epSquare = (int) ((record >>> 24) & 0x7F) - 1;
+        halfmoveClock = (int) (record >>> 32);
+
+        if (flag == Move.CASTLING) {
+            int rook = piece(us, ROOK);
+            if (to > from) { removePiece(rook, to - 1); addPiece(rook, to + 1); }
+            else           { removePiece(rook, to + 1); addPiece(rook, to - 2); }
+        }
+
+        int moved = pieceAt(to);
+        removePiece(moved, to);
+        addPiece(flag == Move.PROMOTION ? piece(us, PAWN) : moved, from);
+        if (captured != NO_PIECE) addPiece(captured, flag == Move.EN_PASSANT ? (to ^ 8) : to);
+        key = keys[undoSize];
+        return move;
+    }
+
+    /** @return the number of moves that can currently be taken back with {@link #unmakeMove()} */
+    public int undoDepth() {
+        return undoSize;
+    }
+
+    /* ---- low-level bit updates; every piece placement goes through these ---- */
+
+    private void addPiece(int piece, int square) {
+        long bit = 1L << square;
+        pieces[piece] |= bit;
+        byColor[colorOf(piece)] |= bit;
+        occupied |= bit;
+        board[square] = (byte) piece;
+        key ^= Zobrist.PIECE_SQUARE[(piece << 6) | square];
+        mgScore += PieceSquareTables.MG[(piece << 6) | square];
+        egScore += PieceSquareTables.EG[(piece << 6) | square];
+        phase += PieceSquareTables.PHASE[piece];
+    }
+
+    private void removePiece(int piece, int square) {
+        long bit = ~(1L << square);
+        pieces[piece] &= bit;
+        byColor[colorOf(piece)] &= bit;
+        occupied &= bit;
+        board[square] = (byte) NO_PIECE;
+        key ^= Zobrist.PIECE_SQUARE[(piece << 6) | square];
+        mgScore -= PieceSquareTables.MG[(piece << 6) | square];
+        egScore -= PieceSquareTables.EG[(piece << 6) | square];
+        phase -= PieceSquareTables.PHASE[piece];
+    }
+
+    /** Squares directly left and right of {@code square} on the same rank. */
+    private static long adjacentSquares(int square) {
+        long bit = 1L << square;
+        return ((bit << 1) & ~0x0101_0101_0101_0101L) | ((bit >>> 1) & ~0x8080_8080_8080_8080L);
+    }
+
+    /* ---- piece code helpers ---- */
+
+    /**
+     * Combines a color and a type into a piece code.
+     *
+     * @param color {@link #WHITE} or {@link #BLACK}
+     * @param type  {@link #PAWN}..{@link #KING}
+     * @return piece code in [0..11]
+     */
+    public static int piece(int color, int type) {
+        return (type << 1) | color;
+    }
+
+    /** @return the type ({@link #PAWN}..{@link #KING}) of a piece code */
+    public static int typeOf(int piece) {
+        return piece >>> 1;
+    }
+
+    /** @return the color ({@link #WHITE} or {@link #BLACK}) of a piece code */
+    public static int colorOf(int piece) {
+        return piece & 1;
+    }
+
+    /**
+     * Converts a domain {@link PieceColor} into a color index.
+     *
+     * @param color the color enum value
+     * @return {@link #WHITE} or {@link #BLACK}
+     */
+    public static int colorIndex(PieceColor color) {
+        return color == PieceColor.WHITE ? WHITE : BLACK;
+    }
+
+    /**
+     * Converts a domain {@link PieceType} into a type index.
+     *
+     * @param type the type enum value
+     * @return {@link #PAWN}..{@link #KING}
+     */
+    public static int typeIndex(PieceType type) {
+        return switch (type) {
+            case PAWN -> PAWN;
+            case KNIGHT -> KNIGHT;
+            case BISHOP -> BISHOP;
+            case ROOK -> ROOK;
+            case QUEEN -> QUEEN;
+            case KING -> KING;
+        };
+    }
+
+    /**
+     * Converts a {@link Piece} into its piece code.
+     *
+     * @param p the piece; must not be {@code null}
+     * @return piece code in [0..11]
+     */
+    public static int pieceOf(Piece p) {
+        return piece(colorIndex(p.getColor()), typeIndex(p.getType()));
+    }
+
+    /** @return the {@link PieceColor} for a color index */
+    public static PieceColor toPieceColor(int color) {
+        return color == WHITE ? PieceColor.WHITE : PieceColor.BLACK;
+    }
+
+    /** @return the {@link PieceType} for a type index */
+    public static PieceType toPieceType(int type) {
+        return switch (type) {
+            case PAWN -> PieceType.PAWN;
+            case KNIGHT -> PieceType.KNIGHT;
+            case BISHOP -> PieceType.BISHOP;
+            case ROOK -> PieceType.ROOK;
+            case QUEEN -> PieceType.QUEEN;
+            case KING -> PieceType.KING;
+            default -> throw new IllegalArgumentException("type must be in [0,5], got " + type);
+        };
+    }
+}
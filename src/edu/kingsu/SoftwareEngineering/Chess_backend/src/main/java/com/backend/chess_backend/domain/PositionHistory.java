@@ -0,0 +1,76 @@
+package com.backend.chess_backend.domain;
+
+/**
+ * Fixed-size ring of the Zobrist keys of a game's most recent positions, for repetition detection.
+ * <p>
+ * A position can only repeat one that occurred after the last irreversible move (a capture or a pawn
+ * move, which reset the halfmove clock), so the scan never goes further back than the current
+ * {@link Position#halfmoveClock()}. The fifty-move rule ends the game once that clock reaches 100, so
+ * a ring of {@link #CAPACITY} keys always covers the whole window and memory per game stays constant
+ * however long the game runs. Only positions with the same side to move are compared (every second
+ * entry), starting four plies back, the earliest a position can recur.
+ * </p>
+ *
+ * <pre>
+ * history.push(position.key());                       // after every move
+ * if (history.repetitions(position.halfmoveClock()) &gt;= 2) { ... threefold ... }
+ * </pre>
+ *
+ * Not thread-safe; guarded by whoever owns the game.
+ *
+ * @author Alain Uwishema
+ * @since 0.2
+ */
+public final class PositionHistory {
+    /** Number of keys retained; a power of two larger than the 100-ply fifty-move window. */
+    public static final int CAPACITY = 128;
+    private static final int MASK = CAPACITY - 1;
+
+    private final long[] keys = new long[CAPACITY];
+    /** Total number of keys ever pushed; the newest is at {@code (count - 1) & MASK}. */
+    private int count;
+
+    /**
+     * Records the key of the position just reached.
+     *
+     * @param key Zobrist key of the current position
+     */
+    public void push(long key) {
+        keys[count++ & MASK] = key;
+    }
+
+    /** @return number of keys pushed so far (not capped at {@link #CAPACITY}) */
+    public int size() {
+        return count;
+    }
+
+    /**
+     * Returns the retained keys, oldest first, ending with the most recent one.
+     *
+     * @return a fresh array of at most {@link #CAPACITY} keys
+     */
+    public long[] toArray() {
+        int n = Math.min(count, CAPACITY);
+        long[] out = new long[n];
+        for (int i = 0; i < n; i++) out[i] = keys[(count - n + i) & MASK];
+        return out;
+    }
+
+    /**
+     * Counts earlier occurrences of the most recently pushed position within the reversible window.
+     *
+     * @param halfmoveClock plies since the last capture or pawn move, bounding how far back to look
+     * @return number of earlier occurrences (2 or more means the position has occurred three times)
+     */
+    public int repetitions(int halfmoveClock) {
+        if (count == 0) return 0;
+        int newest = count - 1;
+        long key = keys[newest & MASK];
+        int limit = Math.min(halfmoveClock, Math.min(newest, CAPACITY - 1));
+        int found = 0;
+        for (int back = 4; back <= limit; back += 2) {
+            if (keys[(newest - back) & MASK] == key) found++;
+        }
+        return found;
+    }
+}
@@ -0,0 +1,97 @@
+package com.backend.chess_backend.domain;
+
+/**
+ * Zobrist hashing keys for {@link Position}.
+ * <p>
+ * A position key is the XOR of one random 64-bit value per (piece, square) pair on the board,
+ * plus values for the side to move, the castling rights and the en-passant file. Because XOR is
+ * its own inverse, {@link Position} keeps its key up to date incrementally: placing or removing a
+ * piece, flipping the side to move or changing castling/en-passant state XORs the matching value
+ * in or out.
+ * </p>
+ *
+ * <h2>Layout</h2>
+ * <pre>
+ * piece-square: PIECE_SQUARE[piece * 64 + square]   piece in 0..11
+ * side:         SIDE is XORed in when BLACK is to move
+ * castling:     CASTLING[rights]                    rights in 0..15
+ * en passant:   EP_FILE[file]                       only while an en-passant square is set
+ * </pre>
+ *
+ * <p>
+ * Keys are drawn from a SplitMix64 generator with a fixed seed, so keys (and therefore hashes)
+ * are identical across JVMs and restarts. This class is not instantiable.
+ * </p>
+ *
+ * @author Alain Uwishema
+ * @since 0.2
+ */
+public final class Zobrist {
+    private Zobrist() {}
+
+    static final long[] PIECE_SQUARE = new long[Position.PIECE_KINDS * 64];
+    static final long[] CASTLING = new long[16];
+    static final long[] EP_FILE = new long[8];
+    static final long SIDE;
+
+    static {
+        long[] state = {0x3C6E_F372_FE94_F82BL};
+        for (int i = 0; i < PIECE_SQUARE.length; i++) PIECE_SQUARE[i] = next(state);
+        for (int i = 0; i < EP_FILE.length; i++) EP_FILE[i] = next(state);
+        SIDE = next(state);
+
+        // Each right gets one key; a rights combination is the XOR of its members, so clearing a
+        // single right updates the hash exactly as if only that right's key were removed.
+        long[] rightKeys = {next(state), next(state), next(state), next(state)};
+        for (int rights = 0; rights < 16; rights++) {
+            long k = 0;
+            for (int bit = 0; bit < 4; bit++) {
+                if ((rights & (1 << bit)) != 0) k ^= rightKeys[bit];
+            }
+            CASTLING[rights] = k;
+        }
+    }
+
+    /**
+     * Computes a position's key from scratch. {@link Position#key()} must always equal this value;
+     * it is mainly useful for verification and for positions assembled outside the usual
+     * mutators.
+     *
+     * @param pos the position to hash
+     * @return the 64-bit Zobrist key
+     */
+    public static long compute(Position pos) {
+        long key = 0;
+        for (int piece = 0; piece < Position.PIECE_KINDS; piece++) {
+            long bb = pos.pieces(piece);
+            while (bb != 0) {
+                key ^= PIECE_SQUARE[piece * 64 + Long.numberOfTrailingZeros(bb)];
+                bb &= bb - 1;
+            }
+        }
+        if (pos.sideToMove() == Position.BLACK) key ^= SIDE;
+        key ^= CASTLING[pos.castlingRights()];
+        if (pos.epSquare() != Position.NO_SQUARE) key ^= EP_FILE[pos.epSquare() & 7];
+        return key;
+    }
+
+    /**
+     * Formats a key as a fixed-width, lowercase hexadecimal string (16 digits). Keys travel as
+     * strings in JSON because JavaScript numbers cannot represent all 64-bit values.
+     *
+     * @param key Zobrist key
+     * @return hexadecimal representation
+     */
+    public static String toHex(long key) {
+        String hex = Long.toHexString(key);
+        return "0000000000000000".substring(hex.length()) + hex;
+    }
+
+    /** SplitMix64 step. */
+    private static long next(long[] state) {
+        long z = (state[0] += 0x9E37_79B9_7F4A_7C15L);
+        z = (z ^ (z >>> 30)) * 0xBF58_476D_1CE4_E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D0_49BB_1331_11EBL;
+        return z ^ (z >>> 31);
+    }
+}
@@ -0,0 +1,364 @@
+package com.backend.chess_backend.domain.engine;
+
+import com.backend.chess_backend.domain.Position;
+import com.backend.chess_backend.domain.rules.Attacks;
+import com.backend.chess_backend.domain.rules.Magics;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Win/draw bitbases for the three-piece endings king and pawn, rook or queen against king, computed
+ * by retrograde analysis instead of downloaded.
+ * <p>
+ * Each ending is indexed from the point of view of the strong side (the one with the extra piece),
+ * with the board flipped vertically when that side is BLACK so pawns always move up. One bit per
+ * index says whether the strong side wins; every other legal position is a draw. KvK and a lone
+ * minor piece are answered as draws without a table.
+ * </p>
+ *
+ * <h2>Index</h2>
+ * <pre>
+ * index = toMove &lt;&lt; 18 | piece &lt;&lt; 12 | weakKing &lt;&lt; 6 | strongKing    // toMove: 0 strong, 1 weak
+ * </pre>
+ * 2<sup>19</sup> bits, 64 KB per ending.
+ *
+ * <h2>Generation</h2>
+ * <p>
+ * All positions start unknown; illegal ones (overlapping pieces, adjacent kings, a pawn on the first
+ * or last rank, the side not to move in check) are marked as such. Then passes over the unknown
+ * positions classify each from its successors until a pass changes nothing: the strong side wins if
+ * some move reaches a win, the weak side loses if every move does, checkmate is a win and stalemate
+ * or capturing the piece a draw. Whatever is still unknown at the end is a draw. Each pass is split
+ * over a {@link ForkJoinPool}; positions of one pass may already see results of the same pass, which
+ * only speeds up convergence since a decided position never changes. KQK and KRK are built first
+ * (in parallel), so a pawn promotion in KPK is resolved exactly by looking the new position up.
+ * </p>
+ *
+ * <h2>Cache file</h2>
+ * <p>
+ * {@link #cached(Path, ForkJoinPool)} stores the three bitsets in a file and maps it on later starts
+ * instead of regenerating. Layout: magic, ending count, words per ending, the words, a checksum; a
+ * file that does not match is regenerated.
+ * </p>
+ *
+ * The tables are immutable once built; probes are thread-safe.
+ *
+ * @author Alain Uwishema
+ * @since 0.2
+ */
+public final class Bitbases implements Tablebase {
+    /** Piece types with a table, in table order. */
+    private static final int[] TYPES = {Position.PAWN, Position.ROOK, Position.QUEEN};
+    private static final int KPK = 0, KRK = 1, KQK = 2;
+
+    static final int SIZE = 1 << 19;
+    private static final int WORDS = SIZE / 64;
+
+    private static final int MAGIC = 0x4B50_4B31;      // "KPK1"
+    private static final int HEADER_BYTES = 12;
+
+    private static final byte S_UNKNOWN = 0, S_INVALID = 1, S_DRAW = 2, S_WIN = 3;
+    private static final int SPLIT = 4096;
+
+    private final long[][] wins;
+
+    private Bitbases(long[][] wins) {
+        this.wins = wins;
+    }
+
+    /* ---- probing ---- */
+
+    @Override
+    public int maxPieces() {
+        return 3;
+    }
+
+    @Override
+    public int probeWdl(Position pos) {
+        long occ = pos.occupied();
+        long kings = pos.pieces(Position.W_KING) | pos.pieces(Position.B_KING);
+        long others = occ & ~kings;
+        if (others == 0) return DRAW;
+        if (Long.bitCount(others) != 1) return UNKNOWN;
+
+        int sq = Long.numberOfTrailingZeros(others);
+        int piece = pos.pieceAt(sq);
+        int type = Position.typeOf(piece);
+        if (type == Position.KNIGHT || type == Position.BISHOP) return DRAW;
+        int table = type == Position.PAWN ? KPK : type == Position.ROOK ? KRK : KQK;
+
+        int strong = Position.colorOf(piece);
+        int flip = strong == Position.WHITE ? 0 : 56;
+        int sk = Long.numberOfTrailingZeros(pos.pieces(strong, Position.KING)) ^ flip;
+        int wk = Long.numberOfTrailingZeros(pos.pieces(strong ^ 1, Position.KING)) ^ flip;
+        int toMove = pos.sideToMove() == strong ? 0 : 1;
+        if (!isSet(wins[table], index(toMove, sk, wk, sq ^ flip))) return DRAW;
+        return toMove == 0 ? WIN : LOSS;
+    }
+
+    static int index(int toMove, int strongKing, int weakKing, int piece) {
+        return toMove << 18 | piece << 12 | weakKing << 6 | strongKing;
+    }
+
+    private static boolean isSet(long[] bits, int index) {
+        return (bits[index >>> 6] & (1L << index)) != 0;
+    }
+
+    /** @return number of won positions in the KPK, KRK and KQK tables (both sides to move) */
+    public int[] winCounts() {
+        int[] counts = new int[TYPES.length];
+        for (int t = 0; t < TYPES.length; t++) {
+            for (long w : wins[t]) counts[t] += Long.bitCount(w);
+        }
+        return counts;
+    }
+
+    /* ---- generation ---- */
+
+    /**
+     * Generates all three tables.
+     *
+     * @param pool pool to run the passes on
+     * @return the bitbases
+     */
+    public static Bitbases generate(ForkJoinPool pool) {
+        long[][] wins = new long[TYPES.length][];
+        ForkJoinTask<long[]> queen = pool.submit(() -> build(Position.QUEEN, null, null, pool));
+        ForkJoinTask<long[]> rook = pool.submit(() -> build(Position.ROOK, null, null, pool));
+        wins[KQK] = queen.join();
+        wins[KRK] = rook.join();
+        wins[KPK] = build(Position.PAWN, wins[KQK], wins[KRK], pool);
+        return new Bitbases(wins);
+    }
+
+    private static long[] build(int type, long[] kqk, long[] krk, ForkJoinPool pool) {
+        Generator gen = new Generator(type, kqk, krk);
+        pool.invoke(new Pass(gen, 0, SIZE, true));
+        while (pool.invoke(new Pass(gen, 0, SIZE, false))) { }
+        long[] bits = new long[WORDS];
+        for (int i = 0; i < SIZE; i++) {
+            if (gen.state[i] == S_WIN) bits[i >>> 6] |= 1L << i;
+        }
+        return bits;
+    }
+
+    /** One pass over an index range; returns whether any position was decided. */
+    private static final class Pass extends RecursiveTask<Boolean> {
+        private final Generator gen;
+        private final int lo, hi;
+        private final boolean first;
+
+        Pass(Generator gen, int lo, int hi, boolean first) {
+            this.gen = gen;
+            this.lo = lo;
+            this.hi = hi;
+            this.first = first;
+        }
+
+        @Override
+        protected Boolean compute() {
+            if (hi - lo > SPLIT) {
+                int mid = (lo + hi) >>> 1;
+                Pass left = new Pass(gen, lo, mid, first);
+                left.fork();
+                boolean right = new Pass(gen, mid, hi, first).compute();
+                return left.join() | right;
+            }
+            boolean changed = false;
+            byte[] state = gen.state;
+            for (int i = lo; i < hi; i++) {
+                if (state[i] != S_UNKNOWN) continue;
+                byte s = first && gen.isInvalid(i) ? S_INVALID : gen.classify(i);
+                if (s != S_UNKNOWN) {
+                    state[i] = s;
+                    changed = true;
+                }
+            }
+            return changed;
+        }
+    }
+
+    /** Classification rules for one ending. */
+    private static final class Generator {
+        final int type;
+        final long[] kqk, krk;
+        final byte[] state = new byte[SIZE];
+
+        Generator(int type, long[] kqk, long[] krk) {
+            this.type = type;
+            this.kqk = kqk;
+            this.krk = krk;
+        }
+
+        long pieceAttacks(int sq, long occ) {
+            return switch (type) {
+                case Position.PAWN -> Attacks.pawn(Position.WHITE, sq);
+                case Position.ROOK -> Magics.rookAttacks(sq, occ);
+                default -> Magics.queenAttacks(sq, occ);
+            };
+        }
+
+        boolean isInvalid(int i) {
+            int toMove = i >>> 18, p = (i >>> 12) & 63, wk = (i >>> 6) & 63, sk = i & 63;
+            if (sk == wk || sk == p || wk == p) return true;
+            if ((Attacks.king(sk) & (1L << wk)) != 0) return true;
+            if (type == Position.PAWN && (p < 8 || p >= 56)) return true;
+            long occ = (1L << sk) | (1L << wk) | (1L << p);
+            return toMove == 0 && (pieceAttacks(p, occ) & (1L << wk)) != 0;
+        }
+
+        byte classify(int i) {
+            int p = (i >>> 12) & 63, wk = (i >>> 6) & 63, sk = i & 63;
+            return (i >>> 18) == 0 ? strongToMove(sk, wk, p) : weakToMove(sk, wk, p);
+        }
+
+        private byte strongToMove(int sk, int wk, int p) {
+            boolean allDraw = true, anyMove = false;
+            long occ = (1L << sk) | (1L << wk) | (1L << p);
+
+            long kingMoves = Attacks.king(sk) & ~Attacks.king(wk) & ~(1L << p);
+            while (kingMoves != 0) {
+                int to = Long.numberOfTrailingZeros(kingMoves);
+                kingMoves &= kingMoves - 1;
+                anyMove = true;
+                byte s = state[index(1, to, wk, p)];
+                if (s == S_WIN) return S_WIN;
+                if (s != S_DRAW) allDraw = false;
+            }
+
+            if (type == Position.PAWN) {
+                int to = p + 8;
+                if ((occ & (1L << to)) == 0) {
+                    anyMove = true;
+                    if (to >= 56) {
+                        // Promote: the result is known exactly from the finished queen and rook tables
+                        if (isSet(kqk, index(1, sk, wk, to)) || isSet(krk, index(1, sk, wk, to))) return S_WIN;
+                    } else {
+                        byte s = state[index(1, sk, wk, to)];
+                        if (s == S_WIN) return S_WIN;
+                        if (s != S_DRAW) allDraw = false;
+                        if (p < 16 && (occ & (1L << (to + 8))) == 0) {
+                            s = state[index(1, sk, wk, to + 8)];
+                            if (s == S_WIN) return S_WIN;
+                            if (s != S_DRAW) allDraw = false;
+                        }
+                    }
+                }
+            } else {
+                long targets = pieceAttacks(p, occ) & ~occ;
+                while (targets != 0) {
+                    int to = Long.numberOfTrailingZeros(targets);
+                    targets &= targets - 1;
+                    anyMove = true;
+                    byte s = state[index(1, sk, wk, to)];
+                    if (s == S_WIN) return S_WIN;
+                    if (s != S_DRAW) allDraw = false;
+                }
+            }
+            return !anyMove || allDraw ? S_DRAW : S_UNKNOWN;
+        }
+
+        private byte weakToMove(int sk, int wk, int p) {
+            long occ = (1L << sk) | (1L << wk) | (1L << p);
+            // Sliders see through the weak king: stepping back along the line stays in check
+            long attacked = Attacks.king(sk) | pieceAttacks(p, occ & ~(1L << wk));
+            long kingMoves = Attacks.king(wk) & ~attacked;
+            if (kingMoves == 0) {
+                boolean inCheck = (pieceAttacks(p, occ) & (1L << wk)) != 0;
+                return inCheck ? S_WIN : S_DRAW;
+            }
+            boolean allWin = true;
+            while (kingMoves != 0) {
+                int to = Long.numberOfTrailingZeros(kingMoves);
+                kingMoves &= kingMoves - 1;
+                if (to == p) return S_DRAW;                 // takes the undefended piece
+                byte s = state[index(0, sk, to, p)];
+                if (s == S_DRAW) return S_DRAW;
+                if (s != S_WIN) allWin = false;
+            }
+            return allWin ? S_WIN : S_UNKNOWN;
+        }
+    }
+
+    /* ---- cache file ---- */
+
+    /**
+     * Loads the bitbases from a cache file, or generates them and writes the file if it is missing
+     * or does not match.
+     *
+     * @param file cache file
+     * @param pool pool to generate on if needed
+     * @return the bitbases
+     * @throws IOException if the tables had to be generated and the file could not be written
+     */
+    public static Bitbases cached(Path file, ForkJoinPool pool) throws IOException {
+        Bitbases loaded = read(file);
+        if (loaded != null) return loaded;
+        Bitbases generated = generate(pool);
+        generated.write(file);
+        return generated;
+    }
+
+    /** @return the bitbases stored in {@code file}, or {@code null} if it is missing or does not match */
+    static Bitbases read(Path file) {
+        if (!Files.isRegularFile(file)) return null;
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            if (channel.size() != fileSize()) return null;
+            ByteBuffer map = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            if (map.getInt(0) != MAGIC || map.getInt(4) != TYPES.length || map.getInt(8) != WORDS) return null;
+            long[][] wins = new long[TYPES.length][WORDS];
+            for (int t = 0; t < wins.length; t++) {
+                map.position(tableOffset(t));
+                map.asLongBuffer().get(wins[t]);
+            }
+            return map.getLong(tableOffset(wins.length)) == checksum(wins) ? new Bitbases(wins) : null;
+        } catch (IOException | RuntimeException e) {
+            return null;
+        }
+    }
+
+    /** Writes the tables to {@code file}, replacing it atomically. */
+    void write(Path file) throws IOException {
+        ByteBuffer buf = ByteBuffer.allocate((int) fileSize());
+        buf.putInt(MAGIC).putInt(TYPES.length).putInt(WORDS);
+        for (int t = 0; t < wins.length; t++) {
+            buf.position(tableOffset(t));
+            buf.asLongBuffer().put(wins[t]);
+        }
+        buf.putLong(tableOffset(wins.length), checksum(wins));
+        Path dir = file.toAbsolutePath().getParent();
+        if (dir != null) Files.createDirectories(dir);
+        Path tmp = Files.createTempFile(dir, file.getFileName().toString(), ".tmp");
+        try {
+            Files.write(tmp, buf.array());
+            Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(tmp);
+        }
+    }
+
+    private static int tableOffset(int table) {
+        return HEADER_BYTES + table * WORDS * Long.BYTES;
+    }
+
+    private static long fileSize() {
+        return tableOffset(TYPES.length) + Long.BYTES;
+    }
+
+    private static long checksum(long[][] wins) {
+        long h = 0x9E37_79B9_7F4A_7C15L;
+        for (long[] table : wins) {
+            for (long w : table) h = (h ^ w) * 0x100_0000_01B3L;
+        }
+        return h;
+    }
+}
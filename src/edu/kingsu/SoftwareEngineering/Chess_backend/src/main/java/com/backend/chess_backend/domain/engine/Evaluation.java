@@ -0,0 +1,51 @@
+package com.backend.chess_backend.domain.engine;
+
+import com.backend.chess_backend.domain.PieceSquareTables;
+import com.backend.chess_backend.domain.Position;
+
+/**
+ * Static evaluation: material plus piece-square tables, tapered between a middlegame and an
+ * endgame score by the amount of non-pawn material left.
+ * <p>
+ * The values themselves live in {@link PieceSquareTables}. {@link Position} keeps the middlegame
+ * and endgame sums and the game phase up to date on every make and unmake, so evaluating a node
+ * is a blend of three fields rather than a scan of the board:
+ * </p>
+ *
+ * <pre>
+ * score = (mg * phase + eg * (24 - phase)) / 24      // then negated when BLACK is to move
+ * </pre>
+ *
+ * This class is stateless and not instantiable.
+ *
+ * @author Alain Uwishema
+ * @since 0.2
+ */
+public final class Evaluation {
+    private Evaluation() {}
+
+    /** Phase of the starting position. */
+    public static final int MAX_PHASE = PieceSquareTables.MAX_PHASE;
+
+    /**
+     * Evaluates the position from the point of view of the side to move.
+     *
+     * @param pos position to evaluate
+     * @return score in centipawns; positive is good for the side to move
+     */
+    public static int evaluate(Position pos) {
+        int phase = Math.min(pos.phase(), MAX_PHASE);
+        int score = (pos.mgScore() * phase + pos.egScore() * (MAX_PHASE - phase)) / MAX_PHASE;
+        return pos.sideToMove() == Position.WHITE ? score : -score;
+    }
+
+    /**
+     * Middlegame material value of a piece type, as used by the evaluation.
+     *
+     * @param type {@link Position#PAWN}..{@link Position#KING}
+     * @return value in centipawns (0 for the king)
+     */
+    public static int value(int type) {
+        return PieceSquareTables.value(type);
+    }
+}
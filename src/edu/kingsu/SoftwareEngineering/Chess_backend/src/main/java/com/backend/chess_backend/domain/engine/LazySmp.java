@@ -0,0 +1,177 @@
+package com.backend.chess_backend.domain.engine;
+
+import com.backend.chess_backend.domain.Position;
+import com.backend.chess_backend.domain.rules.Move;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.Consumer;
+
+/**
+ * Parallel search by "Lazy SMP": several threads run the same iterative-deepening search on the
+ * same root and communicate only through a shared {@link TranspositionTable}.
+ * <p>
+ * There is no work splitting. Helper threads explore the tree in a slightly different order (odd
+ * helpers start one ply deeper, and every thread sees a table the others keep filling), so they
+ * keep storing results the main thread picks up as cutoffs and move-ordering hints. The main thread
+ * runs on the caller's thread and owns the budget: when it finishes, the shared stop flag ends the
+ * helpers, and the result of the deepest completed iteration is returned (the main thread's own on
+ * ties), with the node counts of all threads added together.
+ * </p>
+ *
+ * <pre>
+ * LazySmp smp = new LazySmp(tt, helperPool, 8);                                 // keeps up to 8 searches
+ * SearchResult r = smp.run(position, history, SearchLimits.time(2_000), 7);   // main + 7 helpers
+ * </pre>
+ *
+ * <p>
+ * {@link Search} objects (a few hundred KB each) are borrowed for the length of one search from a
+ * free list of at most {@code maxIdle} entries and handed back afterwards; a search that finds the
+ * list empty allocates one, which is dropped if the list is full again when it finishes. Memory held
+ * between searches is thus bounded by {@code maxIdle}, not by the number of threads that ever
+ * searched (such as every request thread of the web server). The executor must be able to start all
+ * requested helpers at once (otherwise a queued helper merely starts late and finds the stop flag
+ * set); bounding the number of helpers across concurrent calls is the caller's job. So is ageing
+ * the table ({@link TranspositionTable#newSearch()}): {@code run} never does, so concurrent searches
+ * do not demote each other's entries.
+ * </p>
+ *
+ * @author Alain Uwishema
+ * @since 0.2
+ */
+public final class LazySmp {
+    private final TranspositionTable tt;
+    private final Tablebase tb;
+    private final Executor helpers;
+    /** Idle searches ready for reuse. */
+    private final BlockingQueue<Search> idle;
+
+    /**
+     * @param tt      table shared by all threads of all searches run through this instance
+     * @param helpers executor for helper threads
+     * @param maxIdle most {@link Search} objects kept for reuse between searches
+     */
+    public LazySmp(TranspositionTable tt, Executor helpers, int maxIdle) {
+        this(tt, Tablebase.NONE, helpers, maxIdle);
+    }
+
+    /**
+     * @param tt      table shared by all threads of all searches run through this instance
+     * @param tb      tablebase consulted by every thread
+     * @param helpers executor for helper threads
+     * @param maxIdle most {@link Search} objects kept for reuse between searches; the number of
+     *                threads expected to search at once
+     */
+    public LazySmp(TranspositionTable tt, Tablebase tb, Executor helpers, int maxIdle) {
+        this.tt = tt;
+        this.tb = tb;
+        this.helpers = helpers;
+        this.idle = new ArrayBlockingQueue<>(Math.max(1, maxIdle));
+    }
+
+    private Search borrow() {
+        Search s = idle.poll();
+        return s != null ? s : new Search(tt, tb);
+    }
+
+    private void giveBack(Search s) {
+        idle.offer(s);
+    }
+
+    /** @return number of searches kept for reuse right now */
+    public int idleSearches() {
+        return idle.size();
+    }
+
+    /** @return the shared transposition table */
+    public TranspositionTable table() {
+        return tt;
+    }
+
+    /**
+     * Searches {@code root} with the calling thread plus {@code helperCount} helpers.
+     *
+     * @param root        position to search; only read
+     * @param history     game history, as for {@link Search#run(Position, long[], SearchLimits)}
+     * @param limits      budget, enforced by the main thread
+     * @param helperCount number of helper threads; 0 searches on the calling thread only
+     * @return the best result found
+     */
+    public SearchResult run(Position root, long[] history, SearchLimits limits, int helperCount) {
+        return run(root, history, limits, helperCount, new AtomicBoolean(), null);
+    }
+
+    /**
+     * Searches {@code root} like {@link #run(Position, long[], SearchLimits, int)}, stopping early when
+     * {@code stop} is set from outside and reporting the main thread's completed iterations.
+     *
+     * @param root        position to search; only read
+     * @param history     game history, as for {@link Search#run(Position, long[], SearchLimits)}
+     * @param limits      budget, enforced by the main thread
+     * @param helperCount number of helper threads; 0 searches on the calling thread only
+     * @param stop        set it to end the search (all threads) as soon as possible; also set when the search ends
+     * @param onIteration called on the calling thread after each iteration the main thread completes, with
+     *                    the nodes of all threads so far; {@code null} for none
+     * @return the best result found
+     */
+    public SearchResult run(Position root, long[] history, SearchLimits limits, int helperCount,
+                            AtomicBoolean stop, Consumer<SearchResult> onIteration) {
+        SearchResult[] results = new SearchResult[helperCount];
+        AtomicReferenceArray<Search> running = new AtomicReferenceArray<>(helperCount);
+        CountDownLatch done = new CountDownLatch(helperCount);
+        SearchLimits helperLimits = new SearchLimits(limits.depth(), limits.timeMillis(), 0);
+        for (int i = 0; i < helperCount; i++) {
+            int id = i + 1;
+            helpers.execute(() -> {
+                Search s = borrow();
+                try {
+                    s.resetNodes();
+                    running.set(id - 1, s);
+                    results[id - 1] = s.run(root, history, helperLimits, id, stop, null);
+                } finally {
+                    done.countDown();
+                }
+            });
+        }
+
+        Consumer<SearchResult> report = onIteration == null ? null : r -> {
+            long nodes = r.nodes();
+            for (int i = 0; i < helperCount; i++) {
+                Search s = running.get(i);
+                if (s != null) nodes += s.nodes();
+            }
+            onIteration.accept(new SearchResult(r.bestMove(), r.score(), r.depth(), nodes, r.timeMillis(), r.pv()));
+        };
+
+        SearchResult best;
+        Search main = borrow();
+        try {
+            best = main.run(root, history, limits, 0, stop, report);
+        } finally {
+            stop.set(true);
+            giveBack(main);
+        }
+        try {
+            done.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        // Helpers are handed back only once they have all finished: their node counts are read above
+        for (int i = 0; i < helperCount; i++) {
+            Search s = running.get(i);
+            if (s != null) giveBack(s);
+        }
+
+        long nodes = best.nodes();
+        for (SearchResult r : results) {
+            if (r == null) continue;
+            nodes += r.nodes();
+            if (r.depth() > best.depth() && r.bestMove() != Move.NONE) best = r;
+        }
+        return new SearchResult(best.bestMove(), best.score(), best.depth(), nodes, best.timeMillis(), best.pv());
+    }
+}
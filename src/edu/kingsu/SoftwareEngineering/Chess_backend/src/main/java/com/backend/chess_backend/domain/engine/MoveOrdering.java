@@ -0,0 +1,236 @@
+package com.backend.chess_backend.domain.engine;
+
+import com.backend.chess_backend.domain.Position;
+import com.backend.chess_backend.domain.rules.Move;
+import com.backend.chess_backend.domain.rules.MoveList;
+
+import java.util.Arrays;
+
+/**
+ * Move ordering for {@link Search}: which moves of a node to try first.
+ * <p>
+ * Alpha-beta only prunes when a good move is searched early, so the order decides how many nodes a
+ * search of a given depth visits. Moves are scored and sorted once per node, in this order:
+ * </p>
+ * <ol>
+ *   <li>the transposition table's best move, then the previous iteration's PV move;</li>
+ *   <li>captures that do not lose material, most valuable victim first and least valuable attacker
+ *       second (MVV-LVA);</li>
+ *   <li>promotions, by the promoted piece;</li>
+ *   <li>the two <b>killer moves</b> of the ply: quiet moves that caused a beta cutoff in a sibling node;</li>
+ *   <li>the <b>countermove</b>: the quiet move that last refuted the opponent's previous move;</li>
+ *   <li>the remaining quiet moves by their <b>history</b> score;</li>
+ *   <li>captures that lose material by {@link See static exchange evaluation}, again by MVV-LVA.</li>
+ * </ol>
+ *
+ * <h2>Tables</h2>
+ * <pre>
+ * killers[2 * ply + slot]                 slot 0 = most recent
+ * history[side &lt;&lt; 12 | from &lt;&lt; 6 | to]    "butterfly" table, in [-MAX_HISTORY, MAX_HISTORY]
+ * countermoves[piece &lt;&lt; 6 | to]            keyed by the piece and target square of the previous move
+ * </pre>
+ * <p>
+ * When a quiet move fails high, it gains {@code depth²} in the history table and every quiet move
+ * tried before it in the node loses as much. Updates are damped ("history gravity":
+ * {@code h += bonus - h * |bonus| / MAX_HISTORY}) so scores stay bounded and a move that keeps
+ * failing high outranks one that did so once long ago. Between searches the killers are reset and
+ * history is halved, so what one search learned still helps the next without dominating it.
+ * </p>
+ *
+ * <p>
+ * The tables are plain {@code int} arrays owned by one {@link Search}, i.e. by one search thread:
+ * they are updated at every cutoff and sharing them would cost more in cache traffic than it saves
+ * in nodes. An instance is not thread-safe.
+ * </p>
+ *
+ * @author Alain Uwishema
+ * @since 0.2
+ */
+public final class MoveOrdering {
+    /** Bound on the absolute value of a history score. */
+    public static final int MAX_HISTORY = 16_384;
+
+    private static final int TT_MOVE = 2_000_000;
+    private static final int PV_MOVE = 1_000_000;
+    private static final int CAPTURE = 10_000;
+    private static final int PROMOTION = 9_000;
+    private static final int KILLER = 8_000;
+    private static final int COUNTERMOVE = 7_800;
+    /** Captures that lose material by SEE go after every quiet move. */
+    private static final int BAD_CAPTURE = -20_000;
+    /** Quiet moves score {@code history >> HISTORY_SHIFT}, which stays below {@link #COUNTERMOVE}. */
+    private static final int HISTORY_SHIFT = 2;
+
+    private final boolean quietHeuristics;
+    private final int[] killers = new int[2 * (Search.MAX_PLY + 1)];
+    private final int[] history = new int[2 << 12];
+    private final int[] countermoves = new int[Position.PIECE_KINDS << 6];
+
+    /** Creates an ordering with killers, history and countermoves. */
+    public MoveOrdering() {
+        this(true);
+    }
+
+    private MoveOrdering(boolean quietHeuristics) {
+        this.quietHeuristics = quietHeuristics;
+    }
+
+    /**
+     * An ordering that only ranks the hash move, the PV move, captures and promotions, leaving quiet
+     * moves in generation order. It is the baseline the quiet-move heuristics are measured against.
+     *
+     * @return a new ordering without killers, history or countermoves
+     */
+    public static MoveOrdering capturesOnly() {
+        return new MoveOrdering(false);
+    }
+
+    /** Prepares for a new search: forgets the killers and halves the history scores. */
+    public void newSearch() {
+        Arrays.fill(killers, Move.NONE);
+        for (int i = 0; i < history.length; i++) history[i] /= 2;
+    }
+
+    /** Forgets everything learned so far. */
+    public void clear() {
+        Arrays.fill(killers, Move.NONE);
+        Arrays.fill(history, 0);
+        Arrays.fill(countermoves, Move.NONE);
+    }
+
+    /**
+     * Sorts a node's moves, best first (see the class comment).
+     *
+     * @param pos      the node's position, before any of the moves is made
+     * @param list     moves to sort in place
+     * @param scores   scratch space of at least {@code list.size()} entries; left holding the sorted scores
+     * @param ply      distance from the root
+     * @param ttMove   the transposition table's move, or {@link Move#NONE}
+     * @param pvMove   the previous iteration's move at this ply, or {@link Move#NONE}
+     * @param previous the move that led to this node, or {@link Move#NONE} at the root
+     */
+    public void order(Position pos, MoveList list, int[] scores, int ply, int ttMove, int pvMove, int previous) {
+        int killer0 = Move.NONE, killer1 = Move.NONE, counter = Move.NONE;
+        if (quietHeuristics) {
+            killer0 = killers[2 * ply];
+            killer1 = killers[2 * ply + 1];
+            if (previous != Move.NONE) counter = countermoves[counterIndex(pos, previous)];
+        }
+        int sideBase = pos.sideToMove() << 12;
+        int n = list.size();
+        for (int i = 0; i < n; i++) {
+            int m = list.get(i);
+            int s;
+            if (m == ttMove) s = TT_MOVE;
+            else if (m == pvMove) s = PV_MOVE;
+            else if (isCapture(pos, m)) {
+                s = (See.seeGe(pos, m, 0) ? CAPTURE : BAD_CAPTURE) + 10 * victimValue(pos, m) - attackerValue(pos, m);
+            }
+            else if (Move.isPromotion(m)) s = PROMOTION + Evaluation.value(Move.promotionType(m));
+            else if (!quietHeuristics) s = 0;
+            else if (m == killer0) s = KILLER;
+            else if (m == killer1) s = KILLER - 1;
+            else if (m == counter) s = COUNTERMOVE;
+            else s = history[sideBase | butterfly(m)] >> HISTORY_SHIFT;
+            scores[i] = s;
+        }
+        // Insertion sort, descending and stable: lists are short
+        for (int i = 1; i < n; i++) {
+            int m = list.get(i), key = scores[i];
+            int j = i - 1;
+            while (j >= 0 && scores[j] < key) {
+                list.set(j + 1, list.get(j));
+                scores[j + 1] = scores[j];
+                j--;
+            }
+            list.set(j + 1, m);
+            scores[j + 1] = key;
+        }
+    }
+
+    /**
+     * Records a beta cutoff. Captures and promotions are ordered by material already and are ignored.
+     *
+     * @param pos      the node's position (the cutoff move unmade)
+     * @param list     the node's moves in the order they were searched
+     * @param index    index in {@code list} of the move that failed high
+     * @param ply      distance from the root
+     * @param depth    remaining depth of the node
+     * @param previous the move that led to this node, or {@link Move#NONE} at the root
+     */
+    public void cutoff(Position pos, MoveList list, int index, int ply, int depth, int previous) {
+        int move = list.get(index);
+        if (!quietHeuristics || !isQuiet(pos, move)) return;
+
+        if (killers[2 * ply] != move) {
+            killers[2 * ply + 1] = killers[2 * ply];
+            killers[2 * ply] = move;
+        }
+        int sideBase = pos.sideToMove() << 12;
+        int bonus = Math.min(depth * depth, MAX_HISTORY);
+        updateHistory(sideBase | butterfly(move), bonus);
+        for (int i = 0; i < index; i++) {
+            int tried = list.get(i);
+            if (isQuiet(pos, tried)) updateHistory(sideBase | butterfly(tried), -bonus);
+        }
+        if (previous != Move.NONE) countermoves[counterIndex(pos, previous)] = move;
+    }
+
+    /**
+     * @param side  {@link Position#WHITE} or {@link Position#BLACK}
+     * @param move  a move
+     * @return the history score of {@code move} for {@code side}
+     */
+    public int history(int side, int move) {
+        return history[side << 12 | butterfly(move)];
+    }
+
+    /**
+     * @param ply  distance from the root
+     * @param slot 0 for the most recent killer, 1 for the one before
+     * @return the killer move, or {@link Move#NONE}
+     */
+    public int killer(int ply, int slot) {
+        return killers[2 * ply + slot];
+    }
+
+    /**
+     * @param pos      the position after {@code previous} was played
+     * @param previous the opponent's last move
+     * @return the recorded reply to {@code previous}, or {@link Move#NONE}
+     */
+    public int countermove(Position pos, int previous) {
+        return countermoves[counterIndex(pos, previous)];
+    }
+
+    private void updateHistory(int index, int bonus) {
+        history[index] += bonus - history[index] * Math.abs(bonus) / MAX_HISTORY;
+    }
+
+    private static int butterfly(int move) {
+        return Move.from(move) << 6 | Move.to(move);
+    }
+
+    /** The previous move's piece now stands on its target square (promotions index the new piece). */
+    private static int counterIndex(Position pos, int previous) {
+        int piece = pos.pieceAt(Move.to(previous));
+        return piece == Position.NO_PIECE ? 0 : piece << 6 | Move.to(previous);
+    }
+
+    private static boolean isQuiet(Position pos, int move) {
+        return !Move.isPromotion(move) && !isCapture(pos, move);
+    }
+
+    static boolean isCapture(Position pos, int move) {
+        return Move.flag(move) == Move.EN_PASSANT || pos.pieceAt(Move.to(move)) != Position.NO_PIECE;
+    }
+
+    private static int victimValue(Position pos, int move) {
+        int victim = pos.pieceAt(Move.to(move));
+        return Evaluation.value(victim == Position.NO_PIECE ? Position.PAWN : Position.typeOf(victim));
+    }
+
+    private static int attackerValue(Position pos, int move) {
+        return Evaluation.value(Position.typeOf(pos.pieceAt(Move.from(move)))) / 10;
+    }
+}
@@ -0,0 +1,156 @@
+package com.backend.chess_backend.domain.engine;
+
+import com.backend.chess_backend.domain.Position;
+import com.backend.chess_backend.domain.rules.Move;
+import com.backend.chess_backend.domain.rules.MoveGenerator;
+import com.backend.chess_backend.domain.rules.MoveList;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.random.RandomGenerator;
+
+/**
+ * Read-only opening book in the Polyglot {@code .bin} format.
+ * <p>
+ * The file is memory-mapped, not read: opening a book of hundreds of MB costs no heap and no start-up
+ * time, pages are only faulted in as lookups touch them, and every JVM on the host that maps the same
+ * file shares one copy in the page cache. A lookup binary-searches the mapping for the position's
+ * {@link PolyglotKeys Polyglot key}, so it touches about {@code log2(entries)} pages.
+ * </p>
+ *
+ * <h2>File format</h2>
+ * <pre>
+ * 16-byte big-endian entries, sorted by key (unsigned):
+ * key     u64   Polyglot key of the position
+ * move    u16   bits 0..5 to, 6..11 from (a1 = 0), 12..14 promotion (1 = N .. 4 = Q)
+ * weight  u16   relative frequency; 0 means "never play"
+ * learn   u32   unused
+ * </pre>
+ * Castling is stored as the king capturing its own rook (e1h1, e1a1, e8h8, e8a8). Book moves are
+ * translated to {@link Move}s and checked against the legal moves of the position, so an entry that
+ * does not fit (a key collision or a corrupt book) is ignored rather than played.
+ *
+ * <p>
+ * Lookups only use absolute reads of the mapping and are safe from any number of threads.
+ * </p>
+ *
+ * @author Alain Uwishema
+ * @since 0.2
+ */
+public final class PolyglotBook {
+    private static final int ENTRY_BYTES = 16;
+
+    /** A legal book move for a position and its weight. */
+    public record BookMove(int move, int weight) {}
+
+    private final ByteBuffer entries;
+    private final int count;
+    private final PolyglotKeys keys;
+
+    private PolyglotBook(ByteBuffer entries, PolyglotKeys keys) {
+        this.entries = entries;
+        this.count = entries.capacity() / ENTRY_BYTES;
+        this.keys = keys;
+    }
+
+    /**
+     * Maps a book file read-only.
+     *
+     * @param file the {@code .bin} book
+     * @param keys the key table the book was built with
+     * @return the book
+     * @throws IOException if the file cannot be mapped or is not a whole number of entries
+     */
+    public static PolyglotBook open(Path file, PolyglotKeys keys) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (size % ENTRY_BYTES != 0) throw new IOException(file + ": not a Polyglot book (size " + size + ")");
+            if (size > Integer.MAX_VALUE) throw new IOException(file + ": books over 2 GB are not supported");
+            // The mapping stays valid after the channel is closed.
+            return new PolyglotBook(channel.map(FileChannel.MapMode.READ_ONLY, 0, size), keys);
+        }
+    }
+
+    /** @return number of entries in the book */
+    public int size() {
+        return count;
+    }
+
+    /**
+     * Returns the legal book moves for a position, in file order (usually by decreasing weight).
+     *
+     * @param pos the position; not modified
+     * @return book moves, empty if the position is not in the book
+     */
+    public List<BookMove> moves(Position pos) {
+        List<BookMove> out = new ArrayList<>();
+        long key = keys.key(pos);
+        MoveList legal = null;
+        for (int i = lowerBound(key); i < count && entries.getLong(i * ENTRY_BYTES) == key; i++) {
+            int at = i * ENTRY_BYTES;
+            int weight = Short.toUnsignedInt(entries.getShort(at + 10));
+            if (weight == 0) continue;
+            if (legal == null) {
+                legal = new MoveList();
+                MoveGenerator.generateLegal(pos, legal);
+            }
+            int move = toMove(pos, Short.toUnsignedInt(entries.getShort(at + 8)), legal);
+            if (move != Move.NONE) out.add(new BookMove(move, weight));
+        }
+        return out;
+    }
+
+    /**
+     * Picks a book move at random, in proportion to the weights.
+     *
+     * @param pos    the position; not modified
+     * @param random source of randomness
+     * @return a legal book move, or {@link Move#NONE} if the position is not in the book
+     */
+    public int pick(Position pos, RandomGenerator random) {
+        List<BookMove> moves = moves(pos);
+        int total = 0;
+        for (BookMove m : moves) total += m.weight();
+        if (total == 0) return Move.NONE;
+        int r = random.nextInt(total);
+        for (BookMove m : moves) {
+            r -= m.weight();
+            if (r < 0) return m.move();
+        }
+        return Move.NONE;
+    }
+
+    /** Index of the first entry whose key is not below {@code key} (unsigned order). */
+    private int lowerBound(long key) {
+        int lo = 0, hi = count;
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (Long.compareUnsigned(entries.getLong(mid * ENTRY_BYTES), key) < 0) lo = mid + 1;
+            else hi = mid;
+        }
+        return lo;
+    }
+
+    /** Translates a Polyglot move to the matching legal move, or {@link Move#NONE}. */
+    private static int toMove(Position pos, int raw, MoveList legal) {
+        int to = raw & 0x3F;
+        int from = (raw >>> 6) & 0x3F;
+        int promotion = (raw >>> 12) & 0x7;
+        int piece = pos.pieceAt(from);
+        if (piece != Position.NO_PIECE && Position.typeOf(piece) == Position.KING
+                && pos.pieceAt(to) == Position.piece(Position.colorOf(piece), Position.ROOK)) {
+            to = to > from ? from + 2 : from - 2;       // king takes own rook = castling
+        }
+        for (int i = 0; i < legal.size(); i++) {
+            int m = legal.get(i);
+            if (Move.from(m) != from || Move.to(m) != to) continue;
+            if (Move.isPromotion(m) ? Move.promotionType(m) == promotion : promotion == 0) return m;
+        }
+        return Move.NONE;
+    }
+}
@@ -0,0 +1,148 @@
+package com.backend.chess_backend.domain.engine;
+
+import com.backend.chess_backend.domain.Fen;
+import com.backend.chess_backend.domain.Position;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Position keys in the Polyglot book format.
+ * <p>
+ * Polyglot books are indexed by their own Zobrist scheme, not by {@link Position#key()}: a key is the
+ * XOR of entries of a fixed table of {@value #SIZE} random numbers published with the format
+ * ("Random64"). Every Polyglot book is keyed with that one standard table. Polyglot distributes it
+ * as source text, in the format description ({@code book_format.html}) and in its own
+ * {@code random.cpp}; {@link #load(Path)} reads either of those files as shipped, or a binary dump of
+ * {@value #SIZE} big-endian 64-bit values. Whatever the source, the table is checked against all
+ * position keys published in the format description, so a different table, a truncated copy or a
+ * dump with the wrong byte order is rejected instead of silently missing every book position.
+ * </p>
+ *
+ * <h2>Layout of the table</h2>
+ * <pre>
+ * 0..767    piece on square:  64 * kind + square, kind = 2 * type + (WHITE ? 1 : 0)
+ * 768..771  castling rights:  white short, white long, black short, black long
+ * 772..779  en-passant file:  only when a pawn of the side to move can capture there
+ * 780       WHITE to move
+ * </pre>
+ * With {@link Position}'s piece codes ({@code (type << 1) | color}, WHITE = 0) the Polyglot kind is
+ * simply {@code piece ^ 1}, and the castling bits are already in Polyglot order. Polyglot's en-passant
+ * condition is the one {@link Position} applies when it records an en-passant square at all.
+ *
+ * @author Alain Uwishema
+ * @since 0.2
+ */
+public final class PolyglotKeys {
+    /** Number of values in a Polyglot key table. */
+    public static final int SIZE = 781;
+
+    private static final int CASTLING = 768;
+    private static final int EN_PASSANT = 772;
+    private static final int TURN = 780;
+
+    /** Test positions of the format description, with their published keys. */
+    private static final String[] PUBLISHED_FENS = {
+            Fen.START,
+            "rnbqkbnr/pppppppp/8/8/4P3/8/PPPP1PPP/RNBQKBNR b KQkq e3 0 1",
+            "rnbqkbnr/ppp1pppp/8/3p4/4P3/8/PPPP1PPP/RNBQKBNR w KQkq d6 0 2",
+            "rnbqkbnr/ppp1pppp/8/3pP3/8/8/PPPP1PPP/RNBQKBNR b KQkq - 0 2",
+            "rnbqkbnr/ppp1p1pp/8/3pPp2/8/8/PPPP1PPP/RNBQKBNR w KQkq f6 0 3",
+            "rnbqkbnr/ppp1p1pp/8/3pPp2/8/8/PPPPKPPP/RNBQ1BNR b kq - 0 3",
+            "rnbq1bnr/ppp1pkpp/8/3pPp2/8/8/PPPPKPPP/RNBQ1BNR w - - 0 4",
+            "rnbqkbnr/p1pppppp/8/8/PpP4P/8/1P1PPPP1/RNBQKBNR b KQkq c3 0 3",
+            "rnbqkbnr/p1pppppp/8/8/P6P/R1p5/1P1PPPP1/1NBQKBNR b Kkq - 0 4",
+    };
+    private static final long[] PUBLISHED_KEYS = {
+            0x463B96181691FC9CL, 0x823C9B50FD114196L, 0x0756B94461C50FB0L,
+            0x662FAFB965DB29D4L, 0x22A48B5A8E47FF78L, 0x652A607CA3F242C1L,
+            0x00FDD303C946BDD9L, 0x3C8123EA7B067637L, 0x5C3F9B829B279560L,
+    };
+
+    /** A table value in source text: {@code 0x9D39247E33776D41}, also inside {@code U64(...)}. */
+    private static final Pattern HEX_VALUE = Pattern.compile("0[xX]([0-9A-Fa-f]{16})");
+
+    private final long[] random;
+
+    /**
+     * Wraps a key table.
+     *
+     * @param random the {@value #SIZE} table values, in Polyglot order; copied
+     */
+    public PolyglotKeys(long[] random) {
+        if (random.length != SIZE) throw new IllegalArgumentException("a Polyglot key table has " + SIZE + " values");
+        this.random = random.clone();
+    }
+
+    /**
+     * Reads the Random64 table and checks that it is the standard one: every test position of the
+     * format description must get its published key.
+     * <p>
+     * A file of exactly {@code 8 * 781} bytes is read as big-endian 64-bit values. Any other file is
+     * read as text, and the first {@value #SIZE} hexadecimal literals of 16 digits in it are the table;
+     * this is how {@code book_format.html} and {@code random.cpp} of the Polyglot distribution list it.
+     * </p>
+     *
+     * @param file table file
+     * @return the key table
+     * @throws IOException if the file cannot be read, holds fewer than {@value #SIZE} values or is not
+     *                     the standard table
+     */
+    public static PolyglotKeys load(Path file) throws IOException {
+        byte[] bytes = Files.readAllBytes(file);
+        long[] random = new long[SIZE];
+        if (bytes.length == SIZE * Long.BYTES) {
+            ByteBuffer.wrap(bytes).asLongBuffer().get(random);
+        } else {
+            Matcher hex = HEX_VALUE.matcher(new String(bytes, StandardCharsets.ISO_8859_1));
+            int n = 0;
+            while (n < SIZE && hex.find()) random[n++] = Long.parseUnsignedLong(hex.group(1), 16);
+            if (n < SIZE) {
+                throw new IOException(file + ": expected " + SIZE + " Polyglot keys (or " + SIZE * Long.BYTES
+                        + " bytes), found " + n + " values in " + bytes.length + " bytes");
+            }
+        }
+        PolyglotKeys keys = new PolyglotKeys(random);
+        Position pos = new Position();
+        for (int i = 0; i < PUBLISHED_FENS.length; i++) {
+            Fen.read(PUBLISHED_FENS[i], pos);
+            long key = keys.key(pos);
+            if (key != PUBLISHED_KEYS[i]) {
+                throw new IOException(file + ": not the standard Polyglot Random64 table (key of "
+                        + PUBLISHED_FENS[i] + " is " + Long.toHexString(key) + ", expected "
+                        + Long.toHexString(PUBLISHED_KEYS[i]) + ")");
+            }
+        }
+        return keys;
+    }
+
+    /**
+     * Computes the Polyglot key of a position.
+     *
+     * @param pos the position; not modified
+     * @return its Polyglot key
+     */
+    public long key(Position pos) {
+        long key = 0;
+        for (int piece = 0; piece < Position.PIECE_KINDS; piece++) {
+            long bb = pos.pieces(piece);
+            int base = (piece ^ 1) * 64;
+            while (bb != 0) {
+                key ^= random[base + Long.numberOfTrailingZeros(bb)];
+                bb &= bb - 1;
+            }
+        }
+        int rights = pos.castlingRights();
+        for (int bit = 0; bit < 4; bit++) {
+            if ((rights & (1 << bit)) != 0) key ^= random[CASTLING + bit];
+        }
+        if (pos.epSquare() != Position.NO_SQUARE) key ^= random[EN_PASSANT + (pos.epSquare() & 7)];
+        if (pos.sideToMove() == Position.WHITE) key ^= random[TURN];
+        return key;
+    }
+}
@@ -0,0 +1,468 @@
+package com.backend.chess_backend.domain.engine;
+
+import com.backend.chess_backend.domain.Position;
+import com.backend.chess_backend.domain.rules.Move;
+import com.backend.chess_backend.domain.rules.MoveGenerator;
+import com.backend.chess_backend.domain.rules.MoveList;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+
+/**
+ * Alpha-beta game-tree search over {@link MoveGenerator}'s legal moves.
+ * <p>
+ * The search is a fail-soft negamax with iterative deepening: depth 1, 2, 3, ... is searched until
+ * the {@link SearchLimits} run out, and the best move of the last completed iteration is returned.
+ * Each iteration tries the previous iteration's principal variation first, which is what makes
+ * deepening cheaper than it looks; the other moves are ranked by {@link MoveOrdering}. Leaves are
+ * resolved by a quiescence search over captures and queen promotions (all evasions when in check),
+ * so the static {@link Evaluation} is only taken in quiet positions; captures that lose material by
+ * {@link See static exchange evaluation} are skipped there. Checks extend the search by one ply.
+ * </p>
+ *
+ * <h2>Draws and mates</h2>
+ * <p>
+ * Inside the tree a single repetition, the fifty-move rule and insufficient material score as 0.
+ * Repetitions are found by walking the position's undo stack and then the game history handed to
+ * {@link #run(Position, long[], SearchLimits)}. Mate scores are {@code ±(MATE - ply)} so shorter
+ * mates are preferred.
+ * </p>
+ *
+ * <h2>Tablebases</h2>
+ * <p>
+ * Below the root, positions with few enough pieces and no castling rights are looked up in the
+ * {@link Tablebase} (after checking for mate and stalemate). A draw is exact. A win is a lower bound
+ * and a loss an upper bound, scored {@code ±TB_WIN} plus the static evaluation; they end the node
+ * if they fall outside the window and otherwise cap the searched score. The evaluation term orders won positions so the winning side
+ * still makes progress, and real mates always score higher.
+ * </p>
+ *
+ * <h2>Budget</h2>
+ * <p>
+ * The node limit is checked at every node and the clock every {@value #CHECK_INTERVAL} nodes; once
+ * a limit is hit the current iteration is abandoned. {@link #stop()} may be called from another
+ * thread to the same effect; {@link LazySmp} instead hands all of its threads one shared stop flag.
+ * A listener passed to {@link #run(Position, long[], SearchLimits, Consumer)} is told the result of
+ * every completed iteration as it happens, on the searching thread.
+ * </p>
+ *
+ * <p>
+ * An instance keeps its per-ply move buffers and its {@link MoveOrdering} tables between searches
+ * so repeated searches do not allocate and later searches start from what earlier ones learned;
+ * it is not thread-safe (use one per thread), although several instances may share one
+ * table. The root position is searched on a {@link Position#copy()} and never modified.
+ * </p>
+ *
+ * @author Alain Uwishema
+ * @since 0.2
+ */
+public final class Search {
+    /** Deepest ply the search (including quiescence) will reach. */
+    public static final int MAX_PLY = 128;
+    /** Bound larger than any score. */
+    public static final int INFINITE = 32_000;
+    /** Score of being mated at the root; being mated {@code n} plies from the root scores {@code -(MATE - n)}. */
+    public static final int MATE = 31_000;
+
+    /** Base score of a tablebase win; tablebase scores stay within {@code TB_WIN ± TB_PROGRESS}. */
+    public static final int TB_WIN = 20_000;
+    private static final int TB_PROGRESS = 5_000;
+
+    private static final int CHECK_INTERVAL = 2048;
+
+    private final MoveList[] moves = new MoveList[MAX_PLY + 1];
+    private final int[][] scores = new int[MAX_PLY + 1][MoveList.CAPACITY];
+    /** {@code played[ply]} is the move being searched at {@code ply}, the previous move of {@code ply + 1}. */
+    private final int[] played = new int[MAX_PLY + 1];
+    /** Triangular PV table: {@code pv[ply][ply..pvLength[ply])} is the best line from {@code ply}. */
+    private final int[][] pv = new int[MAX_PLY + 1][MAX_PLY + 1];
+    private final int[] pvLength = new int[MAX_PLY + 1];
+    /** Principal variation of the last completed iteration, tried first in the next one. */
+    private int[] previousPv = new int[0];
+
+    private final TranspositionTable tt;
+    private final Tablebase tb;
+    private final MoveOrdering ordering;
+    private Position pos;
+    private long[] history = new long[0];
+    private long nodes;
+    /** {@link #nodes} as last published for other threads (every {@value #CHECK_INTERVAL} nodes). */
+    private volatile long publishedNodes;
+    private long nodeLimit;
+    private long deadline;
+    private boolean stopped;
+    private volatile AtomicBoolean stopSignal = new AtomicBoolean();
+
+    /** Creates a search without a transposition table. */
+    public Search() {
+        this(null);
+    }
+
+    /**
+     * Creates a search that reads and fills {@code tt}.
+     *
+     * @param tt transposition table, possibly shared with other searches; {@code null} for none
+     */
+    public Search(TranspositionTable tt) {
+        this(tt, Tablebase.NONE);
+    }
+
+    /**
+     * Creates a search that reads and fills {@code tt} and consults {@code tb}.
+     *
+     * @param tt transposition table, possibly shared with other searches; {@code null} for none
+     * @param tb tablebase for positions with few pieces; {@link Tablebase#NONE} for none
+     */
+    public Search(TranspositionTable tt, Tablebase tb) {
+        this(tt, tb, new MoveOrdering());
+    }
+
+    /**
+     * Creates a search with its own move ordering, e.g. {@link MoveOrdering#capturesOnly()} to
+     * measure what the quiet-move heuristics save.
+     *
+     * @param tt       transposition table, possibly shared with other searches; {@code null} for none
+     * @param tb       tablebase for positions with few pieces; {@link Tablebase#NONE} for none
+     * @param ordering move ordering owned by this search alone
+     */
+    public Search(TranspositionTable tt, Tablebase tb, MoveOrdering ordering) {
+        this.tt = tt;
+        this.tb = tb;
+        this.ordering = ordering;
+        for (int i = 0; i <= MAX_PLY; i++) moves[i] = new MoveList();
+    }
+
+    /**
+     * Returns whether a score denotes a forced mate (for either side).
+     *
+     * @param score search score
+     * @return {@code true} for mate scores
+     */
+    public static boolean isMateScore(int score) {
+        return Math.abs(score) >= MATE - MAX_PLY;
+    }
+
+    /**
+     * Converts a mate score into moves (not plies) to mate.
+     *
+     * @param score a score for which {@link #isMateScore(int)} holds
+     * @return moves to mate; positive when the side to move mates, negative when it is mated
+     */
+    public static int mateMoves(int score) {
+        int moves = (MATE - Math.abs(score) + 1) / 2;
+        return score > 0 ? moves : -moves;
+    }
+
+    /** Asks a running search to stop as soon as possible; safe to call from any thread. */
+    public void stop() {
+        stopSignal.set(true);
+    }
+
+    /** @return nodes visited so far by the current (or last) search; readable from any thread */
+    public long nodes() {
+        return publishedNodes;
+    }
+
+    /** Zeroes {@link #nodes()} before a search starts, so other threads never read a previous search's count. */
+    void resetNodes() {
+        publishedNodes = 0;
+    }
+
+    /**
+     * Searches {@code root} within {@code limits}.
+     *
+     * @param root    position to search; only read
+     * @param history keys of the game's earlier positions, oldest first, ending with {@code root}'s own
+     *                key (may be empty); used to score repetitions of moves already played
+     * @param limits  depth, time and node budget
+     * @return the best move found; {@link Move#NONE} if the side to move has no legal move
+     */
+    public SearchResult run(Position root, long[] history, SearchLimits limits) {
+        return run(root, history, limits, 0, new AtomicBoolean(), null);
+    }
+
+    /**
+     * Searches {@code root} within {@code limits}, reporting each completed iteration.
+     *
+     * @param root        position to search; only read
+     * @param history     game history, as for {@link #run(Position, long[], SearchLimits)}
+     * @param limits      depth, time and node budget
+     * @param onIteration called on this thread after every completed iteration with its move, score,
+     *                    PV and the nodes and time spent so far
+     * @return the best move found, as for {@link #run(Position, long[], SearchLimits)}
+     */
+    public SearchResult run(Position root, long[] history, SearchLimits limits, Consumer<SearchResult> onIteration) {
+        return run(root, history, limits, 0, new AtomicBoolean(), onIteration);
+    }
+
+    /**
+     * Iterative deepening as one thread of a parallel search. Helper threads ({@code threadId > 0})
+     * with an odd id start at depth 2 so the threads are spread over two depths at any time.
+     *
+     * @param root     position to search; only read
+     * @param history  game history, as for {@link #run(Position, long[], SearchLimits)}
+     * @param limits   depth, time and node budget
+     * @param threadId 0 for the main thread, 1.. for helpers
+     * @param stop     shared flag; the search stops once it is set, and sets it itself when the clock runs out
+     * @param onIteration told of every completed iteration, or {@code null}
+     * @return this thread's result
+     */
+    SearchResult run(Position root, long[] history, SearchLimits limits, int threadId, AtomicBoolean stop,
+                     Consumer<SearchResult> onIteration) {
+        long start = System.nanoTime();
+        this.stopSignal = stop;
+        this.pos = root.copy();
+        this.history = history == null ? new long[0] : history;
+        this.nodes = 0;
+        this.publishedNodes = 0;
+        this.nodeLimit = limits.nodes() > 0 ? limits.nodes() : Long.MAX_VALUE;
+        this.deadline = limits.timeMillis() > 0 ? start + limits.timeMillis() * 1_000_000L : Long.MAX_VALUE;
+        this.stopped = false;
+        this.previousPv = new int[0];
+        ordering.newSearch();
+        int maxDepth = limits.depth() > 0 ? Math.min(limits.depth(), MAX_PLY - 1) : MAX_PLY - 1;
+
+        MoveList rootMoves = new MoveList();
+        MoveGenerator.generateLegal(pos, rootMoves);
+        if (rootMoves.isEmpty()) {
+            int score = MoveGenerator.inCheck(pos) ? -MATE : 0;
+            return new SearchResult(Move.NONE, score, 0, 0, elapsedMillis(start), new int[0]);
+        }
+
+        int bestMove = rootMoves.get(0);
+        int bestScore = 0;
+        int completed = 0;
+        for (int depth = 1 + (threadId & 1); depth <= maxDepth; depth++) {
+            int score = negamax(depth, 0, -INFINITE, INFINITE);
+            if (stopped) {
+                // A partial first iteration still beats an arbitrary move
+                if (completed == 0 && pvLength[0] > 0) bestMove = pv[0][0];
+                break;
+            }
+            completed = depth;
+            bestScore = score;
+            previousPv = Arrays.copyOf(pv[0], pvLength[0]);
+            if (previousPv.length > 0) bestMove = previousPv[0];
+            if (onIteration != null) {
+                publishedNodes = nodes;
+                onIteration.accept(new SearchResult(bestMove, score, depth, nodes, elapsedMillis(start), previousPv));
+            }
+            if (stopSignal.get()) break;                                       // stopped between iterations
+            if (rootMoves.size() == 1) break;                                  // forced move
+            if (isMateScore(score) && MATE - Math.abs(score) <= depth) break;  // mate found within the horizon
+        }
+        publishedNodes = nodes;
+        int[] line = previousPv.length > 0 ? previousPv : new int[]{bestMove};
+        return new SearchResult(bestMove, bestScore, completed, nodes, elapsedMillis(start), line);
+    }
+
+    private int negamax(int depth, int ply, int alpha, int beta) {
+        pvLength[ply] = ply;
+        if (ply > 0 && isDraw()) return 0;
+        if (ply >= MAX_PLY) return Evaluation.evaluate(pos);
+
+        boolean inCheck = MoveGenerator.inCheck(pos);
+        if (inCheck) depth++;
+        if (depth <= 0) return quiesce(ply, alpha, beta);
+
+        if (countNode()) return 0;
+
+        long key = pos.key();
+        int ttMove = Move.NONE;
+        if (tt != null) {
+            long entry = tt.probe(key);
+            if (entry != 0) {
+                ttMove = TranspositionTable.move(entry);
+                if (ply > 0 && TranspositionTable.depth(entry) >= depth) {
+                    int score = TranspositionTable.scoreFromTable(TranspositionTable.score(entry), ply);
+                    int bound = TranspositionTable.bound(entry);
+                    if (bound == TranspositionTable.EXACT
+                            || (bound == TranspositionTable.LOWER && score >= beta)
+                            || (bound == TranspositionTable.UPPER && score <= alpha)) {
+                        return score;
+                    }
+                }
+            }
+        }
+
+        MoveList list = moves[ply];
+        list.clear();
+        MoveGenerator.generateLegal(pos, list);
+        if (list.isEmpty()) return inCheck ? -(MATE - ply) : 0;
+
+        int alphaOrig = alpha;
+        int tbFloor = -INFINITE, tbCeiling = INFINITE;
+        if (ply > 0 && pos.castlingRights() == 0 && Long.bitCount(pos.occupied()) <= tb.maxPieces()) {
+            int wdl = tb.probeWdl(pos);
+            if (wdl != Tablebase.UNKNOWN) {
+                int score = tablebaseScore(wdl);
+                int bound = wdl >= Tablebase.WIN ? TranspositionTable.LOWER
+                        : wdl <= Tablebase.LOSS ? TranspositionTable.UPPER : TranspositionTable.EXACT;
+                if (bound == TranspositionTable.EXACT
+                        || (bound == TranspositionTable.LOWER && score >= beta)
+                        || (bound == TranspositionTable.UPPER && score <= alpha)) {
+                    if (tt != null) tt.store(key, Move.NONE, score, Math.min(depth + 6, MAX_PLY - 1), bound);
+                    return score;
+                }
+                // Inside the window: search on, but the result cannot pass the tablebase bound
+                if (bound == TranspositionTable.LOWER) {
+                    tbFloor = score;
+                    alpha = Math.max(alpha, score);
+                } else {
+                    tbCeiling = score;
+                }
+            }
+        }
+        int previous = ply > 0 ? played[ply - 1] : Move.NONE;
+        ordering.order(pos, list, scores[ply], ply, ttMove, pvMove(ply), previous);
+
+        int best = -INFINITE, bestMove = Move.NONE;
+        for (int i = 0; i < list.size(); i++) {
+            int move = list.get(i);
+            played[ply] = move;
+            pos.makeMove(move);
+            int score = -negamax(depth - 1, ply + 1, -beta, -alpha);
+            pos.unmakeMove();
+            if (stopped) return 0;
+
+            if (score > best) {
+                best = score;
+                bestMove = move;
+                if (score > alpha) {
+                    alpha = score;
+                    updatePv(ply, move);
+                    if (alpha >= beta) {
+                        ordering.cutoff(pos, list, i, ply, depth, previous);
+                        break;
+                    }
+                }
+            }
+        }
+
+        int bound = best >= beta ? TranspositionTable.LOWER
+                : best > alphaOrig ? TranspositionTable.EXACT : TranspositionTable.UPPER;
+        if (best < tbFloor) {
+            best = tbFloor;
+            bound = TranspositionTable.LOWER;
+            bestMove = Move.NONE;
+        } else if (best > tbCeiling) {
+            best = tbCeiling;
+            bound = TranspositionTable.UPPER;
+        }
+        if (tt != null) {
+            tt.store(key, bound == TranspositionTable.UPPER ? Move.NONE : bestMove,
+                    TranspositionTable.scoreToTable(best, ply), depth, bound);
+        }
+        return best;
+    }
+
+    /** Score of a tablebase result for the side to move (see the class comment). */
+    private int tablebaseScore(int wdl) {
+        if (wdl == Tablebase.WIN || wdl == Tablebase.LOSS) {
+            int progress = Math.max(-TB_PROGRESS, Math.min(TB_PROGRESS, Evaluation.evaluate(pos)));
+            return (wdl == Tablebase.WIN ? TB_WIN : -TB_WIN) + progress;
+        }
+        return 0;       // draws, including wins and losses the fifty-move rule turns into draws
+    }
+
+    private int quiesce(int ply, int alpha, int beta) {
+        pvLength[ply] = ply;
+        if (countNode()) return 0;
+        if (ply >= MAX_PLY) return Evaluation.evaluate(pos);
+
+        boolean inCheck = MoveGenerator.inCheck(pos);
+        int best = -INFINITE;
+        if (!inCheck) {
+            best = Evaluation.evaluate(pos);
+            if (best >= beta) return best;
+            if (best > alpha) alpha = best;
+        }
+
+        MoveList list = moves[ply];
+        list.clear();
+        MoveGenerator.generateLegal(pos, list);
+        if (inCheck && list.isEmpty()) return -(MATE - ply);
+        ordering.order(pos, list, scores[ply], ply, Move.NONE, pvMove(ply), ply > 0 ? played[ply - 1] : Move.NONE);
+
+        for (int i = 0; i < list.size(); i++) {
+            int move = list.get(i);
+            if (!inCheck) {
+                if (!MoveOrdering.isCapture(pos, move) && !isQueenPromotion(move)) continue;
+                if (!See.seeGe(pos, move, 0)) continue;         // loses material even if recaptures stop in time
+            }
+            played[ply] = move;
+            pos.makeMove(move);
+            int score = -quiesce(ply + 1, -beta, -alpha);
+            pos.unmakeMove();
+            if (stopped) return 0;
+
+            if (score > best) {
+                best = score;
+                if (score > alpha) {
+                    alpha = score;
+                    updatePv(ply, move);
+                    if (alpha >= beta) break;
+                }
+            }
+        }
+        return best;
+    }
+
+    /** The previous iteration's PV move at {@code ply}, tried right after the table's move. */
+    private int pvMove(int ply) {
+        return ply < previousPv.length ? previousPv[ply] : Move.NONE;
+    }
+
+    private static boolean isQueenPromotion(int move) {
+        return Move.isPromotion(move) && Move.promotionType(move) == Position.QUEEN;
+    }
+
+    private void updatePv(int ply, int move) {
+        pv[ply][ply] = move;
+        int childLength = pvLength[ply + 1];
+        System.arraycopy(pv[ply + 1], ply + 1, pv[ply], ply + 1, childLength - (ply + 1));
+        pvLength[ply] = Math.max(childLength, ply + 1);
+    }
+
+    /**
+     * Draw by the fifty-move rule, insufficient material, or a repetition of any earlier position
+     * since the last irreversible move (inside the tree or in the game history).
+     */
+    private boolean isDraw() {
+        int clock = pos.halfmoveClock();
+        if (clock >= 100 || pos.insufficientMaterial()) return true;
+        long key = pos.key();
+        int tree = pos.undoDepth();
+        for (int back = 4; back <= clock; back += 2) {
+            long earlier;
+            if (back <= tree) {
+                earlier = pos.keyAt(back);
+            } else {
+                // The root is `tree` plies back and is the last history entry
+                int i = history.length - 1 - (back - tree);
+                if (i < 0) break;
+                earlier = history[i];
+            }
+            if (earlier == key) return true;
+        }
+        return false;
+    }
+
+    /** Counts a node and returns whether the search must stop; the clock is read every {@value #CHECK_INTERVAL} nodes. */
+    private boolean countNode() {
+        long n = ++nodes;
+        if (n >= nodeLimit) {
+            stopped = true;
+        } else if ((n & (CHECK_INTERVAL - 1)) == 0) {
+            publishedNodes = n;
+            if (stopSignal.get()) stopped = true;
+            else if (System.nanoTime() >= deadline) { stopped = true; stopSignal.set(true); }
+        }
+        return stopped;
+    }
+
+    private static long elapsedMillis(long start) {
+        return (System.nanoTime() - start) / 1_000_000L;
+    }
+}
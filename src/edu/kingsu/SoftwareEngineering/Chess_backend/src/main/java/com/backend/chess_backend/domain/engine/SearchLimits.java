@@ -0,0 +1,25 @@
+package com.backend.chess_backend.domain.engine;
+
+/**
+ * Budget for one {@link Search}: the search deepens iteratively until any limit is reached.
+ * A limit of 0 (or less) means "no limit" for that dimension, but at least one should be set.
+ *
+ * @param depth      maximum nominal depth in plies
+ * @param timeMillis wall-clock budget in milliseconds
+ * @param nodes      maximum number of nodes visited
+ *
+ * @author Alain Uwishema
+ * @since 0.2
+ */
+public record SearchLimits(int depth, long timeMillis, long nodes) {
+
+    /** @return limits that stop only at {@code depth} */
+    public static SearchLimits depth(int depth) {
+        return new SearchLimits(depth, 0, 0);
+    }
+
+    /** @return limits that stop only when {@code millis} have elapsed */
+    public static SearchLimits time(long millis) {
+        return new SearchLimits(0, millis, 0);
+    }
+}
@@ -0,0 +1,29 @@
+package com.backend.chess_backend.domain.engine;
+
+import com.backend.chess_backend.domain.rules.Move;
+
+/**
+ * Outcome of a {@link Search}: the move to play and what the last completed iteration found.
+ *
+ * @param bestMove   packed {@link Move}, or {@link Move#NONE} when the side to move has no legal move
+ * @param score      centipawns from the mover's point of view; see {@link Search#isMateScore(int)}
+ * @param depth      deepest fully completed iteration
+ * @param nodes      nodes visited (main search and quiescence)
+ * @param timeMillis elapsed wall-clock time
+ * @param pv         principal variation starting with {@code bestMove}
+ *
+ * @author Alain Uwishema
+ * @since 0.2
+ */
+public record SearchResult(int bestMove, int score, int depth, long nodes, long timeMillis, int[] pv) {
+
+    /** @return the principal variation in UCI notation, space separated */
+    public String pvUci() {
+        StringBuilder sb = new StringBuilder();
+        for (int m : pv) {
+            if (!sb.isEmpty()) sb.append(' ');
+            sb.append(Move.toUci(m));
+        }
+        return sb.toString();
+    }
+}
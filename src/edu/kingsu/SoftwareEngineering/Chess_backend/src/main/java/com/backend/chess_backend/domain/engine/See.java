@@ -0,0 +1,194 @@
+package com.backend.chess_backend.domain.engine;
+
+import com.backend.chess_backend.domain.Position;
+import com.backend.chess_backend.domain.rules.Magics;
+import com.backend.chess_backend.domain.rules.Move;
+import com.backend.chess_backend.domain.rules.MoveGenerator;
+
+/**
+ * Static exchange evaluation (SEE): the material outcome of a sequence of captures on one square,
+ * worked out from the attack tables without searching.
+ * <p>
+ * Both sides capture on the square with their least valuable attacker, and either side may stop
+ * capturing when going on would lose material. Attackers are taken from
+ * {@link MoveGenerator#attackersTo(Position, int, long)}; each capture removes the capturing
+ * piece from the occupancy, so sliders lined up behind it ("x-rays", e.g. a queen behind a rook)
+ * join the exchange. A king only captures when the other side has no attacker left.
+ * </p>
+ *
+ * <p>
+ * Pins, checks and promotions after the first capture are ignored, as usual for SEE: the answer is
+ * a cheap estimate for move ordering, pruning and UI hints, not a proof. Values are
+ * {@link Evaluation#value(int)} centipawns. {@link #seeGe(Position, int, int)} is what the search
+ * uses: it answers "does this move gain at least so much" without allocating. {@link #see(Position, int)}
+ * and {@link #exchange(Position, int, int)} return the gain itself and keep a short list of
+ * intermediate results to get it.
+ * </p>
+ *
+ * @author Alain Uwishema
+ * @since 0.2
+ */
+public final class See {
+    /** Longest possible exchange: every piece of both sides captures once. */
+    private static final int MAX_CAPTURES = 32;
+
+    private See() {}
+
+    /**
+     * Material the side to move gains by playing {@code move} and continuing the exchange on its
+     * target square as long as that pays.
+     *
+     * @param pos  position before the move; not modified
+     * @param move a legal move of the side to move
+     * @return gain in centipawns; negative if the move loses material, 0 for quiet moves that are safe
+     */
+    public static int see(Position pos, int move) {
+        if (Move.flag(move) == Move.CASTLING) return 0;
+        int from = Move.from(move), to = Move.to(move);
+        int us = Position.colorOf(pos.pieceAt(from));
+        long occ = pos.occupied() ^ (1L << from);
+        int captured = capturedValue(pos, move);
+        int onSquare = Evaluation.value(Position.typeOf(pos.pieceAt(from)));
+        if (Move.isPromotion(move)) {
+            captured += Evaluation.value(Move.promotionType(move)) - Evaluation.value(Position.PAWN);
+            onSquare = Evaluation.value(Move.promotionType(move));
+        }
+        if (Move.flag(move) == Move.EN_PASSANT) occ ^= 1L << epVictim(to, us);
+        return swap(pos, to, occ | (1L << to), us ^ 1, captured, onSquare);
+    }
+
+    /**
+     * Material {@code bySide} gains by starting an exchange on {@code square} with its least
+     * valuable attacker, if it chooses to.
+     *
+     * @param pos    position; not modified. The side to move is ignored
+     * @param square square holding a piece of the other side
+     * @param bySide {@link Position#WHITE} or {@link Position#BLACK}
+     * @return gain in centipawns, never negative (0 when there is no profitable capture)
+     */
+    public static int exchange(Position pos, int square, int bySide) {
+        int victim = pos.pieceAt(square);
+        if (victim == Position.NO_PIECE || Position.colorOf(victim) == bySide) return 0;
+        long occ = pos.occupied();
+        long attackers = MoveGenerator.attackersTo(pos, square, occ);
+        long own = attackers & pos.occupancy(bySide);
+        if (own == 0) return 0;
+        int type = leastValuable(pos, own, bySide);
+        if (type == Position.KING && (attackers & pos.occupancy(bySide ^ 1)) != 0) return 0;
+        long from = pos.pieces(bySide, type) & own;
+        occ ^= from & -from;
+        int gain = swap(pos, square, occ, bySide ^ 1, Evaluation.value(Position.typeOf(victim)), Evaluation.value(type));
+        return Math.max(0, gain);
+    }
+
+    /**
+     * Tests whether {@link #see(Position, int)} is at least {@code threshold}, without building the
+     * list of gains. The search calls this for every capture in quiescence.
+     *
+     * @param pos       position before the move; not modified
+     * @param move      a legal move of the side to move
+     * @param threshold gain to reach, in centipawns
+     * @return {@code see(pos, move) >= threshold}
+     */
+    public static boolean seeGe(Position pos, int move, int threshold) {
+        if (Move.flag(move) == Move.CASTLING) return 0 >= threshold;
+        int from = Move.from(move), to = Move.to(move);
+        int us = Position.colorOf(pos.pieceAt(from));
+        int next = Evaluation.value(Position.typeOf(pos.pieceAt(from)));
+        int swap = capturedValue(pos, move) - threshold;
+        if (Move.isPromotion(move)) {
+            swap += Evaluation.value(Move.promotionType(move)) - Evaluation.value(Position.PAWN);
+            next = Evaluation.value(Move.promotionType(move));
+        }
+        if (swap < 0) return false;         // even keeping the captured piece falls short
+        swap = next - swap;
+        if (swap <= 0) return true;         // even losing the moved piece still reaches the threshold
+
+        long occ = (pos.occupied() ^ (1L << from)) | (1L << to);
+        if (Move.flag(move) == Move.EN_PASSANT) occ ^= 1L << epVictim(to, us);
+        long attackers = MoveGenerator.attackersTo(pos, to, occ);
+        int side = us;
+        // res is 1 while the exchange so far reaches the threshold for `us`; each capture flips it
+        int res = 1;
+        while (true) {
+            side ^= 1;
+            attackers &= occ;
+            long own = attackers & pos.occupancy(side);
+            if (own == 0) break;
+            res ^= 1;
+            int type = leastValuable(pos, own, side);
+            if (type == Position.KING) {
+                // The king may only take if nothing can take it back
+                return ((attackers & ~pos.occupancy(side)) != 0 ? res ^ 1 : res) != 0;
+            }
+            // swap: what the capturing side risks; it stops if the capture cannot turn the result
+            swap = Evaluation.value(type) - swap;
+            if (swap < res) break;
+            long bit = pos.pieces(side, type) & own;
+            occ ^= bit & -bit;
+            attackers |= xrays(pos, to, occ);
+        }
+        return res != 0;
+    }
+
+    /**
+     * Runs the exchange once the first capture has been made.
+     *
+     * @param occ      occupancy after the first capture (the first capturer removed, the target occupied)
+     * @param side     side to recapture next
+     * @param captured value of the piece taken by the first capture
+     * @param onSquare value of the piece now standing on {@code to}
+     */
+    private static int swap(Position pos, int to, long occ, int side, int captured, int onSquare) {
+        int[] gain = new int[MAX_CAPTURES];
+        int d = 0;
+        gain[0] = captured;
+        long attackers = MoveGenerator.attackersTo(pos, to, occ) & occ;
+        while (true) {
+            long own = attackers & pos.occupancy(side);
+            if (own == 0) break;
+            int type = leastValuable(pos, own, side);
+            if (type == Position.KING && (attackers & pos.occupancy(side ^ 1)) != 0) break;
+            d++;
+            gain[d] = onSquare - gain[d - 1];
+            onSquare = Evaluation.value(type);
+            long bit = pos.pieces(side, type) & own;
+            occ ^= bit & -bit;
+            attackers = (attackers | xrays(pos, to, occ)) & occ;
+            side ^= 1;
+        }
+        // Each side stops capturing where that is better than going on
+        while (d > 0) {
+            gain[d - 1] = -Math.max(-gain[d - 1], gain[d]);
+            d--;
+        }
+        return gain[0];
+    }
+
+    /** Sliders attacking {@code to} through the current occupancy. */
+    private static long xrays(Position pos, int to, long occ) {
+        long queens = pos.pieces(Position.WHITE, Position.QUEEN) | pos.pieces(Position.BLACK, Position.QUEEN);
+        long bishops = pos.pieces(Position.WHITE, Position.BISHOP) | pos.pieces(Position.BLACK, Position.BISHOP) | queens;
+        long rooks = pos.pieces(Position.WHITE, Position.ROOK) | pos.pieces(Position.BLACK, Position.ROOK) | queens;
+        return (Magics.bishopAttacks(to, occ) & bishops) | (Magics.rookAttacks(to, occ) & rooks);
+    }
+
+    /** Cheapest piece type of {@code side} among {@code attackers} (pawn first, king last). */
+    private static int leastValuable(Position pos, long attackers, int side) {
+        for (int type = Position.PAWN; type < Position.KING; type++) {
+            if ((pos.pieces(side, type) & attackers) != 0) return type;
+        }
+        return Position.KING;
+    }
+
+    private static int capturedValue(Position pos, int move) {
+        if (Move.flag(move) == Move.EN_PASSANT) return Evaluation.value(Position.PAWN);
+        int victim = pos.pieceAt(Move.to(move));
+        return victim == Position.NO_PIECE ? 0 : Evaluation.value(Position.typeOf(victim));
+    }
+
+    /** Square of the pawn taken en passant by a pawn of {@code us} landing on {@code to}. */
+    private static int epVictim(int to, int us) {
+        return us == Position.WHITE ? to - 8 : to + 8;
+    }
+}
@@ -0,0 +1,111 @@
+package com.backend.chess_backend.domain.engine;
+
+import com.backend.chess_backend.domain.Position;
+
+/**
+ * Source of exact results for positions with few pieces.
+ * <p>
+ * Results are win/draw/loss values from the point of view of the side to move, on the Syzygy scale:
+ * a "cursed" win is a win that the fifty-move rule turns into a draw, a "blessed" loss a loss it
+ * saves. Probes must be cheap and thread-safe: the search calls {@link #probeWdl(Position)} at every
+ * node with at most {@link #maxPieces()} pieces (kings included) and no castling rights.
+ * </p>
+ *
+ * @author Alain Uwishema
+ * @since 0.2
+ */
+public interface Tablebase {
+    /** The position is not covered by this tablebase. */
+    int UNKNOWN = Integer.MIN_VALUE;
+    int LOSS = -2;
+    int BLESSED_LOSS = -1;
+    int DRAW = 0;
+    int CURSED_WIN = 1;
+    int WIN = 2;
+
+    /** A tablebase that knows nothing. */
+    Tablebase NONE = new Tablebase() {
+        @Override public int maxPieces() { return 0; }
+        @Override public int probeWdl(Position pos) { return UNKNOWN; }
+    };
+
+    /**
+     * Combines sources: each probe asks them in order and returns the first known answer.
+     *
+     * @param sources tablebases to consult, cheapest first
+     * @return the combined tablebase
+     */
+    static Tablebase chain(Tablebase... sources) {
+        Tablebase[] chain = sources.clone();
+        int max = 0;
+        for (Tablebase tb : chain) max = Math.max(max, tb.maxPieces());
+        int maxPieces = max;
+        return new Tablebase() {
+            @Override
+            public int maxPieces() {
+                return maxPieces;
+            }
+
+            @Override
+            public int probeWdl(Position pos) {
+                int pieces = Long.bitCount(pos.occupied());
+                for (Tablebase tb : chain) {
+                    if (pieces > tb.maxPieces()) continue;
+                    int wdl = tb.probeWdl(pos);
+                    if (wdl != UNKNOWN) return wdl;
+                }
+                return UNKNOWN;
+            }
+
+            @Override
+            public int probeDtz(Position pos) {
+                int pieces = Long.bitCount(pos.occupied());
+                for (Tablebase tb : chain) {
+                    if (pieces > tb.maxPieces()) continue;
+                    int dtz = tb.probeDtz(pos);
+                    if (dtz != UNKNOWN) return dtz;
+                }
+                return UNKNOWN;
+            }
+        };
+    }
+
+    /** @return the largest number of pieces (kings included) any probe can answer; 0 if none */
+    int maxPieces();
+
+    /**
+     * Looks up the game-theoretic result of a position.
+     *
+     * @param pos position to probe; not modified
+     * @return {@link #LOSS}..{@link #WIN} for the side to move, or {@link #UNKNOWN}
+     */
+    int probeWdl(Position pos);
+
+    /**
+     * Looks up the distance to the next capture or pawn move (zeroing move) on an optimal path.
+     *
+     * @param pos position to probe; not modified
+     * @return plies to zeroing, positive when winning and negative when losing, 0 for a draw, or
+     *         {@link #UNKNOWN}
+     */
+    default int probeDtz(Position pos) {
+        return UNKNOWN;
+    }
+
+    /**
+     * Names a win/draw/loss value.
+     *
+     * @param wdl a value returned by {@link #probeWdl(Position)}
+     * @return {@code "WIN"}, {@code "CURSED_WIN"}, {@code "DRAW"}, {@code "BLESSED_LOSS"}, {@code "LOSS"} or {@code "UNKNOWN"}
+     */
+    static String name(int wdl) {
+        return switch (wdl) {
+            case WIN -> "WIN";
+            case CURSED_WIN -> "CURSED_WIN";
+            case DRAW -> "DRAW";
+            case BLESSED_LOSS -> "BLESSED_LOSS";
+            case LOSS -> "LOSS";
+            default -> "UNKNOWN";
+        };
+    }
+}
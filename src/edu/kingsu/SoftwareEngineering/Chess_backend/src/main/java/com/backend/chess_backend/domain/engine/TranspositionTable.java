@@ -0,0 +1,232 @@
+package com.backend.chess_backend.domain.engine;
+
+import com.backend.chess_backend.domain.rules.Move;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+
+/**
+ * Shared, lock-free cache of search results keyed by Zobrist key, stored off the Java heap.
+ * <p>
+ * The table lives in direct {@link ByteBuffer}s, so however large it is configured it adds no
+ * objects for the garbage collector to trace and does not grow the heap of the request-serving
+ * JVM. Entries are 16 bytes: the key XORed with the data word, then the data word. Threads read
+ * and write without locks; a reader accepts an entry only if XORing the two words gives back the
+ * key it is looking for, so an entry torn by two simultaneous writers reads as a miss instead of as
+ * wrong data. This is what lets all threads of a {@link LazySmp} search share one table.
+ * </p>
+ *
+ * <h2>Data layout</h2>
+ * <pre>
+ * bits  0..15  best move (packed {@link Move}, 0 if none)
+ * bits 16..31  score (signed 16-bit, mate scores relative to the stored node)
+ * bits 32..39  depth
+ * bits 40..41  bound ({@link #UPPER}, {@link #LOWER} or {@link #EXACT}; never 0 in a stored entry)
+ * bits 42..47  generation the entry was stored in
+ * </pre>
+ * A probe returns the data word (0 on a miss); the static accessors decode it.
+ *
+ * <h2>Buckets and replacement</h2>
+ * <p>
+ * A key selects a bucket of {@value #BUCKET_ENTRIES} entries (64 bytes, one cache line; buffers are
+ * 64-byte aligned) and may sit in any of them. A store for a position already in the bucket
+ * overwrites it, keeping the old best move if the new result has none. Otherwise the new entry
+ * takes an empty slot or evicts the entry with the lowest {@code depth - 8 * age}, where age counts
+ * the generations ({@link #newSearch()}) since the entry was written: shallow results and stale
+ * results go first, deep recent results stay.
+ * </p>
+ * <p>
+ * The table does not advance the generation itself, and neither does {@link LazySmp}: a table shared
+ * by concurrent searches of different games must not be aged by each of them, or every search start
+ * would demote the live entries of all the others and the 6-bit counter would wrap within 64
+ * searches. The owner of the table advances it on a coarse clock of its own instead (a time interval,
+ * a played move, a batch).
+ * </p>
+ *
+ * @author Alain Uwishema
+ * @since 0.2
+ */
+public final class TranspositionTable {
+    /** Score is an upper bound (the search failed low). */
+    public static final int UPPER = 1;
+    /** Score is a lower bound (the search failed high). */
+    public static final int LOWER = 2;
+    /** Score is exact. */
+    public static final int EXACT = 3;
+
+    private static final int ENTRY_BYTES = 16;
+    private static final int BUCKET_ENTRIES = 4;
+    private static final int BUCKET_SHIFT = 6;                      // 64-byte buckets
+    private static final int CHUNK_SHIFT = 30;                      // 1 GB per direct buffer
+    private static final int BUCKETS_PER_CHUNK_SHIFT = CHUNK_SHIFT - BUCKET_SHIFT;
+
+    private final ByteBuffer[] chunks;
+    private final long bucketMask;
+    private volatile int generation;
+
+    /**
+     * Creates a table of roughly {@code megabytes} MB (rounded down to a power-of-two bucket count).
+     *
+     * @param megabytes size in MB; must be at least 1
+     */
+    public TranspositionTable(int megabytes) {
+        if (megabytes < 1) throw new IllegalArgumentException("hash size must be at least 1 MB");
+        long buckets = Long.highestOneBit(megabytes * (1L << 20) >>> BUCKET_SHIFT);
+        long bytes = buckets << BUCKET_SHIFT;
+        int chunkBytes = (int) Math.min(bytes, 1L << CHUNK_SHIFT);
+        this.chunks = new ByteBuffer[(int) (bytes / chunkBytes)];
+        for (int i = 0; i < chunks.length; i++) {
+            chunks[i] = ByteBuffer.allocateDirect(chunkBytes + 63).alignedSlice(64).order(ByteOrder.nativeOrder());
+        }
+        this.bucketMask = buckets - 1;
+    }
+
+    /** @return size of the table in bytes */
+    public long sizeBytes() {
+        return (bucketMask + 1) << BUCKET_SHIFT;
+    }
+
+    /**
+     * Starts a new generation, so entries stored before it are replaced first. Called by the table's
+     * owner on a coarse clock, not once per search; the counter wraps after 64 generations.
+     */
+    public void newSearch() {
+        generation = (generation + 1) & 0x3F;
+    }
+
+    /** Forgets every entry. Not safe while a search is running. */
+    public void clear() {
+        for (ByteBuffer chunk : chunks) {
+            for (int i = 0; i < chunk.capacity(); i += 8) chunk.putLong(i, 0L);
+        }
+    }
+
+    /**
+     * Looks up a position.
+     *
+     * @param key Zobrist key
+     * @return packed data, or 0 if the position is not stored
+     */
+    public long probe(long key) {
+        long bucket = key & bucketMask;
+        ByteBuffer chunk = chunks[(int) (bucket >>> BUCKETS_PER_CHUNK_SHIFT)];
+        int base = bucketOffset(bucket);
+        for (int e = 0; e < BUCKET_ENTRIES; e++) {
+            int at = base + e * ENTRY_BYTES;
+            long data = chunk.getLong(at + 8);
+            if ((chunk.getLong(at) ^ data) == key && data != 0) return data;
+        }
+        return 0L;
+    }
+
+    /**
+     * Stores a search result.
+     *
+     * @param key   Zobrist key
+     * @param move  best move, or {@link Move#NONE}
+     * @param score score relative to the stored node (see {@link #scoreToTable(int, int)})
+     * @param depth remaining depth the score was searched to
+     * @param bound {@link #UPPER}, {@link #LOWER} or {@link #EXACT}
+     */
+    public void store(long key, int move, int score, int depth, int bound) {
+        long bucket = key & bucketMask;
+        ByteBuffer chunk = chunks[(int) (bucket >>> BUCKETS_PER_CHUNK_SHIFT)];
+        int base = bucketOffset(bucket);
+        int gen = generation;
+
+        int victim = base;
+        int victimWorth = Integer.MAX_VALUE;
+        for (int e = 0; e < BUCKET_ENTRIES; e++) {
+            int at = base + e * ENTRY_BYTES;
+            long data = chunk.getLong(at + 8);
+            if (data == 0) {
+                if (victimWorth > Integer.MIN_VALUE) { victim = at; victimWorth = Integer.MIN_VALUE; }
+                continue;
+            }
+            if ((chunk.getLong(at) ^ data) == key) {
+                if (move == Move.NONE) move = move(data);
+                victim = at;
+                break;
+            }
+            int age = (gen - generation(data)) & 0x3F;
+            int worth = depth(data) - 8 * age;
+            if (worth < victimWorth) { victim = at; victimWorth = worth; }
+        }
+
+        long data = (move & 0xFFFFL)
+                | ((score & 0xFFFFL) << 16)
+                | ((long) (depth & 0xFF) << 32)
+                | ((long) bound << 40)
+                | ((long) gen << 42);
+        chunk.putLong(victim, key ^ data);
+        chunk.putLong(victim + 8, data);
+    }
+
+    /** @return approximate fill in permille: entries stored since the last {@link #newSearch()}, sampled from the first 1000 */
+    public int hashfull() {
+        ByteBuffer chunk = chunks[0];
+        int n = Math.min(1000, chunk.capacity() / ENTRY_BYTES), used = 0;
+        for (int e = 0; e < n; e++) {
+            long data = chunk.getLong(e * ENTRY_BYTES + 8);
+            if (data != 0 && generation(data) == generation) used++;
+        }
+        return n == 0 ? 0 : used * 1000 / n;
+    }
+
+    private static int bucketOffset(long bucket) {
+        return (int) (bucket & ((1L << BUCKETS_PER_CHUNK_SHIFT) - 1)) << BUCKET_SHIFT;
+    }
+
+    /* ---- data accessors ---- */
+
+    /** @return best move of a probed entry */
+    public static int move(long data) {
+        return (int) (data & 0xFFFF);
+    }
+
+    /** @return stored score of a probed entry (pass through {@link #scoreFromTable(int, int)}) */
+    public static int score(long data) {
+        return (short) (data >>> 16);
+    }
+
+    /** @return remaining depth of a probed entry */
+    public static int depth(long data) {
+        return (int) (data >>> 32) & 0xFF;
+    }
+
+    /** @return bound type of a probed entry */
+    public static int bound(long data) {
+        return (int) (data >>> 40) & 0x3;
+    }
+
+    private static int generation(long data) {
+        return (int) (data >>> 42) & 0x3F;
+    }
+
+    /**
+     * Converts a root-relative mate score to one relative to the node at {@code ply}, so the entry is
+     * valid wherever the position is reached again. Other scores are unchanged.
+     *
+     * @param score search score
+     * @param ply   distance of the node from the root
+     * @return score to store
+     */
+    public static int scoreToTable(int score, int ply) {
+        if (score >= Search.MATE - Search.MAX_PLY) return score + ply;
+        if (score <= -(Search.MATE - Search.MAX_PLY)) return score - ply;
+        return score;
+    }
+
+    /**
+     * Inverse of {@link #scoreToTable(int, int)}.
+     *
+     * @param score stored score
+     * @param ply   distance of the probing node from the root
+     * @return root-relative score
+     */
+    public static int scoreFromTable(int score, int ply) {
+        if (score >= Search.MATE - Search.MAX_PLY) return score - ply;
+        if (score <= -(Search.MATE - Search.MAX_PLY)) return score + ply;
+        return score;
+    }
+}
@@ -0,0 +1,127 @@
+package com.backend.chess_backend.domain.rules;
+
+import com.backend.chess_backend.domain.Position;
+
+/**
+ * Precomputed attack and ray tables for non-sliding pieces and square geometry.
+ * <p>
+ * Knight, king and pawn attacks depend only on the square (and, for pawns, the color), so they are
+ * computed once per square when the class is loaded. The {@code between} and {@code line} tables
+ * answer the two geometric questions pin handling and check evasion keep asking:
+ * </p>
+ * <ul>
+ *   <li>{@link #between(int, int)} – squares strictly between two aligned squares (the interposition
+ *       squares when one of them is a checking slider).</li>
+ *   <li>{@link #line(int, int)} – the full board line through two aligned squares, edge to edge
+ *       (the squares a pinned piece may still move to).</li>
+ * </ul>
+ * Both return 0 for squares that do not share a rank, file or diagonal. Slider attacks themselves
+ * live in {@link Magics}. The tables take about 70 KB; this class is not instantiable.
+ *
+ * <pre>
+ * long targets = Attacks.knight(sq) &amp; ~position.occupancy(us);
+ * </pre>
+ *
+ * @author Alain Uwishema
+ * @since 0.2
+ */
+public final class Attacks {
+    private Attacks() {}
+
+    private static final long[] KNIGHT = new long[64];
+    private static final long[] KING = new long[64];
+    private static final long[] PAWN = new long[2 * 64];
+    private static final long[] BETWEEN = new long[64 * 64];
+    private static final long[] LINE = new long[64 * 64];
+
+    private static final int[][] KNIGHT_STEPS = {{1,2},{2,1},{2,-1},{1,-2},{-1,-2},{-2,-1},{-2,1},{-1,2}};
+    private static final int[][] KING_STEPS = {{1,0},{1,1},{0,1},{-1,1},{-1,0},{-1,-1},{0,-1},{1,-1}};
+
+    static {
+        for (int sq = 0; sq < 64; sq++) {
+            KNIGHT[sq] = steps(sq, KNIGHT_STEPS);
+            KING[sq] = steps(sq, KING_STEPS);
+            PAWN[Position.WHITE * 64 + sq] = steps(sq, new int[][]{{-1, 1}, {1, 1}});
+            PAWN[Position.BLACK * 64 + sq] = steps(sq, new int[][]{{-1, -1}, {1, -1}});
+        }
+        for (int a = 0; a < 64; a++) {
+            long bitA = 1L << a;
+            for (int b = 0; b < 64; b++) {
+                if (a == b) continue;
+                long bitB = 1L << b;
+                if ((Magics.rookAttacks(a, 0L) & bitB) != 0) {
+                    BETWEEN[a * 64 + b] = Magics.rookAttacks(a, bitB) & Magics.rookAttacks(b, bitA);
+                    LINE[a * 64 + b] = (Magics.rookAttacks(a, 0L) & Magics.rookAttacks(b, 0L)) | bitA | bitB;
+                } else if ((Magics.bishopAttacks(a, 0L) & bitB) != 0) {
+                    BETWEEN[a * 64 + b] = Magics.bishopAttacks(a, bitB) & Magics.bishopAttacks(b, bitA);
+                    LINE[a * 64 + b] = (Magics.bishopAttacks(a, 0L) & Magics.bishopAttacks(b, 0L)) | bitA | bitB;
+                }
+            }
+        }
+    }
+
+    /**
+     * Squares a knight on {@code square} attacks.
+     *
+     * @param square square in [0..63]; not validated
+     * @return attack set
+     */
+    public static long knight(int square) {
+        return KNIGHT[square];
+    }
+
+    /**
+     * Squares a king on {@code square} attacks (castling excluded).
+     *
+     * @param square square in [0..63]; not validated
+     * @return attack set
+     */
+    public static long king(int square) {
+        return KING[square];
+    }
+
+    /**
+     * Squares a pawn of {@code color} on {@code square} attacks (diagonal captures only).
+     * Read the other way round, {@code pawn(them ^ 1, sq)} are the squares from which pawns of
+     * {@code them} attack {@code sq}.
+     *
+     * @param color  {@link Position#WHITE} or {@link Position#BLACK}
+     * @param square square in [0..63]; not validated
+     * @return attack set
+     */
+    public static long pawn(int color, int square) {
+        return PAWN[color * 64 + square];
+    }
+
+    /**
+     * Squares strictly between two squares sharing a rank, file or diagonal.
+     *
+     * @param a first square in [0..63]
+     * @param b second square in [0..63]
+     * @return the in-between squares, or 0 if {@code a} and {@code b} are not aligned or adjacent
+     */
+    public static long between(int a, int b) {
+        return BETWEEN[a * 64 + b];
+    }
+
+    /**
+     * The full rank, file or diagonal through two aligned squares, including both of them.
+     *
+     * @param a first square in [0..63]
+     * @param b second square in [0..63]
+     * @return the line, or 0 if {@code a} and {@code b} are not aligned (or equal)
+     */
+    public static long line(int a, int b) {
+        return LINE[a * 64 + b];
+    }
+
+    private static long steps(int sq, int[][] steps) {
+        long attacks = 0;
+        int f0 = sq & 7, r0 = sq >>> 3;
+        for (int[] d : steps) {
+            int f = f0 + d[0], r = r0 + d[1];
+            if (f >= 0 && f < 8 && r >= 0 && r < 8) attacks |= 1L << ((r << 3) | f);
+        }
+        return attacks;
+    }
+}
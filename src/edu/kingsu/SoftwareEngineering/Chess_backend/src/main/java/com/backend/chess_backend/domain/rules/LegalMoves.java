@@ -1,61 +1,121 @@
 package com.backend.chess_backend.domain.rules;
 
 import com.backend.chess_backend.domain.Board;
-import com.backend.chess_backend.domain.Piece;
+import com.backend.chess_backend.domain.GameStatus;
 import com.backend.chess_backend.domain.PieceColor;
-import com.backend.chess_backend.domain.PieceType;
+import com.backend.chess_backend.domain.Position;
 import com.backend.chess_backend.web.MoveRequest;
 import org.springframework.stereotype.Component;
 
-import java.util.*;
-
 /**
  * Domain service that calculates chess move legality.
  * <p>
  * Responsibilities:
  * <ul>
- *   <li>Provide <b>pseudo-legal</b> targets for a piece (movement pattern + bounds + occupancy rules).</li>
+ *   <li>Provide <b>pseudo-legal</b> moves for a piece (movement pattern + bounds + occupancy rules) as packed
+ *       {@link Move} ints in a caller-supplied {@link MoveList}.</li>
+ *   <li>Provide strictly <b>legal</b> moves for a piece via {@link MoveGenerator}, including castling,
+ *       en passant and promotions, with king safety enforced through check and pin masks.</li>
  *   <li>Provide a final <b>isLegal</b> check to be called by the application service before applying a move.</li>
- *   <li>(Optional) Generate all legal moves for a side and expose square-attack queries for king safety.</li>
+ *   <li>Expose square-attack queries for king safety.</li>
+ *   <li>Classify a position as checkmate, stalemate or a dead draw ({@link #status(Position)}).</li>
  * </ul>
  * This class is intentionally stateless and has no persistence/web concerns; it operates on the domain model only.
+ * Occupancy questions are answered from the board's bitboard {@link Position} masks rather than per-square
+ * {@link Board#getAt(int)} lookups.
  */
 @Component
 public class LegalMoves {
 
+    /** Per-thread scratch buffer so legality checks do not allocate. */
+    private static final ThreadLocal<MoveList> SCRATCH = ThreadLocal.withInitial(MoveList::new);
+
     /**
-     * Compute pseudo-legal destination squares for the piece sitting on {@code from}.
+     * Append pseudo-legal moves for the piece sitting on {@code from} to {@code out}.
      * <p>
      * Pseudo-legal = follows the piece's movement pattern, respects board boundaries, does not land on a friendly
-     * piece, and for sliders (rook/bishop/queen) stops at the first blocker. <b>Does not</b> include king-safety
-     * (pins / moving into check) nor special rules like castling and en-passant yet.
+     * piece, and for sliders (rook/bishop/queen) stops at the first blocker. Slider targets come from the
+     * precomputed {@link Magics} attack tables, knight/king/pawn-capture targets from {@link Attacks}.
+     * <b>Does not</b> include king-safety (pins / moving into check) nor special rules like castling and
+     * en-passant; use
+     * {@link #legalMoves(Position, int, MoveList)} for those.
+     * </p>
+     * Moves are appended as packed {@link Move} ints; converting them to algebraic strings is left to the web layer.
      *
      * @param board current board position
-     * @param from  algebraic square ("a1".."h8") to generate moves from
-     * @return list of destination squares (algebraic)
+     * @param from  square index in [0..63] to generate moves from
+     * @param out   buffer to append to (not cleared)
+     * @return number of moves appended; 0 if {@code from} is empty or out of range
      */
-    public List<String> pseudoLegalTargets(Board board, String from) {
-        if (!isSquare(from)) return List.of();
-        int fromIdx = Board.sq(from);
-        Piece p = board.getAt(fromIdx);
-        if (p == null) return List.of();
-
-        return switch (p.getType()) {
-            case PAWN -> pawnTargets(board, fromIdx, p.getColor());
-            case KNIGHT -> knightTargets(board, fromIdx, p.getColor());
-            case KING -> kingTargets(board, fromIdx, p.getColor());
-            case ROOK -> slidingTargets(board, fromIdx, p.getColor(), ROOK_DIRS);
-            case BISHOP -> slidingTargets(board, fromIdx, p.getColor(), BISHOP_DIRS);
-            case QUEEN -> slidingTargets(board, fromIdx, p.getColor(), QUEEN_DIRS);
-        };
+    public int pseudoLegalMoves(Board board, int from, MoveList out) {
+        return pseudoLegalMoves(board.position(), from, out);
+    }
+
+    /**
+     * Same as {@link #pseudoLegalMoves(Board, int, MoveList)}, working directly on a bitboard position.
+     *
+     * @param pos  current position
+     * @param from square index in [0..63] to generate moves from
+     * @param out  buffer to append to (not cleared)
+     * @return number of moves appended; 0 if {@code from} is empty or out of range
+     */
+    public int pseudoLegalMoves(Position pos, int from, MoveList out) {
+        if (from < 0 || from >= 64) return 0;
+        int piece = pos.pieceAt(from);
+        if (piece == Position.NO_PIECE) return 0;
+
+        int before = out.size();
+        int side = Position.colorOf(piece);
+        long own = pos.occupancy(side);
+        long enemy = pos.occupancy(side ^ 1);
+        switch (Position.typeOf(piece)) {
+            case Position.PAWN -> pawnMoves(from, side, enemy, pos.occupied(), out);
+            case Position.KNIGHT -> addMoves(from, Attacks.knight(from) & ~own, out);
+            case Position.KING -> addMoves(from, Attacks.king(from) & ~own, out);
+            case Position.ROOK -> addMoves(from, Magics.rookAttacks(from, pos.occupied()) & ~own, out);
+            case Position.BISHOP -> addMoves(from, Magics.bishopAttacks(from, pos.occupied()) & ~own, out);
+            default -> addMoves(from, Magics.queenAttacks(from, pos.occupied()) & ~own, out);
+        }
+        return out.size() - before;
+    }
+
+    /**
+     * Append strictly legal moves for the piece sitting on {@code from} to {@code out}.
+     * <p>
+     * Unlike {@link #pseudoLegalMoves(Position, int, MoveList)} this never yields a move that leaves the mover's
+     * king in check, and it includes castling, en passant (only when the piece's owner is the side to move) and
+     * one move per promotion piece. The piece's owner is treated as the side to move.
+     * </p>
+     *
+     * @param pos  current position
+     * @param from square index in [0..63] to generate moves from
+     * @param out  buffer to append to (not cleared)
+     * @return number of moves appended; 0 if {@code from} is empty or out of range
+     */
+    public int legalMoves(Position pos, int from, MoveList out) {
+        if (from < 0 || from >= 64) return 0;
+        int before = out.size();
+        MoveGenerator.generateLegalFrom(pos, from, out);
+        return out.size() - before;
+    }
+
+    /**
+     * Is {@code square} attacked by any piece of {@code bySide}? Used for king safety and castling rules.
+     *
+     * @param pos    current position
+     * @param square square index in [0..63]
+     * @param bySide attacking side
+     * @return true if at least one piece of {@code bySide} attacks the square
+     */
+    public boolean isSquareAttacked(Position pos, int square, PieceColor bySide) {
+        return MoveGenerator.isSquareAttacked(pos, square, Position.colorIndex(bySide));
     }
 
     /**
      * Final legality check that the application layer should call before applying a move.
      * <p>
-     * This performs a cheap membership test against {@link #pseudoLegalTargets(Board, String)} and then (later)
-     * verifies king safety (i.e., the move does not leave the mover's king in check). You can extend this to enforce
-     * promotions, castling, and en-passant as you add those features.
+     * This performs a membership test against the legal moves of the source square, so pins, checks,
+     * castling, en passant and promotions are all enforced.
      *
      * @param board current board
      * @param sideToMove side to move
@@ -63,126 +123,110 @@ public class LegalMoves {
      * @return true if legal under current rules; false otherwise
      */
     public boolean isLegal(Board board, PieceColor sideToMove, MoveRequest req) {
+        return findMove(board.position(), sideToMove, req) != Move.NONE;
+    }
+
+    /**
+     * Resolves a requested move against the position and returns its packed encoding if it passes
+     * the same checks as {@link #isLegal(Board, PieceColor, MoveRequest)}.
+     * <p>
+     * The returned value can be handed directly to {@link Position#makeMove(int)}.
+     * </p>
+     *
+     * @param pos        current position
+     * @param sideToMove side to move
+     * @param req        requested move (from/to/promotion/clientRev); a missing promotion defaults to a queen,
+     *                   otherwise one of {@code q, r, b, n} (case-insensitive)
+     * @return the packed {@link Move}, or {@link Move#NONE} if the request is not legal
+     */
+    public int findMove(Position pos, PieceColor sideToMove, MoveRequest req) {
         if (req == null || !isSquare(req.from()) || !isSquare(req.to()) || req.from().equals(req.to())) {
-            return false;
+            return Move.NONE;
         }
         int from = Board.sq(req.from());
         int to = Board.sq(req.to());
-        Piece mover = board.getAt(from);
-        if (mover == null) return false;
-        if (mover.getColor() != sideToMove) return false; // wrong side to move
+        int side = Position.colorIndex(sideToMove);
+        long own = pos.occupancy(side);
+        if ((own & (1L << from)) == 0) return Move.NONE; // empty or wrong side to move
 
         // Destination cannot be friendly occupied
-        Piece dest = board.getAt(to);
-        if (dest != null && dest.getColor() == mover.getColor()) return false;
+        if ((own & (1L << to)) != 0) return Move.NONE;
+
+        MoveList moves = SCRATCH.get();
+        moves.clear();
+        legalMoves(pos, from, moves);
+        int i = moves.indexOf(from, to);
+        if (i < 0) return Move.NONE;
+
+        int move = moves.get(i);
+        if (!Move.isPromotion(move)) return move;
+
+        // Promotions are generated once per piece; pick the requested one
+        int promo = promotionType(req.promotion());
+        if (promo == Position.NO_PIECE) return Move.NONE;
+        for (int j = i; j < moves.size(); j++) {
+            int m = moves.get(j);
+            if (Move.from(m) == from && Move.to(m) == to && Move.promotionType(m) == promo) return m;
+        }
+        return Move.NONE;
+    }
 
-        List<String> targets = pseudoLegalTargets(board, req.from());
-        if (!targets.contains(req.to())) return false;
+    /**
+     * Classifies the position for the side to move: checkmate, stalemate, a dead position by
+     * material, the fifty-move rule (a mate on the hundredth ply still counts as mate), or still in
+     * progress. Repetition needs the game's history and is left to the caller.
+     * <p>
+     * The mate/stalemate test is {@link MoveGenerator#hasLegalMove(Position)}, which stops at the first
+     * legal move instead of generating them all, so calling this after every move is cheap.
+     * </p>
+     *
+     * @param pos current position
+     * @return the resulting status
+     */
+    public GameStatus status(Position pos) {
+        if (!MoveGenerator.hasLegalMove(pos)) {
+            return MoveGenerator.inCheck(pos) ? GameStatus.CHECKMATE : GameStatus.STALEMATE;
+        }
+        if (pos.insufficientMaterial()) return GameStatus.DRAW_INSUFFICIENT_MATERIAL;
+        if (pos.halfmoveClock() >= 100) return GameStatus.DRAW_FIFTY_MOVE_RULE;
+        return GameStatus.IN_PROGRESS;
+    }
 
-        // TODO: KING SAFETY
-        return true; // basic rules only for now
+    /** Maps a promotion letter to a piece type; {@code null} or blank means queen. */
+    private static int promotionType(String promotion) {
+        if (promotion == null || promotion.isBlank()) return Position.QUEEN;
+        if (promotion.length() != 1) return Position.NO_PIECE;
+        return switch (Character.toLowerCase(promotion.charAt(0))) {
+            case 'q' -> Position.QUEEN;
+            case 'r' -> Position.ROOK;
+            case 'b' -> Position.BISHOP;
+            case 'n' -> Position.KNIGHT;
+            default -> Position.NO_PIECE;
+        };
     }
 
-    private List<String> pawnTargets(Board board, int fromIdx, PieceColor side) {
-        List<String> out = new ArrayList<>(4);
-        int f = file(fromIdx), r = rank(fromIdx);
-        int dir = (side == PieceColor.WHITE) ? +1 : -1;
+    private void pawnMoves(int fromIdx, int side, long enemy, long occupied, MoveList out) {
+        int forward = (side == Position.WHITE) ? 8 : -8;
+        long startRank = (side == Position.WHITE) ? 0xFF00L : 0xFFL << 48;
 
         // one-step ahead (must be empty)
-        int r1 = r + dir;
-        int idx1 = idx(f, r1);
-        if (inBounds(f, r1) && board.getAt(idx1) == null) {
-            out.add(sq(f, r1));
+        int one = fromIdx + forward;
+        if (one >= 0 && one < 64 && !isSet(occupied, one)) {
+            out.add(Move.of(fromIdx, one));
             // two-step from starting rank (both squares empty)
-            boolean atStart = (side == PieceColor.WHITE && r == 1) || (side == PieceColor.BLACK && r == 6);
-            if (atStart) {
-                int r2 = r + 2 * dir;
-                int idx2 = idx(f, r2);
-                if (inBounds(f, r2) && board.getAt(idx2) == null) {
-                    out.add(sq(f, r2));
-                }
-            }
+            int two = one + forward;
+            if (isSet(startRank, fromIdx) && !isSet(occupied, two)) out.add(Move.of(fromIdx, two));
         }
         // diagonal captures if enemy
-        int[] df = {-1, +1};
-        for (int d : df) {
-            int nf = f + d, nr = r + dir;
-            if (!inBounds(nf, nr)) continue;
-            int tidx = idx(nf, nr);
-            Piece on = board.getAt(tidx);
-            if (on != null && on.getColor() != side) out.add(sq(nf, nr));
-        }
-        // TODO:must implement enpassant
-        return out;
-    }
-
-    private List<String> knightTargets(Board board, int fromIdx, PieceColor side) {
-        List<String> out = new ArrayList<>(8);
-        int f = file(fromIdx), r = rank(fromIdx);
-        int[][] K = {{1,2},{2,1},{2,-1},{1,-2},{-1,-2},{-2,-1},{-2,1},{-1,2}};
-        for (int[] d : K) {
-            int nf = f + d[0], nr = r + d[1];
-            if (!inBounds(nf, nr)) continue;
-            Piece on = board.getAt(idx(nf, nr));
-            if (on == null || on.getColor() != side) out.add(sq(nf, nr));
-        }
-        return out;
-    }
-
-    private List<String> kingTargets(Board board, int fromIdx, PieceColor side) {
-        List<String> out = new ArrayList<>(8);
-        int f = file(fromIdx), r = rank(fromIdx);
-        for (int df = -1; df <= 1; df++) {
-            for (int dr = -1; dr <= 1; dr++) {
-                if (df == 0 && dr == 0) continue;
-                int nf = f + df, nr = r + dr;
-                if (!inBounds(nf, nr)) continue;
-                Piece on = board.getAt(idx(nf, nr));
-                if (on == null || on.getColor() != side) out.add(sq(nf, nr));
-            }
-        }
-        // TODO: castling done, will be done later in next coming weeks (requires hasMoved flags + safety checks).
-        return out;
+        addMoves(fromIdx, Attacks.pawn(side, fromIdx) & enemy, out);
     }
 
-    private static final int[][] ROOK_DIRS   = {{1,0},{-1,0},{0,1},{0,-1}};
-    private static final int[][] BISHOP_DIRS = {{1,1},{1,-1},{-1,1},{-1,-1}};
-    private static final int[][] QUEEN_DIRS  = {{1,0},{-1,0},{0,1},{0,-1},{1,1},{1,-1},{-1,1},{-1,-1}};
-
-    private List<String> slidingTargets(Board board, int fromIdx, PieceColor side, int[][] dirs) {
-        List<String> out = new ArrayList<>(14);
-        int f = file(fromIdx), r = rank(fromIdx);
-        for (int[] d : dirs) {
-            int nf = f + d[0], nr = r + d[1];
-            while (inBounds(nf, nr)) {
-                int tidx = idx(nf, nr);
-                Piece on = board.getAt(tidx);
-                if (on == null) {
-                    out.add(sq(nf, nr));
-                } else {
-                    if (on.getColor() != side) out.add(sq(nf, nr)); // capture enemy and stop
-                    break; // blocked
-                }
-                nf += d[0];
-                nr += d[1];
-            }
+    /** Appends one move per set bit of {@code targets} (ascending index order). */
+    private static void addMoves(int fromIdx, long targets, MoveList out) {
+        while (targets != 0) {
+            out.add(Move.of(fromIdx, Long.numberOfTrailingZeros(targets)));
+            targets &= targets - 1;
         }
-        return out;
-    }
-
-
-    /** Returns true if mover's king would be in check after applying the move. */
-    @SuppressWarnings("unused")
-    private boolean leavesKingInCheck(Board board, int from, int to, PieceColor mover, PieceType promotion) {
-        // TODO: clone board, apply move (and promotion if set), find mover's king, and call isSquareAttacked(...)
-        throw new UnsupportedOperationException("King-safety not implemented yet");
-    }
-
-    /** Is {@code square} attacked by {@code bySide}? Useful for king safety & castling rules. */
-    @SuppressWarnings("unused")
-    private boolean isSquareAttacked(Board board, int squareIdx, PieceColor bySide) {
-        // TODO: implement by scanning knights, pawns, king neighbors, and slider rays from bySide
-        throw new UnsupportedOperationException("Attack detection not implemented yet");
     }
 
 
@@ -191,9 +235,5 @@ public class LegalMoves {
     private static boolean isSquare(String s) {
         return s != null && s.length() == 2 && s.charAt(0) >= 'a' && s.charAt(0) <= 'h' && s.charAt(1) >= '1' && s.charAt(1) <= '8';
     }
-    private static int file(int idx) { return idx & 7; }
-    private static int rank(int idx) { return idx >>> 3; }
-    private static int idx(int f, int r) { return (r << 3) | f; }
-    private static String sq(int f, int r) { return "" + (char)('a' + f) + (char)('1' + r); }
-    private static boolean inBounds(int f, int r) { return f >= 0 && f < 8 && r >= 0 && r < 8; }
+    private static boolean isSet(long mask, int idx) { return (mask & (1L << idx)) != 0; }
 }
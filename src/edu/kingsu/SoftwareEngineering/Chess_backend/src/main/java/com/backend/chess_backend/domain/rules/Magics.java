@@ -0,0 +1,175 @@
+package com.backend.chess_backend.domain.rules;
+
+/**
+ * Precomputed sliding-piece attack tables using "fancy" magic bitboards.
+ * <p>
+ * For every square the relevant blocker mask (the ray squares excluding board edges) is multiplied
+ * by a magic constant and shifted so that every possible blocker configuration maps to a slot holding
+ * the attack set for that configuration. Rook, bishop and queen attacks then cost one multiply, one
+ * shift and one array load instead of walking each ray square by square.
+ * </p>
+ *
+ * <h2>Initialization</h2>
+ * <p>
+ * Tables are filled once when the class is loaded. The magic constants below were found offline by
+ * a trial search over sparse random numbers and are known to map every blocker subset of their
+ * square without destructive collisions. The rook table holds 102,400 entries and the bishop table
+ * 5,248 entries (about 860 KB in total).
+ * </p>
+ *
+ * <pre>
+ * long occ = position.occupied();
+ * long rookTargets = Magics.rookAttacks(sq, occ) &amp; ~position.occupancy(us);
+ * </pre>
+ *
+ * @author Alain Uwishema
+ * @since 0.2
+ */
+public final class Magics {
+    private Magics() {}
+
+    private static final int[][] ROOK_DIRS   = {{1,0},{-1,0},{0,1},{0,-1}};
+    private static final int[][] BISHOP_DIRS = {{1,1},{1,-1},{-1,1},{-1,-1}};
+
+    private static final long[] ROOK_MASK = new long[64];
+    private static final long[] ROOK_MAGIC = {
+            0x1080108000400020L, 0x4040004010002000L, 0x2080081000802000L, 0x0100082010010006L,
+            0x0280080081440002L, 0x0500040011000812L, 0x0880008001002A00L, 0x0200002302448214L,
+            0x0082800080400028L, 0x0002004020810201L, 0x8101004010200100L, 0x0049000900100020L,
+            0x0000800400800800L, 0x0202000410020008L, 0x0087000100041200L, 0x2001000289000162L,
+            0x0080004000402000L, 0x0420008020904001L, 0x0050002000280403L, 0x0048008008100481L,
+            0x0001010010080004L, 0x0004008002008004L, 0x8011008080020001L, 0x1000120000511084L,
+            0xE8A0208080004010L, 0x0840002020100800L, 0x1060008080100022L, 0x8000080080100080L,
+            0x0004040080080080L, 0x0800020080800400L, 0x01000104000802D0L, 0x1A10008600090244L,
+            0x0100400020800094L, 0x4040804000802000L, 0x6400802000801000L, 0x0908020010100100L,
+            0x0214000480800800L, 0xA000800400800200L, 0x0801010804000210L, 0x061088412200008CL,
+            0x0080004020004010L, 0x0000200050004000L, 0x8C00110020010044L, 0x0021002070030008L,
+            0x2102001810260020L, 0x0844040002008080L, 0x0280421130840008L, 0x0101108110420004L,
+            0x3000400080102080L, 0x0800804022010200L, 0x1810008020061080L, 0x8A10801000080080L,
+            0x0008008008040080L, 0x4200800200040080L, 0x0000308821121400L, 0x1028040840810A00L,
+            0x2000402014800505L, 0x0008210088420012L, 0x0024402000081101L, 0x0000081000042101L,
+            0x0C02000410200802L, 0x0041000400080201L, 0x4000008210410804L, 0x321100004C208E01L
+    };
+    private static final int[] ROOK_SHIFT = new int[64];
+    private static final int[] ROOK_OFFSET = new int[64];
+    private static final long[] ROOK_TABLE = new long[102_400];
+
+    private static final long[] BISHOP_MASK = new long[64];
+    private static final long[] BISHOP_MAGIC = {
+            0x4340010204010422L, 0x0004041802002400L, 0x0010008208400600L, 0x040C140184021204L,
+            0x120A121030A01100L, 0x0204412010040011L, 0x0005040221044000L, 0x4000220800884880L,
+            0x000026A0080A2280L, 0x0042280121020211L, 0x00010822084A0828L, 0x0000282040401000L,
+            0x1080020210101000L, 0x0400460884044100L, 0x0000104C10041280L, 0x2140602402021021L,
+            0x001008A060022080L, 0x2070000626A82100L, 0x0010016800204010L, 0x801800028A004224L,
+            0x1013000820080182L, 0x040A080101014000L, 0x1342020288012902L, 0x0022020114820900L,
+            0x3013400030040802L, 0x0010242A02480A00L, 0x6090220024080204L, 0x0008080008202060L,
+            0x1141010084104000L, 0x010401001420A000L, 0x0422021888411040L, 0x0109120000404410L,
+            0x1010904400884800L, 0x0002109004040100L, 0x8021080200410400L, 0xC480320080080480L,
+            0x0320020400008082L, 0x2060010208110080L, 0x08848C0090840088L, 0x0042008034810402L,
+            0x8201101012000410L, 0x901604A420200490L, 0x0001084410020200L, 0x0920006018000100L,
+            0x000082020C000202L, 0x0004080048120100L, 0x06E2700101224200L, 0x0024014204208205L,
+            0x4000441420280020L, 0x0401440288280001L, 0x005310A908282251L, 0x0100080820880213L,
+            0x0100864008320000L, 0x800804601C051020L, 0x0008A00404104020L, 0x4150100200882104L,
+            0x0200852108200448L, 0xC090002101105060L, 0x0008C22242084400L, 0x0800001888420224L,
+            0x2814000040083201L, 0x4200100A08100422L, 0x0402091050024041L, 0x8402100102240040L
+    };
+    private static final int[] BISHOP_SHIFT = new int[64];
+    private static final int[] BISHOP_OFFSET = new int[64];
+    private static final long[] BISHOP_TABLE = new long[5_248];
+
+    static {
+        init(ROOK_DIRS, ROOK_MASK, ROOK_MAGIC, ROOK_SHIFT, ROOK_OFFSET, ROOK_TABLE);
+        init(BISHOP_DIRS, BISHOP_MASK, BISHOP_MAGIC, BISHOP_SHIFT, BISHOP_OFFSET, BISHOP_TABLE);
+    }
+
+    /**
+     * Returns the squares a rook on {@code square} attacks given the board occupancy.
+     * Attacked squares include the first blocker in each direction, regardless of its color.
+     *
+     * @param square   rook square in [0..63]; not validated
+     * @param occupied all occupied squares
+     * @return attack set
+     */
+    public static long rookAttacks(int square, long occupied) {
+        int slot = (int) (((occupied & ROOK_MASK[square]) * ROOK_MAGIC[square]) >>> ROOK_SHIFT[square]);
+        return ROOK_TABLE[ROOK_OFFSET[square] + slot];
+    }
+
+    /**
+     * Returns the squares a bishop on {@code square} attacks given the board occupancy.
+     *
+     * @param square   bishop square in [0..63]; not validated
+     * @param occupied all occupied squares
+     * @return attack set
+     */
+    public static long bishopAttacks(int square, long occupied) {
+        int slot = (int) (((occupied & BISHOP_MASK[square]) * BISHOP_MAGIC[square]) >>> BISHOP_SHIFT[square]);
+        return BISHOP_TABLE[BISHOP_OFFSET[square] + slot];
+    }
+
+    /**
+     * Returns the squares a queen on {@code square} attacks given the board occupancy.
+     *
+     * @param square   queen square in [0..63]; not validated
+     * @param occupied all occupied squares
+     * @return attack set
+     */
+    public static long queenAttacks(int square, long occupied) {
+        return rookAttacks(square, occupied) | bishopAttacks(square, occupied);
+    }
+
+    /* ---- table construction ---- */
+
+    private static void init(int[][] dirs, long[] masks, long[] magics, int[] shifts, int[] offsets, long[] table) {
+        int offset = 0;
+        for (int sq = 0; sq < 64; sq++) {
+            long mask = relevantMask(sq, dirs);
+            int bits = Long.bitCount(mask);
+            masks[sq] = mask;
+            shifts[sq] = 64 - bits;
+            offsets[sq] = offset;
+
+            // Enumerate every blocker subset of the mask (Carry-Rippler) and store its attack set
+            long b = 0;
+            do {
+                int slot = (int) ((b * magics[sq]) >>> shifts[sq]);
+                table[offset + slot] = slowAttacks(sq, b, dirs);
+                b = (b - mask) & mask;
+            } while (b != 0);
+            offset += 1 << bits;
+        }
+    }
+
+    private static long relevantMask(int sq, int[][] dirs) {
+        long mask = 0;
+        int f0 = sq & 7, r0 = sq >>> 3;
+        for (int[] d : dirs) {
+            int f = f0 + d[0], r = r0 + d[1];
+            // stop one short of the edge: an edge square never blocks anything beyond it
+            while (inBounds(f + d[0], r + d[1])) {
+                mask |= 1L << ((r << 3) | f);
+                f += d[0];
+                r += d[1];
+            }
+        }
+        return mask;
+    }
+
+    private static long slowAttacks(int sq, long occupied, int[][] dirs) {
+        long attacks = 0;
+        int f0 = sq & 7, r0 = sq >>> 3;
+        for (int[] d : dirs) {
+            int f = f0 + d[0], r = r0 + d[1];
+            while (inBounds(f, r)) {
+                long bit = 1L << ((r << 3) | f);
+                attacks |= bit;
+                if ((occupied & bit) != 0) break;
+                f += d[0];
+                r += d[1];
+            }
+        }
+        return attacks;
+    }
+
+    private static boolean inBounds(int f, int r) { return f >= 0 && f < 8 && r >= 0 && r < 8; }
+}
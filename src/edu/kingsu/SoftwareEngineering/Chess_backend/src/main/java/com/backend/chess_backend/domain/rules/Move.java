@@ -0,0 +1,111 @@
+package com.backend.chess_backend.domain.rules;
+
+import com.backend.chess_backend.domain.Board;
+import com.backend.chess_backend.domain.Position;
+
+/**
+ * Packed {@code int} encoding of a chess move.
+ * <p>
+ * Moves are plain {@code int}s so the rules engine can generate and compare them without allocating.
+ * This class only holds the static helpers that build and decode them; it is not instantiable.
+ * </p>
+ *
+ * <h2>Layout</h2>
+ * <pre>
+ * bits  0..5   from square (0..63, a1 = 0)
+ * bits  6..11  to square
+ * bits 12..13  promotion piece: 0 = knight, 1 = bishop, 2 = rook, 3 = queen (only meaningful with PROMOTION)
+ * bits 14..15  flag: NORMAL, PROMOTION, EN_PASSANT, CASTLING
+ * </pre>
+ *
+ * <p>
+ * {@link #NONE} (a1→a1) never describes a real move and is used as a "no move" marker.
+ * </p>
+ *
+ * @author Alain Uwishema
+ * @since 0.2
+ */
+public final class Move {
+    private Move() {}
+
+    public static final int NONE = 0;
+
+    public static final int NORMAL = 0;
+    public static final int PROMOTION = 1;
+    public static final int EN_PASSANT = 2;
+    public static final int CASTLING = 3;
+
+    /**
+     * Encodes a normal move (quiet move or capture).
+     *
+     * @param from source square in [0..63]
+     * @param to   destination square in [0..63]
+     * @return the packed move
+     */
+    public static int of(int from, int to) {
+        return from | (to << 6);
+    }
+
+    /**
+     * Encodes a move with a special flag.
+     *
+     * @param from source square in [0..63]
+     * @param to   destination square in [0..63]
+     * @param flag one of {@link #NORMAL}, {@link #EN_PASSANT}, {@link #CASTLING}
+     * @return the packed move
+     */
+    public static int of(int from, int to, int flag) {
+        return from | (to << 6) | (flag << 14);
+    }
+
+    /**
+     * Encodes a pawn promotion.
+     *
+     * @param from      source square in [0..63]
+     * @param to        destination square on the last rank
+     * @param pieceType promoted piece type, {@link Position#KNIGHT}..{@link Position#QUEEN}
+     * @return the packed move
+     */
+    public static int promotion(int from, int to, int pieceType) {
+        return from | (to << 6) | ((pieceType - Position.KNIGHT) << 12) | (PROMOTION << 14);
+    }
+
+    /** @return the source square of {@code move} */
+    public static int from(int move) {
+        return move & 0x3F;
+    }
+
+    /** @return the destination square of {@code move} */
+    public static int to(int move) {
+        return (move >>> 6) & 0x3F;
+    }
+
+    /** @return the flag of {@code move} ({@link #NORMAL}, {@link #PROMOTION}, {@link #EN_PASSANT}, {@link #CASTLING}) */
+    public static int flag(int move) {
+        return (move >>> 14) & 0x3;
+    }
+
+    /** @return the promoted piece type ({@link Position#KNIGHT}..{@link Position#QUEEN}); only valid for promotions */
+    public static int promotionType(int move) {
+        return ((move >>> 12) & 0x3) + Position.KNIGHT;
+    }
+
+    /** @return {@code true} if {@code move} is a pawn promotion */
+    public static boolean isPromotion(int move) {
+        return flag(move) == PROMOTION;
+    }
+
+    /**
+     * Formats a move in UCI long algebraic notation, e.g. {@code "e2e4"} or {@code "e7e8q"}.
+     * Intended for the web boundary and logging; the rules engine itself never needs strings.
+     *
+     * @param move packed move
+     * @return UCI string, or {@code "0000"} for {@link #NONE}
+     */
+    public static String toUci(int move) {
+        if (move == NONE) return "0000";
+        String s = Board.toAlgebraic(from(move)) + Board.toAlgebraic(to(move));
+        if (isPromotion(move)) s += "nbrq".charAt(promotionType(move) - Position.KNIGHT);
+        return s;
+    }
+}
@@ -0,0 +1,368 @@
+package com.backend.chess_backend.domain.rules;
+
+import com.backend.chess_backend.domain.Position;
+
+/**
+ * Strictly legal move generation on a bitboard {@link Position}.
+ * <p>
+ * Instead of trying each candidate move and testing whether the king is left in check, the
+ * generator computes three masks once per position and filters every candidate against them:
+ * </p>
+ * <ul>
+ *   <li><b>checkers</b> – enemy pieces giving check. With two checkers only the king may move.</li>
+ *   <li><b>evasion mask</b> – with one checker, non-king moves must capture it or block the ray
+ *       between it and the king.</li>
+ *   <li><b>pinned pieces</b> – own pieces shielding the king from an enemy slider; they may only move
+ *       along the line through the king.</li>
+ * </ul>
+ * King moves are checked against enemy attacks with the king removed from the occupancy (so it
+ * cannot "hide" behind itself on a slider ray). En passant, whose double removal can expose the king
+ * along a rank, is verified with a direct attack test. Castling requires the rights, empty squares
+ * between king and rook, and that the king is not in check and does not cross an attacked square.
+ *
+ * <p>
+ * Positions without a king for the moving side are tolerated (no king-safety constraints apply),
+ * which keeps hand-built test boards usable. This class is stateless and not instantiable.
+ * </p>
+ *
+ * @author Alain Uwishema
+ * @since 0.2
+ */
+public final class MoveGenerator {
+    private MoveGenerator() {}
+
+    private static final long RANK_1 = 0xFFL;
+    private static final long RANK_8 = 0xFFL << 56;
+
+    /**
+     * Appends every legal move for the side to move.
+     *
+     * @param pos position to generate for
+     * @param out buffer to append to (not cleared)
+     */
+    public static void generateLegal(Position pos, MoveList out) {
+        generate(pos, pos.sideToMove(), -1L, out);
+    }
+
+    /**
+     * Appends the legal moves of the piece on {@code from}, treating that piece's owner as the side to move.
+     * En passant is only considered when the owner actually is the side to move.
+     *
+     * @param pos  position to generate for
+     * @param from source square in [0..63]
+     * @param out  buffer to append to (not cleared)
+     */
+    public static void generateLegalFrom(Position pos, int from, MoveList out) {
+        int piece = pos.pieceAt(from);
+        if (piece == Position.NO_PIECE) return;
+        generate(pos, Position.colorOf(piece), 1L << from, out);
+    }
+
+    /**
+     * Returns whether the side to move is in check.
+     *
+     * @param pos position to test
+     * @return {@code true} if the side to move's king is attacked
+     */
+    public static boolean inCheck(Position pos) {
+        int us = pos.sideToMove();
+        long king = pos.pieces(us, Position.KING);
+        return king != 0 && isSquareAttacked(pos, Long.numberOfTrailingZeros(king), us ^ 1);
+    }
+
+    /**
+     * Returns whether the side to move has at least one legal move, without building a move list.
+     * <p>
+     * Uses the same checker, evasion and pin masks as {@link #generateLegal}, but stops at the first
+     * piece with a non-empty target set. Non-king pieces are tried first because their test is a
+     * single mask intersection; king steps, which need an attack query per square, come last.
+     * Castling is never needed: whenever it is legal, so is the king's one-square step towards it.
+     * Together with {@link #inCheck(Position)} this tells checkmate from stalemate.
+     * </p>
+     *
+     * @param pos position to test
+     * @return {@code true} if any legal move exists
+     */
+    public static boolean hasLegalMove(Position pos) {
+        int us = pos.sideToMove();
+        int them = us ^ 1;
+        long own = pos.occupancy(us);
+        long enemy = pos.occupancy(them);
+        long occ = pos.occupied();
+        long kingBB = pos.pieces(us, Position.KING);
+        int king = kingBB == 0 ? -1 : Long.numberOfTrailingZeros(kingBB);
+
+        long checkers = 0, pinned = 0;
+        if (king >= 0) {
+            checkers = attackersTo(pos, king, occ) & enemy;
+            pinned = pinnedPieces(pos, us, king);
+        }
+
+        if (Long.bitCount(checkers) <= 1) {
+            long evasion = -1L;
+            if (checkers != 0) evasion = checkers | Attacks.between(king, Long.numberOfTrailingZeros(checkers));
+            long allowed = ~own & evasion;
+
+            long knights = pos.pieces(us, Position.KNIGHT) & ~pinned;
+            while (knights != 0) {
+                if ((Attacks.knight(Long.numberOfTrailingZeros(knights)) & allowed) != 0) return true;
+                knights &= knights - 1;
+            }
+
+            long bishops = pos.pieces(us, Position.BISHOP) | pos.pieces(us, Position.QUEEN);
+            while (bishops != 0) {
+                int from = Long.numberOfTrailingZeros(bishops);
+                bishops &= bishops - 1;
+                long targets = Magics.bishopAttacks(from, occ) & allowed;
+                if ((pinned & (1L << from)) != 0) targets &= Attacks.line(king, from);
+                if (targets != 0) return true;
+            }
+            long rooks = pos.pieces(us, Position.ROOK) | pos.pieces(us, Position.QUEEN);
+            while (rooks != 0) {
+                int from = Long.numberOfTrailingZeros(rooks);
+                rooks &= rooks - 1;
+                long targets = Magics.rookAttacks(from, occ) & allowed;
+                if ((pinned & (1L << from)) != 0) targets &= Attacks.line(king, from);
+                if (targets != 0) return true;
+            }
+
+            long pawns = pos.pieces(us, Position.PAWN);
+            int forward = (us == Position.WHITE) ? 8 : -8;
+            long startRank = (us == Position.WHITE) ? 0xFF00L : 0xFFL << 48;
+            while (pawns != 0) {
+                int from = Long.numberOfTrailingZeros(pawns);
+                pawns &= pawns - 1;
+                long fromBit = 1L << from;
+                long targets = Attacks.pawn(us, from) & enemy;
+                int one = from + forward;
+                if ((occ & (1L << one)) == 0) {
+                    targets |= 1L << one;
+                    int two = one + forward;
+                    if ((fromBit & startRank) != 0 && (occ & (1L << two)) == 0) targets |= 1L << two;
+                }
+                targets &= evasion;
+                if ((pinned & fromBit) != 0) targets &= Attacks.line(king, from);
+                if (targets != 0) return true;
+            }
+
+            int ep = pos.epSquare();
+            if (ep != Position.NO_SQUARE) {
+                int capSq = ep - forward;
+                long candidates = Attacks.pawn(them, ep) & pos.pieces(us, Position.PAWN);
+                while (candidates != 0) {
+                    int from = Long.numberOfTrailingZeros(candidates);
+                    candidates &= candidates - 1;
+                    if (king < 0) return true;
+                    long after = (occ ^ (1L << from) ^ (1L << capSq)) | (1L << ep);
+                    if ((attackersTo(pos, king, after) & enemy & ~(1L << capSq)) == 0) return true;
+                }
+            }
+        }
+
+        if (king >= 0) {
+            long occWithoutKing = occ ^ kingBB;
+            long targets = Attacks.king(king) & ~own;
+            while (targets != 0) {
+                int to = Long.numberOfTrailingZeros(targets);
+                targets &= targets - 1;
+                if ((attackersTo(pos, to, occWithoutKing) & enemy) == 0) return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Returns whether {@code square} is attacked by any piece of {@code bySide}.
+     *
+     * @param pos    position to test
+     * @param square square in [0..63]
+     * @param bySide {@link Position#WHITE} or {@link Position#BLACK}
+     * @return {@code true} if at least one piece of {@code bySide} attacks the square
+     */
+    public static boolean isSquareAttacked(Position pos, int square, int bySide) {
+        return (attackersTo(pos, square, pos.occupied()) & pos.occupancy(bySide)) != 0;
+    }
+
+    /**
+     * Returns every piece (of either color) attacking {@code square}, with sliders evaluated against
+     * the given occupancy.
+     *
+     * @param pos      position supplying piece locations
+     * @param square   target square
+     * @param occupied occupancy used for slider rays (may differ from the position's own)
+     * @return bitboard of attackers
+     */
+    public static long attackersTo(Position pos, int square, long occupied) {
+        long bishopsQueens = pos.pieces(Position.WHITE, Position.BISHOP) | pos.pieces(Position.BLACK, Position.BISHOP)
+                | pos.pieces(Position.WHITE, Position.QUEEN) | pos.pieces(Position.BLACK, Position.QUEEN);
+        long rooksQueens = pos.pieces(Position.WHITE, Position.ROOK) | pos.pieces(Position.BLACK, Position.ROOK)
+                | pos.pieces(Position.WHITE, Position.QUEEN) | pos.pieces(Position.BLACK, Position.QUEEN);
+        return (Attacks.pawn(Position.WHITE, square) & pos.pieces(Position.BLACK, Position.PAWN))
+                | (Attacks.pawn(Position.BLACK, square) & pos.pieces(Position.WHITE, Position.PAWN))
+                | (Attacks.knight(square) & (pos.pieces(Position.WHITE, Position.KNIGHT) | pos.pieces(Position.BLACK, Position.KNIGHT)))
+                | (Attacks.king(square) & (pos.pieces(Position.WHITE, Position.KING) | pos.pieces(Position.BLACK, Position.KING)))
+                | (Magics.bishopAttacks(square, occupied) & bishopsQueens)
+                | (Magics.rookAttacks(square, occupied) & rooksQueens);
+    }
+
+    /* ---- generation ---- */
+
+    private static void generate(Position pos, int us, long fromMask, MoveList out) {
+        int them = us ^ 1;
+        long own = pos.occupancy(us);
+        long enemy = pos.occupancy(them);
+        long occ = pos.occupied();
+        long kingBB = pos.pieces(us, Position.KING);
+        int king = kingBB == 0 ? -1 : Long.numberOfTrailingZeros(kingBB);
+
+        long checkers = 0, pinned = 0;
+        if (king >= 0) {
+            checkers = attackersTo(pos, king, occ) & enemy;
+            pinned = pinnedPieces(pos, us, king);
+        }
+
+        // King moves (always generated; the only option under double check)
+        if ((kingBB & fromMask) != 0) {
+            long occWithoutKing = occ ^ kingBB;
+            long targets = Attacks.king(king) & ~own;
+            while (targets != 0) {
+                int to = Long.numberOfTrailingZeros(targets);
+                targets &= targets - 1;
+                if ((attackersTo(pos, to, occWithoutKing) & enemy) == 0) out.add(Move.of(king, to));
+            }
+            if (checkers == 0) generateCastling(pos, us, king, occ, out);
+        }
+        if (Long.bitCount(checkers) > 1) return;
+
+        // With a single checker, other pieces must capture it or interpose
+        long evasion = -1L;
+        if (checkers != 0) {
+            int checker = Long.numberOfTrailingZeros(checkers);
+            evasion = checkers | Attacks.between(king, checker);
+        }
+        long allowed = ~own & evasion;
+
+        // Knights (a pinned knight can never move)
+        long knights = pos.pieces(us, Position.KNIGHT) & fromMask & ~pinned;
+        while (knights != 0) {
+            int from = Long.numberOfTrailingZeros(knights);
+            knights &= knights - 1;
+            addMoves(from, Attacks.knight(from) & allowed, out);
+        }
+
+        // Sliders
+        long bishops = (pos.pieces(us, Position.BISHOP) | pos.pieces(us, Position.QUEEN)) & fromMask;
+        while (bishops != 0) {
+            int from = Long.numberOfTrailingZeros(bishops);
+            bishops &= bishops - 1;
+            long targets = Magics.bishopAttacks(from, occ) & allowed;
+            if ((pinned & (1L << from)) != 0) targets &= Attacks.line(king, from);
+            addMoves(from, targets, out);
+        }
+        long rooks = (pos.pieces(us, Position.ROOK) | pos.pieces(us, Position.QUEEN)) & fromMask;
+        while (rooks != 0) {
+            int from = Long.numberOfTrailingZeros(rooks);
+            rooks &= rooks - 1;
+            long targets = Magics.rookAttacks(from, occ) & allowed;
+            if ((pinned & (1L << from)) != 0) targets &= Attacks.line(king, from);
+            addMoves(from, targets, out);
+        }
+
+        // Pawns
+        long pawns = pos.pieces(us, Position.PAWN) & fromMask;
+        int forward = (us == Position.WHITE) ? 8 : -8;
+        long startRank = (us == Position.WHITE) ? 0xFF00L : 0xFFL << 48;
+        long lastRank = (us == Position.WHITE) ? RANK_8 : RANK_1;
+        while (pawns != 0) {
+            int from = Long.numberOfTrailingZeros(pawns);
+            pawns &= pawns - 1;
+            long fromBit = 1L << from;
+
+            long targets = Attacks.pawn(us, from) & enemy;
+            int one = from + forward;
+            if ((occ & (1L << one)) == 0) {
+                targets |= 1L << one;
+                int two = one + forward;
+                if ((fromBit & startRank) != 0 && (occ & (1L << two)) == 0) targets |= 1L << two;
+            }
+            targets &= evasion;
+            if ((pinned & fromBit) != 0) targets &= Attacks.line(king, from);
+
+            while (targets != 0) {
+                int to = Long.numberOfTrailingZeros(targets);
+                targets &= targets - 1;
+                if (((1L << to) & lastRank) != 0) {
+                    out.add(Move.promotion(from, to, Position.QUEEN));
+                    out.add(Move.promotion(from, to, Position.ROOK));
+                    out.add(Move.promotion(from, to, Position.BISHOP));
+                    out.add(Move.promotion(from, to, Position.KNIGHT));
+                } else {
+                    out.add(Move.of(from, to));
+                }
+            }
+        }
+
+        // En passant: verified by a direct attack test on the resulting occupancy
+        int ep = pos.epSquare();
+        if (ep != Position.NO_SQUARE && us == pos.sideToMove()) {
+            int capSq = ep - forward;
+            long candidates = Attacks.pawn(them, ep) & pos.pieces(us, Position.PAWN) & fromMask;
+            while (candidates != 0) {
+                int from = Long.numberOfTrailingZeros(candidates);
+                candidates &= candidates - 1;
+                if (king >= 0) {
+                    long after = (occ ^ (1L << from) ^ (1L << capSq)) | (1L << ep);
+                    if ((attackersTo(pos, king, after) & enemy & ~(1L << capSq)) != 0) continue;
+                }
+                out.add(Move.of(from, ep, Move.EN_PASSANT));
+            }
+        }
+    }
+
+    private static void generateCastling(Position pos, int us, int king, long occ, MoveList out) {
+        int rights = pos.castlingRights();
+        int them = us ^ 1;
+        long rooks = pos.pieces(us, Position.ROOK);
+        int home = (us == Position.WHITE) ? 4 : 60;
+        if (king != home) return;
+        int oo = (us == Position.WHITE) ? Position.WHITE_OO : Position.BLACK_OO;
+        int ooo = (us == Position.WHITE) ? Position.WHITE_OOO : Position.BLACK_OOO;
+
+        if ((rights & oo) != 0 && (rooks & (1L << (home + 3))) != 0
+                && (occ & ((1L << (home + 1)) | (1L << (home + 2)))) == 0
+                && !isSquareAttacked(pos, home + 1, them) && !isSquareAttacked(pos, home + 2, them)) {
+            out.add(Move.of(home, home + 2, Move.CASTLING));
+        }
+        if ((rights & ooo) != 0 && (rooks & (1L << (home - 4))) != 0
+                && (occ & ((1L << (home - 1)) | (1L << (home - 2)) | (1L << (home - 3)))) == 0
+                && !isSquareAttacked(pos, home - 1, them) && !isSquareAttacked(pos, home - 2, them)) {
+            out.add(Move.of(home, home - 2, Move.CASTLING));
+        }
+    }
+
+    /** Own pieces that are the only blocker between the king and an enemy slider. */
+    private static long pinnedPieces(Position pos, int us, int king) {
+        int them = us ^ 1;
+        long enemy = pos.occupancy(them);
+        long queens = pos.pieces(them, Position.QUEEN);
+        // Look from the king through our own pieces: any enemy slider seen this way is a potential pinner
+        long snipers = (Magics.rookAttacks(king, enemy) & (pos.pieces(them, Position.ROOK) | queens))
+                | (Magics.bishopAttacks(king, enemy) & (pos.pieces(them, Position.BISHOP) | queens));
+        long pinned = 0;
+        long occ = pos.occupied();
+        while (snipers != 0) {
+            int s = Long.numberOfTrailingZeros(snipers);
+            snipers &= snipers - 1;
+            long blockers = Attacks.between(king, s) & occ;
+            if (blockers != 0 && (blockers & (blockers - 1)) == 0) pinned |= blockers & pos.occupancy(us);
+        }
+        return pinned;
+    }
+
+    private static void addMoves(int from, long targets, MoveList out) {
+        while (targets != 0) {
+            out.add(Move.of(from, Long.numberOfTrailingZeros(targets)));
+            targets &= targets - 1;
+        }
+    }
+}
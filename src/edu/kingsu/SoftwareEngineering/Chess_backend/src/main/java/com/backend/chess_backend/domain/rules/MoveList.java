@@ -0,0 +1,96 @@
+package com.backend.chess_backend.domain.rules;
+
+/**
+ * Reusable, fixed-capacity buffer of packed {@link Move}s.
+ * <p>
+ * Generators append into a caller-owned list instead of returning new collections, so a single
+ * buffer can be cleared and refilled for every query. Instances are not thread-safe.
+ * </p>
+ * <p>
+ * The capacity of 256 is only safe for positions reachable in a legal game, which have at most 218
+ * moves. A set-up position with more pieces than a game can produce can exceed it, so positions
+ * from outside must pass {@link com.backend.chess_backend.domain.Fen#validate} before moves are
+ * generated for them. Positions reached by playing moves from a valid one stay within the bound.
+ * </p>
+ *
+ * @author Alain Uwishema
+ * @since 0.2
+ */
+public final class MoveList {
+    public static final int CAPACITY = 256;
+
+    private final int[] moves = new int[CAPACITY];
+    private int size;
+
+    /** Removes all moves; the backing array is kept. */
+    public void clear() {
+        size = 0;
+    }
+
+    /**
+     * Appends a packed move. The list must not be full, which holds for any position reachable in
+     * a legal game (see the class comment); the assertion catches positions that are not.
+     *
+     * @param move packed move
+     */
+    public void add(int move) {
+        assert size < CAPACITY : "more than " + CAPACITY + " moves: unreachable position";
+        moves[size++] = move;
+    }
+
+    /** @return the number of moves in the list */
+    public int size() {
+        return size;
+    }
+
+    /** @return {@code true} if the list holds no moves */
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Returns the move at a given index.
+     *
+     * @param index position in [0..size)
+     * @return packed move
+     */
+    public int get(int index) {
+        return moves[index];
+    }
+
+    /**
+     * Replaces the move at a given index.
+     *
+     * @param index position in [0..size)
+     * @param move  packed move
+     */
+    public void set(int index, int move) {
+        moves[index] = move;
+    }
+
+    /**
+     * Finds the first move with the given source and destination squares.
+     *
+     * @param from source square
+     * @param to   destination square
+     * @return index of the move, or {@code -1} if absent
+     */
+    public int indexOf(int from, int to) {
+        int key = Move.of(from, to);
+        for (int i = 0; i < size; i++) {
+            if ((moves[i] & 0xFFF) == key) return i;
+        }
+        return -1;
+    }
+
+    /**
+     * Returns whether any move goes from {@code from} to {@code to}.
+     *
+     * @param from source square
+     * @param to   destination square
+     * @return {@code true} if such a move is present
+     */
+    public boolean contains(int from, int to) {
+        return indexOf(from, to) >= 0;
+    }
+}
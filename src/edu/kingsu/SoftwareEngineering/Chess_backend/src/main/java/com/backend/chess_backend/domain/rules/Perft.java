@@ -0,0 +1,308 @@
+package com.backend.chess_backend.domain.rules;
+
+import com.backend.chess_backend.domain.Fen;
+import com.backend.chess_backend.domain.Position;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Perft ("performance test") node counting for the move generator.
+ * <p>
+ * {@code perft(pos, d)} counts the leaf nodes of the legal move tree to depth {@code d}. Published
+ * counts for a handful of standard positions (see {@link #SUITE}) exercise every special rule –
+ * castling through attacked squares, en passant with discovered checks, promotions under check – so
+ * matching them is the regression oracle for {@link MoveGenerator} and {@link Position#makeMove(int)}.
+ * The same walk doubles as a throughput benchmark.
+ * </p>
+ *
+ * <h2>Modes</h2>
+ * <ul>
+ *   <li><b>serial</b> – {@link #perft(Position, int)}, make/unmake on a single position, leaf moves
+ *       counted in bulk without being played.</li>
+ *   <li><b>divide</b> – {@link #divide(Position, int)}, per-root-move counts for tracking down a
+ *       wrong total against a reference engine.</li>
+ *   <li><b>parallel</b> – {@link #parallel(Position, int, Hash, ForkJoinPool)}, one fork-join task per
+ *       root move, each on its own {@link Position#copy()}.</li>
+ *   <li><b>hashed</b> – any mode can share a {@link Hash} so transposed subtrees are counted once.</li>
+ * </ul>
+ *
+ * <h2>Command line</h2>
+ * <pre>
+ * java -cp target/classes com.backend.chess_backend.domain.rules.Perft [depth] [--parallel] [--hash MB] [--fen FEN] [--divide]
+ * </pre>
+ * Without {@code --fen} the whole suite runs; each line reports nodes, the expected count, time and
+ * nodes/second.
+ *
+ * @author Alain Uwishema
+ * @since 0.2
+ */
+public final class Perft {
+    private Perft() {}
+
+    /**
+     * A suite position with its published node counts.
+     *
+     * @param name  short label
+     * @param fen   position
+     * @param nodes expected counts; {@code nodes[d - 1]} is the count at depth {@code d}
+     */
+    public record Case(String name, String fen, long... nodes) {}
+
+    /** The standard perft positions (chessprogramming.org "Perft Results"). */
+    public static final List<Case> SUITE = List.of(
+            new Case("start", Fen.START,
+                    20, 400, 8_902, 197_281, 4_865_609, 119_060_324),
+            new Case("kiwipete", "r3k2r/p1ppqpb1/bn2pnp1/3PN3/1p2P3/2N2Q1p/PPPBBPPP/R3K2R w KQkq - 0 1",
+                    48, 2_039, 97_862, 4_085_603, 193_690_690),
+            new Case("position3", "8/2p5/3p4/KP5r/1R3p1k/8/4P1P1/8 w - - 0 1",
+                    14, 191, 2_812, 43_238, 674_624, 11_030_083),
+            new Case("position4", "r3k2r/Pppp1ppp/1b3nbN/nP6/BBP1P3/q4N2/Pp1P2PP/R2Q1RK1 w kq - 0 1",
+                    6, 264, 9_467, 422_333, 15_833_292),
+            new Case("position5", "rnbq1k1r/pp1Pbppp/2p5/8/2B5/8/PPP1NnPP/RNBQK2R w KQ - 1 8",
+                    44, 1_486, 62_379, 2_103_487, 89_941_194),
+            new Case("position6", "r4rk1/1pp1qppp/p1np1n2/2b1p1B1/2B1P1b1/P1NP1N2/1PP1QPPP/R4RK1 w - - 0 10",
+                    46, 2_079, 89_890, 3_894_594, 164_075_551)
+    );
+
+    /**
+     * Counts leaf nodes to {@code depth}. The position is restored before returning.
+     *
+     * @param pos   position to walk (mutated during the walk)
+     * @param depth depth in plies; 0 counts the position itself
+     * @return number of leaf nodes
+     */
+    public static long perft(Position pos, int depth) {
+        return perft(pos, depth, null);
+    }
+
+    /**
+     * Counts leaf nodes to {@code depth}, consulting and filling {@code hash} for subtrees of depth 2 or more.
+     *
+     * @param pos   position to walk (mutated during the walk)
+     * @param depth depth in plies
+     * @param hash  transposition cache, or {@code null}
+     * @return number of leaf nodes
+     */
+    public static long perft(Position pos, int depth, Hash hash) {
+        if (depth <= 0) return 1;
+        return walk(pos, depth, newBuffers(depth), hash);
+    }
+
+    /**
+     * Counts leaf nodes below each legal root move, in generation order.
+     *
+     * @param pos   position to walk (mutated during the walk)
+     * @param depth total depth, including the root move; must be at least 1
+     * @return UCI move → leaf count
+     */
+    public static Map<String, Long> divide(Position pos, int depth) {
+        MoveList moves = new MoveList();
+        MoveGenerator.generateLegal(pos, moves);
+        MoveList[] buffers = newBuffers(depth);
+        Map<String, Long> out = new LinkedHashMap<>();
+        for (int i = 0; i < moves.size(); i++) {
+            int m = moves.get(i);
+            pos.makeMove(m);
+            out.put(Move.toUci(m), depth <= 1 ? 1L : walk(pos, depth - 1, buffers, null));
+            pos.unmakeMove();
+        }
+        return out;
+    }
+
+    /**
+     * Counts leaf nodes to {@code depth}, splitting the root moves across a fork-join pool. The given
+     * position is only read.
+     *
+     * @param pos   position to count from
+     * @param depth depth in plies
+     * @param hash  shared transposition cache, or {@code null}
+     * @param pool  pool to run on, e.g. {@link ForkJoinPool#commonPool()}
+     * @return number of leaf nodes
+     */
+    public static long parallel(Position pos, int depth, Hash hash, ForkJoinPool pool) {
+        if (depth <= 1) return perft(pos.copy(), depth);
+        return pool.invoke(new RootTask(pos.copy(), depth, hash));
+    }
+
+    private static long walk(Position pos, int depth, MoveList[] buffers, Hash hash) {
+        MoveList moves = buffers[depth];
+        moves.clear();
+        if (depth == 1) {
+            MoveGenerator.generateLegal(pos, moves);
+            return moves.size();
+        }
+
+        long key = pos.key();
+        if (hash != null) {
+            long cached = hash.probe(key, depth);
+            if (cached >= 0) return cached;
+        }
+        MoveGenerator.generateLegal(pos, moves);
+        long nodes = 0;
+        for (int i = 0; i < moves.size(); i++) {
+            pos.makeMove(moves.get(i));
+            nodes += walk(pos, depth - 1, buffers, hash);
+            pos.unmakeMove();
+        }
+        if (hash != null) hash.store(key, depth, nodes);
+        return nodes;
+    }
+
+    private static MoveList[] newBuffers(int depth) {
+        MoveList[] buffers = new MoveList[depth + 1];
+        for (int d = 1; d <= depth; d++) buffers[d] = new MoveList();
+        return buffers;
+    }
+
+    /** Forks one subtask per root move and sums their counts. */
+    private static final class RootTask extends RecursiveTask<Long> {
+        private final Position pos;
+        private final int depth;
+        private final Hash hash;
+
+        RootTask(Position pos, int depth, Hash hash) {
+            this.pos = pos;
+            this.depth = depth;
+            this.hash = hash;
+        }
+
+        @Override
+        protected Long compute() {
+            MoveList moves = new MoveList();
+            MoveGenerator.generateLegal(pos, moves);
+            SubtreeTask[] tasks = new SubtreeTask[moves.size()];
+            for (int i = 0; i < tasks.length; i++) {
+                Position child = pos.copy();
+                child.makeMove(moves.get(i));
+                tasks[i] = new SubtreeTask(child, depth - 1, hash);
+            }
+            invokeAll(tasks);
+            long nodes = 0;
+            for (SubtreeTask t : tasks) nodes += t.join();
+            return nodes;
+        }
+    }
+
+    private static final class SubtreeTask extends RecursiveTask<Long> {
+        private final Position pos;
+        private final int depth;
+        private final Hash hash;
+
+        SubtreeTask(Position pos, int depth, Hash hash) {
+            this.pos = pos;
+            this.depth = depth;
+            this.hash = hash;
+        }
+
+        @Override
+        protected Long compute() {
+            return perft(pos, depth, hash);
+        }
+    }
+
+    /**
+     * Fixed-size, lock-free cache of subtree counts keyed by Zobrist key and depth.
+     * <p>
+     * Each slot holds two longs: the packed data ({@code nodes << 8 | depth}) and the key XORed with
+     * that data. A reader accepts a slot only if the XOR of the two words gives back its key, so a
+     * slot torn by two threads writing at once simply reads as a miss. Entries are always replaced.
+     * </p>
+     */
+    public static final class Hash {
+        private final long[] slots;
+        private final int mask;
+
+        /**
+         * Creates a cache of roughly {@code megabytes} MB (rounded down to a power-of-two slot count).
+         *
+         * @param megabytes size in MB; must be at least 1
+         */
+        public Hash(int megabytes) {
+            if (megabytes < 1) throw new IllegalArgumentException("hash size must be at least 1 MB");
+            long entries = Long.highestOneBit(megabytes * (1L << 20) / 16);
+            int count = (int) Math.min(entries, 1 << 26);
+            this.slots = new long[count * 2];
+            this.mask = count - 1;
+        }
+
+        long probe(long key, int depth) {
+            int i = index(key, depth);
+            long data = slots[i];
+            long check = slots[i + 1];
+            if ((check ^ data) == key && (data & 0xFF) == depth) return data >>> 8;
+            return -1;
+        }
+
+        void store(long key, int depth, long nodes) {
+            int i = index(key, depth);
+            long data = (nodes << 8) | depth;
+            slots[i] = data;
+            slots[i + 1] = key ^ data;
+        }
+
+        private int index(long key, int depth) {
+            return (int) ((key ^ (depth * 0x9E37_79B9_7F4A_7C15L)) & mask) << 1;
+        }
+    }
+
+    /* ---- command line ---- */
+
+    public static void main(String[] args) {
+        int depth = 5;
+        boolean parallel = false, divide = false;
+        int hashMb = 0;
+        String fen = null;
+        for (int i = 0; i < args.length; i++) {
+            switch (args[i]) {
+                case "--parallel" -> parallel = true;
+                case "--divide" -> divide = true;
+                case "--hash" -> hashMb = Integer.parseInt(args[++i]);
+                case "--fen" -> fen = args[++i];
+                default -> depth = Integer.parseInt(args[i]);
+            }
+        }
+        Hash hash = hashMb > 0 ? new Hash(hashMb) : null;
+
+        if (fen != null) {
+            Position pos = new Position();
+            Fen.read(fen, pos);
+            if (divide) {
+                long total = 0;
+                for (Map.Entry<String, Long> e : divide(pos, depth).entrySet()) {
+                    System.out.println(e.getKey() + ": " + e.getValue());
+                    total += e.getValue();
+                }
+                System.out.println("\nNodes searched: " + total);
+            } else {
+                report(fen, pos, depth, -1, parallel, hash);
+            }
+            return;
+        }
+
+        long totalNodes = 0, totalNanos = 0;
+        for (Case c : SUITE) {
+            int d = Math.min(depth, c.nodes().length);
+            Position pos = new Position();
+            Fen.read(c.fen(), pos);
+            long t0 = System.nanoTime();
+            totalNodes += report(c.name(), pos, d, c.nodes()[d - 1], parallel, hash);
+            totalNanos += System.nanoTime() - t0;
+        }
+        System.out.printf("total: %,d nodes in %.3f s (%,d nps)%n",
+                totalNodes, totalNanos / 1e9, (long) (totalNodes / (totalNanos / 1e9)));
+    }
+
+    private static long report(String name, Position pos, int depth, long expected, boolean parallel, Hash hash) {
+        long t0 = System.nanoTime();
+        long nodes = parallel ? parallel(pos, depth, hash, ForkJoinPool.commonPool()) : perft(pos, depth, hash);
+        double secs = (System.nanoTime() - t0) / 1e9;
+        String verdict = expected < 0 ? "" : (nodes == expected ? "  OK" : "  MISMATCH (expected " + expected + ")");
+        System.out.printf("%-10s depth %d: %,15d nodes %8.3f s %,14d nps%s%n",
+                name, depth, nodes, secs, (long) (nodes / Math.max(secs, 1e-9)), verdict);
+        return nodes;
+    }
+}
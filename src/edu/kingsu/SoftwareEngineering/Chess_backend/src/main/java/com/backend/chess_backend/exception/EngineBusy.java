@@ -0,0 +1,23 @@
+package com.backend.chess_backend.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+/**
+ * Thrown when engine work is refused because too much is already queued; answered with 503 and a
+ * {@code Retry-After} header.
+ */
+@ResponseStatus(value = HttpStatus.SERVICE_UNAVAILABLE)
+public class EngineBusy extends RuntimeException {
+    private final int retryAfterSeconds;
+
+    public EngineBusy(String message, int retryAfterSeconds) {
+        super(message);
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+
+    /** @return seconds the client should wait before asking again */
+    public int retryAfterSeconds() {
+        return retryAfterSeconds;
+    }
+}
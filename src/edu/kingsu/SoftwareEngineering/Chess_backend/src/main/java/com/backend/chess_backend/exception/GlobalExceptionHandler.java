@@ -1,5 +1,6 @@
 package com.backend.chess_backend.exception;
 
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
@@ -34,6 +35,29 @@ public class GlobalExceptionHandler {
         return ResponseEntity.status(status).body(body);
     }
 
+    @ExceptionHandler(EngineBusy.class)
+    public ResponseEntity<ErrorResponse> handleEngineBusy(EngineBusy ex, HttpServletRequest request) {
+        HttpStatus status = HttpStatus.SERVICE_UNAVAILABLE;
+        String errorId = UUID.randomUUID().toString();
+
+        // Load shedding is expected under peaks: no stack trace
+        log.warn("errorId={} path={} status={} reason={} message={}",
+                errorId, request.getRequestURI(), status.value(), status.getReasonPhrase(), ex.getMessage());
+
+        ErrorResponse body = new ErrorResponse(
+                Instant.now(),
+                status.value(),
+                status.getReasonPhrase(),
+                ex.getMessage(),
+                request.getRequestURI(),
+                errorId
+        );
+
+        return ResponseEntity.status(status)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(ex.retryAfterSeconds()))
+                .body(body);
+    }
+
     public static record ErrorResponse(
             Instant timestamp,
             int status,
@@ -0,0 +1,184 @@
+package com.backend.chess_backend.services;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import jakarta.annotation.PreDestroy;
+import org.springframework.http.codec.ServerSentEvent;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+
+import com.backend.chess_backend.config.AnalysisProperties;
+import com.backend.chess_backend.domain.engine.Search;
+import com.backend.chess_backend.domain.engine.SearchLimits;
+import com.backend.chess_backend.domain.engine.SearchResult;
+import com.backend.chess_backend.domain.rules.Move;
+import com.backend.chess_backend.exception.EngineBusy;
+import com.backend.chess_backend.exception.IllegalActivity;
+import com.backend.chess_backend.web.AnalysisDto;
+
+/**
+ * Application service behind {@code GET /api/game/{id}/analysis}: a search whose progress is
+ * streamed to the client as Server-Sent Events.
+ * <p>
+ * The search runs on a snapshot of the game, on one of {@link AnalysisProperties#streamCount()}
+ * analysis threads, and reports every completed iteration of iterative deepening as an
+ * {@value #INFO} event (depth, score, PV, nodes and nodes per second), so the client has a first
+ * answer within milliseconds and a better one every iteration. When the budget runs out a final
+ * {@value #BEST_MOVE} event is sent and the stream completes.
+ * </p>
+ *
+ * <h2>Cancellation</h2>
+ * <p>
+ * Disposing the returned {@link Flux}, which the web layer does when the client disconnects, sets
+ * the search's stop flag, and the search stops within a few thousand nodes. A servlet container
+ * only notices a closed connection when it writes to it, so a comment line is written every
+ * {@code chess.analysis.heartbeat-millis}; otherwise a deep iteration could keep searching for an
+ * absent client until it completes.
+ * </p>
+ *
+ * <p>
+ * A stream takes its thread when it is requested, not when it is subscribed to; with every thread
+ * taken the request is refused with {@link EngineBusy} (503 and {@code Retry-After}). The returned
+ * {@link Flux} must be subscribed to exactly once.
+ * </p>
+ *
+ * @author Alain Uwishema
+ * @since 0.2
+ */
+@Service
+public class AnalysisService {
+    /** Event name of an iteration report. */
+    public static final String INFO = "info";
+    /** Event name of the final result. */
+    public static final String BEST_MOVE = "bestmove";
+
+    private static final ServerSentEvent<AnalysisDto> KEEP_ALIVE = ServerSentEvent.<AnalysisDto>builder().comment("keep-alive").build();
+
+    private final GameService games;
+    private final EngineService engine;
+    private final AnalysisProperties props;
+    private final int streams;
+    private final Semaphore slots;
+    private final ExecutorService pool;
+    private final ScheduledExecutorService heartbeat;
+
+    public AnalysisService(GameService games, EngineService engine, AnalysisProperties props) {
+        this.games = games;
+        this.engine = engine;
+        this.props = props;
+        this.streams = props.streamCount();
+        this.slots = new Semaphore(streams);
+        AtomicInteger n = new AtomicInteger();
+        this.pool = Executors.newFixedThreadPool(streams, r -> {
+            Thread t = new Thread(r, "engine-analysis-" + n.incrementAndGet());
+            t.setDaemon(true);
+            return t;
+        });
+        this.heartbeat = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "engine-analysis-heartbeat");
+            t.setDaemon(true);
+            return t;
+        });
+    }
+
+    @PreDestroy
+    void shutdown() {
+        pool.shutdownNow();
+        heartbeat.shutdownNow();
+    }
+
+    /**
+     * Starts analysing the current position of a game.
+     *
+     * @param id         game id
+     * @param depth      requested depth limit, or {@code null} for the configured maximum
+     * @param moveTimeMs requested analysis time, or {@code null} for the configured maximum
+     * @param threads    requested search threads, or {@code null} for the engine's default
+     * @return {@value #INFO} events, one per completed iteration, then one {@value #BEST_MOVE} event;
+     *         keep-alive comments in between
+     * @throws java.util.NoSuchElementException if the game does not exist
+     * @throws IllegalActivity if the game is already over
+     * @throws EngineBusy if every analysis thread is taken
+     */
+    public Flux<ServerSentEvent<AnalysisDto>> analyse(String id, Integer depth, Long moveTimeMs, Integer threads) {
+        GameService.Snapshot snap = games.snapshot(id);
+        if (snap.status().isOver()) throw new IllegalActivity("Game is over: " + snap.status() + ".");
+        SearchLimits limits = limits(depth, moveTimeMs);
+        if (!slots.tryAcquire()) {
+            throw new EngineBusy("Too many analyses are running; try again later.", props.retryAfterSeconds());
+        }
+
+        return Flux.create(sink -> {
+            AtomicBoolean stop = new AtomicBoolean();
+            long every = Math.max(1, props.heartbeatMillis());
+            ScheduledFuture<?> beat = heartbeat.scheduleAtFixedRate(() -> sink.next(KEEP_ALIVE), every, every, TimeUnit.MILLISECONDS);
+            sink.onDispose(() -> {
+                stop.set(true);
+                beat.cancel(false);
+            });
+            try {
+                pool.execute(() -> {
+                    SearchResult r = null;
+                    Throwable error = null;
+                    try {
+                        r = engine.search(snap.position(), snap.history(), limits, threads, stop,
+                                it -> sink.next(event(INFO, toDto(id, snap.rev(), it))));
+                    } catch (Throwable t) {
+                        error = t;
+                    } finally {
+                        slots.release();
+                    }
+                    // The thread is free before the stream ends, so a client may start the next analysis at once
+                    if (error != null) {
+                        sink.error(error);
+                    } else {
+                        sink.next(event(BEST_MOVE, toDto(id, snap.rev(), r)));
+                        sink.complete();
+                    }
+                });
+            } catch (RejectedExecutionException e) {
+                slots.release();
+                sink.error(e);
+            }
+        });
+    }
+
+    /** @return streams currently analysing */
+    public int active() {
+        return streams - slots.availablePermits();
+    }
+
+    /** Clamps a request's depth and time to the configured maxima. */
+    private SearchLimits limits(Integer depth, Long moveTimeMs) {
+        int d = depth == null || depth <= 0 ? props.maxDepth() : Math.min(depth, props.maxDepth());
+        long t = moveTimeMs == null || moveTimeMs <= 0 ? props.maxTimeMillis() : Math.min(moveTimeMs, props.maxTimeMillis());
+        return new SearchLimits(d, t, 0);
+    }
+
+    private static ServerSentEvent<AnalysisDto> event(String name, AnalysisDto dto) {
+        return ServerSentEvent.builder(dto).event(name).id(String.valueOf(dto.depth())).build();
+    }
+
+    private static AnalysisDto toDto(String id, int rev, SearchResult r) {
+        List<String> pv = new ArrayList<>(r.pv().length);
+        for (int m : r.pv()) pv.add(Move.toUci(m));
+        Integer score = null, mate = null;
+        if (Search.isMateScore(r.score())) {
+            mate = Search.mateMoves(r.score());
+        } else {
+            score = r.score();
+        }
+        long nps = r.nodes() * 1000 / Math.max(1, r.timeMillis());
+        return new AnalysisDto(id, rev, r.depth(), Move.toUci(r.bestMove()), score, mate, pv, r.nodes(), nps, r.timeMillis());
+    }
+}
@@ -0,0 +1,249 @@
+package com.backend.chess_backend.services;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PreDestroy;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import com.backend.chess_backend.config.BatchProperties;
+import com.backend.chess_backend.domain.Epd;
+import com.backend.chess_backend.domain.Fen;
+import com.backend.chess_backend.domain.Position;
+import com.backend.chess_backend.domain.engine.LazySmp;
+import com.backend.chess_backend.domain.engine.Search;
+import com.backend.chess_backend.domain.engine.SearchLimits;
+import com.backend.chess_backend.domain.engine.SearchResult;
+import com.backend.chess_backend.domain.engine.TranspositionTable;
+import com.backend.chess_backend.domain.rules.Move;
+import com.backend.chess_backend.exception.IllegalActivity;
+import com.backend.chess_backend.web.BatchPositionRequest;
+import com.backend.chess_backend.web.BatchResultDto;
+
+/**
+ * Application service behind {@code POST /api/analysis/batch}: many independent positions analysed
+ * in parallel, for offline jobs such as puzzle validation or game annotation.
+ * <p>
+ * The request is read line by line, as NDJSON ({@link BatchPositionRequest} per line) or as EPD
+ * ({@link Epd} per line); blank lines are skipped. Lines are read while the batch runs, a few
+ * positions ahead of the searches, so analysis and results start with the first line of the upload
+ * and a large batch is never held in memory; the position limit is checked as lines arrive.
+ * </p>
+ *
+ * <p>
+ * Every position gets the same budget and is searched single-threaded with the engine's
+ * tablebases, but with a transposition table of its own ({@code chess.batch.hash-mb}): sharing the
+ * engine's table would fill it with positions no game will reach and evict the entries of games in
+ * progress. The table is aged once per batch, so results of earlier batches are replaced first.
+ * Positions are submitted one by one to a {@link ForkJoinPool} shared by all batches, so a worker
+ * that finishes an easy position takes the next queued one at once and every core stays busy
+ * however uneven the positions are.
+ * Results are emitted in completion order.
+ * </p>
+ *
+ * <p>
+ * A line that cannot be read, an unplayable position or a failed search produces a result with
+ * {@code error} set; the rest of the batch carries on. Cancelling the returned {@link Flux} (the
+ * client disconnecting) stops the positions being searched and skips the ones not started. Only a
+ * batch the pool refuses to run (the service is shutting down) fails as a whole, with
+ * {@link RejectedExecutionException}.
+ * </p>
+ *
+ * @author Alain Uwishema
+ * @since 0.2
+ */
+@Service
+public class BatchAnalysisService {
+    private final BatchProperties props;
+    private final ObjectMapper json;
+    private final ForkJoinPool pool;
+    private final TranspositionTable tt;
+    /** Single-threaded searches on the batch's own table; helpers are never requested. */
+    private final LazySmp smp;
+
+    public BatchAnalysisService(TablebaseService tablebases, BatchProperties props, ObjectMapper json) {
+        this.props = props;
+        this.json = json;
+        this.pool = new ForkJoinPool(props.threads(), p -> {
+            ForkJoinWorkerThread t = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(p);
+            t.setName("engine-batch-" + t.getPoolIndex());
+            return t;
+        }, null, false);
+        this.tt = new TranspositionTable(props.hashMb());
+        this.smp = new LazySmp(tt, tablebases.tablebase(), pool, props.threads());
+    }
+
+    @PreDestroy
+    void shutdown() {
+        pool.shutdownNow();
+    }
+
+    /**
+     * Analyses positions given as NDJSON, one <code>{"id": ..., "fen": ...}</code> object per line.
+     *
+     * @param in         the request body, read as the results are consumed
+     * @param depth      depth limit per position, or {@code null} for the configured maximum
+     * @param moveTimeMs time per position, or {@code null} for the configured default
+     * @param nodes      node limit per position, or {@code null} for none
+     * @return one result per position, in completion order; fails with {@link IllegalActivity} when
+     *         the body holds more than {@code chess.batch.max-positions} positions, and with
+     *         {@link UncheckedIOException} if it cannot be read, after the positions already read
+     *         are answered
+     */
+    public Flux<BatchResultDto> analyseNdjson(Reader in, Integer depth, Long moveTimeMs, Long nodes) {
+        return analyse(in, false, limits(depth, moveTimeMs, nodes));
+    }
+
+    /**
+     * Analyses positions given as EPD records, one per line; the {@code id} operation is echoed.
+     *
+     * @param in         the request body, read as the results are consumed
+     * @param depth      depth limit per position, or {@code null} for the configured maximum
+     * @param moveTimeMs time per position, or {@code null} for the configured default
+     * @param nodes      node limit per position, or {@code null} for none
+     * @return one result per position, in completion order; fails with {@link IllegalActivity} when
+     *         the body holds more than {@code chess.batch.max-positions} positions, and with
+     *         {@link UncheckedIOException} if it cannot be read, after the positions already read
+     *         are answered
+     */
+    public Flux<BatchResultDto> analyseEpd(Reader in, Integer depth, Long moveTimeMs, Long nodes) {
+        return analyse(in, true, limits(depth, moveTimeMs, nodes));
+    }
+
+    /** A submitted position: either a playable position or the reason it is not one. */
+    private record Job(int index, String id, String fen, Position position, String error) {}
+
+    /**
+     * Reads one job per non-blank line, only as fast as the searches take them. Reading blocks on the
+     * request body, so it runs on the bounded-elastic scheduler rather than on a batch worker; at most
+     * {@link #readAhead()} positions are read and not yet finished at any time.
+     */
+    private Flux<BatchResultDto> analyse(Reader in, boolean epd, SearchLimits limits) {
+        BufferedReader lines = in instanceof BufferedReader b ? b : new BufferedReader(in);
+        Flux<Job> jobs = Flux.generate(() -> 0, (index, sink) -> {
+            String line;
+            try {
+                do {
+                    line = lines.readLine();
+                } while (line != null && line.isBlank());
+            } catch (IOException e) {
+                sink.error(new UncheckedIOException(e));
+                return index;
+            }
+            if (line == null) {
+                sink.complete();
+            } else if (index == props.maxPositions()) {
+                sink.error(new IllegalActivity("A batch may hold at most " + props.maxPositions() + " positions."));
+            } else {
+                sink.next(epd ? epdJob(index, line) : ndjsonJob(index, line));
+            }
+            return index + 1;
+        });
+        return jobs.doOnSubscribe(s -> tt.newSearch())
+                .subscribeOn(Schedulers.boundedElastic())
+                .flatMapDelayError(job -> search(job, limits), readAhead(), 1);
+    }
+
+    /** Positions a batch keeps in flight: enough that a worker finishing one finds the next one read. */
+    private int readAhead() {
+        return 2 * props.threads();
+    }
+
+    private Job ndjsonJob(int index, String line) {
+        BatchPositionRequest req;
+        try {
+            req = json.readValue(line, BatchPositionRequest.class);
+        } catch (JsonProcessingException e) {
+            return new Job(index, null, null, null, "Not a JSON object: " + e.getOriginalMessage());
+        }
+        if (req.fen() == null) return new Job(index, req.id(), null, null, "Missing \"fen\".");
+        return job(index, req.id(), req.fen());
+    }
+
+    private static Job epdJob(int index, String line) {
+        Epd epd;
+        try {
+            epd = Epd.parse(line);
+        } catch (IllegalArgumentException e) {
+            return new Job(index, null, line.strip(), null, e.getMessage());
+        }
+        return job(index, epd.id(), epd.fen());
+    }
+
+    private static Job job(int index, String id, String fen) {
+        Position position = new Position();
+        try {
+            Fen.read(fen, position);
+            Fen.validate(position);
+        } catch (IllegalArgumentException e) {
+            return new Job(index, id, fen, null, e.getMessage());
+        }
+        return new Job(index, id, fen, position, null);
+    }
+
+    /**
+     * Searches one position on the batch pool. Cancelling the result stops the search, or skips it if
+     * it has not started yet. Anything the search throws becomes the position's error; if the pool
+     * refuses the position (it is shutting down) the result fails instead, ending the batch once the
+     * positions in flight are answered.
+     */
+    private Mono<BatchResultDto> search(Job job, SearchLimits limits) {
+        if (job.error() != null) return Mono.just(failure(job, job.error()));
+        return Mono.create(sink -> {
+            AtomicBoolean stop = new AtomicBoolean();
+            sink.onCancel(() -> stop.set(true));
+            try {
+                pool.execute(() -> {
+                    if (stop.get()) return;
+                    BatchResultDto result;
+                    try {
+                        result = toDto(job, smp.run(job.position(), new long[0], limits, 0, stop, null));
+                    } catch (Throwable t) {
+                        result = failure(job, t.toString());
+                    }
+                    sink.success(result);
+                });
+            } catch (RejectedExecutionException e) {
+                sink.error(e);
+            }
+        });
+    }
+
+    /** Clamps a request's budget to the configured maxima. */
+    private SearchLimits limits(Integer depth, Long moveTimeMs, Long nodes) {
+        int d = depth == null || depth <= 0 ? props.maxDepth() : Math.min(depth, props.maxDepth());
+        long t = moveTimeMs == null || moveTimeMs <= 0 ? props.moveTimeMillis() : moveTimeMs;
+        if (props.maxMoveTimeMillis() > 0) t = Math.min(t, props.maxMoveTimeMillis());
+        return new SearchLimits(d, t, nodes == null || nodes <= 0 ? 0 : nodes);
+    }
+
+    private static BatchResultDto failure(Job job, String error) {
+        return new BatchResultDto(job.index(), job.id(), job.fen(), null, null, null, 0, List.of(), 0, 0, error);
+    }
+
+    private static BatchResultDto toDto(Job job, SearchResult r) {
+        List<String> pv = new ArrayList<>(r.pv().length);
+        for (int m : r.pv()) pv.add(Move.toUci(m));
+        Integer score = null, mate = null;
+        if (Search.isMateScore(r.score())) {
+            mate = Search.mateMoves(r.score());
+        } else {
+            score = r.score();
+        }
+        String move = r.bestMove() == Move.NONE ? null : Move.toUci(r.bestMove());
+        return new BatchResultDto(job.index(), job.id(), job.fen(), move, score, mate, r.depth(), pv, r.nodes(), r.timeMillis(), null);
+    }
+}
@@ -0,0 +1,204 @@
+package com.backend.chess_backend.services;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+
+import com.backend.chess_backend.config.BookProperties;
+import com.backend.chess_backend.config.EngineProperties;
+import com.backend.chess_backend.domain.Board;
+import com.backend.chess_backend.domain.Position;
+import com.backend.chess_backend.domain.engine.LazySmp;
+import com.backend.chess_backend.domain.engine.PolyglotBook;
+import com.backend.chess_backend.domain.engine.PolyglotKeys;
+import com.backend.chess_backend.domain.engine.SearchLimits;
+import com.backend.chess_backend.domain.engine.SearchResult;
+import com.backend.chess_backend.domain.engine.TranspositionTable;
+import com.backend.chess_backend.domain.rules.Move;
+import com.backend.chess_backend.exception.IllegalActivity;
+import com.backend.chess_backend.web.GameStateDto;
+import com.backend.chess_backend.web.MoveRequest;
+
+/**
+ * Application service for the computer opponent.
+ * <p>
+ * An engine move is computed on a snapshot of the game taken under the game's lock, so the search
+ * itself runs without holding it and other games (or reads of this one) are never blocked. The
+ * chosen move is then submitted through {@link GameService#makeMove(String, MoveRequest)} with the
+ * snapshot's revision: it goes through exactly the same validation as a human move, and if the game
+ * changed while the engine was thinking the stale revision is rejected with 409.
+ * </p>
+ *
+ * <h2>Threads</h2>
+ * <p>
+ * Searches run as {@link LazySmp}: the request thread searches, joined by helper threads from one
+ * fixed pool shared by all requests. A request asking for {@code n} threads gets up to {@code n - 1}
+ * helpers, but only as many as are free at that moment (a semaphore hands out pool slots without
+ * waiting), so a burst of deep-analysis requests degrades to fewer threads each instead of queueing.
+ * All searches share one {@link TranspositionTable} of {@code chess.engine.hash-mb} and consult the
+ * endgame tablebases of {@link TablebaseService}. The table is aged on a clock of its own, at most
+ * once every {@value #TABLE_AGING_MILLIS} ms when searches are running, rather than per search: with
+ * many games searching at once, ageing it per search would demote every other game's live entries.
+ * </p>
+ *
+ * <h2>Opening book</h2>
+ * <p>
+ * If a Polyglot book is configured ({@link BookProperties}), positions found in it are answered with a
+ * weighted random book move and no search at all. A book that cannot be opened is logged and
+ * ignored; the engine then searches every position.
+ * </p>
+ *
+ * @author Alain Uwishema
+ * @since 0.2
+ */
+@Service
+public class EngineService {
+    private static final Logger log = LoggerFactory.getLogger(EngineService.class);
+    /** Least time between two generations of the shared table. */
+    static final long TABLE_AGING_MILLIS = 10_000;
+
+    private final GameService games;
+    private final EngineProperties props;
+    private final ExecutorService helperPool;
+    private final Semaphore helperSlots;
+    private final TranspositionTable tt;
+    /** {@link System#nanoTime()} at which the table is next aged. */
+    private final AtomicLong nextAging = new AtomicLong(System.nanoTime());
+    private final LazySmp smp;
+    /** Opening book, or {@code null} when none is configured. */
+    private final PolyglotBook book;
+
+    public EngineService(GameService games, EngineProperties props, BookProperties bookProps, TablebaseService tablebases) {
+        this.games = games;
+        this.props = props;
+        int poolSize = props.helperPoolSize();
+        AtomicInteger n = new AtomicInteger();
+        this.helperPool = Executors.newFixedThreadPool(poolSize, r -> {
+            Thread t = new Thread(r, "engine-helper-" + n.incrementAndGet());
+            t.setDaemon(true);
+            return t;
+        });
+        this.helperSlots = new Semaphore(poolSize);
+        // Searches kept for reuse: one per helper plus one per core for the request threads; more
+        // simultaneous requests than cores allocate a Search for the moment and drop it afterwards
+        int maxIdle = poolSize + Runtime.getRuntime().availableProcessors();
+        this.tt = new TranspositionTable(props.hashMb());
+        this.smp = new LazySmp(tt, tablebases.tablebase(), helperPool, maxIdle);
+        this.book = openBook(bookProps);
+    }
+
+    private static PolyglotBook openBook(BookProperties bookProps) {
+        if (!bookProps.enabled()) return null;
+        try {
+            PolyglotBook b = PolyglotBook.open(Path.of(bookProps.path()), PolyglotKeys.load(Path.of(bookProps.keysPath())));
+            log.info("Opening book {} mapped: {} entries", bookProps.path(), b.size());
+            return b;
+        } catch (IOException | RuntimeException e) {
+            log.warn("Opening book {} not available: {}", bookProps.path(), e.toString());
+            return null;
+        }
+    }
+
+    @PreDestroy
+    void shutdown() {
+        helperPool.shutdownNow();
+    }
+
+    /**
+     * Lets the engine play one move for the side to move.
+     *
+     * @param id         game id
+     * @param depth      requested depth limit, or {@code null} for the configured maximum
+     * @param moveTimeMs requested thinking time, or {@code null} for the configured default
+     * @param threads    requested search threads, or {@code null} for the configured default
+     * @return the game state after the engine's move
+     * @throws java.util.NoSuchElementException if the game does not exist
+     * @throws IllegalActivity if the game is already over
+     */
+    public GameStateDto engineMove(String id, Integer depth, Long moveTimeMs, Integer threads) {
+        GameService.Snapshot snap = games.snapshot(id);
+        if (snap.status().isOver()) throw new IllegalActivity("Game is over: " + snap.status() + ".");
+
+        int move = bookMove(snap.position());
+        if (move == Move.NONE) move = search(snap.position(), snap.history(), limits(depth, moveTimeMs), threads).bestMove();
+        if (move == Move.NONE) throw new IllegalActivity("No legal move available.");
+
+        String promotion = Move.isPromotion(move) ? String.valueOf("nbrq".charAt(Move.promotionType(move) - Position.KNIGHT)) : null;
+        return games.makeMove(id, new MoveRequest(
+                Board.toAlgebraic(Move.from(move)), Board.toAlgebraic(Move.to(move)), promotion, snap.rev()));
+    }
+
+    /**
+     * Looks the position up in the opening book.
+     *
+     * @param position position to look up; only read
+     * @return a weighted random book move, or {@link Move#NONE} if there is no book or no entry
+     */
+    public int bookMove(Position position) {
+        return book == null ? Move.NONE : book.pick(position, ThreadLocalRandom.current());
+    }
+
+    /**
+     * Runs a (possibly parallel) search with helpers borrowed from the shared pool.
+     *
+     * @param position position to search; only read
+     * @param history  game history for repetition detection, oldest first, ending with the position's key
+     * @param limits   budget
+     * @param threads  requested threads including the calling one, or {@code null} for the default
+     * @return the search result
+     */
+    public SearchResult search(Position position, long[] history, SearchLimits limits, Integer threads) {
+        return search(position, history, limits, threads, new AtomicBoolean(), null);
+    }
+
+    /**
+     * Runs a search like {@link #search(Position, long[], SearchLimits, Integer)} that can be stopped
+     * from another thread and reports each completed iteration.
+     *
+     * @param position    position to search; only read
+     * @param history     game history for repetition detection, oldest first, ending with the position's key
+     * @param limits      budget
+     * @param threads     requested threads including the calling one, or {@code null} for the default
+     * @param stop        set it to end the search as soon as possible
+     * @param onIteration called on the calling thread after every completed iteration, or {@code null}
+     * @return the search result
+     */
+    public SearchResult search(Position position, long[] history, SearchLimits limits, Integer threads,
+                               AtomicBoolean stop, Consumer<SearchResult> onIteration) {
+        ageTable();
+        int wanted = (threads == null || threads <= 0 ? props.threads() : threads) - 1;
+        int helpers = 0;
+        while (helpers < wanted && helperSlots.tryAcquire()) helpers++;
+        try {
+            return smp.run(position, history, limits, helpers, stop, onIteration);
+        } finally {
+            helperSlots.release(helpers);
+        }
+    }
+
+    /** Starts a new table generation if the interval has passed; one caller wins when several race. */
+    private void ageTable() {
+        long now = System.nanoTime(), due = nextAging.get();
+        if (now - due >= 0 && nextAging.compareAndSet(due, now + TABLE_AGING_MILLIS * 1_000_000)) tt.newSearch();
+    }
+
+    /** Clamps a request's depth and time to the configured maxima. */
+    SearchLimits limits(Integer depth, Long moveTimeMs) {
+        int d = depth == null || depth <= 0 ? props.maxDepth() : Math.min(depth, props.maxDepth());
+        long t = moveTimeMs == null || moveTimeMs <= 0 ? props.moveTimeMillis() : moveTimeMs;
+        if (props.maxMoveTimeMillis() > 0) t = Math.min(t, props.maxMoveTimeMillis());
+        return new SearchLimits(d, t, props.maxNodes());
+    }
+}
@@ -1,10 +1,11 @@
 package com.backend.chess_backend.services;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.NoSuchElementException;
 import java.util.UUID;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
-import java.util.List;
 
 import com.backend.chess_backend.exception.IllegalActivity;
 import org.springframework.http.HttpStatus;
@@ -14,26 +15,36 @@ import org.springframework.web.server.ResponseStatusException;
 import com.backend.chess_backend.domain.Board;
 import com.backend.chess_backend.domain.BoardSetups;
 import com.backend.chess_backend.domain.BoardViews;
+import com.backend.chess_backend.domain.Fen;
+import com.backend.chess_backend.domain.GameStatus;
 import com.backend.chess_backend.domain.PieceColor;
+import com.backend.chess_backend.domain.Position;
+import com.backend.chess_backend.domain.PositionHistory;
+import com.backend.chess_backend.domain.Zobrist;
+import com.backend.chess_backend.domain.engine.See;
 import com.backend.chess_backend.web.GameStateDto;
 import com.backend.chess_backend.web.MoveRequest;
+import com.backend.chess_backend.web.ThreatsDto;
 import com.backend.chess_backend.domain.rules.LegalMoves;
+import com.backend.chess_backend.domain.rules.Move;
+import com.backend.chess_backend.domain.rules.MoveList;
 
 @Service
 /**
  * Application service that manages in-memory chess games.
  * <p>
  * Exposes operations to create a game, fetch its current state, and apply a move.
- * State is held in a thread-safe map keyed by a server-generated game id. This service
- * does not enforce chess move legality; it performs naive moves and returns an
- * authoritative view via {@link com.backend.chess_backend.web.GameStateDto}.
+ * State is held in a thread-safe map keyed by a server-generated game id. Move legality is
+ * delegated to {@link LegalMoves}; accepted moves are applied in place to each game's bitboard
+ * {@link Position} and an authoritative view is returned via {@link com.backend.chess_backend.web.GameStateDto}.
  * </p>
  *
  * <h2>Concurrency</h2>
  * <p>
  * Backed by a {@link java.util.concurrent.ConcurrentMap}. Methods operate on a
- * per-game basis. If optimistic concurrency is desired, the API can compare
- * client-provided revisions with the server's {@code rev} and reject conflicts.
+ * per-game basis: each game is its own lock, so requests for different games never contend and
+ * a move, a read or a snapshot of one game always sees a consistent position. Moves carry the
+ * client's revision and are rejected with 409 when it is stale.
  * </p>
  *
  * @author Alain Uwishema
@@ -53,10 +64,36 @@ public class GameService {
      * @return the initial authoritative game state (revision 0, WHITE to move)
      */
     public GameStateDto createGame() {
+        return createGame(null);
+    }
+
+    /**
+     * Creates a new game starting from the given FEN position, or from the standard starting
+     * position when {@code fen} is {@code null} or blank. The record is parsed straight into the
+     * game's position and must describe a playable position (see {@link Fen#validate(Position)}).
+     *
+     * A position that is already decided (e.g. checkmate) is accepted and reported with that status.
+     *
+     * @param fen starting position as a FEN record; may be {@code null}
+     * @return the initial authoritative game state (revision 0)
+     * @throws IllegalActivity if {@code fen} is malformed or not a playable position
+     */
+    public GameStateDto createGame(String fen) {
+        Position position = new Position();
+        if (fen == null || fen.isBlank()) {
+            BoardSetups.fillStandard(position);
+        } else {
+            try {
+                Fen.read(fen, position);
+                Fen.validate(position);
+            } catch (IllegalArgumentException e) {
+                throw new IllegalActivity(e.getMessage());
+            }
+        }
         String id = UUID.randomUUID().toString();
-        Board board = new Board();
-        BoardSetups.fillStandard(board);
-        Game g = new Game(id, board);
+        Game g = new Game(id, position);
+        g.history.push(position.key());
+        g.status = status(g);
         games.put(id, g);
         return g.toDto();
     }
@@ -69,65 +106,143 @@ public class GameService {
      * @throws java.util.NoSuchElementException if no game exists for {@code id}
      */
     public GameStateDto getGame(String id) {
-        Game g = games.get(id);
-        if (g == null) throw new NoSuchElementException("Game not found: " + id);
-        return g.toDto();
+        Game g = find(id);
+        synchronized (g) {
+            return g.toDto();
+        }
     }
 
     /**
-     * Returns pseudo-legal targets for the piece on a given square, for UI highlighting.
-     * Pseudo-legal = movement pattern with bounds/occupancy; king-safety may be added later.
+     * Immutable copy of a game's state for work done outside the game's lock (engine search).
+     *
+     * @param position copy of the current position (empty undo stack)
+     * @param history  recent position keys, oldest first, ending with the current one
+     * @param rev      revision the copy was taken at
+     * @param status   status at that revision
+     */
+    record Snapshot(Position position, long[] history, int rev, GameStatus status) {}
+
+    /**
+     * Takes a consistent {@link Snapshot} of a game.
+     *
+     * @param id game id
+     * @return the snapshot
+     * @throws java.util.NoSuchElementException if the game does not exist
+     */
+    Snapshot snapshot(String id) {
+        Game g = find(id);
+        synchronized (g) {
+            return new Snapshot(g.position.copy(), g.history.toArray(), g.rev, g.status);
+        }
+    }
+
+    /**
+     * Returns legal moves for the piece on a given square, for UI highlighting.
+     * Pins and checks are respected; castling, en passant and promotions are included.
+     * Moves are packed {@link com.backend.chess_backend.domain.rules.Move} ints; the web layer
+     * converts them to algebraic squares.
      *
      * @param id   game id
      * @param from source square ("a1".."h8")
-     * @return list of algebraic destination squares (may be empty)
+     * @return a fresh move list (may be empty)
      * @throws java.util.NoSuchElementException if the game does not exist
      */
-    public List<String> getPseudoLegalTargets(String id, String from) {
-        Game g = games.get(id);
-        if (g == null) throw new NoSuchElementException("Game not found: " + id);
-        if (from == null || from.length() != 2) return java.util.List.of();
+    public MoveList getLegalTargets(String id, String from) {
+        Game g = find(id);
+        MoveList moves = new MoveList();
+        if (!isSquare(from)) return moves;
         int idx = Board.sq(from);
-        var piece = g.board.getAt(idx);
-        if (piece == null) return java.util.List.of();
-        // Only highlight for the side to move
-        if (piece.getColor() != g.turn) return java.util.List.of();
-        return legalMoves.pseudoLegalTargets(g.board, from);
+        synchronized (g) {
+            if (g.status.isOver()) return moves;
+            // Only highlight for the side to move (empty squares have no targets)
+            if ((g.position.occupancy(g.position.sideToMove()) & (1L << idx)) == 0) return moves;
+            legalMoves.legalMoves(g.position, idx, moves);
+        }
+        return moves;
     }
 
     /**
-     * Applies a naive move to the identified game. This method does not validate
-     * chess rules (checks, pins, legal destinations, etc.). It parses algebraic
-     * coordinates from the request, updates the board, bumps the revision, toggles
-     * the side to move, and records the last move.
+     * Lists the pieces of the side to move that hang: for each one (the king aside), the material
+     * the opponent would win by starting an exchange on its square, by {@link See#exchange}.
+     * Nothing is searched, so the answer takes microseconds; it ignores pins and does not see
+     * threats that need a quiet move first.
+     *
+     * @param id game id
+     * @return threatened pieces with the material at stake
+     * @throws java.util.NoSuchElementException if the game does not exist
+     */
+    public ThreatsDto threats(String id) {
+        Game g = find(id);
+        synchronized (g) {
+            Position pos = g.position;
+            int us = pos.sideToMove();
+            List<ThreatsDto.Threat> threats = new ArrayList<>();
+            long pieces = pos.occupancy(us) & ~pos.pieces(us, Position.KING);
+            while (pieces != 0) {
+                int sq = Long.numberOfTrailingZeros(pieces);
+                pieces &= pieces - 1;
+                int loss = See.exchange(pos, sq, us ^ 1);
+                if (loss > 0) threats.add(new ThreatsDto.Threat(Board.toAlgebraic(sq), BoardViews.code(pos.pieceAt(sq)), loss));
+            }
+            return new ThreatsDto(id, g.rev, g.turn().name(), threats);
+        }
+    }
+
+    /**
+     * Applies a move to the identified game. The request is resolved by the rules engine into
+     * a packed move, which is then applied with {@link Position#makeMove(int)} so captured pieces,
+     * castling rights, the en-passant square and the clocks are all tracked on the position.
+     * Afterwards the revision is bumped, the last move recorded and the game status recomputed for the
+     * side now to move (checkmate, stalemate, insufficient material, threefold repetition and the
+     * fifty-move rule end the game).
      *
      * @param id  the game identifier
      * @param req the move request containing {@code from}, {@code to}, and optional promotion/clientRev
      * @return the updated authoritative game state after the move
      * @throws java.util.NoSuchElementException if no game exists for {@code id}
+     * @throws IllegalActivity if the game is already over or the move is not legal
      * @throws IllegalStateException if there is no piece on the {@code from} square
      * @throws IllegalArgumentException if either square decodes outside [0..63]
      */
     public GameStateDto makeMove(String id, MoveRequest req) {
-        Game g = games.get(id);
-        if (g == null) throw new NoSuchElementException("Game not found: " + id);
-        validateBasicMove(g, req);
+        Game g = find(id);
+        synchronized (g) {
+            validateBasicMove(g, req);
 
-        // Delegate full movement legality to the domain rules service
-        if (!legalMoves.isLegal(g.board, g.turn, req)) {
-            throw new IllegalActivity("Illegal move: violates piece movement or path rules.");
-        }
+            // Delegate full movement legality to the domain rules service
+            int move = legalMoves.findMove(g.position, g.turn(), req);
+            if (move == Move.NONE) {
+                throw new IllegalActivity("Illegal move: violates piece movement or path rules.");
+            }
 
-        int from = Board.sq(req.from());
-        int to   = Board.sq(req.to());
-        g.board.move(from, to);
+            g.position.makeMove(move);
 
-        g.rev++;
-        g.lastFrom = req.from();
-        g.lastTo   = req.to();
-        g.turn = (g.turn == PieceColor.WHITE) ? PieceColor.BLACK : PieceColor.WHITE;
+            g.rev++;
+            g.lastFrom = req.from();
+            g.lastTo   = req.to();
+            g.history.push(g.position.key());
+            g.status = status(g);
 
-        return g.toDto();
+            return g.toDto();
+        }
+    }
+
+    private Game find(String id) {
+        Game g = games.get(id);
+        if (g == null) throw new NoSuchElementException("Game not found: " + id);
+        return g;
+    }
+
+    /**
+     * Rules-engine status of the current position, upgraded to a threefold-repetition draw when the
+     * game's key history shows the position for the third time.
+     */
+    private GameStatus status(Game g) {
+        GameStatus s = legalMoves.status(g.position);
+        if (s == GameStatus.IN_PROGRESS && g.history.repetitions(g.position.halfmoveClock()) >= 2) {
+            return GameStatus.DRAW_THREEFOLD_REPETITION;
+        }
+        return s;
     }
 
     /**
@@ -136,9 +251,10 @@ public class GameService {
      * Checks the following in order:
      * <ul>
      *   <li><b>Optimistic concurrency</b>: {@code req.clientRev == g.rev}; otherwise 409 CONFLICT.</li>
+     *   <li><b>Game still running</b>: the status is {@link GameStatus#IN_PROGRESS}; otherwise 422 UNPROCESSABLE_ENTITY.</li>
      *   <li><b>Square format</b>: {@code from}/{@code to} are algebraic squares in {@code a1..h8} (lowercase); otherwise 422 UNPROCESSABLE_ENTITY.</li>
      *   <li><b>Non-no-op</b>: {@code from} and {@code to} must differ; otherwise 422 UNPROCESSABLE_ENTITY.</li>
-     *   <li><b>Presence & turn</b>: a piece exists on {@code from} and its color matches {@code g.turn}; otherwise 422 UNPROCESSABLE_ENTITY.</li>
+     *   <li><b>Presence & turn</b>: a piece exists on {@code from} and its color matches the position's side to move; otherwise 422 UNPROCESSABLE_ENTITY.</li>
      *   <li><b>Destination occupancy</b>: {@code to} must be empty (captures disabled in this phase); otherwise 422 UNPROCESSABLE_ENTITY.</li>
      * </ul>
      * This method does <em>not</em> enforce full chess legality (piece movement, path blocking,
@@ -156,6 +272,10 @@ public class GameService {
             throw new ResponseStatusException(HttpStatus.CONFLICT, "Client revision is stale; refresh and retry.");
         }
 
+        if (g.status.isOver()) {
+            throw new IllegalActivity("Game is over: " + g.status + ".");
+        }
+
         // Squares
         if (!isSquare(req.from()) || !isSquare(req.to())) {
             throw new IllegalActivity( "Squares must be in a1..h8.");
@@ -165,18 +285,18 @@ public class GameService {
         }
 
         // Pieces & turn
-        String fromCode = BoardViews.toPositionMap(g.board).get(req.from());
-        if (fromCode == null) {
+        Position pos = g.position;
+        long fromBit = 1L << Board.sq(req.from());
+        if ((pos.occupied() & fromBit) == 0) {
             throw new IllegalActivity(  "No piece on source square.");
         }
-        char side = (g.turn == PieceColor.WHITE) ? 'w' : 'b';
-        if (fromCode.charAt(0) != side) {
+        long own = pos.occupancy(pos.sideToMove());
+        if ((own & fromBit) == 0) {
             throw new IllegalActivity( "It's not your turn to move that piece.");
         }
 
         // Destination cannot be friendly-occupied (captures allowed)
-        String toCode = BoardViews.toPositionMap(g.board).get(req.to());
-        if (toCode != null && toCode.charAt(0) == side) {
+        if ((own & (1L << Board.sq(req.to()))) != 0) {
             throw new IllegalActivity("Cannot move onto a friendly piece.");
         }
 
@@ -201,17 +321,20 @@ public class GameService {
     /* ---- tiny in-memory Game aggregate ---- */
     /**
      * Internal aggregate representing a single in-memory game instance.
-     * Holds the board, revision, side to move, last move markers, and status label.
+     * Holds the position (which also tracks the side to move and the halfmove clock), the keys of
+     * recent positions for repetition checks, revision, last move markers, and status.
      */
     private static final class Game {
         final String id;
-        final Board board;
+        final Position position;
+        final PositionHistory history = new PositionHistory();
         int rev = 0;
-        PieceColor turn = PieceColor.WHITE;
         String lastFrom, lastTo;
-        String status = "IN_PROGRESS";
+        GameStatus status = GameStatus.IN_PROGRESS;
+
+        Game(String id, Position position) { this.id = id; this.position = position; }
 
-        Game(String id, Board board) { this.id = id; this.board = board; }
+        PieceColor turn() { return Position.toPieceColor(position.sideToMove()); }
 
         /**
          * Projects the current aggregate state into a transport-friendly DTO
@@ -223,11 +346,13 @@ public class GameService {
             return new GameStateDto(
                     id,
                     rev,
-                    BoardViews.toPositionMap(board),
-                    turn.name(),
-                    status,
+                    BoardViews.toPositionMap(position),
+                    turn().name(),
+                    status.name(),
                     lastFrom,
-                    lastTo
+                    lastTo,
+                    Zobrist.toHex(position.key()),
+                    Fen.write(position)
             );
         }
     }
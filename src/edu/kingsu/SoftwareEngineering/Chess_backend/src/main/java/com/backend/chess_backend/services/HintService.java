@@ -0,0 +1,166 @@
+package com.backend.chess_backend.services;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import jakarta.annotation.PreDestroy;
+import org.springframework.stereotype.Service;
+
+import com.backend.chess_backend.config.HintProperties;
+import com.backend.chess_backend.domain.engine.Search;
+import com.backend.chess_backend.domain.engine.SearchLimits;
+import com.backend.chess_backend.domain.engine.SearchResult;
+import com.backend.chess_backend.domain.rules.Move;
+import com.backend.chess_backend.exception.EngineBusy;
+import com.backend.chess_backend.exception.IllegalActivity;
+import com.backend.chess_backend.web.HintDto;
+
+/**
+ * Application service behind {@code GET /api/game/{id}/hint}: engine suggestions that never hold up
+ * the requests that play moves.
+ * <p>
+ * A hint is searched on one of a fixed number of hint workers, single-threaded and on a snapshot of
+ * the game, and handed back as a {@link CompletableFuture}, so the web layer releases its request
+ * thread while the search runs. Moves, reads and engine moves never wait for a hint: however many
+ * hints are requested, at most {@link HintProperties#workerCount()} cores are spent on them.
+ * Opening-book positions are answered at once without using a worker.
+ * </p>
+ *
+ * <h2>Admission</h2>
+ * <p>
+ * A hint takes a slot on admission and frees it when its search ends; there are
+ * {@code workers + queue-capacity} slots. While a worker is free the hint gets the full (requested
+ * or configured) budget. After that each admitted hint gets linearly less time and depth, reaching
+ * {@code min-move-time-millis} and {@code min-depth} for the last queue slot, so a queue drains
+ * faster the longer it is. With every slot taken the hint is refused with {@link EngineBusy}
+ * (503 and {@code Retry-After}).
+ * </p>
+ *
+ * @author Alain Uwishema
+ * @since 0.2
+ */
+@Service
+public class HintService {
+    private final GameService games;
+    private final EngineService engine;
+    private final HintProperties props;
+    private final int workers;
+    private final ThreadPoolExecutor pool;
+    /** Hints admitted and not yet finished: searching or waiting for a worker. */
+    private final AtomicInteger inFlight = new AtomicInteger();
+
+    public HintService(GameService games, EngineService engine, HintProperties props) {
+        this.games = games;
+        this.engine = engine;
+        this.props = props;
+        this.workers = props.workerCount();
+        AtomicInteger n = new AtomicInteger();
+        // The queue is a backstop only: admit() never lets more than queue-capacity hints wait
+        this.pool = new ThreadPoolExecutor(workers, workers, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(Math.max(1, props.queueCapacity())), r -> {
+            Thread t = new Thread(r, "engine-hint-" + n.incrementAndGet());
+            t.setDaemon(true);
+            return t;
+        });
+    }
+
+    @PreDestroy
+    void shutdown() {
+        pool.shutdownNow();
+    }
+
+    /**
+     * Suggests a move for the side to move.
+     *
+     * @param id         game id
+     * @param depth      requested depth limit, or {@code null} for the configured maximum
+     * @param moveTimeMs requested thinking time, or {@code null} for the configured default
+     * @return the hint, completed by a hint worker (or at once for a book move)
+     * @throws java.util.NoSuchElementException if the game does not exist
+     * @throws IllegalActivity if the game is already over
+     * @throws EngineBusy if every hint slot is taken
+     */
+    public CompletableFuture<HintDto> hint(String id, Integer depth, Long moveTimeMs) {
+        GameService.Snapshot snap = games.snapshot(id);
+        if (snap.status().isOver()) throw new IllegalActivity("Game is over: " + snap.status() + ".");
+
+        int book = engine.bookMove(snap.position());
+        if (book != Move.NONE) {
+            return CompletableFuture.completedFuture(new HintDto(id, snap.rev(), Move.toUci(book), "book",
+                    null, null, 0, List.of(Move.toUci(book)), 0, 0, 0, 0));
+        }
+
+        SearchLimits limits = admit(depth, moveTimeMs);
+        CompletableFuture<HintDto> hint = new CompletableFuture<>();
+        try {
+            pool.execute(() -> {
+                HintDto dto = null;
+                Throwable error = null;
+                try {
+                    dto = toDto(id, snap.rev(), engine.search(snap.position(), snap.history(), limits, 1), limits);
+                } catch (Throwable t) {
+                    error = t;
+                } finally {
+                    inFlight.decrementAndGet();
+                }
+                // The slot is free before the caller sees the hint, so asking again at once is admitted
+                if (error != null) hint.completeExceptionally(error);
+                else hint.complete(dto);
+            });
+        } catch (RejectedExecutionException e) {
+            inFlight.decrementAndGet();
+            throw busy();
+        }
+        return hint;
+    }
+
+    /** @return hints admitted and not yet finished */
+    public int inFlight() {
+        return inFlight.get();
+    }
+
+    /**
+     * Takes a slot and sizes the budget by how many hints are ahead of this one.
+     *
+     * @throws EngineBusy if every slot is taken
+     */
+    private SearchLimits admit(Integer depth, Long moveTimeMs) {
+        int slots = workers + props.queueCapacity();
+        int n;
+        do {
+            n = inFlight.get();
+            if (n >= slots) throw busy();
+        } while (!inFlight.compareAndSet(n, n + 1));
+
+        // 0 while a worker is free, 1 for the last queue slot
+        double pressure = props.queueCapacity() == 0 ? 0 : Math.max(0, n + 1 - workers) / (double) props.queueCapacity();
+        long time = moveTimeMs == null || moveTimeMs <= 0 ? props.moveTimeMillis() : Math.min(moveTimeMs, props.moveTimeMillis());
+        int d = depth == null || depth <= 0 ? props.maxDepth() : Math.min(depth, props.maxDepth());
+        time -= Math.round((time - Math.min(time, props.minMoveTimeMillis())) * pressure);
+        d -= (int) Math.round((d - Math.min(d, props.minDepth())) * pressure);
+        return new SearchLimits(d, time, 0);
+    }
+
+    private EngineBusy busy() {
+        return new EngineBusy("Too many hints are being computed; try again shortly.", props.retryAfterSeconds());
+    }
+
+    private static HintDto toDto(String id, int rev, SearchResult r, SearchLimits limits) {
+        List<String> pv = new ArrayList<>(r.pv().length);
+        for (int m : r.pv()) pv.add(Move.toUci(m));
+        Integer score = null, mate = null;
+        if (Search.isMateScore(r.score())) {
+            mate = Search.mateMoves(r.score());
+        } else {
+            score = r.score();
+        }
+        return new HintDto(id, rev, Move.toUci(r.bestMove()), "search", score, mate, r.depth(), pv,
+                r.nodes(), r.timeMillis(), limits.timeMillis(), limits.depth());
+    }
+}
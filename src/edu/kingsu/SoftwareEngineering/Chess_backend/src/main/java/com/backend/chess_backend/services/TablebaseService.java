@@ -0,0 +1,83 @@
+package com.backend.chess_backend.services;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.concurrent.ForkJoinPool;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+
+import com.backend.chess_backend.config.TablebaseProperties;
+import com.backend.chess_backend.domain.Position;
+import com.backend.chess_backend.domain.engine.Bitbases;
+import com.backend.chess_backend.domain.engine.Tablebase;
+import com.backend.chess_backend.web.TablebaseDto;
+
+/**
+ * Application service owning the endgame tablebases: the source the engine's search consults and the
+ * one behind {@code GET /api/game/{id}/tablebase}.
+ * <p>
+ * Probes go to the in-memory {@link Bitbases}. They are loaded from their cache file, or generated
+ * on the common fork-join pool (and cached) when the file is missing; a cache that cannot be
+ * written is logged and the tables kept in memory only.
+ * </p>
+ *
+ * @author Alain Uwishema
+ * @since 0.2
+ */
+@Service
+public class TablebaseService {
+    private static final Logger log = LoggerFactory.getLogger(TablebaseService.class);
+
+    private final GameService games;
+    private final Tablebase tablebase;
+
+    public TablebaseService(GameService games, TablebaseProperties props) {
+        this.games = games;
+        this.tablebase = props.bitbases() ? loadBitbases(props.bitbaseCache()) : Tablebase.NONE;
+    }
+
+    private static Tablebase loadBitbases(String cache) {
+        long start = System.nanoTime();
+        ForkJoinPool pool = ForkJoinPool.commonPool();
+        Bitbases bitbases;
+        if (cache.isBlank()) {
+            bitbases = Bitbases.generate(pool);
+        } else {
+            try {
+                bitbases = Bitbases.cached(Path.of(cache), pool);
+            } catch (IOException | RuntimeException e) {
+                log.warn("Bitbase cache {} not writable ({}); keeping the tables in memory only", cache, e.toString());
+                bitbases = Bitbases.generate(pool);
+            }
+        }
+        log.info("KPK/KRK/KQK bitbases ready in {} ms", (System.nanoTime() - start) / 1_000_000);
+        return bitbases;
+    }
+
+    /** @return the tablebase for the engine to consult */
+    public Tablebase tablebase() {
+        return tablebase;
+    }
+
+    /**
+     * Probes the current position of a game.
+     *
+     * @param id game id
+     * @return win/draw/loss and distance to zeroing, where known
+     * @throws java.util.NoSuchElementException if the game does not exist
+     */
+    public TablebaseDto probe(String id) {
+        GameService.Snapshot snap = games.snapshot(id);
+        Position pos = snap.position();
+        int pieces = Long.bitCount(pos.occupied());
+        int wdl = Tablebase.UNKNOWN, dtz = Tablebase.UNKNOWN;
+        if (pieces <= tablebase.maxPieces() && pos.castlingRights() == 0) {
+            wdl = tablebase.probeWdl(pos);
+            dtz = tablebase.probeDtz(pos);
+        }
+        return new TablebaseDto(id, snap.rev(), pieces, tablebase.maxPieces(), Tablebase.name(wdl),
+                dtz == Tablebase.UNKNOWN ? null : dtz);
+    }
+}
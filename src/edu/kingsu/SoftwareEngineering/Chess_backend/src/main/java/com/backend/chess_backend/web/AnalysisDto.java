@@ -0,0 +1,42 @@
+package com.backend.chess_backend.web;
+
+import java.util.List;
+
+/**
+ * DTO for one event of an analysis stream: what the engine thinks of the position after a
+ * completed iteration of iterative deepening ({@code info} events), or its final answer
+ * ({@code bestmove} event).
+ *
+ * <pre>{@code
+ * event:info
+ * id:9
+ * data:{"gameId": "abc123", "rev": 4, "depth": 9, "move": "g1f3", "score": 35, "mate": null,
+ *       "pv": ["g1f3", "g8f6", "b1c3"], "nodes": 412003, "nps": 827315, "timeMillis": 498}
+ * }</pre>
+ *
+ * @param gameId     identifier of the game
+ * @param rev        revision the analysis was started for
+ * @param depth      depth of the iteration
+ * @param move       best move so far in UCI notation
+ * @param score      centipawns for the side to move, or {@code null} for a mate
+ * @param mate       moves to mate (negative when being mated), or {@code null}
+ * @param pv         expected continuation in UCI notation, starting with {@code move}
+ * @param nodes      positions searched since the analysis started, all threads together
+ * @param nps        nodes per second since the analysis started
+ * @param timeMillis time since the analysis started
+ * @author Alain Uwishema
+ * @since 0.2
+ */
+public record AnalysisDto(
+        String gameId,
+        int rev,
+        int depth,
+        String move,
+        Integer score,
+        Integer mate,
+        List<String> pv,
+        long nodes,
+        long nps,
+        long timeMillis
+) {
+}
@@ -0,0 +1,20 @@
+package com.backend.chess_backend.web;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+
+/**
+ * One line of an NDJSON batch analysis request. Other fields are ignored, so lines exported by
+ * another tool can be sent as they are.
+ *
+ * <pre>{@code
+ * {"id": "puzzle-17", "fen": "6k1/5ppp/8/8/8/8/8/R5K1 w - - 0 1"}
+ * }</pre>
+ *
+ * @param id  optional caller's identifier, echoed in the result
+ * @param fen position to analyse; the clock fields may be omitted
+ * @author Alain Uwishema
+ * @since 0.2
+ */
+@JsonIgnoreProperties(ignoreUnknown = true)
+public record BatchPositionRequest(String id, String fen) {
+}
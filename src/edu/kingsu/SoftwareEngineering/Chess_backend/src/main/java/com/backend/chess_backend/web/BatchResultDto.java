@@ -0,0 +1,47 @@
+package com.backend.chess_backend.web;
+
+import java.util.List;
+
+/**
+ * DTO for one line of a batch analysis response: the engine's verdict on one submitted position.
+ * <p>
+ * Lines arrive in the order the positions finish, not the order they were sent; {@code index}
+ * (0-based, counting submitted positions) and {@code id} tie a line back to its input. A position
+ * that could not be read, or whose search failed, has {@code error} set and no move. A position
+ * without a legal move has no move either: {@code mate} is 0 when the side to move is checkmated
+ * and {@code score} is 0 for stalemate.
+ * </p>
+ *
+ * <pre>{@code
+ * {"index": 17, "id": "puzzle-17", "fen": "6k1/5ppp/8/8/8/8/8/R5K1 w - - 0 1", "move": "a1a8",
+ *  "score": null, "mate": 1, "depth": 1, "pv": ["a1a8"], "nodes": 58, "timeMillis": 0, "error": null}
+ * }</pre>
+ *
+ * @param index      position of the record in the request, counting from 0
+ * @param id         the record's {@code id}, or {@code null}
+ * @param fen        the position as submitted
+ * @param move       best move in UCI notation, or {@code null}
+ * @param score      centipawns for the side to move, or {@code null} for a mate or an error
+ * @param mate       moves to mate (negative when being mated), or {@code null}
+ * @param depth      depth of the last completed iteration
+ * @param pv         expected continuation in UCI notation
+ * @param nodes      positions searched
+ * @param timeMillis time spent searching
+ * @param error      why the position was not analysed, or {@code null}
+ * @author Alain Uwishema
+ * @since 0.2
+ */
+public record BatchResultDto(
+        int index,
+        String id,
+        String fen,
+        String move,
+        Integer score,
+        Integer mate,
+        int depth,
+        List<String> pv,
+        long nodes,
+        long timeMillis,
+        String error
+) {
+}
@@ -12,8 +12,13 @@ import java.util.Map;
  *   <li>{@code rev} – monotonically increasing revision/version of the position (increments after each accepted move).</li>
  *   <li>{@code position} – map from algebraic square (e.g., "e2") to two-character piece code (e.g., "wP", "bK"). Only occupied squares are present.</li>
  *   <li>{@code turn} – side to move: {@code "WHITE"} or {@code "BLACK"}.</li>
- *   <li>{@code status} – lifecycle status, e.g., {@code "IN_PROGRESS"}.</li>
+ *   <li>{@code status} – lifecycle status, a {@link com.backend.chess_backend.domain.GameStatus} name: {@code "IN_PROGRESS"},
+ *       {@code "CHECKMATE"} (the side to move has lost), {@code "STALEMATE"}, {@code "DRAW_INSUFFICIENT_MATERIAL"},
+ *       {@code "DRAW_THREEFOLD_REPETITION"} or {@code "DRAW_FIFTY_MOVE_RULE"}.</li>
  *   <li>{@code lastFrom}, {@code lastTo} – last move squares; may be {@code null} before any move.</li>
+ *   <li>{@code positionKey} – 64-bit Zobrist key of the position as 16 hex digits; equal keys identify the same
+ *       position (placement, side to move, castling rights and en-passant file).</li>
+ *   <li>{@code fen} – the position as a FEN record, for copying into other tools or creating a new game from it.</li>
  * </ul>
  *
  * <h2>Example</h2>
@@ -25,7 +30,9 @@ import java.util.Map;
  *   "turn": "BLACK",
  *   "status": "IN_PROGRESS",
  *   "lastFrom": "e2",
- *   "lastTo": "e4"
+ *   "lastTo": "e4",
+ *   "positionKey": "8f2c1a9b03d4e657",
+ *   "fen": "4k3/8/8/4p3/4P3/8/8/4K3 b - - 0 2"
  * }
  * }</pre>
  *
@@ -36,6 +43,8 @@ import java.util.Map;
  * @param status   status label for the game lifecycle
  * @param lastFrom last move origin square (nullable)
  * @param lastTo   last move destination square (nullable)
+ * @param positionKey Zobrist key of the current position, hexadecimal
+ * @param fen      FEN record of the current position
  * @author Alain Uwishema
  * @since 0.1
  */
@@ -46,5 +55,7 @@ public record GameStateDto(
         String turn,
         String status,
         String lastFrom,
-        String lastTo
+        String lastTo,
+        String positionKey,
+        String fen
 ) {}
@@ -0,0 +1,52 @@
+package com.backend.chess_backend.web;
+
+import java.util.List;
+
+/**
+ * DTO answering a hint request: the move the engine suggests for the side to move, and what the
+ * suggestion is worth.
+ * <p>
+ * {@code source} is {@code "book"} for an opening-book move (no search, so {@code score},
+ * {@code depth} and {@code pv} are empty) or {@code "search"}. {@code budgetMillis} and
+ * {@code budgetDepth} are the limits the search was given; under load they are below what was asked
+ * for, so a client can tell a quick answer from a considered one.
+ * </p>
+ *
+ * <pre>{@code
+ * {
+ *   "gameId": "abc123", "rev": 4, "move": "g1f3", "source": "search",
+ *   "score": 35, "mate": null, "depth": 9, "pv": ["g1f3", "g8f6", "b1c3"],
+ *   "nodes": 412003, "timeMillis": 498, "budgetMillis": 500, "budgetDepth": 64
+ * }
+ * }</pre>
+ *
+ * @param gameId       identifier of the game
+ * @param rev          revision the hint was computed for
+ * @param move         suggested move in UCI notation, e.g. {@code "e7e8q"}
+ * @param source       {@code "book"} or {@code "search"}
+ * @param score        centipawns for the side to move, or {@code null} for a mate or a book move
+ * @param mate         moves to mate (negative when being mated), or {@code null}
+ * @param depth        depth of the last completed iteration (0 for a book move)
+ * @param pv           expected continuation in UCI notation, starting with {@code move}
+ * @param nodes        positions searched
+ * @param timeMillis   time spent searching
+ * @param budgetMillis thinking time granted
+ * @param budgetDepth  depth limit granted
+ * @author Alain Uwishema
+ * @since 0.2
+ */
+public record HintDto(
+        String gameId,
+        int rev,
+        String move,
+        String source,
+        Integer score,
+        Integer mate,
+        int depth,
+        List<String> pv,
+        long nodes,
+        long timeMillis,
+        long budgetMillis,
+        int budgetDepth
+) {
+}
@@ -0,0 +1,15 @@
+package com.backend.chess_backend.web;
+
+/**
+ * Optional request body for {@code POST /api/game}.
+ *
+ * <h2>Example</h2>
+ * <pre>{@code
+ * { "fen": "8/8/8/4k3/8/8/4P3/4K3 w - - 0 1" }
+ * }</pre>
+ *
+ * @param fen starting position as a FEN record; {@code null} or blank starts from the standard position
+ * @author Alain Uwishema
+ * @since 0.2
+ */
+public record NewGameRequest(String fen) {}
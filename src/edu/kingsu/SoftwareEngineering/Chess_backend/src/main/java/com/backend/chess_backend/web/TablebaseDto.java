@@ -0,0 +1,32 @@
+package com.backend.chess_backend.web;
+
+/**
+ * DTO answering a tablebase probe of a game's current position.
+ * <p>
+ * {@code wdl} is seen from the side to move: {@code "WIN"}, {@code "CURSED_WIN"} (a win the
+ * fifty-move rule turns into a draw), {@code "DRAW"}, {@code "BLESSED_LOSS"}, {@code "LOSS"}, or
+ * {@code "UNKNOWN"} when no table covers the position.
+ * </p>
+ *
+ * <pre>{@code
+ * { "gameId": "abc123", "rev": 41, "pieces": 3, "maxPieces": 5, "wdl": "WIN", "dtz": null }
+ * }</pre>
+ *
+ * @param gameId    identifier of the game
+ * @param rev       revision of the probed position
+ * @param pieces    pieces on the board, kings included
+ * @param maxPieces most pieces any available table covers
+ * @param wdl       win/draw/loss for the side to move
+ * @param dtz       plies to the next capture or pawn move on an optimal path (signed like {@code wdl}), or {@code null} if unknown
+ * @author Alain Uwishema
+ * @since 0.2
+ */
+public record TablebaseDto(
+        String gameId,
+        int rev,
+        int pieces,
+        int maxPieces,
+        String wdl,
+        Integer dtz
+) {
+}
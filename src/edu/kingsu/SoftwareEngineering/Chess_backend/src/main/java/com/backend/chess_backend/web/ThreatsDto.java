@@ -0,0 +1,39 @@
+package com.backend.chess_backend.web;
+
+import java.util.List;
+
+/**
+ * DTO listing the pieces of the side to move that are en prise: pieces the opponent could win
+ * material against by capturing first, judged by static exchange evaluation.
+ *
+ * <pre>{@code
+ * {
+ *   "gameId": "abc123",
+ *   "rev": 12,
+ *   "turn": "WHITE",
+ *   "threats": [ { "square": "c3", "piece": "wN", "loss": 337 } ]
+ * }
+ * }</pre>
+ *
+ * @param gameId  identifier of the game
+ * @param rev     revision of the analysed position
+ * @param turn    side to move, whose pieces are listed: {@code "WHITE"} or {@code "BLACK"}
+ * @param threats threatened pieces in ascending square order; empty if nothing hangs
+ * @author Alain Uwishema
+ * @since 0.2
+ */
+public record ThreatsDto(
+        String gameId,
+        int rev,
+        String turn,
+        List<Threat> threats
+) {
+    /**
+     * One threatened piece.
+     *
+     * @param square square of the piece, e.g. {@code "c3"}
+     * @param piece  piece code, e.g. {@code "wN"}
+     * @param loss   material the side to move loses there if it does nothing, in centipawns
+     */
+    public record Threat(String square, String piece, int loss) {}
+}
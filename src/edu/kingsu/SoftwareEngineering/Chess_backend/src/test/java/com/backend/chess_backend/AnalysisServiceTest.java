@@ -0,0 +1,128 @@
+package com.backend.chess_backend;
+
+import com.backend.chess_backend.config.AnalysisProperties;
+import com.backend.chess_backend.config.BookProperties;
+import com.backend.chess_backend.config.EngineProperties;
+import com.backend.chess_backend.config.TablebaseProperties;
+import com.backend.chess_backend.domain.rules.LegalMoves;
+import com.backend.chess_backend.exception.EngineBusy;
+import com.backend.chess_backend.exception.IllegalActivity;
+import com.backend.chess_backend.services.AnalysisService;
+import com.backend.chess_backend.services.EngineService;
+import com.backend.chess_backend.services.GameService;
+import com.backend.chess_backend.services.TablebaseService;
+import com.backend.chess_backend.web.AnalysisDto;
+import com.backend.chess_backend.web.GameStateDto;
+import com.backend.chess_backend.web.MoveRequest;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.codec.ServerSentEvent;
+import reactor.core.Disposable;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for {@link AnalysisService}: one event per completed iteration, a final best move, and
+ * a search that stops when the subscriber goes away.
+ */
+public class AnalysisServiceTest {
+
+    private static final Duration WAIT = Duration.ofSeconds(10);
+
+    private final GameService games = new GameService(new LegalMoves());
+    private final TablebaseService tablebases = new TablebaseService(games, new TablebaseProperties(false, ""));
+    private final EngineService engine = new EngineService(games, new EngineProperties(100, 1_000, 64, 0, 16, 1, 1),
+            new BookProperties("", ""), tablebases);
+
+    /** One stream at a time, 20 s at most, a keep-alive every 50 ms. */
+    private final AnalysisService analysis = new AnalysisService(games, engine, new AnalysisProperties(1, 20_000, 64, 50, 5));
+
+    private static boolean isEvent(ServerSentEvent<AnalysisDto> e) {
+        return e.event() != null;
+    }
+
+    /** Waits for the analysis thread to be given back after a cancellation. */
+    private void awaitIdle() throws InterruptedException {
+        for (int i = 0; i < 200 && analysis.active() > 0; i++) Thread.sleep(10);
+        assertEquals(0, analysis.active());
+    }
+
+    @Test
+    @DisplayName("analyse: an info event per depth, then bestmove; the thread is freed at the end")
+    void analyse_streamsIterations() {
+        String id = games.createGame().gameId();
+        List<ServerSentEvent<AnalysisDto>> events = analysis.analyse(id, 5, null, null).filter(AnalysisServiceTest::isEvent)
+                .collectList().block(WAIT);
+        assertNotNull(events);
+        assertEquals(6, events.size());
+        for (int i = 0; i < 5; i++) {
+            ServerSentEvent<AnalysisDto> e = events.get(i);
+            AnalysisDto d = e.data();
+            assertEquals(AnalysisService.INFO, e.event());
+            assertEquals(String.valueOf(i + 1), e.id());
+            assertEquals(i + 1, d.depth());
+            assertEquals(d.move(), d.pv().get(0));
+            assertNotNull(d.score());
+            assertTrue(d.nodes() > 0);
+            assertEquals(0, d.rev());
+        }
+        ServerSentEvent<AnalysisDto> last = events.get(5);
+        assertEquals(AnalysisService.BEST_MOVE, last.event());
+        assertEquals(5, last.data().depth());
+        assertEquals(events.get(4).data().move(), last.data().move());
+        assertEquals(0, analysis.active());
+    }
+
+    @Test
+    @DisplayName("analyse: reports mates in moves; keep-alive comments are sent while searching")
+    void analyse_mateAndKeepAlive() {
+        String id = games.createGame("6k1/5ppp/8/8/8/8/8/R5K1 w - - 0 1").gameId();
+        List<ServerSentEvent<AnalysisDto>> events = analysis.analyse(id, 3, null, null).collectList().block(WAIT);
+        assertNotNull(events);
+        AnalysisDto best = events.get(events.size() - 1).data();
+        assertEquals("a1a8", best.move());
+        assertEquals(1, best.mate());
+        assertNull(best.score());
+
+        List<ServerSentEvent<AnalysisDto>> timed = analysis.analyse(games.createGame().gameId(), null, 300L, null)
+                .collectList().block(WAIT);
+        assertNotNull(timed);
+        assertTrue(timed.stream().anyMatch(e -> "keep-alive".equals(e.comment())), "no keep-alive comment");
+        assertEquals(AnalysisService.BEST_MOVE, timed.get(timed.size() - 1).event());
+    }
+
+    @Test
+    @DisplayName("analyse: cancelling the subscription stops the search and frees the thread")
+    void analyse_cancelStops() throws InterruptedException {
+        String id = games.createGame().gameId();
+        long t0 = System.nanoTime();
+        List<ServerSentEvent<AnalysisDto>> first = analysis.analyse(id, null, null, null).filter(AnalysisServiceTest::isEvent)
+                .take(3).collectList().block(WAIT);
+        assertNotNull(first);
+        assertEquals(3, first.size());
+        awaitIdle();
+        long ms = (System.nanoTime() - t0) / 1_000_000;
+        assertTrue(ms < 5_000, "search kept running for " + ms + " ms");
+    }
+
+    @Test
+    @DisplayName("analyse: 503 while every thread is streaming; finished and unknown games are refused")
+    void analyse_busyAndRefused() throws InterruptedException {
+        String id = games.createGame().gameId();
+        Disposable running = analysis.analyse(id, null, null, null).subscribe();
+        EngineBusy busy = assertThrows(EngineBusy.class, () -> analysis.analyse(id, null, null, null));
+        assertEquals(5, busy.retryAfterSeconds());
+        running.dispose();
+        awaitIdle();
+
+        GameStateDto g = games.createGame("7k/5Q2/6K1/8/8/8/8/8 w - - 0 1");
+        games.makeMove(g.gameId(), new MoveRequest("f7", "g7", null, 0));
+        assertThrows(IllegalActivity.class, () -> analysis.analyse(g.gameId(), null, null, null));
+        assertThrows(NoSuchElementException.class, () -> analysis.analyse("missing", null, null, null));
+        assertEquals(0, analysis.active());
+    }
+}
@@ -0,0 +1,54 @@
+package com.backend.chess_backend;
+
+import com.backend.chess_backend.domain.Board;
+import com.backend.chess_backend.domain.Position;
+import com.backend.chess_backend.domain.rules.Attacks;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the precomputed leaper and ray tables in {@link Attacks}.
+ */
+public class AttacksTest {
+
+    private static long bits(String... squares) {
+        long b = 0;
+        for (String s : squares) b |= 1L << Board.sq(s);
+        return b;
+    }
+
+    @Test
+    @DisplayName("leapers: knight/king counts at corner and center, no wrap-around")
+    void leaperTables() {
+        assertEquals(bits("b3", "c2"), Attacks.knight(Board.sq("a1")));
+        assertEquals(8, Long.bitCount(Attacks.knight(Board.sq("e4"))));
+        assertEquals(bits("g1", "g2", "h2"), Attacks.king(Board.sq("h1")));
+        assertEquals(8, Long.bitCount(Attacks.king(Board.sq("d5"))));
+    }
+
+    @Test
+    @DisplayName("pawns: per-color diagonal captures, edge files attack one square")
+    void pawnTables() {
+        assertEquals(bits("d5", "f5"), Attacks.pawn(Position.WHITE, Board.sq("e4")));
+        assertEquals(bits("d3", "f3"), Attacks.pawn(Position.BLACK, Board.sq("e4")));
+        assertEquals(bits("b3"), Attacks.pawn(Position.WHITE, Board.sq("a2")));
+        assertEquals(bits("g6"), Attacks.pawn(Position.BLACK, Board.sq("h7")));
+    }
+
+    @Test
+    @DisplayName("between/line: aligned squares only, symmetric, edge to edge")
+    void rayTables() {
+        int a1 = Board.sq("a1"), d4 = Board.sq("d4"), h8 = Board.sq("h8"), e1 = Board.sq("e1");
+        assertEquals(bits("b2", "c3"), Attacks.between(a1, d4));
+        assertEquals(Attacks.between(a1, d4), Attacks.between(d4, a1));
+        assertEquals(bits("b1", "c1", "d1"), Attacks.between(a1, e1));
+        assertEquals(0L, Attacks.between(a1, Board.sq("b2")), "adjacent squares have nothing between");
+        assertEquals(0L, Attacks.between(a1, Board.sq("b3")), "unaligned squares");
+
+        assertEquals(bits("a1", "b2", "c3", "d4", "e5", "f6", "g7", "h8"), Attacks.line(d4, h8));
+        assertEquals(0xFFL, Attacks.line(a1, e1));
+        assertEquals(0L, Attacks.line(a1, Board.sq("c2")));
+    }
+}
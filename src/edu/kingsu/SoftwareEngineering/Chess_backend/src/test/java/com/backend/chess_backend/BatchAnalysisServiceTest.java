@@ -0,0 +1,194 @@
+package com.backend.chess_backend;
+
+import com.backend.chess_backend.config.BatchProperties;
+import com.backend.chess_backend.config.TablebaseProperties;
+import com.backend.chess_backend.domain.Fen;
+import com.backend.chess_backend.domain.Position;
+import com.backend.chess_backend.domain.engine.Tablebase;
+import com.backend.chess_backend.domain.rules.LegalMoves;
+import com.backend.chess_backend.domain.rules.Perft;
+import com.backend.chess_backend.exception.IllegalActivity;
+import com.backend.chess_backend.services.BatchAnalysisService;
+import com.backend.chess_backend.services.GameService;
+import com.backend.chess_backend.services.TablebaseService;
+import com.backend.chess_backend.web.BatchResultDto;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.PipedReader;
+import java.io.PipedWriter;
+import java.io.StringReader;
+import java.time.Duration;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for {@link BatchAnalysisService}: both input formats, per-line errors, streaming, completion
+ * order, and cancellation.
+ */
+public class BatchAnalysisServiceTest {
+
+    private static final Duration WAIT = Duration.ofSeconds(30);
+
+    private final GameService games = new GameService(new LegalMoves());
+    private final TablebaseService tablebases = new TablebaseService(games, new TablebaseProperties(false, ""));
+
+    /** Two workers, 100 ms per position unless asked otherwise, at most 500 positions. */
+    private final BatchAnalysisService batch = new BatchAnalysisService(tablebases, new BatchProperties(2, 100, 5_000, 64, 500, 16),
+            new ObjectMapper());
+
+    private static Map<Integer, BatchResultDto> byIndex(List<BatchResultDto> results) {
+        return results.stream().collect(Collectors.toMap(BatchResultDto::index, Function.identity()));
+    }
+
+    @Test
+    @DisplayName("ndjson: every line answered once; bad JSON, missing or unplayable FENs are reported per line")
+    void ndjson_resultsAndErrors() throws Exception {
+        String body = """
+                {"id": "mate", "fen": "6k1/5ppp/8/8/8/8/8/R5K1 w - - 0 1"}
+
+                {"fen": "rnbqkbnr/pppppppp/8/8/4P3/8/PPPP1PPP/RNBQKBNR b KQkq e3 0 1", "extra": true}
+                not json
+                {"id": "nofen"}
+                {"id": "nokings", "fen": "8/8/8/8/8/8/8/8 w - - 0 1"}
+                {"id": "mated", "fen": "R5k1/5ppp/8/8/8/8/8/6K1 b - - 1 1"}
+                """;
+        List<BatchResultDto> results = batch.analyseNdjson(new StringReader(body), 4, null, null).collectList().block(WAIT);
+        assertNotNull(results);
+        assertEquals(6, results.size());
+        Map<Integer, BatchResultDto> r = byIndex(results);
+
+        assertEquals("mate", r.get(0).id());
+        assertEquals("a1a8", r.get(0).move());
+        assertEquals(1, r.get(0).mate());
+        assertNull(r.get(0).error());
+        assertNotNull(r.get(1).move());
+        assertNotNull(r.get(1).score());
+        assertEquals(4, r.get(1).depth());
+        assertNotNull(r.get(2).error());
+        assertEquals("Missing \"fen\".", r.get(3).error());
+        assertEquals("nofen", r.get(3).id());
+        assertNotNull(r.get(4).error());
+        assertNull(r.get(4).move());
+        assertNull(r.get(5).move());
+        assertEquals(0, r.get(5).mate(), "already checkmated");
+    }
+
+    @Test
+    @DisplayName("epd: ids echoed; the perft suite is analysed in parallel with a node budget")
+    void epd_suite() throws Exception {
+        StringBuilder body = new StringBuilder();
+        for (Perft.Case c : Perft.SUITE) body.append(c.fen()).append(" id \"").append(c.name()).append("\";\n");
+        body.append(Fen.START).append('\n').append("too short\n");
+        List<BatchResultDto> results = batch.analyseEpd(new StringReader(body.toString()), null, 5_000L, 20_000L)
+                .collectList().block(WAIT);
+        assertNotNull(results);
+        int n = Perft.SUITE.size();
+        assertEquals(n + 2, results.size());
+        Map<Integer, BatchResultDto> r = byIndex(results);
+        for (int i = 0; i < n; i++) {
+            assertEquals(Perft.SUITE.get(i).name(), r.get(i).id());
+            assertNotNull(r.get(i).move(), r.get(i).id());
+            assertTrue(r.get(i).nodes() <= 20_000 + 1, "node budget: " + r.get(i).nodes());
+        }
+        assertNull(r.get(n).id());
+        assertNotNull(r.get(n).move());
+        assertNotNull(r.get(n + 1).error());
+    }
+
+    @Test
+    @DisplayName("results stream in completion order: a quick position overtakes slow ones")
+    void completionOrder() throws Exception {
+        StringBuilder body = new StringBuilder();
+        for (int i = 0; i < 4; i++) body.append(Fen.START).append('\n');
+        body.append("6k1/5ppp/8/8/8/8/8/R5K1 w - -\n");      // mate in one: search ends at depth 1
+        List<BatchResultDto> results = batch.analyseEpd(new StringReader(body.toString()), null, 400L, null)
+                .collectList().block(WAIT);
+        assertNotNull(results);
+        assertEquals(5, results.size());
+        int quick = results.stream().map(BatchResultDto::index).toList().indexOf(4);
+        assertTrue(quick < 4, "mate position finished at place " + quick);
+        assertEquals(List.of(0, 1, 2, 3, 4), results.stream().map(BatchResultDto::index).sorted(Comparator.naturalOrder()).toList());
+    }
+
+    @Test
+    @DisplayName("streaming: results arrive while the body is still being uploaded")
+    void streaming() throws Exception {
+        PipedWriter upload = new PipedWriter();
+        PipedReader body = new PipedReader(upload, 1 << 16);
+        BlockingQueue<BatchResultDto> results = new LinkedBlockingQueue<>();
+        CountDownLatch done = new CountDownLatch(1);
+        batch.analyseEpd(body, 3, null, null).subscribe(results::add, e -> done.countDown(), done::countDown);
+
+        upload.write("6k1/5ppp/8/8/8/8/8/R5K1 w - - id \"first\";\n");
+        upload.flush();
+        BatchResultDto first = results.poll(WAIT.toSeconds(), TimeUnit.SECONDS);
+        assertNotNull(first, "no result before the end of the body");
+        assertEquals("first", first.id());
+        assertEquals(1, done.getCount(), "batch still open");
+
+        upload.write(Fen.START + " id \"second\";\n");
+        upload.close();
+        assertTrue(done.await(WAIT.toSeconds(), TimeUnit.SECONDS));
+        assertEquals("second", results.take().id());
+        assertTrue(results.isEmpty());
+    }
+
+    @Test
+    @DisplayName("an Error thrown by a search is reported on its position instead of stalling the batch")
+    void searchErrorIsReported() throws Exception {
+        TablebaseService broken = new TablebaseService(games, new TablebaseProperties(false, "")) {
+            @Override
+            public Tablebase tablebase() {
+                return new Tablebase() {
+                    @Override public int maxPieces() { return 32; }
+                    @Override public int probeWdl(Position pos) { throw new AssertionError("corrupt table"); }
+                };
+            }
+        };
+        BatchAnalysisService failing = new BatchAnalysisService(broken, new BatchProperties(2, 100, 5_000, 64, 500, 16),
+                new ObjectMapper());
+        String body = "4k3/pppppppp/8/8/8/8/PPPPPPPP/4K3 w - -\n6k1/8/8/8/8/8/8/R5K1 b - -\n";
+        List<BatchResultDto> results = failing.analyseEpd(new StringReader(body), 3, null, null).collectList().block(WAIT);
+        assertNotNull(results);
+        assertEquals(2, results.size());
+        for (BatchResultDto r : results) {
+            assertNull(r.move());
+            assertEquals("java.lang.AssertionError: corrupt table", r.error());
+        }
+    }
+
+    @Test
+    @DisplayName("cancelling stops the batch; oversized batches fail once the limit is read; empty bodies")
+    void cancelAndLimits() throws Exception {
+        String slow = (Fen.START + '\n').repeat(100);
+        long t0 = System.nanoTime();
+        List<BatchResultDto> first = batch.analyseEpd(new StringReader(slow), null, 1_000L, null).take(2).collectList().block(WAIT);
+        assertNotNull(first);
+        assertEquals(2, first.size());
+        // The pool is free again right away rather than after the other 98 positions (about 50 s)
+        List<BatchResultDto> next = batch.analyseEpd(new StringReader(Fen.START), 3, null, null).collectList().block(WAIT);
+        assertNotNull(next);
+        assertEquals(1, next.size());
+        long ms = (System.nanoTime() - t0) / 1_000_000;
+        assertTrue(ms < 10_000, "took " + ms + " ms");
+
+        String tooMany = (Fen.START + '\n').repeat(501);
+        List<BatchResultDto> answered = new CopyOnWriteArrayList<>();
+        assertThrows(IllegalActivity.class, () -> batch.analyseEpd(new StringReader(tooMany), 1, null, null)
+                .doOnNext(answered::add).blockLast(WAIT));
+        assertEquals(500, answered.size(), "positions within the limit are still answered");
+        assertEquals(List.of(), batch.analyseNdjson(new StringReader("\n\n"), null, null, null).collectList().block(WAIT));
+    }
+}
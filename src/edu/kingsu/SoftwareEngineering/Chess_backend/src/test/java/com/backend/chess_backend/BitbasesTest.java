@@ -0,0 +1,153 @@
+package com.backend.chess_backend;
+
+import com.backend.chess_backend.config.TablebaseProperties;
+import com.backend.chess_backend.domain.Fen;
+import com.backend.chess_backend.domain.Position;
+import com.backend.chess_backend.domain.engine.Bitbases;
+import com.backend.chess_backend.domain.engine.Search;
+import com.backend.chess_backend.domain.engine.SearchLimits;
+import com.backend.chess_backend.domain.engine.SearchResult;
+import com.backend.chess_backend.domain.engine.Tablebase;
+import com.backend.chess_backend.domain.rules.Attacks;
+import com.backend.chess_backend.domain.rules.LegalMoves;
+import com.backend.chess_backend.domain.rules.MoveGenerator;
+import com.backend.chess_backend.domain.rules.MoveList;
+import com.backend.chess_backend.services.GameService;
+import com.backend.chess_backend.services.TablebaseService;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for the retrograde {@link Bitbases}: known results, agreement with the move generator, and the cache file.
+ */
+public class BitbasesTest {
+
+    private static Bitbases bb;
+
+    @BeforeAll
+    static void generate() {
+        bb = Bitbases.generate(ForkJoinPool.commonPool());
+    }
+
+    private static int wdl(String fen) {
+        Position p = new Position();
+        Fen.read(fen, p);
+        return bb.probeWdl(p);
+    }
+
+    @Test
+    @DisplayName("known KPK, KRK and KQK results, for either color")
+    void knownResults() {
+        assertEquals(Tablebase.WIN, wdl("4k3/8/4K3/4P3/8/8/8/8 w - - 0 1"), "king on the sixth in front of the pawn");
+        assertEquals(Tablebase.LOSS, wdl("4k3/8/4K3/4P3/8/8/8/8 b - - 0 1"), "... whoever moves");
+        assertEquals(Tablebase.DRAW, wdl("8/8/8/8/8/4k3/4P3/4K3 w - - 0 1"), "defending king in front of the pawn");
+        assertEquals(Tablebase.DRAW, wdl("k7/8/K7/P7/8/8/8/8 w - - 0 1"), "rook pawn, king in the corner");
+        assertEquals(Tablebase.LOSS, wdl("8/4P3/8/8/8/8/k7/4K3 b - - 0 1"), "pawn runs through");
+        assertEquals(Tablebase.WIN, wdl("8/8/8/8/4p3/4k3/8/4K3 b - - 0 1"), "mirrored for BLACK");
+        assertEquals(Tablebase.DRAW, wdl("4k3/4p3/4K3/8/8/8/8/8 b - - 0 1"), "mirrored for BLACK");
+
+        assertEquals(Tablebase.WIN, wdl("8/8/8/4k3/8/8/8/R3K3 w - - 0 1"));
+        assertEquals(Tablebase.DRAW, wdl("8/8/8/8/8/8/1k6/rK6 w - - 0 1"), "white takes the undefended rook");
+        assertEquals(Tablebase.LOSS, wdl("8/8/8/3q4/8/8/8/k1K5 w - - 0 1"));
+        assertEquals(Tablebase.DRAW, wdl("k7/2Q5/1K6/8/8/8/8/8 b - - 0 1"), "stalemate");
+
+        assertEquals(Tablebase.DRAW, wdl("4k3/8/8/8/8/8/8/4K3 w - - 0 1"));
+        assertEquals(Tablebase.DRAW, wdl("4k3/8/8/8/8/8/8/3NK3 w - - 0 1"));
+        assertEquals(Tablebase.UNKNOWN, wdl("4k3/8/8/8/8/8/8/2RRK3 w - - 0 1"));
+    }
+
+    @Test
+    @DisplayName("every sampled position agrees with the best result over its legal moves")
+    void consistentWithMoveGenerator() {
+        MoveList moves = new MoveList();
+        int checked = 0;
+        int[] types = {Position.PAWN, Position.ROOK, Position.QUEEN};
+        for (int type : types) {
+            for (int i = 0; i < (1 << 19); i += 37) {
+                int toMove = i >>> 18, p = (i >>> 12) & 63, wk = (i >>> 6) & 63, sk = i & 63;
+                int strong = (i & 1) == 0 ? Position.WHITE : Position.BLACK;   // exercise both orientations
+                int flip = strong == Position.WHITE ? 0 : 56;
+                if (sk == wk || sk == p || wk == p || (Attacks.king(sk) & (1L << wk)) != 0) continue;
+                if (type == Position.PAWN && (p < 8 || p >= 56)) continue;
+
+                Position pos = new Position();
+                pos.put(Position.piece(strong, Position.KING), sk ^ flip);
+                pos.put(Position.piece(strong ^ 1, Position.KING), wk ^ flip);
+                pos.put(Position.piece(strong, type), p ^ flip);
+                pos.setSideToMove(toMove == 0 ? strong ^ 1 : strong);
+                if (MoveGenerator.inCheck(pos)) continue;                    // side not to move in check
+                pos.setSideToMove(toMove == 0 ? strong : strong ^ 1);
+
+                moves.clear();
+                MoveGenerator.generateLegal(pos, moves);
+                int expected;
+                if (moves.isEmpty()) {
+                    expected = MoveGenerator.inCheck(pos) ? Tablebase.LOSS : Tablebase.DRAW;
+                } else {
+                    expected = Tablebase.LOSS;
+                    for (int j = 0; j < moves.size(); j++) {
+                        pos.makeMove(moves.get(j));
+                        expected = Math.max(expected, -bb.probeWdl(pos));
+                        pos.unmakeMove();
+                    }
+                }
+                assertEquals(expected, bb.probeWdl(pos), () -> Fen.write(pos));
+                checked++;
+            }
+        }
+        assertTrue(checked > 20_000, "checked " + checked);
+    }
+
+    @Test
+    @DisplayName("cache: written once, then read back instead of regenerated; a damaged file is replaced")
+    void cacheFile(@TempDir Path dir) throws IOException {
+        Path file = dir.resolve("bitbases.bin");
+        Bitbases first = Bitbases.cached(file, ForkJoinPool.commonPool());
+        assertTrue(Files.size(file) > 3 * 65536);
+        assertArrayEquals(bb.winCounts(), first.winCounts());
+
+        long written = Files.getLastModifiedTime(file).toMillis();
+        Bitbases again = Bitbases.cached(file, ForkJoinPool.commonPool());
+        assertArrayEquals(bb.winCounts(), again.winCounts());
+        assertEquals(written, Files.getLastModifiedTime(file).toMillis(), "not rewritten");
+
+        byte[] bytes = Files.readAllBytes(file);
+        bytes[100] ^= 1;
+        Files.write(file, bytes);
+        assertArrayEquals(bb.winCounts(), Bitbases.cached(file, ForkJoinPool.commonPool()).winCounts());
+        assertNotEquals(bytes[100], Files.readAllBytes(file)[100], "regenerated and rewritten");
+    }
+
+    @Test
+    @DisplayName("search keeps a won KPK won; the service answers from the cached bitbases")
+    void searchAndService(@TempDir Path dir) {
+        Position pos = new Position();
+        Fen.read("4k3/8/4K3/4P3/8/8/8/8 w - - 0 1", pos);
+        SearchResult r = new Search(null, bb).run(pos, new long[0], SearchLimits.depth(6));
+        assertTrue(r.score() >= Search.TB_WIN - 5_000, "score " + r.score());
+        pos.makeMove(r.bestMove());
+        assertEquals(Tablebase.LOSS, bb.probeWdl(pos), "black is still lost after " + r.pvUci());
+
+        GameService games = new GameService(new LegalMoves());
+        Path cache = dir.resolve("cache/bitbases.bin");
+        TablebaseService service = new TablebaseService(games, new TablebaseProperties(true, cache.toString()));
+        assertTrue(Files.exists(cache));
+        String id = games.createGame("8/8/8/3q4/8/8/8/k1K5 w - - 0 1").gameId();
+        assertEquals("LOSS", service.probe(id).wdl());
+        assertEquals(3, service.probe(id).maxPieces());
+
+        TablebaseService none = new TablebaseService(games, new TablebaseProperties(false, ""));
+        assertSame(Tablebase.NONE, none.tablebase());
+        assertEquals("UNKNOWN", none.probe(id).wdl());
+        assertEquals(0, none.probe(id).maxPieces());
+    }
+}
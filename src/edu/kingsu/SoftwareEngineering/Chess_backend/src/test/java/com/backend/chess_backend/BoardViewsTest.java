@@ -138,6 +138,6 @@ public class BoardViewsTest {
     @Test
     @DisplayName("toPositionMap: null board throws NullPointerException")
     void nullBoard_throws() {
-        assertThrows(NullPointerException.class, () -> BoardViews.toPositionMap(null));
+        assertThrows(NullPointerException.class, () -> BoardViews.toPositionMap((Board) null));
     }
 }
\ No newline at end of file
@@ -0,0 +1,79 @@
+package com.backend.chess_backend;
+
+import com.backend.chess_backend.config.BookProperties;
+import com.backend.chess_backend.config.EngineProperties;
+import com.backend.chess_backend.config.TablebaseProperties;
+import com.backend.chess_backend.domain.Fen;
+import com.backend.chess_backend.domain.Position;
+import com.backend.chess_backend.domain.engine.PolyglotKeys;
+import com.backend.chess_backend.domain.rules.LegalMoves;
+import com.backend.chess_backend.domain.rules.Move;
+import com.backend.chess_backend.exception.IllegalActivity;
+import com.backend.chess_backend.services.EngineService;
+import com.backend.chess_backend.services.GameService;
+import com.backend.chess_backend.services.TablebaseService;
+import com.backend.chess_backend.web.GameStateDto;
+import com.backend.chess_backend.web.MoveRequest;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for {@link EngineService}: engine moves go through {@link GameService#makeMove}.
+ */
+public class EngineServiceTest {
+
+    private static final EngineProperties PROPS = new EngineProperties(100, 1_000, 64, 0, 16, 1, 2);
+
+    private final GameService games = new GameService(new LegalMoves());
+    private final TablebaseService tablebases = new TablebaseService(games, new TablebaseProperties(false, ""));
+    private final EngineService engine = new EngineService(games, PROPS, new BookProperties("", ""), tablebases);
+
+    @Test
+    @DisplayName("engineMove: plays for the side to move and bumps rev like a human move")
+    void engineMove_playsOneMove() {
+        GameStateDto start = games.createGame();
+        GameStateDto human = games.makeMove(start.gameId(), new MoveRequest("e2", "e4", null, 0));
+        GameStateDto after = engine.engineMove(start.gameId(), 3, null, null);
+        assertEquals(2, after.rev());
+        assertEquals("WHITE", after.turn());
+        assertNotNull(after.lastFrom());
+        assertTrue(human.position().containsKey(after.lastFrom()), "moved a piece that existed");
+        assertTrue(after.position().get(after.lastTo()).startsWith("b"), "moved a black piece");
+    }
+
+    @Test
+    @DisplayName("engineMove: finds the mate, then refuses to move in a finished game")
+    void engineMove_mateThenOver() {
+        String id = games.createGame("6k1/5ppp/8/8/8/8/8/R5K1 w - - 0 1").gameId();
+        GameStateDto mated = engine.engineMove(id, null, 200L, 2);
+        assertEquals("a8", mated.lastTo());
+        assertEquals("CHECKMATE", mated.status());
+        assertThrows(IllegalActivity.class, () -> engine.engineMove(id, null, null, null));
+    }
+
+    @Test
+    @DisplayName("engineMove: plays the book move without searching; a missing book is ignored")
+    void engineMove_book(@TempDir Path dir) throws IOException {
+        long[] table = PolyglotBookTest.loadableKeys();
+        Position start = new Position();
+        Fen.read(Fen.START, start);
+        Path book = PolyglotBookTest.writeBook(dir, new long[] {new PolyglotKeys(table).key(start), PolyglotBookTest.raw("b1", "c3", 0), 1});
+        Path keys = PolyglotBookTest.writeKeys(dir, table);
+        EngineService booked = new EngineService(games, PROPS, new BookProperties(book.toString(), keys.toString()), tablebases);
+
+        GameStateDto after = booked.engineMove(games.createGame().gameId(), 1, null, null);
+        assertEquals("b1", after.lastFrom());
+        assertEquals("c3", after.lastTo());
+        assertEquals(Move.NONE, engine.bookMove(start));
+
+        EngineService missing = new EngineService(games, PROPS, new BookProperties(dir.resolve("none.bin").toString(), keys.toString()), tablebases);
+        assertEquals(Move.NONE, missing.bookMove(start));
+        assertNotNull(missing.engineMove(games.createGame().gameId(), 1, null, null).lastFrom());
+    }
+}
@@ -0,0 +1,52 @@
+package com.backend.chess_backend;
+
+import com.backend.chess_backend.domain.Epd;
+import com.backend.chess_backend.domain.Fen;
+import com.backend.chess_backend.domain.Position;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for parsing EPD records ({@link Epd}).
+ */
+public class EpdTest {
+
+    @Test
+    @DisplayName("parse: four fields plus operations; quoted operands may hold semicolons")
+    void parse_operations() {
+        Epd epd = Epd.parse("  r1bqkb1r/pppp1ppp/2n2n2/4p2Q/2B1P3/8/PPPP1PPP/RNB1K1NR w KQkq -  bm Qxf7#; id \"scholar; 1\"; c0 ;  ");
+        assertEquals("r1bqkb1r/pppp1ppp/2n2n2/4p2Q/2B1P3/8/PPPP1PPP/RNB1K1NR w KQkq - 0 1", epd.fen());
+        assertEquals("scholar; 1", epd.id());
+        assertEquals("Qxf7#", epd.operations().get("bm"));
+        assertEquals("", epd.operations().get("c0"));
+        assertEquals(List.of("bm", "id", "c0"), List.copyOf(epd.operations().keySet()));
+
+        Position p = new Position();
+        Fen.read(epd.fen(), p);
+        assertEquals(Position.WHITE, p.sideToMove());
+    }
+
+    @Test
+    @DisplayName("parse: clocks come from hmvc/fmvn or from a six-field FEN record")
+    void parse_clocks() {
+        assertEquals("8/8/8/8/8/8/4k3/4K2R w K - 12 40",
+                Epd.parse("8/8/8/8/8/8/4k3/4K2R w K - hmvc 12; fmvn 40;").fen());
+        Epd fen = Epd.parse("8/8/8/8/8/8/4k3/4K2R w K - 3 7");
+        assertEquals("8/8/8/8/8/8/4k3/4K2R w K - 3 7", fen.fen());
+        assertTrue(fen.operations().isEmpty());
+        assertNull(fen.id());
+        assertEquals("x", Epd.parse(Fen.START + " id x;").id());
+    }
+
+    @Test
+    @DisplayName("parse: rejects short records and unterminated quotes")
+    void parse_rejects() {
+        assertThrows(IllegalArgumentException.class, () -> Epd.parse("8/8/8/8/8/8/4k3/4K2R w K"));
+        assertThrows(IllegalArgumentException.class, () -> Epd.parse("8/8/8/8/8/8/4k3/4K2R w K - id \"open;"));
+        assertThrows(IllegalArgumentException.class, () -> Epd.parse(null));
+    }
+}
@@ -0,0 +1,39 @@
+package com.backend.chess_backend;
+
+import com.backend.chess_backend.domain.Fen;
+import com.backend.chess_backend.domain.Position;
+import com.backend.chess_backend.domain.engine.Evaluation;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for the tapered material + piece-square {@link Evaluation}.
+ */
+public class EvaluationTest {
+
+    private static int eval(String fen) {
+        Position p = new Position();
+        Fen.read(fen, p);
+        return Evaluation.evaluate(p);
+    }
+
+    @Test
+    @DisplayName("symmetric positions score 0; mirrored positions score the same for the side to move")
+    void symmetry() {
+        assertEquals(0, eval(Fen.START));
+        assertEquals(eval("r3k2r/p1ppqpb1/bn2pnp1/3PN3/1p2P3/2N2Q1p/PPPBBPPP/R3K2R w KQkq - 0 1"),
+                eval("r3k2r/pppbbppp/2n2q1P/1P2p3/3pn3/BN2PNP1/P1PPQPB1/R3K2R b KQkq - 0 1"));
+    }
+
+    @Test
+    @DisplayName("material and placement: extra queen wins, centralised knight beats the rim, king centralises late")
+    void terms() {
+        assertTrue(eval("4k3/8/8/8/8/8/8/3QK3 w - - 0 1") > 800);
+        assertTrue(eval("4k3/8/8/8/8/8/8/3QK3 b - - 0 1") < -800);
+        assertTrue(eval("4k3/8/8/8/3N4/8/8/4K3 w - - 0 1") > eval("4k3/8/8/8/8/8/8/N3K3 w - - 0 1"));
+        // With only pawns left the endgame king table applies: a central king is better
+        assertTrue(eval("4k3/pppp4/8/8/3K4/8/PPPP4/8 w - - 0 1") > eval("4k3/pppp4/8/8/8/8/PPPP4/4K3 w - - 0 1"));
+    }
+}
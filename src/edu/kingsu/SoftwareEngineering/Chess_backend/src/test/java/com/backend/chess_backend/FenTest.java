@@ -0,0 +1,186 @@
+package com.backend.chess_backend;
+
+import com.backend.chess_backend.domain.Board;
+import com.backend.chess_backend.domain.BoardSetups;
+import com.backend.chess_backend.domain.Fen;
+import com.backend.chess_backend.domain.Position;
+import com.backend.chess_backend.domain.rules.Move;
+import com.backend.chess_backend.domain.rules.MoveGenerator;
+import com.backend.chess_backend.domain.rules.MoveList;
+import com.backend.chess_backend.domain.rules.Perft;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for reading and writing FEN records and for {@link Fen#validate(Position)}.
+ */
+public class FenTest {
+
+    @Test
+    @DisplayName("read: start FEN equals fillStandard, including key and game state")
+    void read_start() {
+        Position fromFen = new Position();
+        Fen.read(Fen.START, fromFen);
+        Position standard = new Position();
+        BoardSetups.fillStandard(standard);
+
+        assertEquals(standard.key(), fromFen.key());
+        for (int sq = 0; sq < 64; sq++) assertEquals(standard.pieceAt(sq), fromFen.pieceAt(sq));
+        assertEquals(Position.WHITE, fromFen.sideToMove());
+        assertEquals(Position.ALL_CASTLING, fromFen.castlingRights());
+        assertEquals(Position.NO_SQUARE, fromFen.epSquare());
+        assertEquals(0, fromFen.halfmoveClock());
+        assertEquals(1, fromFen.fullmoveNumber());
+    }
+
+    @Test
+    @DisplayName("read: en-passant square kept only when capturable; same key as reached by play")
+    void read_enPassant() {
+        Position played = new Position();
+        BoardSetups.fillStandard(played);
+        played.makeMove(Move.of(Board.sq("e2"), Board.sq("e4")));
+        Position p = new Position();
+        Fen.read("rnbqkbnr/pppppppp/8/8/4P3/8/PPPP1PPP/RNBQKBNR b KQkq e3 0 1", p);
+        assertEquals(Position.NO_SQUARE, p.epSquare(), "no black pawn can capture on e3");
+        assertEquals(played.key(), p.key());
+
+        Fen.read("4k3/8/8/3pP3/8/8/8/4K3 w - d6 0 3", p);
+        assertEquals(Board.sq("d6"), p.epSquare());
+    }
+
+    @Test
+    @DisplayName("read: en-passant square dropped when it or the pushed pawn's origin is occupied")
+    void read_enPassantOccupied() {
+        Position p = new Position();
+        Fen.read("4k3/8/4n3/3Pp3/8/8/8/4K3 w - e6 0 1", p);
+        Fen.validate(p);
+        assertEquals(Position.NO_SQUARE, p.epSquare(), "a knight stands on e6");
+        MoveList moves = new MoveList();
+        MoveGenerator.generateLegal(p, moves);
+        int captures = 0;
+        for (int i = 0; i < moves.size(); i++) {
+            int m = moves.get(i);
+            if (Move.from(m) == Board.sq("d5") && Move.to(m) == Board.sq("e6")) {
+                captures++;
+                assertEquals(Move.NORMAL, Move.flag(m));
+            }
+        }
+        assertEquals(1, captures, "d5xe6 is generated once, as an ordinary capture");
+
+        String before = Fen.write(p);
+        p.makeMove(Move.of(Board.sq("d5"), Board.sq("e6")));
+        assertEquals(Position.B_PAWN, p.pieceAt(Board.sq("e5")), "the e5 pawn stays");
+        p.unmakeMove();
+        assertEquals(before, Fen.write(p), "the knight is restored");
+
+        Fen.read("4k3/4n3/8/3Pp3/8/8/8/4K3 w - e6 0 1", p);
+        assertEquals(Position.NO_SQUARE, p.epSquare(), "e7 is occupied, so e7-e5 was not just played");
+    }
+
+    @Test
+    @DisplayName("read: clocks are optional; malformed records are rejected")
+    void read_fieldsAndErrors() {
+        Position p = new Position();
+        Fen.read("  8/8/8/8/8/8/4k3/4K2R b K -  ", p);
+        assertEquals(Position.BLACK, p.sideToMove());
+        assertEquals(Position.WHITE_OO, p.castlingRights());
+        assertEquals(1, p.fullmoveNumber());
+
+        Fen.read("8/8/8/8/8/8/4k3/4K2R w - - 12 40", p);
+        assertEquals(12, p.halfmoveClock());
+        assertEquals(40, p.fullmoveNumber());
+
+        assertThrows(IllegalArgumentException.class, () -> Fen.read(null, new Position()));
+        assertThrows(IllegalArgumentException.class, () -> Fen.read("8/8/8/8/8/8/8 w - - 0 1", new Position()));
+        assertThrows(IllegalArgumentException.class, () -> Fen.read("9/8/8/8/8/8/8/8 w - - 0 1", new Position()));
+        assertThrows(IllegalArgumentException.class, () -> Fen.read("8/8/8/8/8/8/8/7x w - - 0 1", new Position()));
+        assertThrows(IllegalArgumentException.class, () -> Fen.read("8/8/8/8/8/8/8/8 x - - 0 1", new Position()));
+        assertThrows(IllegalArgumentException.class, () -> Fen.read("8/8/8/8/8/8/8/8 w KX - 0 1", new Position()));
+        assertThrows(IllegalArgumentException.class, () -> Fen.read("8/8/8/8/8/8/8/8 w - e4 0 1", new Position()));
+        assertThrows(IllegalArgumentException.class, () -> Fen.read("8/8/8/8/8/8/8/8 w - - a 1", new Position()));
+        assertThrows(IllegalArgumentException.class, () -> Fen.read("8/8/8/8/8/8/8/8 w - - 0 1 extra", new Position()));
+    }
+
+    @Test
+    @DisplayName("write: round-trips the perft suite and positions reached by play")
+    void write_roundTrip() {
+        Position p = new Position();
+        for (Perft.Case c : Perft.SUITE) {
+            Fen.read(c.fen(), p);
+            assertEquals(c.fen(), Fen.write(p), c.name());
+        }
+
+        BoardSetups.fillStandard(p);
+        p.makeMove(Move.of(Board.sq("e2"), Board.sq("e4")));
+        p.makeMove(Move.of(Board.sq("g8"), Board.sq("f6")));
+        assertEquals("rnbqkb1r/pppppppp/5n2/8/4P3/8/PPPP1PPP/RNBQKBNR w KQkq - 1 2", Fen.write(p));
+
+        StringBuilder sb = new StringBuilder("fen: ");
+        assertSame(sb, Fen.write(p, sb));
+        assertTrue(sb.toString().startsWith("fen: rnbqkb1r/"));
+    }
+
+    @Test
+    @DisplayName("read: byte slices parse like strings; castling rights without king/rook are dropped")
+    void read_bytesAndCastling() {
+        byte[] buf = ("xx" + Fen.START + "yy").getBytes(StandardCharsets.US_ASCII);
+        Position fromBytes = new Position();
+        Fen.read(buf, 2, Fen.START.length(), fromBytes);
+        Position fromText = new Position();
+        Fen.read(Fen.START, fromText);
+        assertEquals(fromText.key(), fromBytes.key());
+
+        byte[] bad = "8/8/8 w - -".getBytes(StandardCharsets.US_ASCII);
+        IllegalArgumentException e = assertThrows(IllegalArgumentException.class,
+                () -> Fen.read(bad, 0, bad.length, new Position()));
+        assertTrue(e.getMessage().contains("8/8/8 w - -"), "message quotes the record");
+        assertThrows(IllegalArgumentException.class, () -> Fen.read(buf, 10, buf.length, new Position()));
+
+        Position p = new Position();
+        Fen.read("4k3/8/8/8/8/8/8/R3K3 w KQkq - 0 1", p);
+        assertEquals(Position.WHITE_OOO, p.castlingRights());
+    }
+
+    @Test
+    @DisplayName("validate: kings, back-rank pawns and side not to move in check")
+    void validate() {
+        Position p = new Position();
+        Fen.read(Fen.START, p);
+        Fen.validate(p);
+
+        Fen.read("8/8/8/8/8/8/8/4K3 w - - 0 1", p);
+        assertThrows(IllegalArgumentException.class, () -> Fen.validate(p), "black king missing");
+        Fen.read("4k3/8/8/8/8/8/8/4K2P w - - 0 1", p);
+        assertThrows(IllegalArgumentException.class, () -> Fen.validate(p), "pawn on rank 1");
+        Fen.read("4k3/8/8/8/8/8/8/4R1K1 w - - 0 1", p);
+        assertThrows(IllegalArgumentException.class, () -> Fen.validate(p), "black in check with white to move");
+        Fen.read("4k3/8/8/8/8/8/8/4R1K1 b - - 0 1", p);
+        Fen.validate(p);
+    }
+
+    @Test
+    @DisplayName("validate: material a game cannot reach is rejected before it overflows move generation")
+    void validate_material() {
+        Position p = new Position();
+        // 20 white queens: passes the other checks but has more legal moves than MoveList holds
+        Fen.read("BQQQQQQQ/Q6Q/Q6Q/Q6Q/Q6Q/QQ3Q2/pp1Q3Q/kBQNQKQ1 w - - 0 1", p);
+        assertThrows(IllegalArgumentException.class, () -> Fen.validate(p));
+
+        Fen.read("4k3/pppppppp/p7/8/8/8/8/4K3 w - - 0 1", p);
+        assertThrows(IllegalArgumentException.class, () -> Fen.validate(p), "nine pawns");
+        Fen.read("4k3/8/8/8/8/8/PPPPPPPP/QQ2K3 w - - 0 1", p);
+        assertThrows(IllegalArgumentException.class, () -> Fen.validate(p), "second queen, no missing pawn");
+        Fen.read("4k3/8/8/8/8/8/PPPPPPP1/QQQ1K3 w - - 0 1", p);
+        assertThrows(IllegalArgumentException.class, () -> Fen.validate(p), "two promotions, one missing pawn");
+
+        // Promotions paid for by missing pawns are fine
+        Fen.read("4k3/8/8/8/8/8/PPPPPP2/QQQ1K3 w - - 0 1", p);
+        Fen.validate(p);
+        Fen.read("4k3/8/8/8/8/8/8/NNNNKNNN w - - 0 1", p);
+        Fen.validate(p);
+    }
+}
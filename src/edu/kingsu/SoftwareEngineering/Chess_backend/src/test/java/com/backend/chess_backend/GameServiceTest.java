@@ -1,14 +1,19 @@
 package com.backend.chess_backend;
 
+import com.backend.chess_backend.domain.Board;
 import com.backend.chess_backend.domain.rules.LegalMoves;
+import com.backend.chess_backend.domain.rules.Move;
+import com.backend.chess_backend.domain.rules.MoveList;
 import com.backend.chess_backend.services.GameService;
 import com.backend.chess_backend.web.GameStateDto;
 import com.backend.chess_backend.web.MoveRequest;
+import com.backend.chess_backend.web.ThreatsDto;
 import com.backend.chess_backend.exception.IllegalActivity;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.springframework.web.server.ResponseStatusException;
 
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 import java.util.NoSuchElementException;
@@ -25,6 +30,12 @@ public class GameServiceTest {
         return new GameService(new LegalMoves());
     }
 
+    private static List<String> destinations(MoveList moves) {
+        List<String> out = new ArrayList<>();
+        for (int i = 0; i < moves.size(); i++) out.add(Board.toAlgebraic(Move.to(moves.get(i))));
+        return out;
+    }
+
     @Test
     @DisplayName("createGame: returns standard start, rev=0, WHITE to move, IN_PROGRESS")
     void createGame_initialState() {
@@ -135,27 +146,125 @@ public class GameServiceTest {
     }
 
     @Test
-    @DisplayName("getPseudoLegalTargets: returns pawn targets from e2 (e3,e4) in start position")
+    @DisplayName("getLegalTargets: returns pawn targets from e2 (e3,e4) in start position")
     void targets_pawnFromE2() {
         GameService svc = newService();
         GameStateDto start = svc.createGame();
         String id = start.gameId();
 
-        List<String> targets = svc.getPseudoLegalTargets(id, "e2");
+        List<String> targets = destinations(svc.getLegalTargets(id, "e2"));
         assertNotNull(targets);
         assertTrue(targets.contains("e3"));
         assertTrue(targets.contains("e4"));
     }
 
     @Test
-    @DisplayName("getPseudoLegalTargets: empty for black piece when it's WHITE to move")
+    @DisplayName("getLegalTargets: empty for black piece when it's WHITE to move")
     void targets_wrongTurn_empty() {
         GameService svc = newService();
         String id = svc.createGame().gameId();
 
         // It's WHITE to move at start; black pawn e7 should return no targets
-        List<String> targets = svc.getPseudoLegalTargets(id, "e7");
+        List<String> targets = destinations(svc.getLegalTargets(id, "e7"));
         assertNotNull(targets);
         assertTrue(targets.isEmpty(), "Should be empty when selecting the side not to move");
     }
-}
\ No newline at end of file
+
+    @Test
+    @DisplayName("createGame(fen): starts from the given position; bad FEN is rejected as IllegalActivity")
+    void createGame_fromFen() {
+        GameService svc = newService();
+        String fen = "4k3/8/8/8/8/8/4P3/4K3 b - - 3 40";
+        GameStateDto dto = svc.createGame(fen);
+        assertEquals("BLACK", dto.turn());
+        assertEquals(3, dto.position().size());
+        assertEquals("wP", dto.position().get("e2"));
+        assertEquals(fen, dto.fen());
+        assertEquals(0, dto.rev());
+
+        assertEquals(svc.createGame().fen(), svc.createGame("  ").fen(), "blank FEN means standard start");
+        assertThrows(IllegalActivity.class, () -> svc.createGame("not a fen"));
+        assertThrows(IllegalActivity.class, () -> svc.createGame("8/8/8/8/8/8/8/8 w - - 0 1"));
+    }
+
+    @Test
+    @DisplayName("status: fool's mate ends the game as CHECKMATE and later moves are rejected")
+    void status_checkmate() {
+        GameService svc = newService();
+        GameStateDto g = svc.createGame();
+        String id = g.gameId();
+        String[][] moves = {{"f2", "f3"}, {"e7", "e5"}, {"g2", "g4"}, {"d8", "h4"}};
+        for (String[] m : moves) {
+            assertEquals("IN_PROGRESS", g.status());
+            g = svc.makeMove(id, new MoveRequest(m[0], m[1], null, g.rev()));
+        }
+        assertEquals("CHECKMATE", g.status());
+        assertEquals("WHITE", g.turn(), "the side to move is the side that was mated");
+        assertEquals(0, svc.getLegalTargets(id, "e2").size());
+        int rev = g.rev();
+        assertThrows(IllegalActivity.class, () -> svc.makeMove(id, new MoveRequest("e2", "e3", null, rev)));
+    }
+
+    @Test
+    @DisplayName("status: stalemate and insufficient material, both from FEN and after a move")
+    void status_draws() {
+        GameService svc = newService();
+        assertEquals("STALEMATE", svc.createGame("7k/5Q2/6K1/8/8/8/8/8 b - - 0 1").status());
+
+        GameStateDto g = svc.createGame("7k/8/6K1/8/8/8/8/5Q2 w - - 0 1");
+        assertEquals("IN_PROGRESS", g.status());
+        assertEquals("STALEMATE", svc.makeMove(g.gameId(), new MoveRequest("f1", "f7", null, 0)).status());
+
+        g = svc.createGame("4k3/8/8/8/8/8/3r4/4K3 w - - 0 1");
+        assertEquals("DRAW_INSUFFICIENT_MATERIAL", svc.makeMove(g.gameId(), new MoveRequest("e1", "d2", null, 0)).status());
+    }
+
+    @Test
+    @DisplayName("status: knight shuffle repeats the start position three times → DRAW_THREEFOLD_REPETITION")
+    void status_threefold() {
+        GameService svc = newService();
+        GameStateDto g = svc.createGame();
+        String id = g.gameId();
+        String[][] shuffle = {{"g1", "f3"}, {"g8", "f6"}, {"f3", "g1"}, {"f6", "g8"}};
+        for (int round = 0; round < 2; round++) {
+            for (String[] m : shuffle) {
+                assertEquals("IN_PROGRESS", g.status(), "rev " + g.rev());
+                g = svc.makeMove(id, new MoveRequest(m[0], m[1], null, g.rev()));
+            }
+        }
+        assertEquals(8, g.rev());
+        assertEquals("DRAW_THREEFOLD_REPETITION", g.status());
+    }
+
+    @Test
+    @DisplayName("status: the hundredth quiet ply → DRAW_FIFTY_MOVE_RULE; a pawn move resets the count")
+    void status_fiftyMove() {
+        GameService svc = newService();
+        GameStateDto g = svc.createGame("4k3/8/8/8/8/8/4P3/R3K3 w - - 99 80");
+        assertEquals("IN_PROGRESS", g.status());
+        assertEquals("IN_PROGRESS", svc.makeMove(g.gameId(), new MoveRequest("e2", "e4", null, 0)).status());
+
+        g = svc.createGame("4k3/8/8/8/8/8/4P3/R3K3 w - - 99 80");
+        assertEquals("DRAW_FIFTY_MOVE_RULE", svc.makeMove(g.gameId(), new MoveRequest("a1", "a2", null, 0)).status());
+    }
+
+    @Test
+    @DisplayName("threats: lists the side to move's pieces that lose material to an exchange, not defended equal trades")
+    void threats_hangingPieces() {
+        GameService svc = newService();
+        // d4 forks c3 and e3; g4 is attacked by h5 but pawn takes pawn back
+        GameStateDto g = svc.createGame("4k3/8/8/7p/3p2P1/2N1BP2/8/4K3 w - - 0 1");
+        ThreatsDto t = svc.threats(g.gameId());
+        assertEquals("WHITE", t.turn());
+        assertEquals(0, t.rev());
+        assertEquals(List.of(new ThreatsDto.Threat("c3", "wN", 337), new ThreatsDto.Threat("e3", "wB", 365)), t.threats());
+
+        // After Bxd4 nothing of White's hangs any more; now Black's h5 pawn is the one attacked
+        g = svc.makeMove(g.gameId(), new MoveRequest("e3", "d4", null, 0));
+        t = svc.threats(g.gameId());
+        assertEquals("BLACK", t.turn());
+        assertEquals(List.of(new ThreatsDto.Threat("h5", "bP", 82)), t.threats());
+
+        assertThrows(NoSuchElementException.class, () -> svc.threats("nope"));
+    }
+}
@@ -0,0 +1,97 @@
+package com.backend.chess_backend;
+
+import com.backend.chess_backend.config.BookProperties;
+import com.backend.chess_backend.config.EngineProperties;
+import com.backend.chess_backend.config.HintProperties;
+import com.backend.chess_backend.config.TablebaseProperties;
+import com.backend.chess_backend.domain.rules.LegalMoves;
+import com.backend.chess_backend.exception.EngineBusy;
+import com.backend.chess_backend.exception.IllegalActivity;
+import com.backend.chess_backend.services.EngineService;
+import com.backend.chess_backend.services.GameService;
+import com.backend.chess_backend.services.HintService;
+import com.backend.chess_backend.services.TablebaseService;
+import com.backend.chess_backend.web.GameStateDto;
+import com.backend.chess_backend.web.HintDto;
+import com.backend.chess_backend.web.MoveRequest;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for {@link HintService}: hints run off the request thread, shrink under load and are
+ * refused once the queue is full.
+ */
+public class HintServiceTest {
+
+    private final GameService games = new GameService(new LegalMoves());
+    private final TablebaseService tablebases = new TablebaseService(games, new TablebaseProperties(false, ""));
+    private final EngineService engine = new EngineService(games, new EngineProperties(100, 1_000, 64, 0, 16, 1, 1),
+            new BookProperties("", ""), tablebases);
+
+    /** One worker and two queue slots; 600 ms and depth 20 when idle, 100 ms and depth 4 when full. */
+    private HintService hints() {
+        return new HintService(games, engine, new HintProperties(1, 2, 600, 100, 20, 4, 3));
+    }
+
+    @Test
+    @DisplayName("hint: suggests a legal move with score and PV, without playing it")
+    void hint_searches() throws Exception {
+        HintService svc = hints();
+        String id = games.createGame("6k1/5ppp/8/8/8/8/8/R5K1 w - - 0 1").gameId();
+        HintDto h = svc.hint(id, 6, 200L).get(5, TimeUnit.SECONDS);
+        assertEquals("a1a8", h.move());
+        assertEquals("search", h.source());
+        assertEquals(1, h.mate());
+        assertNull(h.score());
+        assertEquals("a1a8", h.pv().get(0));
+        assertEquals(200, h.budgetMillis());
+        assertEquals(6, h.budgetDepth());
+        assertEquals(0, games.getGame(id).rev(), "a hint does not move");
+        assertEquals(0, svc.inFlight());
+    }
+
+    @Test
+    @DisplayName("hint: requests are capped by the configuration; finished games are refused")
+    void hint_capsAndGameOver() throws Exception {
+        HintService svc = hints();
+        String id = games.createGame().gameId();
+        HintDto h = svc.hint(id, 99, 60_000L).get(5, TimeUnit.SECONDS);
+        assertEquals(600, h.budgetMillis());
+        assertEquals(20, h.budgetDepth());
+        assertEquals(0, h.rev());
+
+        GameStateDto g = games.createGame("7k/5Q2/6K1/8/8/8/8/8 w - - 0 1");
+        games.makeMove(g.gameId(), new MoveRequest("f7", "g7", null, 0));
+        assertThrows(IllegalActivity.class, () -> svc.hint(g.gameId(), null, null));
+    }
+
+    @Test
+    @DisplayName("hint: budgets shrink as the queue fills, then 503 with Retry-After; slots free up afterwards")
+    void hint_degradesThenRejects() throws Exception {
+        HintService svc = hints();
+        String id = games.createGame().gameId();
+        CompletableFuture<HintDto> first = svc.hint(id, null, null);     // takes the worker
+        CompletableFuture<HintDto> second = svc.hint(id, null, null);    // first queue slot
+        CompletableFuture<HintDto> third = svc.hint(id, null, null);     // last queue slot
+        assertEquals(3, svc.inFlight());
+        EngineBusy busy = assertThrows(EngineBusy.class, () -> svc.hint(id, null, null));
+        assertEquals(3, busy.retryAfterSeconds());
+
+        assertEquals(600, first.get(10, TimeUnit.SECONDS).budgetMillis());
+        HintDto h2 = second.get(10, TimeUnit.SECONDS);
+        assertEquals(350, h2.budgetMillis());
+        assertEquals(12, h2.budgetDepth());
+        HintDto h3 = third.get(10, TimeUnit.SECONDS);
+        assertEquals(100, h3.budgetMillis());
+        assertEquals(4, h3.budgetDepth());
+        assertTrue(h3.depth() <= 4);
+
+        assertEquals(0, svc.inFlight());
+        assertEquals(600, svc.hint(id, null, null).get(10, TimeUnit.SECONDS).budgetMillis());
+    }
+}
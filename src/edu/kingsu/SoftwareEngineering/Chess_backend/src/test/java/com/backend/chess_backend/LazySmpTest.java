@@ -0,0 +1,133 @@
+package com.backend.chess_backend;
+
+import com.backend.chess_backend.domain.Fen;
+import com.backend.chess_backend.domain.Position;
+import com.backend.chess_backend.domain.engine.LazySmp;
+import com.backend.chess_backend.domain.engine.Search;
+import com.backend.chess_backend.domain.engine.SearchLimits;
+import com.backend.chess_backend.domain.engine.SearchResult;
+import com.backend.chess_backend.domain.engine.TranspositionTable;
+import com.backend.chess_backend.domain.rules.Move;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for the {@link LazySmp} parallel search.
+ */
+public class LazySmpTest {
+
+    private final ExecutorService pool = Executors.newFixedThreadPool(3);
+
+    @AfterEach
+    void tearDown() {
+        pool.shutdownNow();
+    }
+
+    private static Position fen(String fen) {
+        Position p = new Position();
+        Fen.read(fen, p);
+        return p;
+    }
+
+    @Test
+    @DisplayName("helpers share the table: same mate as a single thread, nodes of all threads counted")
+    void parallelFindsMate() {
+        Position p = fen("2r3k1/5ppp/8/8/8/8/4QPPP/4R1K1 w - - 0 1");
+        LazySmp smp = new LazySmp(new TranspositionTable(8), pool, 4);
+        SearchResult single = smp.run(p, new long[0], SearchLimits.depth(6), 0);
+        SearchResult parallel = smp.run(p, new long[0], SearchLimits.depth(6), 3);
+        assertEquals(Search.MATE - 3, single.score());
+        assertEquals(Search.MATE - 3, parallel.score());
+        assertEquals("e2e8", Move.toUci(parallel.bestMove()));
+    }
+
+    @Test
+    @DisplayName("the main thread's time budget stops every helper")
+    void helpersStopWithMain() {
+        Position p = fen(Fen.START);
+        LazySmp smp = new LazySmp(new TranspositionTable(8), pool, 4);
+        long t0 = System.nanoTime();
+        SearchResult r = smp.run(p, new long[0], SearchLimits.time(100), 3);
+        long ms = (System.nanoTime() - t0) / 1_000_000;
+        assertTrue(ms < 2_000, "took " + ms + " ms");
+        assertNotEquals(Move.NONE, r.bestMove());
+        assertTrue(r.depth() >= 1);
+
+        // The pool is free again: a follow-up search with all helpers completes normally
+        assertEquals(4, smp.run(p, new long[0], SearchLimits.depth(4), 3).depth());
+    }
+
+    @Test
+    @DisplayName("iterations are reported as they complete; an outside stop flag ends the search")
+    void reportsIterationsAndStops() {
+        Position p = fen(Fen.START);
+        LazySmp smp = new LazySmp(new TranspositionTable(8), pool, 4);
+        List<SearchResult> seen = new ArrayList<>();
+        SearchResult r = smp.run(p, new long[0], SearchLimits.depth(5), 2, new AtomicBoolean(), seen::add);
+        assertEquals(5, seen.size());
+        for (int i = 0; i < seen.size(); i++) {
+            SearchResult it = seen.get(i);
+            assertEquals(i + 1, it.depth());
+            assertEquals(it.bestMove(), it.pv()[0]);
+            if (i > 0) assertTrue(it.nodes() >= seen.get(i - 1).nodes());
+        }
+        assertEquals(seen.get(4).bestMove(), r.bestMove());
+
+        // Stopping from the listener after depth 2 abandons the main thread's remaining iterations
+        AtomicBoolean stop = new AtomicBoolean();
+        List<SearchResult> stopped = new ArrayList<>();
+        LazySmp fresh = new LazySmp(new TranspositionTable(8), pool, 4);
+        SearchResult s = fresh.run(p, new long[0], SearchLimits.depth(40), 2, stop, it -> {
+            stopped.add(it);
+            if (it.depth() == 2) stop.set(true);
+        });
+        assertEquals(2, stopped.size());
+        assertTrue(s.depth() >= 2);
+        assertNotEquals(Move.NONE, s.bestMove());
+    }
+
+    @Test
+    @DisplayName("searches are reused from a bounded free list, not kept per thread")
+    void boundedSearchReuse() throws Exception {
+        Position p = fen(Fen.START);
+        LazySmp smp = new LazySmp(new TranspositionTable(8), pool, 2);
+        assertEquals(0, smp.idleSearches());
+        smp.run(p, new long[0], SearchLimits.depth(3), 3);
+        assertEquals(2, smp.idleSearches(), "four searches ran, two are kept");
+
+        // Many short-lived callers, as request threads would be, leave no more behind
+        for (int i = 0; i < 10; i++) {
+            Thread t = new Thread(() -> smp.run(p, new long[0], SearchLimits.depth(2), 0));
+            t.start();
+            t.join();
+        }
+        assertEquals(2, smp.idleSearches());
+    }
+
+    @Test
+    @DisplayName("a search leaves the table's generation alone; ageing is the owner's call")
+    void runDoesNotAgeTable() {
+        TranspositionTable tt = new TranspositionTable(1);
+        for (long bucket = 0; bucket < 250; bucket++) {
+            for (long slot = 0; slot < 4; slot++) tt.store(bucket | (slot << 50), Move.NONE, 0, 1, TranspositionTable.UPPER);
+        }
+        assertEquals(1000, tt.hashfull());
+
+        LazySmp smp = new LazySmp(tt, pool, 4);
+        smp.run(fen(Fen.START), new long[0], SearchLimits.depth(4), 2);
+        smp.run(fen(Fen.START), new long[0], SearchLimits.depth(4), 0);
+        assertEquals(1000, tt.hashfull(), "entries stored before the searches are still current");
+
+        tt.newSearch();
+        assertEquals(0, tt.hashfull());
+    }
+}
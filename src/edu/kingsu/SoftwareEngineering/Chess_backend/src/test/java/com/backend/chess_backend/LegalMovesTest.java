@@ -5,10 +5,13 @@ import com.backend.chess_backend.domain.Piece;
 import com.backend.chess_backend.domain.PieceColor;
 import com.backend.chess_backend.domain.PieceType;
 import com.backend.chess_backend.domain.rules.LegalMoves;
+import com.backend.chess_backend.domain.rules.Move;
+import com.backend.chess_backend.domain.rules.MoveList;
 import com.backend.chess_backend.web.MoveRequest;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 
+import java.util.ArrayList;
 import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -28,6 +31,15 @@ public class LegalMovesTest {
         return new Piece(PieceColor.BLACK, t, i);
     }
 
+    /** Destination squares (algebraic) of the pseudo-legal moves from {@code from}. */
+    private static List<String> targets(LegalMoves lm, Board b, String from) {
+        MoveList moves = new MoveList();
+        lm.pseudoLegalMoves(b, Board.sq(from), moves);
+        List<String> out = new ArrayList<>();
+        for (int i = 0; i < moves.size(); i++) out.add(Board.toAlgebraic(Move.to(moves.get(i))));
+        return out;
+    }
+
     @Test
     @DisplayName("Pawn: initial one/two push, blocking, and diagonal captures")
     void pawnTargets_basic() {
@@ -36,13 +48,13 @@ public class LegalMovesTest {
 
         // White pawn on e2, clear path → e3 & e4
         b.setAt(Board.sq("e2"), W(PieceType.PAWN, "e2"));
-        List<String> t1 = lm.pseudoLegalTargets(b, "e2");
+        List<String> t1 = targets(lm, b, "e2");
         assertTrue(t1.contains("e3"), "e3 should be available from e2");
         assertTrue(t1.contains("e4"), "e4 (double push) should be available from e2");
 
         // Block e3 → no forward moves (including the double)
         b.setAt(Board.sq("e3"), W(PieceType.PAWN, "e3"));
-        List<String> t2 = lm.pseudoLegalTargets(b, "e2");
+        List<String> t2 = targets(lm, b, "e2");
         assertFalse(t2.contains("e3"));
         assertFalse(t2.contains("e4"));
 
@@ -50,7 +62,7 @@ public class LegalMovesTest {
         b.clear(Board.sq("e3"));
         b.setAt(Board.sq("d3"), B(PieceType.KNIGHT, "d3"));
         b.setAt(Board.sq("f3"), B(PieceType.BISHOP, "f3"));
-        List<String> t3 = lm.pseudoLegalTargets(b, "e2");
+        List<String> t3 = targets(lm, b, "e2");
         assertTrue(t3.contains("d3"));
         assertTrue(t3.contains("f3"));
     }
@@ -65,7 +77,7 @@ public class LegalMovesTest {
         // Friendly on c3 should exclude c3
         b.setAt(Board.sq("c3"), W(PieceType.PAWN, "c3"));
 
-        List<String> t = lm.pseudoLegalTargets(b, "b1");
+        List<String> t = targets(lm, b, "b1");
         assertTrue(t.contains("a3"));
         assertTrue(t.contains("d2"));
         assertTrue(t.contains("c3") == false, "friendly-occupied c3 must be excluded");
@@ -83,7 +95,7 @@ public class LegalMovesTest {
         // Enemy on d1 → allowed up to and including d1, then stop
         b.setAt(Board.sq("d1"), B(PieceType.PAWN, "d1"));
 
-        List<String> t = lm.pseudoLegalTargets(b, "a1");
+        List<String> t = targets(lm, b, "a1");
         assertTrue(t.contains("b1"));
         assertTrue(t.contains("c1"));
         assertTrue(t.contains("d1"));
@@ -100,7 +112,7 @@ public class LegalMovesTest {
         b.setAt(Board.sq("e5"), W(PieceType.PAWN, "e5")); // friendly blocks one
         b.setAt(Board.sq("f5"), B(PieceType.PAWN, "f5")); // enemy can be captured
 
-        List<String> t = lm.pseudoLegalTargets(b, "e4");
+        List<String> t = targets(lm, b, "e4");
         assertFalse(t.contains("e5"));
         assertTrue(t.contains("f5"));
         assertTrue(t.contains("d3"));
@@ -108,13 +120,16 @@ public class LegalMovesTest {
     }
 
     @Test
-    @DisplayName("pseudoLegalTargets: invalid or empty-from returns empty list")
+    @DisplayName("pseudoLegalMoves: invalid or empty-from appends nothing")
     void invalidFrom() {
         LegalMoves lm = new LegalMoves();
         Board b = new Board();
 
-        assertTrue(lm.pseudoLegalTargets(b, "e2").isEmpty(), "empty square → no targets");
-        assertTrue(lm.pseudoLegalTargets(b, "z9").isEmpty(), "invalid algebraic → empty result");
+        MoveList out = new MoveList();
+        assertEquals(0, lm.pseudoLegalMoves(b, Board.sq("e2"), out), "empty square → no targets");
+        assertEquals(0, lm.pseudoLegalMoves(b, 64, out), "out-of-range square → empty result");
+        assertEquals(0, lm.pseudoLegalMoves(b, -1, out), "out-of-range square → empty result");
+        assertTrue(out.isEmpty());
     }
 
     @Test
@@ -0,0 +1,57 @@
+package com.backend.chess_backend;
+
+import com.backend.chess_backend.domain.Board;
+import com.backend.chess_backend.domain.rules.Magics;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for the {@link Magics} sliding attack tables against a plain ray walk.
+ */
+public class MagicsTest {
+
+    private static final int[][] ROOK = {{1,0},{-1,0},{0,1},{0,-1}};
+    private static final int[][] BISHOP = {{1,1},{1,-1},{-1,1},{-1,-1}};
+
+    private static long walk(int sq, long occ, int[][] dirs) {
+        long out = 0;
+        for (int[] d : dirs) {
+            int f = (sq & 7) + d[0], r = (sq >>> 3) + d[1];
+            while (f >= 0 && f < 8 && r >= 0 && r < 8) {
+                long bit = 1L << ((r << 3) | f);
+                out |= bit;
+                if ((occ & bit) != 0) break;
+                f += d[0];
+                r += d[1];
+            }
+        }
+        return out;
+    }
+
+    @Test
+    @DisplayName("rook/bishop/queen lookups match a ray walk for random occupancies")
+    void lookups_matchRayWalk() {
+        Random rnd = new Random(42);
+        for (int i = 0; i < 20_000; i++) {
+            int sq = rnd.nextInt(64);
+            long occ = rnd.nextLong() & rnd.nextLong();
+            assertEquals(walk(sq, occ, ROOK), Magics.rookAttacks(sq, occ), "rook on " + sq);
+            assertEquals(walk(sq, occ, BISHOP), Magics.bishopAttacks(sq, occ), "bishop on " + sq);
+            assertEquals(walk(sq, occ, ROOK) | walk(sq, occ, BISHOP), Magics.queenAttacks(sq, occ));
+        }
+    }
+
+    @Test
+    @DisplayName("empty board: rook sees 14 squares, bishop on d4 sees 13")
+    void emptyBoard_counts() {
+        for (int sq = 0; sq < 64; sq++) {
+            assertEquals(14, Long.bitCount(Magics.rookAttacks(sq, 0L)));
+        }
+        assertEquals(13, Long.bitCount(Magics.bishopAttacks(Board.sq("d4"), 0L)));
+        assertEquals(7, Long.bitCount(Magics.bishopAttacks(Board.sq("a1"), 0L)));
+    }
+}
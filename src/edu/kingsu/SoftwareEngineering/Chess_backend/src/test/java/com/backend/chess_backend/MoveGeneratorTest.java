@@ -0,0 +1,271 @@
+package com.backend.chess_backend;
+
+import com.backend.chess_backend.domain.Board;
+import com.backend.chess_backend.domain.BoardSetups;
+import com.backend.chess_backend.domain.Fen;
+import com.backend.chess_backend.domain.PieceColor;
+import com.backend.chess_backend.domain.Position;
+import com.backend.chess_backend.domain.rules.LegalMoves;
+import com.backend.chess_backend.domain.rules.Move;
+import com.backend.chess_backend.domain.rules.MoveGenerator;
+import com.backend.chess_backend.domain.rules.MoveList;
+import com.backend.chess_backend.domain.rules.Perft;
+import com.backend.chess_backend.web.MoveRequest;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for strictly legal generation in {@link MoveGenerator}: pins, check evasion,
+ * castling, en passant and promotions.
+ */
+public class MoveGeneratorTest {
+
+    private static final int WK = Position.piece(Position.WHITE, Position.KING);
+    private static final int WQ = Position.piece(Position.WHITE, Position.QUEEN);
+    private static final int WR = Position.piece(Position.WHITE, Position.ROOK);
+    private static final int WN = Position.piece(Position.WHITE, Position.KNIGHT);
+    private static final int WP = Position.piece(Position.WHITE, Position.PAWN);
+    private static final int BK = Position.piece(Position.BLACK, Position.KING);
+    private static final int BR = Position.piece(Position.BLACK, Position.ROOK);
+    private static final int BB = Position.piece(Position.BLACK, Position.BISHOP);
+    private static final int BP = Position.piece(Position.BLACK, Position.PAWN);
+
+    private static void put(Position p, int piece, String sq) {
+        p.put(piece, Board.sq(sq));
+    }
+
+    /** Destination squares (algebraic) of the legal moves from {@code from}. */
+    private static List<String> targets(Position p, String from) {
+        MoveList moves = new MoveList();
+        MoveGenerator.generateLegalFrom(p, Board.sq(from), moves);
+        List<String> out = new ArrayList<>();
+        for (int i = 0; i < moves.size(); i++) out.add(Board.toAlgebraic(Move.to(moves.get(i))));
+        return out;
+    }
+
+    private static long count(Position p, int depth) {
+        MoveList moves = new MoveList();
+        MoveGenerator.generateLegal(p, moves);
+        if (depth == 1) return moves.size();
+        long n = 0;
+        for (int i = 0; i < moves.size(); i++) {
+            p.makeMove(moves.get(i));
+            n += count(p, depth - 1);
+            p.unmakeMove();
+        }
+        return n;
+    }
+
+    @Test
+    @DisplayName("start position: 20 moves, 400 and 8902 leaf nodes at depth 2 and 3")
+    void startPosition_counts() {
+        Position p = new Position();
+        BoardSetups.fillStandard(p);
+        assertEquals(20, count(p, 1));
+        assertEquals(400, count(p, 2));
+        assertEquals(8902, count(p, 3));
+    }
+
+    @Test
+    @DisplayName("pinned rook may only slide along the pin line")
+    void pinnedPiece_staysOnLine() {
+        Position p = new Position();
+        put(p, WK, "e1");
+        put(p, WR, "e2");
+        put(p, BR, "e8");
+        put(p, BK, "a8");
+
+        List<String> t = targets(p, "e2");
+        assertEquals(List.of("e3", "e4", "e5", "e6", "e7", "e8"), t);
+
+        // A knight pinned the same way cannot move at all
+        p.remove(Board.sq("e2"));
+        put(p, WN, "e2");
+        assertTrue(targets(p, "e2").isEmpty());
+    }
+
+    @Test
+    @DisplayName("single check: block or capture; double check: king only")
+    void checkEvasion() {
+        Position p = new Position();
+        put(p, WK, "e1");
+        put(p, WN, "c1");
+        put(p, WQ, "a4");
+        put(p, BR, "e8");
+        put(p, BK, "a8");
+
+        assertEquals(List.of("e2"), targets(p, "c1"), "knight may only interpose");
+        assertEquals(List.of("e8", "e4"), targets(p, "a4"), "queen may capture or interpose");
+        assertTrue(MoveGenerator.inCheck(p));
+
+        // Second checker: bishop on b4 → only king moves remain
+        put(p, BB, "b4");
+        assertTrue(targets(p, "c1").isEmpty());
+        assertTrue(targets(p, "a4").isEmpty());
+        List<String> king = targets(p, "e1");
+        assertFalse(king.isEmpty());
+        assertFalse(king.contains("e2"), "king may not step along the checking rook's ray");
+        assertFalse(king.contains("d2"), "king may not step onto the bishop's diagonal");
+    }
+
+    @Test
+    @DisplayName("king cannot retreat along a slider ray behind itself")
+    void kingMoves_xray() {
+        Position p = new Position();
+        put(p, WK, "e4");
+        put(p, BR, "a4");
+        List<String> t = targets(p, "e4");
+        assertFalse(t.contains("f4"));
+        assertFalse(t.contains("d4"));
+        assertTrue(t.contains("e5"));
+    }
+
+    @Test
+    @DisplayName("castling: requires rights, empty path and unattacked transit squares")
+    void castling() {
+        Position p = new Position();
+        put(p, WK, "e1");
+        put(p, WR, "a1");
+        put(p, WR, "h1");
+        put(p, BK, "e8");
+        p.setCastlingRights(Position.WHITE_OO | Position.WHITE_OOO);
+
+        List<String> t = targets(p, "e1");
+        assertTrue(t.contains("g1"));
+        assertTrue(t.contains("c1"));
+
+        // Bishop on c4 covers f1: no short castling; b1 attacked does not matter for long
+        put(p, BB, "c4");
+        t = targets(p, "e1");
+        assertFalse(t.contains("g1"));
+        assertTrue(t.contains("c1"));
+        p.remove(Board.sq("c4"));
+        put(p, BB, "e4");
+        assertTrue(targets(p, "e1").contains("c1"), "attacked b1 does not prevent castling long");
+
+        // No castling out of check
+        p.remove(Board.sq("e4"));
+        put(p, BR, "e7");
+        t = targets(p, "e1");
+        assertFalse(t.contains("g1"));
+        assertFalse(t.contains("c1"));
+
+        // Without rights nothing is generated
+        p.remove(Board.sq("e7"));
+        p.setCastlingRights(0);
+        t = targets(p, "e1");
+        assertFalse(t.contains("g1"));
+        assertFalse(t.contains("c1"));
+    }
+
+    @Test
+    @DisplayName("en passant: generated after a double push, refused when it exposes the king on the rank")
+    void enPassant() {
+        Position p = new Position();
+        put(p, WK, "a5");
+        put(p, WP, "b5");
+        put(p, BP, "c7");
+        put(p, BK, "e8");
+        p.setSideToMove(Position.BLACK);
+        p.makeMove(Move.of(Board.sq("c7"), Board.sq("c5")));
+
+        MoveList moves = new MoveList();
+        MoveGenerator.generateLegalFrom(p, Board.sq("b5"), moves);
+        int i = moves.indexOf(Board.sq("b5"), Board.sq("c6"));
+        assertTrue(i >= 0);
+        assertEquals(Move.EN_PASSANT, Move.flag(moves.get(i)));
+
+        // Rook on h5: removing both pawns would open the rank to the king
+        p.unmakeMove();
+        put(p, BR, "h5");
+        p.makeMove(Move.of(Board.sq("c7"), Board.sq("c5")));
+        assertFalse(targets(p, "b5").contains("c6"));
+    }
+
+    @Test
+    @DisplayName("promotion: four moves per square; MoveRequest.promotion selects, null means queen")
+    void promotion() {
+        Position p = new Position();
+        put(p, WK, "e1");
+        put(p, WP, "a7");
+        put(p, BK, "e8");
+
+        MoveList moves = new MoveList();
+        MoveGenerator.generateLegalFrom(p, Board.sq("a7"), moves);
+        assertEquals(4, moves.size());
+
+        LegalMoves lm = new LegalMoves();
+        int q = lm.findMove(p, PieceColor.WHITE, new MoveRequest("a7", "a8", null, 0));
+        assertEquals(Position.QUEEN, Move.promotionType(q));
+        int n = lm.findMove(p, PieceColor.WHITE, new MoveRequest("a7", "a8", "N", 0));
+        assertEquals(Position.KNIGHT, Move.promotionType(n));
+        assertEquals(Move.NONE, lm.findMove(p, PieceColor.WHITE, new MoveRequest("a7", "a8", "k", 0)));
+    }
+
+    @Test
+    @DisplayName("isSquareAttacked: pawns, knights, sliders and blocking")
+    void squareAttacks() {
+        Position p = new Position();
+        put(p, WP, "e4");
+        put(p, WN, "g1");
+        put(p, WR, "a1");
+        put(p, BP, "a3");
+        assertTrue(MoveGenerator.isSquareAttacked(p, Board.sq("d5"), Position.WHITE));
+        assertFalse(MoveGenerator.isSquareAttacked(p, Board.sq("e5"), Position.WHITE));
+        assertTrue(MoveGenerator.isSquareAttacked(p, Board.sq("f3"), Position.WHITE));
+        assertTrue(MoveGenerator.isSquareAttacked(p, Board.sq("a3"), Position.WHITE));
+        assertFalse(MoveGenerator.isSquareAttacked(p, Board.sq("a4"), Position.WHITE), "a3 blocks the rook");
+        assertTrue(MoveGenerator.isSquareAttacked(p, Board.sq("b2"), Position.BLACK));
+    }
+
+    @Test
+    @DisplayName("hasLegalMove: mate, stalemate and evasions; agrees with full generation over perft trees")
+    void hasLegalMove() {
+        String[] none = {
+                "rnb1kbnr/pppp1ppp/8/4p3/6Pq/5P2/PPPPP2P/RNBQKBNR w KQkq - 1 3",   // fool's mate
+                "7k/5Q2/6K1/8/8/8/8/8 b - - 0 1",                                   // stalemate
+                "k7/1R6/1K6/8/8/8/8/8 b - - 0 1",                                   // stalemate by rook
+                "R5k1/5ppp/8/8/8/8/8/6K1 b - - 0 1",                                // back-rank mate
+        };
+        for (String fen : none) {
+            Position p = new Position();
+            Fen.read(fen, p);
+            assertFalse(MoveGenerator.hasLegalMove(p), fen);
+        }
+
+        String[] some = {
+                "7k/8/6K1/8/8/8/8/R7 b - - 0 1",                                    // only king moves
+                "4k3/8/8/8/8/8/5PPq/6KR w - - 0 1",                                 // king takes the checker
+                "8/8/8/KPp4r/8/8/8/7k w - c6 0 2",                                  // e.p. exposes the king
+                "8/8/8/8/k2Pp2Q/8/8/3K4 b - d3 0 1",                                // e.p. pinned along the rank
+        };
+        for (String fen : some) {
+            Position p = new Position();
+            Fen.read(fen, p);
+            assertTrue(MoveGenerator.hasLegalMove(p), fen);
+        }
+
+        for (Perft.Case c : Perft.SUITE) {
+            Position p = new Position();
+            Fen.read(c.fen(), p);
+            agree(p, 3);
+        }
+    }
+
+    private static void agree(Position p, int depth) {
+        MoveList moves = new MoveList();
+        MoveGenerator.generateLegal(p, moves);
+        assertEquals(moves.size() > 0, MoveGenerator.hasLegalMove(p), () -> Fen.write(p));
+        if (depth == 0) return;
+        for (int i = 0; i < moves.size(); i++) {
+            p.makeMove(moves.get(i));
+            agree(p, depth - 1);
+            p.unmakeMove();
+        }
+    }
+}
@@ -0,0 +1,172 @@
+package com.backend.chess_backend;
+
+import com.backend.chess_backend.domain.Board;
+import com.backend.chess_backend.domain.Fen;
+import com.backend.chess_backend.domain.Position;
+import com.backend.chess_backend.domain.engine.MoveOrdering;
+import com.backend.chess_backend.domain.engine.Search;
+import com.backend.chess_backend.domain.engine.SearchLimits;
+import com.backend.chess_backend.domain.engine.SearchResult;
+import com.backend.chess_backend.domain.engine.Tablebase;
+import com.backend.chess_backend.domain.engine.TranspositionTable;
+import com.backend.chess_backend.domain.rules.Move;
+import com.backend.chess_backend.domain.rules.MoveGenerator;
+import com.backend.chess_backend.domain.rules.MoveList;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for {@link MoveOrdering}: the ranking of captures, killers, countermoves and history, and
+ * the node count it saves a fixed-depth {@link Search}.
+ */
+public class MoveOrderingTest {
+
+    private static Position fen(String fen) {
+        Position p = new Position();
+        Fen.read(fen, p);
+        return p;
+    }
+
+    private static MoveList legal(Position p) {
+        MoveList list = new MoveList();
+        MoveGenerator.generateLegal(p, list);
+        return list;
+    }
+
+    private static int move(String from, String to) {
+        return Move.of(Board.sq(from), Board.sq(to));
+    }
+
+    /** Swaps {@code move} into slot {@code index}, as if it had been searched there. */
+    private static void moveTo(MoveList list, int move, int index) {
+        for (int i = 0; i < list.size(); i++) {
+            if (list.get(i) == move) {
+                list.set(i, list.get(index));
+                list.set(index, move);
+                return;
+            }
+        }
+        fail(Move.toUci(move) + " is not legal here");
+    }
+
+    @Test
+    @DisplayName("captures come first by MVV-LVA; quiet moves keep generation order without history")
+    void capturesByMvvLva() {
+        // White can take the queen with the pawn or the rook, and the knight with the king
+        Position p = fen("4k3/8/8/3q4/4P3/8/8/3RKn2 w - - 0 1");
+        MoveList list = legal(p);
+        MoveList quiets = new MoveList();
+        for (int i = 0; i < list.size(); i++) {
+            int m = list.get(i);
+            if (p.pieceAt(Move.to(m)) == Position.NO_PIECE) quiets.add(m);
+        }
+        MoveOrdering.capturesOnly().order(p, list, new int[MoveList.CAPACITY], 0, Move.NONE, Move.NONE, Move.NONE);
+        assertEquals(move("e4", "d5"), list.get(0));
+        assertEquals(move("d1", "d5"), list.get(1));
+        assertEquals(move("e1", "f1"), list.get(2));        // the king takes the knight: lesser victim
+        for (int i = 0; i < quiets.size(); i++) assertEquals(quiets.get(i), list.get(3 + i));
+    }
+
+    @Test
+    @DisplayName("a quiet cutoff becomes a killer, a countermove and gains history; earlier quiets lose history")
+    void cutoffUpdatesTables() {
+        Position p = fen(Fen.START);
+        MoveOrdering ordering = new MoveOrdering();
+        MoveList list = legal(p);
+        int cut = move("g1", "f3");
+        int tried = list.get(0);
+        moveTo(list, cut, 1);
+        int previous = Move.NONE;
+
+        ordering.cutoff(p, list, 1, 3, 4, previous);
+        assertEquals(cut, ordering.killer(3, 0));
+        assertEquals(16, ordering.history(Position.WHITE, cut));
+        assertEquals(-16, ordering.history(Position.WHITE, tried));
+        assertEquals(0, ordering.history(Position.BLACK, cut));
+
+        int other = move("b1", "c3");
+        list.set(1, other);
+        ordering.cutoff(p, list, 1, 3, 4, previous);
+        ordering.cutoff(p, list, 1, 3, 4, previous);
+        assertEquals(other, ordering.killer(3, 0));
+        assertEquals(cut, ordering.killer(3, 1), "a repeated killer does not push out the other slot");
+
+        // Killers outrank history; the killer and then the quiet with history lead the quiet moves
+        MoveList sorted = legal(p);
+        ordering.order(p, sorted, new int[MoveList.CAPACITY], 3, Move.NONE, Move.NONE, Move.NONE);
+        assertEquals(other, sorted.get(0));
+        assertEquals(cut, sorted.get(1));
+        assertEquals(tried, sorted.get(sorted.size() - 1), "a move tried before a cutoff sinks to the end");
+
+        ordering.newSearch();
+        assertEquals(Move.NONE, ordering.killer(3, 0));
+        assertEquals(8, ordering.history(Position.WHITE, cut));
+        ordering.clear();
+        assertEquals(0, ordering.history(Position.WHITE, cut));
+    }
+
+    @Test
+    @DisplayName("countermoves are keyed by the previous move and captures never enter the tables")
+    void countermovesAndCaptures() {
+        Position p = fen("4k3/8/8/3q4/4P3/8/8/4K3 b - - 0 1");
+        Position after = p.copy();
+        int previous = move("d5", "d6");
+        after.makeMove(previous);
+        MoveList list = legal(after);
+        MoveOrdering ordering = new MoveOrdering();
+
+        int reply = move("e4", "e5");
+        moveTo(list, reply, 0);
+        ordering.cutoff(after, list, 0, 1, 2, previous);
+        assertEquals(reply, ordering.countermove(after, previous));
+
+        // At another ply the countermove is still found, ahead of every other quiet move
+        MoveList sorted = legal(after);
+        ordering.order(after, sorted, new int[MoveList.CAPACITY], 5, Move.NONE, Move.NONE, previous);
+        assertEquals(reply, sorted.get(0));
+
+        Position capture = fen("4k3/8/8/3q4/4P3/8/8/4K3 w - - 0 1");
+        MoveList captures = legal(capture);
+        int exd5 = move("e4", "d5");
+        moveTo(captures, exd5, 0);
+        ordering.cutoff(capture, captures, 0, 0, 6, Move.NONE);
+        assertEquals(Move.NONE, ordering.killer(0, 0));
+        assertEquals(0, ordering.history(Position.WHITE, exd5));
+    }
+
+    @Test
+    @DisplayName("history stays within ±MAX_HISTORY however often a move fails high")
+    void historyIsBounded() {
+        Position p = fen(Fen.START);
+        MoveOrdering ordering = new MoveOrdering();
+        MoveList list = legal(p);
+        for (int i = 0; i < 1_000; i++) ordering.cutoff(p, list, 1, 0, 30, Move.NONE);
+        int good = ordering.history(Position.WHITE, list.get(1));
+        int bad = ordering.history(Position.WHITE, list.get(0));
+        assertTrue(good > MoveOrdering.MAX_HISTORY * 9 / 10 && good <= MoveOrdering.MAX_HISTORY, "good " + good);
+        assertTrue(bad < -MoveOrdering.MAX_HISTORY * 9 / 10 && bad >= -MoveOrdering.MAX_HISTORY, "bad " + bad);
+    }
+
+    @Test
+    @DisplayName("at a fixed depth killers, history and countermoves cut the node count")
+    void reducesNodes() {
+        String[] fens = {
+                Fen.START,
+                "r4rk1/1pp1qppp/p1np1n2/2b1p1B1/2B1P1b1/P1NP1N2/1PP1QPPP/R4RK1 w - - 0 10",
+                "r2q1rk1/pp2bppp/2n1bn2/2pp4/3P4/2PBPN2/PP1N1PPP/R1BQ1RK1 w - - 0 10",
+        };
+        long baseline = 0, full = 0;
+        for (String f : fens) {
+            SearchResult b = new Search(new TranspositionTable(16), Tablebase.NONE, MoveOrdering.capturesOnly())
+                    .run(fen(f), new long[0], SearchLimits.depth(6));
+            SearchResult o = new Search(new TranspositionTable(16), Tablebase.NONE, new MoveOrdering())
+                    .run(fen(f), new long[0], SearchLimits.depth(6));
+            assertEquals(6, o.depth());
+            baseline += b.nodes();
+            full += o.nodes();
+        }
+        assertTrue(full < baseline * 0.8, "nodes " + full + " vs " + baseline + " without quiet-move ordering");
+    }
+}
@@ -0,0 +1,57 @@
+package com.backend.chess_backend;
+
+import com.backend.chess_backend.domain.Board;
+import com.backend.chess_backend.domain.Position;
+import com.backend.chess_backend.domain.rules.Move;
+import com.backend.chess_backend.domain.rules.MoveList;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for the packed {@link Move} encoding and the {@link MoveList} buffer.
+ */
+public class MoveTest {
+
+    @Test
+    @DisplayName("encode/decode: from, to, flag and promotion survive packing")
+    void encodeDecode() {
+        int e2 = Board.sq("e2"), e4 = Board.sq("e4");
+        int m = Move.of(e2, e4);
+        assertEquals(e2, Move.from(m));
+        assertEquals(e4, Move.to(m));
+        assertEquals(Move.NORMAL, Move.flag(m));
+        assertFalse(Move.isPromotion(m));
+        assertEquals("e2e4", Move.toUci(m));
+
+        int p = Move.promotion(Board.sq("b7"), Board.sq("a8"), Position.KNIGHT);
+        assertTrue(Move.isPromotion(p));
+        assertEquals(Position.KNIGHT, Move.promotionType(p));
+        assertEquals("b7a8n", Move.toUci(p));
+        assertEquals(Position.QUEEN, Move.promotionType(Move.promotion(52, 60, Position.QUEEN)));
+
+        int c = Move.of(Board.sq("e1"), Board.sq("g1"), Move.CASTLING);
+        assertEquals(Move.CASTLING, Move.flag(c));
+        assertEquals(Board.sq("g1"), Move.to(c));
+        assertTrue(c < (1 << 16), "moves fit in 16 bits");
+    }
+
+    @Test
+    @DisplayName("MoveList: add/get/indexOf/clear without reallocating")
+    void moveList_basics() {
+        MoveList list = new MoveList();
+        assertTrue(list.isEmpty());
+        list.add(Move.of(12, 28));
+        list.add(Move.promotion(52, 60, Position.QUEEN));
+        assertEquals(2, list.size());
+        assertEquals(0, list.indexOf(12, 28));
+        assertEquals(1, list.indexOf(52, 60));
+        assertTrue(list.contains(52, 60));
+        assertFalse(list.contains(12, 20));
+
+        list.clear();
+        assertEquals(0, list.size());
+        assertFalse(list.contains(12, 28));
+    }
+}
@@ -0,0 +1,66 @@
+package com.backend.chess_backend;
+
+import com.backend.chess_backend.domain.Fen;
+import com.backend.chess_backend.domain.Position;
+import com.backend.chess_backend.domain.rules.Perft;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Regression tests for the move generator against the published perft suite, and for the
+ * divide / parallel / hashed counting modes of {@link Perft}.
+ */
+public class PerftTest {
+
+    private static Position read(String fen) {
+        Position p = new Position();
+        Fen.read(fen, p);
+        return p;
+    }
+
+    @Test
+    @DisplayName("suite: node counts match the published values to depth 3")
+    void suite_depth3() {
+        for (Perft.Case c : Perft.SUITE) {
+            Position p = read(c.fen());
+            long key = p.key();
+            for (int d = 1; d <= 3; d++) {
+                assertEquals(c.nodes()[d - 1], Perft.perft(p, d), c.name() + " depth " + d);
+            }
+            assertEquals(key, p.key(), c.name() + ": position restored after the walk");
+            assertEquals(0, p.undoDepth());
+        }
+    }
+
+    @Test
+    @DisplayName("suite: en passant and promotion heavy positions to depth 4")
+    void suite_depth4() {
+        for (Perft.Case c : Perft.SUITE) {
+            if (!c.name().equals("position3") && !c.name().equals("position4")) continue;
+            assertEquals(c.nodes()[3], Perft.perft(read(c.fen()), 4), c.name());
+        }
+    }
+
+    @Test
+    @DisplayName("divide sums to perft; parallel and hashed modes agree with serial")
+    void modesAgree() {
+        Perft.Case kiwipete = Perft.SUITE.get(1);
+        Position p = read(kiwipete.fen());
+
+        Map<String, Long> divide = Perft.divide(p, 3);
+        assertEquals(48, divide.size());
+        assertEquals(kiwipete.nodes()[2], divide.values().stream().mapToLong(Long::longValue).sum());
+        assertEquals(2241L, divide.get("d5e6"));
+
+        Perft.Hash hash = new Perft.Hash(4);
+        assertEquals(kiwipete.nodes()[2], Perft.perft(p, 3, hash));
+        assertEquals(kiwipete.nodes()[2], Perft.perft(p, 3, hash), "second run served from the hash");
+        assertEquals(kiwipete.nodes()[2], Perft.parallel(p, 3, null, ForkJoinPool.commonPool()));
+        assertEquals(kiwipete.nodes()[2], Perft.parallel(p, 3, new Perft.Hash(4), ForkJoinPool.commonPool()));
+    }
+}
@@ -0,0 +1,266 @@
+package com.backend.chess_backend;
+
+import com.backend.chess_backend.domain.Fen;
+import com.backend.chess_backend.domain.Position;
+import com.backend.chess_backend.domain.engine.PolyglotBook;
+import com.backend.chess_backend.domain.engine.PolyglotKeys;
+import com.backend.chess_backend.domain.rules.Move;
+import com.backend.chess_backend.domain.rules.MoveGenerator;
+import com.backend.chess_backend.domain.rules.MoveList;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for the memory-mapped {@link PolyglotBook} and {@link PolyglotKeys}, using a synthetic key
+ * table that reproduces the published test keys and books written on the fly.
+ */
+public class PolyglotBookTest {
+
+    /** Deterministic stand-in for the Polyglot Random64 table. */
+    static long[] testKeys() {
+        long[] keys = new long[PolyglotKeys.SIZE];
+        Random r = new Random(781);
+        for (int i = 0; i < keys.length; i++) keys[i] = r.nextLong();
+        return keys;
+    }
+
+    /** A test position of the Polyglot format description: moves from the start, FEN and published key. */
+    private record Published(String moves, String fen, long key) {}
+
+    private static final Published[] PUBLISHED = {
+            new Published("", Fen.START, 0x463b96181691fc9cL),
+            new Published("e2e4", "rnbqkbnr/pppppppp/8/8/4P3/8/PPPP1PPP/RNBQKBNR b KQkq e3 0 1", 0x823c9b50fd114196L),
+            new Published("e2e4 d7d5", "rnbqkbnr/ppp1pppp/8/3p4/4P3/8/PPPP1PPP/RNBQKBNR w KQkq d6 0 2", 0x0756b94461c50fb0L),
+            new Published("e2e4 d7d5 e4e5", "rnbqkbnr/ppp1pppp/8/3pP3/8/8/PPPP1PPP/RNBQKBNR b KQkq - 0 2", 0x662fafb965db29d4L),
+            new Published("e2e4 d7d5 e4e5 f7f5", "rnbqkbnr/ppp1p1pp/8/3pPp2/8/8/PPPP1PPP/RNBQKBNR w KQkq f6 0 3", 0x22a48b5a8e47ff78L),
+            new Published("e2e4 d7d5 e4e5 f7f5 e1e2", "rnbqkbnr/ppp1p1pp/8/3pPp2/8/8/PPPPKPPP/RNBQ1BNR b kq - 0 3", 0x652a607ca3f242c1L),
+            new Published("e2e4 d7d5 e4e5 f7f5 e1e2 e8f7", "rnbq1bnr/ppp1pkpp/8/3pPp2/8/8/PPPPKPPP/RNBQ1BNR w - - 0 4", 0x00fdd303c946bdd9L),
+            new Published("a2a4 b7b5 h2h4 b5b4 c2c4", "rnbqkbnr/p1pppppp/8/8/PpP4P/8/1P1PPPP1/RNBQKBNR b KQkq c3 0 3", 0x3c8123ea7b067637L),
+            new Published("a2a4 b7b5 h2h4 b5b4 c2c4 b4c3 a1a3", "rnbqkbnr/p1pppppp/8/8/P6P/R1p5/1P1PPPP1/1NBQKBNR b Kkq - 0 4", 0x5c3f9b829b279560L),
+    };
+
+    /**
+     * For each published position, a table slot it uses and no earlier one does: side to move, pawn e4,
+     * pawn d5, pawn e5, pawn f5, king e2, king f7, pawn c4, rook a3.
+     */
+    private static final int[] ADJUSTED = {780, 64 + 28, 35, 64 + 36, 37, 11 * 64 + 12, 10 * 64 + 53, 64 + 26, 7 * 64 + 16};
+
+    /**
+     * {@link #testKeys()} with one entry per published position adjusted, in order, so that every
+     * position gets its published key under {@link #referenceKey}. This is what {@link PolyglotKeys#load}
+     * checks, and stands in for the real Random64 table.
+     */
+    static long[] loadableKeys() {
+        long[] t = testKeys();
+        for (int i = 0; i < PUBLISHED.length; i++) t[ADJUSTED[i]] ^= referenceKey(t, PUBLISHED[i].fen()) ^ PUBLISHED[i].key();
+        return t;
+    }
+
+    /** Polyglot key of a FEN computed straight from the format description, independently of {@link Position}. */
+    private static long referenceKey(long[] t, String fen) {
+        String[] f = fen.split(" ");
+        char[] board = new char[64];
+        int rank = 7, file = 0;
+        for (char c : f[0].toCharArray()) {
+            if (c == '/') { rank--; file = 0; }
+            else if (Character.isDigit(c)) file += c - '0';
+            else board[8 * rank + file++] = c;
+        }
+        long key = 0;
+        for (int sq = 0; sq < 64; sq++) {
+            if (board[sq] != 0) key ^= t[64 * "pPnNbBrRqQkK".indexOf(board[sq]) + sq];
+        }
+        for (int i = 0; i < 4; i++) {
+            if (f[2].indexOf("KQkq".charAt(i)) >= 0) key ^= t[768 + i];
+        }
+        boolean white = f[1].equals("w");
+        if (!f[3].equals("-")) {
+            // Only if a pawn of the side to move stands next to the pawn that just moved two squares
+            int epFile = f[3].charAt(0) - 'a', row = white ? 4 : 3;
+            char pawn = white ? 'P' : 'p';
+            if ((epFile > 0 && board[8 * row + epFile - 1] == pawn) || (epFile < 7 && board[8 * row + epFile + 1] == pawn)) {
+                key ^= t[772 + epFile];
+            }
+        }
+        if (white) key ^= t[780];
+        return key;
+    }
+
+    /** Writes a key table the way Polyglot's {@code random.cpp} lists it. */
+    static Path writeKeysSource(Path dir, long[] keys) throws IOException {
+        StringBuilder src = new StringBuilder("const uint64 Random64[RandomNb] = {\n");
+        for (long k : keys) src.append(String.format("   U64(0x%016X),%n", k));
+        return Files.writeString(dir.resolve("random.cpp"), src.append("};\n"));
+    }
+
+    /** Writes a key table file. */
+    static Path writeKeys(Path dir, long[] keys) throws IOException {
+        ByteBuffer buf = ByteBuffer.allocate(keys.length * Long.BYTES);
+        buf.asLongBuffer().put(keys);
+        return Files.write(dir.resolve("random64.bin"), buf.array());
+    }
+
+    /** Writes a book of {@code {key, move, weight}} entries, sorted by unsigned key as Polyglot requires. */
+    static Path writeBook(Path dir, long[]... entries) throws IOException {
+        long[][] sorted = entries.clone();
+        Arrays.sort(sorted, Comparator.comparing((long[] e) -> e[0], Long::compareUnsigned));
+        ByteBuffer buf = ByteBuffer.allocate(sorted.length * 16);
+        for (long[] e : sorted) buf.putLong(e[0]).putShort((short) e[1]).putShort((short) e[2]).putInt(0);
+        return Files.write(dir.resolve("book.bin"), buf.array());
+    }
+
+    /** Polyglot move code: from/to squares (a1 = 0) and promotion 1 = N .. 4 = Q. */
+    static long raw(String from, String to, int promotion) {
+        return (promotion << 12) | (sq(from) << 6) | sq(to);
+    }
+
+    private static int sq(String s) {
+        return (s.charAt(1) - '1') * 8 + (s.charAt(0) - 'a');
+    }
+
+    private static Position pos(String fen) {
+        Position p = new Position();
+        Fen.read(fen, p);
+        return p;
+    }
+
+    @Test
+    @DisplayName("keys: side to move, castling, en passant and pieces use the Polyglot table slots")
+    void keys() {
+        long[] t = testKeys();
+        PolyglotKeys keys = new PolyglotKeys(t);
+        long white = keys.key(pos("4k3/8/8/8/8/8/4P3/4K3 w - - 0 1"));
+        assertEquals(t[780], white ^ keys.key(pos("4k3/8/8/8/8/8/4P3/4K3 b - - 0 1")));
+        assertEquals(t[64 + 12], white ^ keys.key(pos("4k3/8/8/8/8/8/8/4K3 w - - 0 1")), "white pawn e2 is kind 1");
+        assertEquals(t[768] ^ t[771], keys.key(pos("r3k2r/8/8/8/8/8/8/R3K2R w Kq - 0 1"))
+                ^ keys.key(pos("r3k2r/8/8/8/8/8/8/R3K2R w - - 0 1")));
+        assertEquals(t[772 + 3], keys.key(pos("4k3/8/8/8/3Pp3/8/8/4K3 b - d3 0 1"))
+                ^ keys.key(pos("4k3/8/8/8/3Pp3/8/8/4K3 b - - 0 1")));
+        assertThrows(IllegalArgumentException.class, () -> new PolyglotKeys(new long[10]));
+    }
+
+    @Test
+    @DisplayName("moves: binary search finds every legal entry of a key; illegal and weight-0 entries are skipped")
+    void moves(@TempDir Path dir) throws IOException {
+        PolyglotKeys keys = new PolyglotKeys(testKeys());
+        Position start = pos(Fen.START);
+        long k = keys.key(start);
+        PolyglotBook book = PolyglotBook.open(writeBook(dir,
+                new long[] {0x8000_0000_0000_0000L, raw("e2", "e4", 0), 1},
+                new long[] {k, raw("e2", "e4", 0), 30},
+                new long[] {k, raw("d2", "d4", 0), 10},
+                new long[] {k, raw("e2", "e5", 0), 50},
+                new long[] {k, raw("c2", "c4", 0), 0},
+                new long[] {-1L, raw("e2", "e4", 0), 1},
+                new long[] {1L, raw("e2", "e4", 0), 1}), keys);
+
+        assertEquals(7, book.size());
+        List<PolyglotBook.BookMove> moves = book.moves(start);
+        assertEquals(List.of(new PolyglotBook.BookMove(Move.of(12, 28), 30), new PolyglotBook.BookMove(Move.of(11, 27), 10)), moves);
+        assertTrue(book.moves(pos("4k3/8/8/8/8/8/8/4K3 w - - 0 1")).isEmpty());
+
+        Random r = new Random(1);
+        int e4 = 0;
+        for (int i = 0; i < 400; i++) {
+            int m = book.pick(start, r);
+            assertTrue(m == Move.of(12, 28) || m == Move.of(11, 27));
+            if (m == Move.of(12, 28)) e4++;
+        }
+        assertTrue(e4 > 250 && e4 < 350, "about three quarters e2e4, was " + e4);
+        assertEquals(Move.NONE, book.pick(pos("4k3/8/8/8/8/8/8/4K3 w - - 0 1"), r));
+    }
+
+    @Test
+    @DisplayName("moves: castling is stored as king-takes-rook; promotions carry their piece")
+    void castlingAndPromotion(@TempDir Path dir) throws IOException {
+        PolyglotKeys keys = new PolyglotKeys(testKeys());
+        Position castle = pos("r3k2r/8/8/8/8/8/8/R3K2R w KQkq - 0 1");
+        Position promote = pos("8/P3k3/8/8/8/8/8/4K3 w - - 0 1");
+        PolyglotBook book = PolyglotBook.open(writeBook(dir,
+                new long[] {keys.key(castle), raw("e1", "h1", 0), 2},
+                new long[] {keys.key(castle), raw("e1", "a1", 0), 1},
+                new long[] {keys.key(promote), raw("a7", "a8", 3), 1}), keys);
+
+        assertEquals(List.of("e1g1", "e1c1"), book.moves(castle).stream().map(m -> Move.toUci(m.move())).toList());
+        assertEquals(Move.CASTLING, Move.flag(book.moves(castle).get(0).move()));
+        assertEquals(Move.promotion(48, 56, Position.ROOK), book.moves(promote).get(0).move());
+    }
+
+    @Test
+    @DisplayName("load: the table gives every published test position its key, reached by playing the moves")
+    void publishedKeys(@TempDir Path dir) throws IOException {
+        long[] table = loadableKeys();
+        PolyglotKeys keys = PolyglotKeys.load(writeKeys(dir, table));
+        MoveList legal = new MoveList();
+        for (Published p : PUBLISHED) {
+            Position pos = pos(Fen.START);
+            for (String uci : p.moves().split(" ")) {
+                if (uci.isEmpty()) continue;
+                legal.clear();
+                MoveGenerator.generateLegal(pos, legal);
+                int move = Move.NONE;
+                for (int i = 0; i < legal.size(); i++) if (Move.toUci(legal.get(i)).equals(uci)) move = legal.get(i);
+                assertNotEquals(Move.NONE, move, uci);
+                pos.makeMove(move);
+            }
+            assertEquals(p.key(), keys.key(pos), p.moves());
+            assertEquals(p.key(), keys.key(pos(p.fen())), p.fen());
+        }
+    }
+
+    @Test
+    @DisplayName("load: the table is read as Polyglot ships it, from random.cpp or book_format.html text")
+    void sourceText(@TempDir Path dir) throws IOException {
+        long[] table = loadableKeys();
+        Position p = pos("r3k2r/pPppqpb1/bn2pnp1/3PN3/1p2P3/2N2Q1p/PPPBBPPP/R3K2R w KQkq - 0 1");
+        long expected = new PolyglotKeys(table).key(p);
+        assertEquals(expected, PolyglotKeys.load(writeKeysSource(dir, table)).key(p));
+
+        StringBuilder html = new StringBuilder("<pre>\nconst uint64 Random64[781] = {\n");
+        for (int i = 0; i < table.length; i++) html.append(String.format("0x%016x,", table[i])).append(i % 4 == 3 ? "\n" : " ");
+        html.append("};\n</pre>\n<p>starting position<br>key=463b96181691fc9c</p>\n<p>0x0123456789abcdef0 is not read</p>\n");
+        Path spec = Files.writeString(dir.resolve("book_format.html"), html);
+        assertEquals(expected, PolyglotKeys.load(spec).key(p));
+
+        Path truncated = writeKeysSource(dir, Arrays.copyOf(table, PolyglotKeys.SIZE - 1));
+        assertThrows(IOException.class, () -> PolyglotKeys.load(truncated));
+    }
+
+    @Test
+    @DisplayName("open/load: files of the wrong size and key tables other than the standard one are rejected")
+    void badFiles(@TempDir Path dir) throws IOException {
+        Path odd = Files.write(dir.resolve("odd.bin"), new byte[17]);
+        assertThrows(IOException.class, () -> PolyglotBook.open(odd, new PolyglotKeys(testKeys())));
+        assertThrows(IOException.class, () -> PolyglotKeys.load(odd));
+        Path other = writeKeys(dir, testKeys());
+        assertThrows(IOException.class, () -> PolyglotKeys.load(other));
+
+        long[] table = loadableKeys();
+        PolyglotKeys loaded = PolyglotKeys.load(writeKeys(dir, table));
+        Position p = pos("r3k2r/pPppqpb1/bn2pnp1/3PN3/1p2P3/2N2Q1p/PPPBBPPP/R3K2R w KQkq - 0 1");
+        assertEquals(new PolyglotKeys(table).key(p), loaded.key(p));
+
+        // Only the last two published positions use the en-passant slot of the c-file and the rook on a3
+        long[] wrongEp = table.clone();
+        wrongEp[772 + 2] ^= 1;
+        Path epFile = writeKeys(dir, wrongEp);
+        assertThrows(IOException.class, () -> PolyglotKeys.load(epFile));
+
+        long[] swapped = table.clone();
+        for (int i = 0; i < swapped.length; i++) swapped[i] = Long.reverseBytes(swapped[i]);
+        Path littleEndian = writeKeys(dir, swapped);
+        assertThrows(IOException.class, () -> PolyglotKeys.load(littleEndian));
+    }
+}
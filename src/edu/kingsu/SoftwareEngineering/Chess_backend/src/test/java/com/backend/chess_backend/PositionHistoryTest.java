@@ -0,0 +1,45 @@
+package com.backend.chess_backend;
+
+import com.backend.chess_backend.domain.PositionHistory;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for {@link PositionHistory}: same-side comparisons, the halfmove-clock window and ring wrap-around.
+ */
+public class PositionHistoryTest {
+
+    @Test
+    @DisplayName("repetitions: counts same-side occurrences, bounded by the halfmove clock")
+    void repetitions_window() {
+        PositionHistory h = new PositionHistory();
+        assertEquals(0, h.repetitions(0));
+        long[] line = {1, 2, 3, 4, 1, 2, 3, 4, 1};
+        for (long k : line) h.push(k);
+        assertEquals(9, h.size());
+        assertEquals(2, h.repetitions(8));
+        assertEquals(1, h.repetitions(7), "the first occurrence lies before the last irreversible move");
+        assertEquals(0, h.repetitions(3));
+
+        h.push(1);   // same key, other side to move: odd distances are never compared
+        assertEquals(0, h.repetitions(9));
+    }
+
+    @Test
+    @DisplayName("ring: keeps working after more than CAPACITY pushes")
+    void repetitions_wrapAround() {
+        PositionHistory h = new PositionHistory();
+        for (int i = 0; i < 3 * PositionHistory.CAPACITY + 5; i++) h.push(1000 + i);
+        h.push(7);
+        h.push(8);
+        h.push(9);
+        h.push(10);
+        h.push(7);
+        assertEquals(1, h.repetitions(100));
+        assertEquals(0, h.repetitions(3));
+        // Scans never look further back than the ring holds, however large the clock
+        assertEquals(1, h.repetitions(Integer.MAX_VALUE));
+    }
+}
@@ -0,0 +1,338 @@
+package com.backend.chess_backend;
+
+import com.backend.chess_backend.domain.Board;
+import com.backend.chess_backend.domain.BoardSetups;
+import com.backend.chess_backend.domain.Fen;
+import com.backend.chess_backend.domain.Piece;
+import com.backend.chess_backend.domain.PieceColor;
+import com.backend.chess_backend.domain.PieceSquareTables;
+import com.backend.chess_backend.domain.PieceType;
+import com.backend.chess_backend.domain.Position;
+import com.backend.chess_backend.domain.Zobrist;
+import com.backend.chess_backend.domain.rules.Move;
+import com.backend.chess_backend.domain.rules.MoveGenerator;
+import com.backend.chess_backend.domain.rules.MoveList;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the bitboard {@link Position} and its synchronization with {@link Board}.
+ */
+public class PositionTest {
+
+    private static long bit(String sq) {
+        return 1L << Board.sq(sq);
+    }
+
+    @Test
+    @DisplayName("piece codes round-trip color and type")
+    void pieceCodes_roundTrip() {
+        for (int color = Position.WHITE; color <= Position.BLACK; color++) {
+            for (int type = Position.PAWN; type <= Position.KING; type++) {
+                int piece = Position.piece(color, type);
+                assertTrue(piece >= 0 && piece < Position.PIECE_KINDS);
+                assertEquals(color, Position.colorOf(piece));
+                assertEquals(type, Position.typeOf(piece));
+            }
+        }
+        assertEquals(Position.piece(Position.WHITE, Position.KNIGHT),
+                Position.pieceOf(new Piece(PieceColor.WHITE, PieceType.KNIGHT, 1)));
+    }
+
+    @Test
+    @DisplayName("put/remove/move keep piece sets and occupancy masks consistent")
+    void putRemoveMove_masks() {
+        Position pos = new Position();
+        int wr = Position.piece(Position.WHITE, Position.ROOK);
+        int bb = Position.piece(Position.BLACK, Position.BISHOP);
+
+        pos.put(wr, Board.sq("a1"));
+        pos.put(bb, Board.sq("d1"));
+        assertEquals(bit("a1"), pos.pieces(wr));
+        assertEquals(bit("d1"), pos.occupancy(Position.BLACK));
+        assertEquals(bit("a1") | bit("d1"), pos.occupied());
+
+        int captured = pos.move(Board.sq("a1"), Board.sq("d1"));
+        assertEquals(bb, captured);
+        assertEquals(bit("d1"), pos.pieces(Position.WHITE, Position.ROOK));
+        assertEquals(0L, pos.occupancy(Position.BLACK));
+        assertEquals(wr, pos.pieceAt(Board.sq("d1")));
+        assertEquals(Position.NO_PIECE, pos.pieceAt(Board.sq("a1")));
+
+        assertEquals(wr, pos.remove(Board.sq("d1")));
+        assertEquals(0L, pos.occupied());
+        assertEquals(Position.NO_PIECE, pos.remove(Board.sq("d1")));
+    }
+
+    @Test
+    @DisplayName("Board mutations are mirrored into its position")
+    void board_mirrorsIntoPosition() {
+        Board b = new Board();
+        BoardSetups.fillStandard(b);
+        Position pos = b.position();
+
+        assertEquals(0xFFFFL, pos.occupancy(Position.WHITE));
+        assertEquals(0xFFFFL << 48, pos.occupancy(Position.BLACK));
+        assertEquals(bit("e1"), pos.pieces(Position.WHITE, Position.KING));
+        assertEquals(0xFFL << 48, pos.pieces(Position.BLACK, Position.PAWN));
+
+        b.move(Board.sq("e2"), Board.sq("e4"));
+        assertEquals(Position.piece(Position.WHITE, Position.PAWN), pos.pieceAt(Board.sq("e4")));
+        assertEquals(0L, pos.occupied() & bit("e2"));
+
+        // Overwriting a square replaces the old piece in the masks
+        b.setAt(Board.sq("e4"), new Piece(PieceColor.BLACK, PieceType.QUEEN, Board.sq("e4")));
+        assertEquals(Position.piece(Position.BLACK, Position.QUEEN), pos.pieceAt(Board.sq("e4")));
+        assertEquals(0L, pos.occupancy(Position.WHITE) & bit("e4"));
+
+        b.clear(Board.sq("e4"));
+        assertEquals(Position.NO_PIECE, pos.pieceAt(Board.sq("e4")));
+        assertEquals(31, Long.bitCount(pos.occupied()));
+    }
+
+    /** Captures every observable field so make/unmake round-trips can be compared. */
+    private static String snapshot(Position pos) {
+        StringBuilder sb = new StringBuilder();
+        for (int p = 0; p < Position.PIECE_KINDS; p++) sb.append(pos.pieces(p)).append(',');
+        return sb.append(pos.sideToMove()).append(',').append(pos.castlingRights()).append(',')
+                .append(pos.epSquare()).append(',').append(pos.halfmoveClock()).append(',')
+                .append(pos.fullmoveNumber()).toString();
+    }
+
+    @Test
+    @DisplayName("makeMove/unmakeMove: double push sets en passant, capture restores the captured piece")
+    void makeUnmake_pushAndCapture() {
+        Position pos = new Position();
+        BoardSetups.fillStandard(pos);
+        String start = snapshot(pos);
+
+        pos.makeMove(Move.of(Board.sq("e2"), Board.sq("e4")));
+        assertEquals(Position.BLACK, pos.sideToMove());
+        assertEquals(Position.NO_SQUARE, pos.epSquare(), "no black pawn can capture en passant");
+        assertEquals(0, pos.halfmoveClock());
+
+        pos.makeMove(Move.of(Board.sq("d7"), Board.sq("d5")));
+        assertEquals(Position.NO_SQUARE, pos.epSquare(), "e4 pawn is not beside d5");
+        pos.makeMove(Move.of(Board.sq("e4"), Board.sq("d5")));
+        assertEquals(Position.piece(Position.WHITE, Position.PAWN), pos.pieceAt(Board.sq("d5")));
+        assertEquals(15, Long.bitCount(pos.occupancy(Position.BLACK)));
+        assertEquals(2, pos.fullmoveNumber());
+
+        pos.unmakeMove();
+        assertEquals(Position.piece(Position.BLACK, Position.PAWN), pos.pieceAt(Board.sq("d5")));
+        pos.unmakeMove();
+        pos.unmakeMove();
+        assertEquals(start, snapshot(pos));
+        assertEquals(0, pos.undoDepth());
+        assertThrows(IllegalStateException.class, pos::unmakeMove);
+    }
+
+    @Test
+    @DisplayName("makeMove/unmakeMove: castling moves the rook and clears rights; undo restores them")
+    void makeUnmake_castling() {
+        Position pos = new Position();
+        pos.put(Position.piece(Position.WHITE, Position.KING), Board.sq("e1"));
+        pos.put(Position.piece(Position.WHITE, Position.ROOK), Board.sq("h1"));
+        pos.put(Position.piece(Position.WHITE, Position.ROOK), Board.sq("a1"));
+        pos.put(Position.piece(Position.BLACK, Position.KING), Board.sq("e8"));
+        pos.setCastlingRights(Position.WHITE_OO | Position.WHITE_OOO | Position.BLACK_OO);
+        String before = snapshot(pos);
+
+        pos.makeMove(Move.of(Board.sq("e1"), Board.sq("g1"), Move.CASTLING));
+        assertEquals(Position.piece(Position.WHITE, Position.KING), pos.pieceAt(Board.sq("g1")));
+        assertEquals(Position.piece(Position.WHITE, Position.ROOK), pos.pieceAt(Board.sq("f1")));
+        assertEquals(Position.NO_PIECE, pos.pieceAt(Board.sq("h1")));
+        assertEquals(Position.BLACK_OO, pos.castlingRights());
+        pos.unmakeMove();
+        assertEquals(before, snapshot(pos));
+
+        pos.makeMove(Move.of(Board.sq("e1"), Board.sq("c1"), Move.CASTLING));
+        assertEquals(Position.piece(Position.WHITE, Position.ROOK), pos.pieceAt(Board.sq("d1")));
+        assertEquals(Position.NO_PIECE, pos.pieceAt(Board.sq("a1")));
+        pos.unmakeMove();
+        assertEquals(before, snapshot(pos));
+
+        // A rook move only drops that side's right
+        pos.makeMove(Move.of(Board.sq("h1"), Board.sq("h5")));
+        assertEquals(Position.WHITE_OOO | Position.BLACK_OO, pos.castlingRights());
+        assertEquals(1, pos.halfmoveClock());
+    }
+
+    @Test
+    @DisplayName("makeMove/unmakeMove: en passant and promotion round-trip")
+    void makeUnmake_enPassantAndPromotion() {
+        Position pos = new Position();
+        int wp = Position.piece(Position.WHITE, Position.PAWN);
+        int bp = Position.piece(Position.BLACK, Position.PAWN);
+        pos.put(wp, Board.sq("e5"));
+        pos.put(bp, Board.sq("d5"));
+        pos.put(wp, Board.sq("b7"));
+        pos.put(Position.piece(Position.BLACK, Position.ROOK), Board.sq("a8"));
+        pos.setEpSquare(Board.sq("d6"));
+        pos.setHalfmoveClock(7);
+        String before = snapshot(pos);
+
+        pos.makeMove(Move.of(Board.sq("e5"), Board.sq("d6"), Move.EN_PASSANT));
+        assertEquals(wp, pos.pieceAt(Board.sq("d6")));
+        assertEquals(Position.NO_PIECE, pos.pieceAt(Board.sq("d5")));
+        assertEquals(Position.NO_SQUARE, pos.epSquare());
+        pos.unmakeMove();
+        assertEquals(before, snapshot(pos));
+
+        pos.makeMove(Move.promotion(Board.sq("b7"), Board.sq("a8"), Position.QUEEN));
+        assertEquals(Position.piece(Position.WHITE, Position.QUEEN), pos.pieceAt(Board.sq("a8")));
+        assertEquals(0L, pos.pieces(Position.BLACK, Position.ROOK));
+        pos.unmakeMove();
+        assertEquals(before, snapshot(pos));
+    }
+
+    @Test
+    @DisplayName("key: incremental Zobrist key matches a full recompute through make/unmake")
+    void zobrist_incrementalMatchesRecompute() {
+        Position pos = new Position();
+        BoardSetups.fillStandard(pos);
+        long start = pos.key();
+        assertEquals(Zobrist.compute(pos), start);
+
+        int[] line = {
+                Move.of(Board.sq("e2"), Board.sq("e4")), Move.of(Board.sq("d7"), Board.sq("d5")),
+                Move.of(Board.sq("e4"), Board.sq("e5")), Move.of(Board.sq("f7"), Board.sq("f5")),
+                Move.of(Board.sq("e5"), Board.sq("f6"), Move.EN_PASSANT), Move.of(Board.sq("g8"), Board.sq("f6")),
+                Move.of(Board.sq("g1"), Board.sq("f3")), Move.of(Board.sq("e8"), Board.sq("f7")),
+        };
+        for (int m : line) {
+            pos.makeMove(m);
+            if (m == line[3]) assertEquals(Board.sq("f6"), pos.epSquare(), "e5 pawn may capture f5 en passant");
+            assertEquals(Zobrist.compute(pos), pos.key(), "after " + Move.toUci(m));
+            assertNotEquals(start, pos.key());
+        }
+        for (int i = line.length - 1; i >= 0; i--) {
+            pos.unmakeMove();
+            assertEquals(Zobrist.compute(pos), pos.key());
+        }
+        assertEquals(start, pos.key());
+    }
+
+    @Test
+    @DisplayName("eval sums: incremental mg/eg/phase match a full recompute through captures, promotions and castling")
+    void evalSums_incrementalMatchesRecompute() {
+        Position pos = new Position();
+        Fen.read("r3k2r/pPppqpb1/bn2pnp1/3PN3/1p2P3/2N2Q1p/PPPBBPPP/R3K2R w KQkq - 0 1", pos);
+        int[] start = PieceSquareTables.compute(pos);
+        assertArrayEquals(start, new int[] {pos.mgScore(), pos.egScore(), pos.phase()});
+
+        // Deterministic walk over every kind of move this position offers
+        MoveList moves = new MoveList();
+        long seed = 7;
+        int plies = 0;
+        for (; plies < 40; plies++) {
+            moves.clear();
+            MoveGenerator.generateLegal(pos, moves);
+            if (moves.isEmpty()) break;
+            seed = seed * 6364136223846793005L + 1442695040888963407L;
+            pos.makeMove(moves.get((int) ((seed >>> 33) % moves.size())));
+            assertArrayEquals(PieceSquareTables.compute(pos), new int[] {pos.mgScore(), pos.egScore(), pos.phase()});
+        }
+        assertArrayEquals(PieceSquareTables.compute(pos), new int[] {pos.copy().mgScore(), pos.copy().egScore(), pos.copy().phase()});
+        for (; plies > 0; plies--) pos.unmakeMove();
+        assertArrayEquals(start, new int[] {pos.mgScore(), pos.egScore(), pos.phase()});
+
+        pos.clearAll();
+        assertArrayEquals(new int[] {0, 0, 0}, new int[] {pos.mgScore(), pos.egScore(), pos.phase()});
+        BoardSetups.fillStandard(pos);
+        assertEquals(PieceSquareTables.MAX_PHASE, pos.phase());
+        assertEquals(0, pos.mgScore());
+    }
+
+    @Test
+    @DisplayName("key: transpositions hash equal; side to move and castling rights change the key")
+    void zobrist_transpositions() {
+        Position a = new Position();
+        Position b = new Position();
+        BoardSetups.fillStandard(a);
+        BoardSetups.fillStandard(b);
+
+        a.makeMove(Move.of(Board.sq("g1"), Board.sq("f3")));
+        a.makeMove(Move.of(Board.sq("g8"), Board.sq("f6")));
+        a.makeMove(Move.of(Board.sq("b1"), Board.sq("c3")));
+        b.makeMove(Move.of(Board.sq("b1"), Board.sq("c3")));
+        b.makeMove(Move.of(Board.sq("g8"), Board.sq("f6")));
+        b.makeMove(Move.of(Board.sq("g1"), Board.sq("f3")));
+        assertEquals(a.key(), b.key());
+
+        long k = a.key();
+        a.setSideToMove(Position.WHITE);
+        assertNotEquals(k, a.key());
+        a.setSideToMove(Position.BLACK);
+        assertEquals(k, a.key());
+        a.setCastlingRights(Position.BLACK_OO);
+        assertNotEquals(k, a.key());
+        assertEquals(Zobrist.compute(a), a.key());
+
+        Board board = new Board();
+        BoardSetups.fillStandard(board);
+        Position fresh = new Position();
+        BoardSetups.fillStandard(fresh);
+        assertEquals(fresh.key(), board.position().key(), "Board mutators keep the key in sync");
+        assertEquals(16, Zobrist.toHex(fresh.key()).length());
+    }
+
+    @Test
+    @DisplayName("mailbox and named piece codes agree with the bitboards; copy() is independent")
+    void mailboxAndCopy() {
+        Position p = new Position();
+        BoardSetups.fillStandard(p);
+        assertEquals(Position.W_KING, p.pieceAt(Board.sq("e1")));
+        assertEquals(Position.B_QUEEN, p.pieceAt(Board.sq("d8")));
+        assertEquals(Position.piece(Position.BLACK, Position.KNIGHT), Position.B_KNIGHT);
+        assertEquals(Position.NO_PIECE, p.pieceAt(Board.sq("e4")));
+        for (int sq = 0; sq < 64; sq++) {
+            int piece = p.pieceAt(sq);
+            if (piece == Position.NO_PIECE) assertEquals(0L, p.occupied() & (1L << sq));
+            else assertNotEquals(0L, p.pieces(piece) & (1L << sq));
+        }
+
+        p.makeMove(Move.of(Board.sq("e2"), Board.sq("e4")));
+        Position copy = p.copy();
+        assertEquals(p.key(), copy.key());
+        assertEquals(Position.BLACK, copy.sideToMove());
+        assertEquals(0, copy.undoDepth(), "copies start without history");
+
+        copy.makeMove(Move.of(Board.sq("d7"), Board.sq("d5")));
+        assertEquals(Position.W_PAWN, p.pieceAt(Board.sq("e4")));
+        assertEquals(Position.NO_PIECE, p.pieceAt(Board.sq("d5")), "original untouched by the copy");
+        assertEquals(Position.B_PAWN, copy.pieceAt(Board.sq("d5")));
+        copy.unmakeMove();
+        assertEquals(p.key(), copy.key());
+    }
+
+    @Test
+    @DisplayName("insufficientMaterial: bare kings, single minor, same-colored bishops only")
+    void insufficientMaterial() {
+        String[] dead = {
+                "4k3/8/8/8/8/8/8/4K3 w - - 0 1",
+                "4k3/8/8/8/8/8/8/4KN2 w - - 0 1",
+                "4kb2/8/8/8/8/8/8/4K3 w - - 0 1",
+                "4kb2/8/8/8/8/8/8/2B1K3 w - - 0 1",   // f8 and c1 are both dark
+        };
+        String[] alive = {
+                "4k3/8/8/8/8/8/4P3/4K3 w - - 0 1",
+                "4k3/8/8/8/8/8/8/4KR2 w - - 0 1",
+                "4k3/8/8/8/8/8/8/3NKN2 w - - 0 1",
+                "4kb2/8/8/8/8/8/8/3BK3 w - - 0 1",    // opposite colors
+                "4kn2/8/8/8/8/8/8/2B1K3 w - - 0 1",
+        };
+        for (String fen : dead) {
+            Position p = new Position();
+            Fen.read(fen, p);
+            assertTrue(p.insufficientMaterial(), fen);
+        }
+        for (String fen : alive) {
+            Position p = new Position();
+            Fen.read(fen, p);
+            assertFalse(p.insufficientMaterial(), fen);
+        }
+    }
+}
@@ -0,0 +1,116 @@
+package com.backend.chess_backend;
+
+import com.backend.chess_backend.domain.Board;
+import com.backend.chess_backend.domain.Fen;
+import com.backend.chess_backend.domain.Position;
+import com.backend.chess_backend.domain.engine.Search;
+import com.backend.chess_backend.domain.engine.SearchLimits;
+import com.backend.chess_backend.domain.engine.SearchResult;
+import com.backend.chess_backend.domain.engine.Tablebase;
+import com.backend.chess_backend.domain.rules.Move;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for the alpha-beta {@link Search}: tactics, mate scores, draws and budgets.
+ */
+public class SearchTest {
+
+    private static Position fen(String fen) {
+        Position p = new Position();
+        Fen.read(fen, p);
+        return p;
+    }
+
+    private static SearchResult search(String fen, int depth) {
+        return new Search().run(fen(fen), new long[0], SearchLimits.depth(depth));
+    }
+
+    @Test
+    @DisplayName("mate in one and mate in two are found and scored as mates")
+    void findsMates() {
+        SearchResult m1 = search("6k1/5ppp/8/8/8/8/8/R5K1 w - - 0 1", 4);
+        assertEquals("a1a8", Move.toUci(m1.bestMove()));
+        assertEquals(Search.MATE - 1, m1.score());
+        assertTrue(Search.isMateScore(m1.score()));
+
+        // 1. Qe8+ Rxe8 2. Rxe8#
+        SearchResult m2 = search("2r3k1/5ppp/8/8/8/8/4QPPP/4R1K1 w - - 0 1", 5);
+        assertEquals(Search.MATE - 3, m2.score(), m2.pvUci());
+        assertEquals("e2e8 c8e8 e1e8", m2.pvUci());
+    }
+
+    @Test
+    @DisplayName("wins hanging material and avoids losing its own queen")
+    void tactics() {
+        assertEquals("d1d5", Move.toUci(search("4k3/8/8/3q4/8/8/8/3QK3 w - - 0 1", 3).bestMove()));
+        // The knight on c3 is defended by b2: Qxc3 loses the queen
+        SearchResult r = search("4k3/8/8/8/8/2n5/1p6/2Q1K3 w - - 0 1", 4);
+        assertNotEquals("c1c3", Move.toUci(r.bestMove()), r.pvUci());
+    }
+
+    @Test
+    @DisplayName("terminal positions return NONE; repetitions and dead material score as draws")
+    void terminalAndDraws() {
+        SearchResult mated = search("rnb1kbnr/pppp1ppp/8/4p3/6Pq/5P2/PPPPP2P/RNBQKBNR w KQkq - 1 3", 3);
+        assertEquals(Move.NONE, mated.bestMove());
+        assertEquals(-Search.MATE, mated.score());
+        assertEquals(Move.NONE, search("7k/5Q2/6K1/8/8/8/8/8 b - - 0 1", 3).bestMove());
+
+        // A lone king cannot lose: every line is a dead draw
+        assertEquals(0, search("4k3/8/8/8/8/8/8/4KB2 b - - 0 1", 4).score());
+
+        // Down a queen, Black steers into a position the game history has already seen
+        Position root = fen("4k3/8/8/8/8/8/8/3QK3 b - - 10 60");
+        Position seen = root.copy();
+        seen.makeMove(Move.of(Board.sq("e8"), Board.sq("e7")));
+        long[] history = {seen.key(), 1L, 2L, root.key()};
+        SearchResult r = new Search().run(root, history, SearchLimits.depth(3));
+        assertEquals("e8e7", Move.toUci(r.bestMove()), r.pvUci());
+        assertEquals(0, r.score());
+    }
+
+    @Test
+    @DisplayName("node and time budgets are honoured and still yield a legal move")
+    void budgets() {
+        Position p = fen(Fen.START);
+        Search s = new Search();
+        SearchResult byNodes = s.run(p, new long[0], new SearchLimits(0, 0, 5_000));
+        assertTrue(byNodes.nodes() <= 5_000);
+        assertNotEquals(Move.NONE, byNodes.bestMove());
+
+        SearchResult byTime = s.run(p, new long[0], SearchLimits.time(50));
+        assertTrue(byTime.timeMillis() < 1_000, "took " + byTime.timeMillis() + " ms");
+        assertTrue(byTime.depth() >= 1);
+        assertEquals(Fen.START, Fen.write(p), "root position is not modified");
+    }
+
+    /** Fake tablebase for three-piece positions: the side with the extra piece wins, unless everything is drawn. */
+    private static Tablebase threePieces(boolean allDrawn) {
+        return new Tablebase() {
+            @Override public int maxPieces() { return 3; }
+            @Override public int probeWdl(Position pos) {
+                if (allDrawn) return DRAW;
+                return Long.bitCount(pos.occupancy(pos.sideToMove())) > 1 ? WIN : LOSS;
+            }
+        };
+    }
+
+    @Test
+    @DisplayName("tablebase: results below the root replace search; real mates still outrank tablebase wins")
+    void tablebase() {
+        String krk = "4k3/8/8/8/8/8/8/R3K3 w - - 0 1";
+        assertTrue(search(krk, 4).score() > 400);
+        SearchResult drawn = new Search(null, threePieces(true)).run(fen(krk), new long[0], SearchLimits.depth(4));
+        assertEquals(0, drawn.score(), "every reply is a tablebase draw");
+
+        SearchResult won = new Search(null, threePieces(false)).run(fen(krk), new long[0], SearchLimits.depth(4));
+        assertTrue(won.score() >= Search.TB_WIN - 5_000 && !Search.isMateScore(won.score()), "score " + won.score());
+
+        SearchResult mate = new Search(null, threePieces(false)).run(fen("6k1/8/6K1/8/8/8/8/R7 w - - 0 1"), new long[0], SearchLimits.depth(4));
+        assertEquals("a1a8", Move.toUci(mate.bestMove()));
+        assertEquals(Search.MATE - 1, mate.score());
+    }
+}
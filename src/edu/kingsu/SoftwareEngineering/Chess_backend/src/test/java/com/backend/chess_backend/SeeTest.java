@@ -0,0 +1,129 @@
+package com.backend.chess_backend;
+
+import com.backend.chess_backend.domain.Board;
+import com.backend.chess_backend.domain.Fen;
+import com.backend.chess_backend.domain.Position;
+import com.backend.chess_backend.domain.engine.Evaluation;
+import com.backend.chess_backend.domain.engine.See;
+import com.backend.chess_backend.domain.rules.Move;
+import com.backend.chess_backend.domain.rules.MoveGenerator;
+import com.backend.chess_backend.domain.rules.MoveList;
+import com.backend.chess_backend.domain.rules.Perft;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for static exchange evaluation ({@link See}): known exchanges, x-rays, special moves, and
+ * agreement between the value and threshold forms.
+ */
+public class SeeTest {
+
+    private static final int P = Evaluation.value(Position.PAWN);
+    private static final int N = Evaluation.value(Position.KNIGHT);
+    private static final int R = Evaluation.value(Position.ROOK);
+    private static final int Q = Evaluation.value(Position.QUEEN);
+
+    private static Position fen(String fen) {
+        Position p = new Position();
+        Fen.read(fen, p);
+        return p;
+    }
+
+    /** The legal move from {@code uci}'s squares (queen promotion when it is one). */
+    private static int move(Position p, String uci) {
+        MoveList list = new MoveList();
+        MoveGenerator.generateLegal(p, list);
+        for (int i = 0; i < list.size(); i++) {
+            int m = list.get(i);
+            if (Move.toUci(m).equals(uci) || Move.toUci(m).equals(uci + "q")) return m;
+        }
+        throw new AssertionError(uci + " is not legal");
+    }
+
+    private static int see(String fen, String uci) {
+        Position p = fen(fen);
+        return See.see(p, move(p, uci));
+    }
+
+    @Test
+    @DisplayName("free and defended captures, and the classic knight-for-pawn exchange")
+    void exchanges() {
+        assertEquals(P, see("1k1r4/1pp4p/p7/4p3/8/P5P1/1PP4P/2K1R3 w - - 0 1", "e1e5"));
+        assertEquals(P - N, see("1k1r3q/1ppn3p/p4b2/4p3/8/P2N2P1/1PP1R1BP/2K1Q3 w - - 0 1", "d3e5"));
+        // Queen takes a pawn defended by a pawn
+        assertEquals(P - Q, see("4k3/8/3p4/4p3/8/8/8/4QK2 w - - 0 1", "e1e5"));
+        // Pawn takes a defended queen: the defender wins a pawn back but the exchange is still +Q
+        assertEquals(Q - P, see("4k3/8/3p4/4q3/3P4/8/8/4K3 w - - 0 1", "d4e5"));
+        // Quiet moves onto an attacked square lose the piece
+        assertEquals(-N, see("4k3/8/8/8/3p4/8/8/1N2K3 w - - 0 1", "b1c3"));
+        assertEquals(0, see("4k3/8/8/8/8/8/8/1N2K3 w - - 0 1", "b1c3"));
+    }
+
+    @Test
+    @DisplayName("x-rays: a rook or queen behind the capturer joins the exchange")
+    void xrays() {
+        // Doubled rooks against a pawn defended once
+        assertEquals(P, see("4r1k1/8/8/4p3/8/8/4R3/4R1K1 w - - 0 1", "e2e5"));
+        // A single rook against the same pawn loses the exchange
+        assertEquals(P - R, see("4r1k1/8/8/4p3/8/8/4R3/6K1 w - - 0 1", "e2e5"));
+        // Black's queen behind its rook: two against two, White should not start
+        assertEquals(P - R, see("4q1k1/4r3/8/4p3/8/8/4R3/4R1K1 w - - 0 1", "e2e5"));
+    }
+
+    @Test
+    @DisplayName("en passant, promotions, castling and king captures")
+    void specialMoves() {
+        assertEquals(P, see("4k3/8/8/3pP3/8/8/8/4K3 w - d6 0 1", "e5d6"));
+        assertEquals(Q - P, see("4k3/1P6/8/8/8/8/8/4K3 w - - 0 1", "b7b8"));
+        assertEquals(Q - P - Q, see("r3k3/1P6/8/8/8/8/8/4K3 w - - 0 1", "b7b8"));
+        assertEquals(R + Q - P, see("r3k3/1P6/8/8/8/8/8/4K3 w - - 0 1", "b7a8"));
+        assertEquals(0, see("4k3/8/8/8/8/8/8/R3K2R w KQ - 0 1", "e1g1"));
+        assertEquals(P, see("4k3/8/8/8/8/8/3p4/4K3 w - - 0 1", "e1d2"));
+        // Nxd4 Bxd4: the king may take back only when the rook does not cover d4
+        assertEquals(P, see("4k3/8/5b2/2K5/3p4/8/4N3/8 w - - 0 1", "e2d4"));
+        assertEquals(P - N, see("3rk3/8/5b2/2K5/3p4/8/4N3/8 w - - 0 1", "e2d4"));
+    }
+
+    @Test
+    @DisplayName("exchange: what the opponent wins by capturing first; defended and unattacked pieces are safe")
+    void exchange() {
+        Position p = fen("4k3/8/8/7p/3p2P1/2N1BP2/8/4K3 w - - 0 1");
+        assertEquals(N, See.exchange(p, Board.sq("c3"), Position.BLACK));
+        assertEquals(0, See.exchange(p, Board.sq("g4"), Position.BLACK));
+        assertEquals(0, See.exchange(p, Board.sq("f3"), Position.BLACK));
+        assertEquals(0, See.exchange(p, Board.sq("d4"), Position.BLACK), "own piece");
+        // A queen attacked only by a king that the bishop guards is safe
+        Position q = fen("4k3/8/8/8/1b6/8/3q4/4K3 w - - 0 1");
+        assertEquals(0, See.exchange(q, Board.sq("d2"), Position.WHITE));
+        assertEquals(Q, See.exchange(fen("4k3/8/8/8/8/8/3q4/4K3 w - - 0 1"), Board.sq("d2"), Position.WHITE));
+    }
+
+    @Test
+    @DisplayName("seeGe(move, t) agrees with see(move) >= t for every move of the perft suite and random games")
+    void thresholdMatchesValue() {
+        Random rnd = new Random(7);
+        int checked = 0;
+        for (Perft.Case c : Perft.SUITE) {
+            Position p = fen(c.fen());
+            for (int ply = 0; ply < 40; ply++) {
+                MoveList list = new MoveList();
+                MoveGenerator.generateLegal(p, list);
+                if (list.isEmpty()) break;
+                for (int i = 0; i < list.size(); i++) {
+                    int m = list.get(i);
+                    int v = See.see(p, m);
+                    for (int t : new int[]{v - 1, v, v + 1, -Q, -R, -1, 0, 1, P, N, R, Q}) {
+                        assertEquals(v >= t, See.seeGe(p, m, t), c.name() + " " + Fen.write(p) + " " + Move.toUci(m) + " t=" + t);
+                    }
+                    checked++;
+                }
+                p.makeMove(list.get(rnd.nextInt(list.size())));
+            }
+        }
+        assertTrue(checked > 1_000, "moves checked: " + checked);
+    }
+}
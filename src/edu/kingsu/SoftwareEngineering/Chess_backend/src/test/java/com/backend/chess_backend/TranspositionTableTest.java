@@ -0,0 +1,97 @@
+package com.backend.chess_backend;
+
+import com.backend.chess_backend.domain.engine.Search;
+import com.backend.chess_backend.domain.engine.TranspositionTable;
+import com.backend.chess_backend.domain.rules.Move;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for the shared off-heap {@link TranspositionTable}: packing, verification, buckets and replacement.
+ */
+public class TranspositionTableTest {
+
+    @Test
+    @DisplayName("store/probe: fields round-trip, negative scores included; other keys miss")
+    void roundTrip() {
+        TranspositionTable tt = new TranspositionTable(1);
+        long key = 0x1234_5678_9ABC_DEF0L;
+        int move = Move.promotion(52, 60, 4);
+        tt.store(key, move, -250, 7, TranspositionTable.LOWER);
+
+        long e = tt.probe(key);
+        assertNotEquals(0, e);
+        assertEquals(move, TranspositionTable.move(e));
+        assertEquals(-250, TranspositionTable.score(e));
+        assertEquals(7, TranspositionTable.depth(e));
+        assertEquals(TranspositionTable.LOWER, TranspositionTable.bound(e));
+        assertEquals(0, tt.probe(key ^ (1L << 40)), "same slot, different key");
+        assertEquals(0, tt.probe(key + 1));
+    }
+
+    @Test
+    @DisplayName("buckets: four colliding keys coexist; a fifth evicts the shallowest")
+    void buckets() {
+        TranspositionTable tt = new TranspositionTable(1);
+        long[] keys = new long[5];
+        for (int i = 0; i < keys.length; i++) keys[i] = 42 | ((long) (i + 1) << 50);   // same bucket
+        for (int i = 0; i < 4; i++) tt.store(keys[i], Move.of(12, 28), i, 10 + i, TranspositionTable.EXACT);
+        for (int i = 0; i < 4; i++) assertEquals(i, TranspositionTable.score(tt.probe(keys[i])));
+
+        tt.store(keys[4], Move.of(1, 18), 99, 1, TranspositionTable.EXACT);
+        assertEquals(0, tt.probe(keys[0]), "depth 10 was the shallowest");
+        for (int i = 1; i < 5; i++) assertNotEquals(0, tt.probe(keys[i]));
+    }
+
+    @Test
+    @DisplayName("replacement: same position overwrites (keeping its move); entries of older searches go first")
+    void replacement() {
+        TranspositionTable tt = new TranspositionTable(1);
+        long a = 42, b = 42 | (1L << 50), c = 42 | (2L << 50), d = 42 | (3L << 50), e = 42 | (4L << 50);
+        tt.store(a, Move.of(12, 28), 10, 12, TranspositionTable.EXACT);
+
+        // Same position, no move: score replaced, move kept
+        tt.store(a, Move.NONE, -5, 2, TranspositionTable.UPPER);
+        assertEquals(Move.of(12, 28), TranspositionTable.move(tt.probe(a)));
+        assertEquals(-5, TranspositionTable.score(tt.probe(a)));
+        assertEquals(2, TranspositionTable.depth(tt.probe(a)));
+
+        tt.store(a, Move.of(12, 28), 10, 12, TranspositionTable.EXACT);
+        tt.newSearch();
+        tt.store(b, Move.of(1, 18), 20, 6, TranspositionTable.EXACT);
+        tt.store(c, Move.of(1, 18), 21, 6, TranspositionTable.EXACT);
+        tt.store(d, Move.of(1, 18), 22, 6, TranspositionTable.EXACT);
+        tt.store(e, Move.of(1, 18), 23, 1, TranspositionTable.EXACT);
+        assertEquals(0, tt.probe(a), "depth 12 from the previous search is worth less than depth 6 now");
+        assertEquals(23, TranspositionTable.score(tt.probe(e)));
+        assertNotEquals(0, tt.probe(b));
+    }
+
+    @Test
+    @DisplayName("size follows the configured megabytes; clear forgets everything")
+    void sizeAndClear() {
+        assertEquals(1L << 20, new TranspositionTable(1).sizeBytes());
+        assertEquals(8L << 20, new TranspositionTable(12).sizeBytes(), "rounded down to a power of two");
+        assertThrows(IllegalArgumentException.class, () -> new TranspositionTable(0));
+
+        TranspositionTable tt = new TranspositionTable(1);
+        for (int i = 0; i < 1000; i++) tt.store(i * 0x9E37_79B9_7F4A_7C15L, Move.NONE, 0, 1, TranspositionTable.UPPER);
+        assertTrue(tt.hashfull() > 0);
+        tt.clear();
+        assertEquals(0, tt.hashfull());
+        assertEquals(0, tt.probe(0x9E37_79B9_7F4A_7C15L));
+    }
+
+    @Test
+    @DisplayName("mate scores are stored relative to the node and restored relative to the root")
+    void mateScores() {
+        int mateIn5FromRoot = Search.MATE - 5;
+        int stored = TranspositionTable.scoreToTable(mateIn5FromRoot, 3);
+        assertEquals(Search.MATE - 2, stored);
+        assertEquals(Search.MATE - 7, TranspositionTable.scoreFromTable(stored, 5));
+        assertEquals(-(Search.MATE - 2), TranspositionTable.scoreToTable(-(Search.MATE - 5), 3));
+        assertEquals(123, TranspositionTable.scoreToTable(123, 9));
+    }
+}